@@ -0,0 +1,120 @@
+package com.be.bench;
+
+import com.be.config.crypto.EncryptedStringConverter;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Teacher;
+import com.be.domain.entity.Venue;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.WorkshopStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared, deterministic benchmark data shaped like a real TLab29 season:
+ * a September-to-June school year of weekly groups (one to three
+ * weekdays each, afternoon slots), spread over workshops with a teacher
+ * and a venue per group, and participant PII of realistic length.
+ * Seeded, so before/after runs measure the same input.
+ */
+final class BenchFixtures {
+
+    static final LocalDate SEASON_START = LocalDate.of(2026, 9, 1);
+    static final LocalDate SEASON_END = LocalDate.of(2027, 6, 30);
+
+    private static final String[] FIRST = {"Anna", "Lukas", "Mariia", "Jonas", "Sofiia", "Felix", "Oleksandra", "Emil"};
+    private static final String[] LAST = {"Müller", "Schmidt", "Kovalenko", "Schneider", "Shevchenko", "Fischer", "Weber"};
+    private static final DayOfWeek[] WEEKDAYS = {
+            DayOfWeek.MONDAY, DayOfWeek.TUESDAY, DayOfWeek.WEDNESDAY, DayOfWeek.THURSDAY, DayOfWeek.FRIDAY, DayOfWeek.SATURDAY
+    };
+
+    private BenchFixtures() {
+    }
+
+    /** Weekly pattern for group {@code i}: 1-3 distinct weekdays, 60-120 min from 15:00-18:00. */
+    static List<RecurrenceDay> recurrence(int i) {
+        Random random = new Random(i);
+        int days = 1 + random.nextInt(3);
+        int first = random.nextInt(WEEKDAYS.length);
+        List<RecurrenceDay> pattern = new ArrayList<>(days);
+        for (int d = 0; d < days; d++) {
+            pattern.add(new RecurrenceDay(
+                    WEEKDAYS[(first + d * 2) % WEEKDAYS.length],
+                    LocalTime.of(15 + random.nextInt(4), random.nextBoolean() ? 0 : 30),
+                    60 + 30 * random.nextInt(3)));
+        }
+        return pattern;
+    }
+
+    /** {@code workshops} workshops with {@code groupsPerWorkshop} recurring groups each; ids are set. */
+    static List<Workshop> season(int workshops, int groupsPerWorkshop) {
+        List<Workshop> result = new ArrayList<>(workshops);
+        long groupId = 1;
+        for (int w = 0; w < workshops; w++) {
+            Teacher teacher = Teacher.builder()
+                    .id((long) w % 12 + 1)
+                    .firstName(FIRST[w % FIRST.length]).lastName(LAST[w % LAST.length])
+                    .email("teacher" + w + "@tlab29.de").phone("+49 30 1234" + w).title("Theaterpädagogin")
+                    .build();
+            Workshop workshop = Workshop.builder()
+                    .id((long) w + 1)
+                    .workshopName("Theaterwerkstatt " + (w + 1))
+                    .description(("Improvisation, Bewegung und Stimme für Kinder und Jugendliche. ").repeat(6))
+                    .startDate(SEASON_START).endDate(SEASON_END)
+                    .price(new BigDecimal("240.00"))
+                    .status(WorkshopStatus.values()[w % WorkshopStatus.values().length])
+                    .teacher(teacher)
+                    .build();
+            for (int g = 0; g < groupsPerWorkshop; g++, groupId++) {
+                Venue venue = Venue.builder().id(groupId % 6 + 1).name("TLab29").room("Saal " + (groupId % 6 + 1)).build();
+                workshop.getGroups().add(Group.builder()
+                        .id(groupId)
+                        .titleDe("Gruppe " + groupId).titleEn("Group " + groupId).titleUa("Група " + groupId)
+                        .capacity(14).capacityLeft(14 - (int) (groupId % 14)).confirmedCount((int) (groupId % 14))
+                        .startDateTime(LocalDateTime.of(SEASON_START, LocalTime.of(15, 0)))
+                        .workshop(workshop)
+                        .teacher(teacher)
+                        .venue(venue)
+                        .recurrenceDays(recurrence((int) groupId))
+                        .recurrenceStartDate(SEASON_START)
+                        .recurrenceEndDate(SEASON_END)
+                        .build());
+            }
+            result.add(workshop);
+        }
+        return result;
+    }
+
+    /** {@code n} plaintext PII values — names, phone numbers, IBANs, street addresses. */
+    static List<String> pii(int n) {
+        List<String> values = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            values.add(switch (i % 4) {
+                case 0 -> FIRST[i % FIRST.length];
+                case 1 -> LAST[i % LAST.length] + "-" + LAST[(i / 7) % LAST.length];
+                case 2 -> "DE89 3704 0044 0532 %04d 00".formatted(i % 10_000);
+                default -> "Schönhauser Allee %d, 10437 Berlin".formatted(i % 200 + 1);
+            });
+        }
+        return values;
+    }
+
+    /** A converter with a fixed AES-256 key, initialised the way Spring would. */
+    static EncryptedStringConverter encryptedStringConverter() {
+        byte[] key = new byte[32];
+        new Random(42).nextBytes(key);
+        EncryptedStringConverter converter = new EncryptedStringConverter();
+        ReflectionTestUtils.setField(converter, "base64Key", Base64.getEncoder().encodeToString(key));
+        converter.init();
+        return converter;
+    }
+}
@@ -0,0 +1,75 @@
+package com.be.bench;
+
+import com.be.config.crypto.EncryptedStringConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field encryption in both directions — a single value (what every
+ * encrypted column costs per entity load/save) and a list-endpoint-sized
+ * batch through {@code decryptAll}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncryptedStringConverterBenchmark {
+
+    @Param({"2000"})
+    public int batchSize;
+
+    private EncryptedStringConverter converter;
+    private String plain;
+    private String stored;
+    private List<String> storedBatch;
+
+    @Setup
+    public void setUp() {
+        converter = BenchFixtures.encryptedStringConverter();
+
+        plain = "DE89370400440532013000";
+        stored = converter.convertToDatabaseColumn(plain);
+        storedBatch = new ArrayList<>(batchSize);
+        for (String value : BenchFixtures.pii(batchSize)) {
+            storedBatch.add(converter.convertToDatabaseColumn(value));
+        }
+    }
+
+    @Benchmark
+    public String encrypt() {
+        return converter.convertToDatabaseColumn(plain);
+    }
+
+    @Benchmark
+    public String decrypt() {
+        return converter.convertToEntityAttribute(stored);
+    }
+
+    @Benchmark
+    public void decryptBatchOneByOne(Blackhole bh) {
+        for (String value : storedBatch) {
+            bh.consume(converter.convertToEntityAttribute(value));
+        }
+    }
+
+    @Benchmark
+    public List<String> decryptAll() {
+        return converter.decryptAll(storedBatch);
+    }
+}
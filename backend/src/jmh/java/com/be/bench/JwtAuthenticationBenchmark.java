@@ -0,0 +1,93 @@
+package com.be.bench;
+
+import com.be.config.SecurityConfig;
+import com.be.config.ValidatedJwtCache;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.web.authentication.BearerTokenAuthenticationFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A request with a bearer token through the resource server's
+ * BearerTokenAuthenticationFilter, authenticated the way SecurityConfig
+ * did before ValidatedJwtCache (decode + convert every time) and the way
+ * it does now (the same token, already verified). Token shaped like the
+ * ones JwtUtils issues.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef-bench-secret";
+
+    private String bearer;
+    private BearerTokenAuthenticationFilter uncached;
+    private BearerTokenAuthenticationFilter cached;
+
+    @Setup
+    public void setUp() {
+        JwtDecoder decoder = new SecurityConfig().jwtDecoder(SECRET);
+        JwtAuthenticationProvider provider = new JwtAuthenticationProvider(decoder);
+        provider.setJwtAuthenticationConverter(SecurityConfig.jwtAuthenticationConverter());
+        ValidatedJwtCache cache = new ValidatedJwtCache(decoder, SecurityConfig.jwtAuthenticationConverter(),
+                new SimpleMeterRegistry(), 10_000);
+
+        uncached = new BearerTokenAuthenticationFilter(provider::authenticate);
+        cached = new BearerTokenAuthenticationFilter(cache::authenticate);
+        bearer = "Bearer " + Jwts.builder()
+                .setSubject("anna@example.com")
+                .claim("id", 42L)
+                .claim("role", "TEACHER")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + 86_400_000))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Authentication decodeEveryRequest() throws ServletException, IOException {
+        return authenticate(uncached);
+    }
+
+    @Benchmark
+    public Authentication validatedJwtCache() throws ServletException, IOException {
+        return authenticate(cached);
+    }
+
+    private Authentication authenticate(BearerTokenAuthenticationFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        request.addHeader("Authorization", bearer);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,68 @@
+package com.be.bench;
+
+import com.be.config.SecurityConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request JWT -> Authentication conversion configured in
+ * SecurityConfig, for a token shaped like the ones AuthService issues
+ * (single "role" claim) and one carrying scopes plus role lists.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthoritiesBenchmark {
+
+    private final JwtAuthenticationConverter converter = SecurityConfig.jwtAuthenticationConverter();
+    private Jwt issued;
+    private Jwt rich;
+
+    @Setup
+    public void setUp() {
+        Instant now = Instant.now();
+        issued = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("anna@example.com")
+                .claim("userId", 42L)
+                .claim("role", "TEACHER")
+                .issuedAt(now).expiresAt(now.plusSeconds(3600))
+                .build();
+        rich = Jwt.withTokenValue("token")
+                .header("alg", "HS256")
+                .subject("admin@example.com")
+                .claim("scope", "read write")
+                .claim("roles", List.of("ADMIN", "BUSINESS_OWNER"))
+                .claim("authorities", List.of("ROLE_TEACHER", "reports"))
+                .issuedAt(now).expiresAt(now.plusSeconds(3600))
+                .build();
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken issuedToken() {
+        return converter.convert(issued);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken scopesAndRoleLists() {
+        return converter.convert(rich);
+    }
+}
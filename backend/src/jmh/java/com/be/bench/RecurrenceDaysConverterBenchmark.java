@@ -0,0 +1,65 @@
+package com.be.bench;
+
+import com.be.config.RecurrenceDaysConverter;
+import com.be.domain.entity.RecurrenceDay;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Group.recurrencePattern JSON <-> List&lt;RecurrenceDay&gt; — parsed once
+ * per Group hydrated, so a list of a season's groups pays it per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecurrenceDaysConverterBenchmark {
+
+    @Param({"120"})
+    public int groups;
+
+    private final RecurrenceDaysConverter converter = new RecurrenceDaysConverter();
+    private List<List<RecurrenceDay>> patterns;
+    private List<String> columns;
+
+    @Setup
+    public void setUp() {
+        patterns = new ArrayList<>(groups);
+        columns = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) {
+            List<RecurrenceDay> pattern = BenchFixtures.recurrence(i);
+            patterns.add(pattern);
+            columns.add(converter.convertToDatabaseColumn(pattern));
+        }
+    }
+
+    @Benchmark
+    public void parseSeason(Blackhole bh) {
+        for (String column : columns) {
+            bh.consume(converter.convertToEntityAttribute(column));
+        }
+    }
+
+    @Benchmark
+    public void writeSeason(Blackhole bh) {
+        for (List<RecurrenceDay> pattern : patterns) {
+            bh.consume(converter.convertToDatabaseColumn(pattern));
+        }
+    }
+}
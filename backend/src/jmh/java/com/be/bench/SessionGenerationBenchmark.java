@@ -0,0 +1,56 @@
+package com.be.bench;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Workshop;
+import com.be.service.SessionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SessionService.generateSessionsFromRecurrence's day loop (the
+ * DB-free part, SessionService.expandRecurrence) over a season: one
+ * group, and every group of 40 workshops as a season rollover would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionGenerationBenchmark {
+
+    private List<Group> groups;
+
+    @Setup
+    public void setUp() {
+        groups = BenchFixtures.season(40, 3).stream()
+                .map(Workshop::getGroups)
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    @Benchmark
+    public List<SessionService.SessionInput> oneGroup() {
+        Group g = groups.get(0);
+        return SessionService.expandRecurrence(g.getRecurrenceDays(), g.getRecurrenceStartDate(), g.getRecurrenceEndDate());
+    }
+
+    @Benchmark
+    public void wholeSeason(Blackhole bh) {
+        for (Group g : groups) {
+            bh.consume(SessionService.expandRecurrence(g.getRecurrenceDays(), g.getRecurrenceStartDate(), g.getRecurrenceEndDate()));
+        }
+    }
+}
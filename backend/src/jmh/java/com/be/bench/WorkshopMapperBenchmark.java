@@ -0,0 +1,61 @@
+package com.be.bench;
+
+import com.be.domain.entity.Workshop;
+import com.be.web.dto.response.WorkshopDetailDTO;
+import com.be.web.mapper.TeacherMapper;
+import com.be.web.mapper.WorkshopMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping for the public catalog: the whole season's
+ * workshop list (what a catalog cache miss renders) and one workshop's
+ * detail page, enrolled counts read off the groups' V21 counters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorkshopMapperBenchmark {
+
+    @Param({"40"})
+    public int workshops;
+
+    @Param({"3"})
+    public int groupsPerWorkshop;
+
+    private final WorkshopMapper mapper = new WorkshopMapper(new TeacherMapper());
+    private List<Workshop> season;
+
+    @Setup
+    public void setUp() {
+        season = BenchFixtures.season(workshops, groupsPerWorkshop);
+    }
+
+    @Benchmark
+    public void listSeason(Blackhole bh) {
+        for (Workshop w : season) {
+            bh.consume(mapper.toListDTO(w));
+        }
+    }
+
+    @Benchmark
+    public WorkshopDetailDTO detail() {
+        return mapper.toDetailDTO(season.get(0), 30);
+    }
+}
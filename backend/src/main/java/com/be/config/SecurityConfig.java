@@ -1,5 +1,6 @@
 package com.be.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -57,16 +58,23 @@ public class SecurityConfig {
     }
 
     /**
-     * Configure a security filter chain:
-     * - disable CSRF (API only)
-     * - enable CORS (configured separately in WebMvcConfig)
-     * - stateless session management
-     * - permit open endpoints (login/register, health)
-     * - require authentication for everything else
-     * - inject a JwtAuthenticationConverter to transform JWT claims into authorities
+     * Verified tokens and their authorities, kept until the token expires
+     * so repeat requests skip decoding and claim mapping — see
+     * ValidatedJwtCache.
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public ValidatedJwtCache validatedJwtCache(JwtDecoder jwtDecoder,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${app.jwt.cache.max-entries:10000}") long maxEntries) {
+        return new ValidatedJwtCache(jwtDecoder, jwtAuthenticationConverter(), meterRegistry, maxEntries);
+    }
+
+    /**
+     * JWT claims -> authorities: scopes as SCOPE_..., plus the role/roles/
+     * authorities claims as ROLE_&lt;X&gt;. Runs on every authenticated
+     * request (static so the JMH benchmark can build the same converter).
+     */
+    public static JwtAuthenticationConverter jwtAuthenticationConverter() {
         // Create a converter that will extract GrantedAuthorities from JWT.
         JwtAuthenticationConverter jwtAuthConverter = new JwtAuthenticationConverter();
 
@@ -118,6 +126,22 @@ public class SecurityConfig {
             return authorities;
         });
 
+        return jwtAuthConverter;
+    }
+
+    /**
+     * Configure a security filter chain:
+     * - disable CSRF (API only)
+     * - enable CORS (configured separately in WebMvcConfig)
+     * - stateless session management
+     * - permit open endpoints (login/register, health)
+     * - require authentication for everything else
+     * - authenticate bearer tokens through ValidatedJwtCache (decoder + the
+     *   JwtAuthenticationConverter above, remembered per token)
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   ValidatedJwtCache validatedJwtCache) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(Customizer.withDefaults())
@@ -158,7 +182,7 @@ public class SecurityConfig {
                 )
 
                 .oauth2ResourceServer(o ->
-                        o.jwt(j -> j.jwtAuthenticationConverter(jwtAuthConverter))
+                        o.jwt(j -> j.authenticationManager(validatedJwtCache::authenticate))
                 )
                 .build();
     }
@@ -0,0 +1,102 @@
+package com.be.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Bearer token authentication with the outcome remembered per token
+ * (SecurityConfig's resource server uses {@link #authenticate} as its
+ * AuthenticationManager). Without it every request re-verifies the HS256
+ * signature, re-parses the claims, runs the validators and rebuilds the
+ * authorities in jwtAuthenticationConverter — for a token that is
+ * usually the same one the client sent a second ago and keeps sending
+ * for a day (app.jwt.expiration).
+ * <p>
+ * The first request with a token goes through the normal
+ * JwtAuthenticationProvider; if it succeeds, the verified Jwt and its
+ * authorities are kept under the token's SHA-256 (not the token itself)
+ * until the token's own exp, then dropped. Failures are never cached.
+ * Tokens aren't revocable anywhere in this app, so a cached token is
+ * exactly as valid as a re-verified one; the one difference is that
+ * exp is applied without the validator's 60s clock-skew allowance.
+ * <p>
+ * Bounded to {@code maxEntries}; hits and misses are on
+ * cache_gets_total{cache="jwt.validated"}.
+ */
+public class ValidatedJwtCache {
+
+    static final String CACHE = "jwt.validated";
+
+    private final JwtAuthenticationProvider provider;
+    private final Cache<String, Validated> validated;
+
+    public ValidatedJwtCache(JwtDecoder jwtDecoder,
+                             Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter,
+                             MeterRegistry meterRegistry,
+                             long maxEntries) {
+        this.provider = new JwtAuthenticationProvider(jwtDecoder);
+        this.provider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        this.validated = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String digest, Validated v) -> v.timeLeft()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, validated, CACHE);
+    }
+
+    public Authentication authenticate(Authentication authentication) {
+        BearerTokenAuthenticationToken bearer = (BearerTokenAuthenticationToken) authentication;
+        String digest = digest(bearer.getToken());
+        Validated hit = validated.getIfPresent(digest);
+        if (hit != null) {
+            JwtAuthenticationToken token = new JwtAuthenticationToken(hit.jwt(), hit.authorities(), hit.name());
+            token.setDetails(bearer.getDetails());
+            return token;
+        }
+
+        Authentication result = provider.authenticate(bearer);
+        if (result instanceof JwtAuthenticationToken token && token.getToken().getExpiresAt() != null) {
+            validated.put(digest, new Validated(token.getToken(), List.copyOf(token.getAuthorities()),
+                    token.getName()));
+        }
+        return result;
+    }
+
+    private static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(
+                    MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Validated(Jwt jwt, Collection<GrantedAuthority> authorities, String name) {
+
+        Duration timeLeft() {
+            Duration left = Duration.between(Instant.now(), jwt.getExpiresAt());
+            return left.isNegative() ? Duration.ZERO : left;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.be.config.crypto;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.text.Normalizer;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keyed-HMAC blind index over encrypted name columns — lets
+ * {@code UserService.searchUsers} find candidate rows with an indexed SQL
+ * lookup instead of decrypting every row of {@code users} (see
+ * EncryptedStringConverter: GCM ciphertext can never be matched by LIKE).
+ * <p>
+ * Each name is normalized (NFKC, lower-case, collapsed whitespace) and cut
+ * into tokens: every 3-character window of the whole value ("trigrams",
+ * for substring search) plus the 1- and 2-character prefix of every word
+ * (so a 1-2 character search still works, as a word-prefix match). Each
+ * token is HMAC-SHA256'd and truncated to 8 bytes; the stored index is the
+ * sorted, de-duplicated, space-separated list of those hex digests. A
+ * search term goes through the same pipeline, and a row is a candidate
+ * only if its index contains every one of the term's tokens.
+ * <p>
+ * Candidates are a superset of real matches (all trigrams present doesn't
+ * guarantee they're contiguous) — callers must still check the decrypted
+ * value, but only for the handful of rows the index returned.
+ * <p>
+ * No separate secret to manage: the HMAC key is derived from
+ * FIELD_ENCRYPTION_KEY (HMAC(fieldKey, label)), so the AES key itself is
+ * never used as an HMAC key directly. Rotating FIELD_ENCRYPTION_KEY
+ * invalidates every stored index — set the name_blind_index columns back
+ * to NULL and NameBlindIndexBackfillRunner rebuilds them on next start.
+ * Deliberately no single-character n-grams: a blind index over ~30
+ * possible letters is trivially frequency-analyzable, trigrams and word
+ * prefixes leak far less about the name itself.
+ */
+@Component
+public class BlindIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BlindIndex.class);
+    private static final String HMAC = "HmacSHA256";
+    private static final byte[] KEY_LABEL = "lr-name-blind-index-v1".getBytes(StandardCharsets.UTF_8);
+    private static final int NGRAM = 3;
+    private static final int MAX_PREFIX = NGRAM - 1;
+    private static final int DIGEST_BYTES = 8;
+
+    @Value("${app.field-encryption.key:}")
+    private String base64Key;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        if (base64Key == null || base64Key.isBlank()) {
+            throw new IllegalStateException("Field encryption key is not configured");
+        }
+        try {
+            Mac derive = Mac.getInstance(HMAC);
+            derive.init(new SecretKeySpec(Base64.getDecoder().decode(base64Key), HMAC));
+            this.key = new SecretKeySpec(derive.doFinal(KEY_LABEL), HMAC);
+        } catch (IllegalArgumentException | GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to derive blind-index key from FIELD_ENCRYPTION_KEY", ex);
+        }
+        log.info("BlindIndex initialized (HMAC-SHA256, trigram + word-prefix tokens)");
+    }
+
+    /**
+     * Index value for one row — every token of every given value, or an
+     * empty string if none of them has any (null/blank names). Never
+     * returns null: NULL in the column means "not indexed yet", which is
+     * what NameBlindIndexBackfillRunner looks for.
+     */
+    public String indexFor(String... values) {
+        Set<String> tokens = new TreeSet<>();
+        for (String value : values) {
+            String normalized = normalize(value);
+            if (normalized.isEmpty()) continue;
+            for (String word : normalized.split(" ")) {
+                for (int len = 1; len <= Math.min(MAX_PREFIX, word.length()); len++) {
+                    tokens.add("p:" + word.substring(0, len));
+                }
+            }
+            for (int i = 0; i + NGRAM <= normalized.length(); i++) {
+                tokens.add("t:" + normalized.substring(i, i + NGRAM));
+            }
+        }
+        return digestAll(tokens);
+    }
+
+    /**
+     * Tokens a row's index must contain for {@code searchTerm} to possibly
+     * match — trigrams for a term of 3+ characters, a word-prefix token
+     * for a shorter one. Null if the term is blank after normalization.
+     */
+    public String searchTokensFor(String searchTerm) {
+        String normalized = normalize(searchTerm);
+        if (normalized.isEmpty()) return null;
+
+        Set<String> tokens = new TreeSet<>();
+        if (normalized.length() < NGRAM) {
+            tokens.add("p:" + normalized);
+        } else {
+            for (int i = 0; i + NGRAM <= normalized.length(); i++) {
+                tokens.add("t:" + normalized.substring(i, i + NGRAM));
+            }
+        }
+        return digestAll(tokens);
+    }
+
+    /**
+     * Same normalization the index is built with — exposed so the final
+     * in-memory match on decrypted candidates agrees with the index about
+     * what "contains" means.
+     */
+    public static String normalize(String value) {
+        if (value == null) return "";
+        return Normalizer.normalize(value, Normalizer.Form.NFKC)
+                .toLowerCase(Locale.ROOT)
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    private String digestAll(Set<String> tokens) {
+        if (tokens.isEmpty()) return "";
+        requireKey();
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            // TreeSet again: digests sorted/de-duplicated too (truncation
+            // makes a collision between two different tokens possible).
+            Set<String> digests = new TreeSet<>();
+            HexFormat hex = HexFormat.of();
+            for (String token : tokens) {
+                byte[] full = mac.doFinal(token.getBytes(StandardCharsets.UTF_8));
+                digests.add(hex.formatHex(full, 0, DIGEST_BYTES));
+            }
+            return String.join(" ", digests);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("Failed to compute blind index", ex);
+        }
+    }
+
+    private void requireKey() {
+        if (key == null) {
+            throw new IllegalStateException("BlindIndex used before Spring initialized it (@PostConstruct not run yet)");
+        }
+    }
+}
@@ -12,8 +12,12 @@ import javax.crypto.Cipher;
 import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.SecureRandom;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Transparent AES-256-GCM encryption for JPA columns holding GoBD/DSGVO
@@ -34,6 +38,18 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
     private static final int GCM_IV_LENGTH = 12;
     private static final int GCM_TAG_LENGTH_BITS = 128;
 
+    // SecureRandom is thread-safe; seeding a new one per value was the
+    // single most expensive part of encrypting.
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final ThreadLocal<Cipher> CIPHERS = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(TRANSFORMATION + " is not available", ex);
+        }
+    });
+    private static final ThreadLocal<byte[]> PLAIN_BUFFERS = ThreadLocal.withInitial(() -> new byte[256]);
+
     @Value("${app.field-encryption.key:}")
     private String base64Key;
 
@@ -65,14 +81,16 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
         if (plainText == null) return null;
         requireKey();
         try {
+            byte[] plain = plainText.getBytes(StandardCharsets.UTF_8);
+            // Ciphertext+tag is written straight after the IV in the
+            // output array instead of being copied there afterwards.
+            byte[] combined = new byte[GCM_IV_LENGTH + plain.length + GCM_TAG_LENGTH_BITS / 8];
             byte[] iv = new byte[GCM_IV_LENGTH];
-            new SecureRandom().nextBytes(iv);
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            RANDOM.nextBytes(iv);
+            System.arraycopy(iv, 0, combined, 0, GCM_IV_LENGTH);
+            Cipher cipher = cipher();
             cipher.init(Cipher.ENCRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
-            byte[] cipherText = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
-            byte[] combined = new byte[iv.length + cipherText.length];
-            System.arraycopy(iv, 0, combined, 0, iv.length);
-            System.arraycopy(cipherText, 0, combined, iv.length, cipherText.length);
+            cipher.doFinal(plain, 0, plain.length, combined, GCM_IV_LENGTH);
             return Base64.getEncoder().encodeToString(combined);
         } catch (Exception ex) {
             throw new IllegalStateException("Failed to encrypt field value", ex);
@@ -83,21 +101,55 @@ public class EncryptedStringConverter implements AttributeConverter<String, Stri
     public String convertToEntityAttribute(String storedValue) {
         if (storedValue == null) return null;
         requireKey();
+        return decrypt(storedValue, cipher());
+    }
+
+    /**
+     * Decrypts a batch of stored values (nulls pass through), in iteration
+     * order — for code that reads ciphertext columns directly (projections,
+     * native queries) rather than through an entity, where each value
+     * would otherwise be a separate converter call.
+     */
+    public List<String> decryptAll(Collection<String> storedValues) {
+        requireKey();
+        Cipher cipher = cipher();
+        List<String> plain = new ArrayList<>(storedValues.size());
+        for (String storedValue : storedValues) {
+            plain.add(storedValue == null ? null : decrypt(storedValue, cipher));
+        }
+        return plain;
+    }
+
+    private String decrypt(String storedValue, Cipher cipher) {
         try {
             byte[] combined = Base64.getDecoder().decode(storedValue);
-            byte[] iv = new byte[GCM_IV_LENGTH];
-            System.arraycopy(combined, 0, iv, 0, GCM_IV_LENGTH);
-            byte[] cipherText = new byte[combined.length - GCM_IV_LENGTH];
-            System.arraycopy(combined, GCM_IV_LENGTH, cipherText, 0, cipherText.length);
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, iv));
-            byte[] plain = cipher.doFinal(cipherText);
-            return new String(plain, StandardCharsets.UTF_8);
+            int cipherLength = combined.length - GCM_IV_LENGTH;
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(GCM_TAG_LENGTH_BITS, combined, 0, GCM_IV_LENGTH));
+            byte[] plain = plainBuffer(cipher.getOutputSize(cipherLength));
+            int length = cipher.doFinal(combined, GCM_IV_LENGTH, cipherLength, plain, 0);
+            return new String(plain, 0, length, StandardCharsets.UTF_8);
         } catch (Exception ex) {
             throw new IllegalStateException("Failed to decrypt field value", ex);
         }
     }
 
+    // Cipher.getInstance is a provider lookup plus a fresh object every
+    // call; a Cipher isn't thread-safe but is fully reset by init(), so one
+    // per thread is enough. Same for the plaintext scratch buffer, which
+    // only grows (these are names/IBANs/addresses, never large).
+    private Cipher cipher() {
+        return CIPHERS.get();
+    }
+
+    private static byte[] plainBuffer(int size) {
+        byte[] buffer = PLAIN_BUFFERS.get();
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer.length * 2)];
+            PLAIN_BUFFERS.set(buffer);
+        }
+        return buffer;
+    }
+
     private void requireKey() {
         if (key == null) {
             throw new IllegalStateException("EncryptedStringConverter used before Spring initialized it (@PostConstruct not run yet)");
@@ -0,0 +1,34 @@
+package com.be.config.crypto;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recomputes name_blind_index on every insert/update of a
+ * {@link NameBlindIndexed} entity, so no service-layer write path (there
+ * are several per entity — registration, profile update, admin edits) can
+ * forget to. Spring-managed for the same reason EncryptedStringConverter
+ * is: Hibernate resolves entity listeners through Spring's bean container,
+ * which is how BlindIndex's key gets in here.
+ * <p>
+ * Setting a field inside @PreUpdate is picked up by the same flush — same
+ * mechanism User.onUpdate() already relies on for updatedAt.
+ */
+@Component
+public class NameBlindIndexListener {
+
+    private final BlindIndex blindIndex;
+
+    public NameBlindIndexListener(BlindIndex blindIndex) {
+        this.blindIndex = blindIndex;
+    }
+
+    @PrePersist
+    @PreUpdate
+    public void updateIndex(Object entity) {
+        if (entity instanceof NameBlindIndexed indexed) {
+            indexed.setNameBlindIndex(blindIndex.indexFor(indexed.getFirstName(), indexed.getLastName()));
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.be.config.crypto;
+
+/**
+ * Entity with encrypted first/last name columns plus a blind index over
+ * them (see BlindIndex) — User, Teacher, Participant. Lets one
+ * NameBlindIndexListener keep all three in sync instead of three copies of
+ * the same @PrePersist/@PreUpdate logic.
+ */
+public interface NameBlindIndexed {
+
+    String getFirstName();
+
+    String getLastName();
+
+    void setNameBlindIndex(String nameBlindIndex);
+}
@@ -15,7 +15,8 @@ import java.util.Set;
 @Builder
 public class Activity {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "activities_id_seq")
+    @SequenceGenerator(name = "activities_id_seq", sequenceName = "activities_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -15,7 +15,8 @@ import java.util.Set;
 @Builder
 public class AgeGroup {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "age_groups_id_seq")
+    @SequenceGenerator(name = "age_groups_id_seq", sequenceName = "age_groups_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -26,7 +26,8 @@ import java.time.LocalDateTime;
 public class Enrollment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "enrollments_id_seq")
+    @SequenceGenerator(name = "enrollments_id_seq", sequenceName = "enrollments_id_seq", allocationSize = 50)
     private Long id;
 
     // who enrolled
@@ -62,11 +63,19 @@ public class Enrollment {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // V23 — when this became PENDING, which for a promoted waitlist entry
+    // is the promotion, not createdAt. The 7-day unpaid sweep goes by it.
+    @Column(name = "pending_since")
+    private LocalDateTime pendingSince;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         if (status == null) {
             status = EnrollmentStatus.PENDING;
         }
+        if (status == EnrollmentStatus.PENDING && pendingSince == null) {
+            pendingSince = createdAt;
+        }
     }
 }
\ No newline at end of file
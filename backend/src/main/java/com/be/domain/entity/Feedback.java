@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Builder
 public class Feedback {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "feedbacks_feedback_id_seq")
+    @SequenceGenerator(name = "feedbacks_feedback_id_seq", sequenceName = "feedbacks_feedback_id_seq", allocationSize = 50)
     @Column(name = "feedback_id")
     private Long id;
 
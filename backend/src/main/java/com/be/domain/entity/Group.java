@@ -28,7 +28,8 @@ import static jakarta.persistence.FetchType.LAZY;
 public class Group {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workshop_groups_id_seq")
+    @SequenceGenerator(name = "workshop_groups_id_seq", sequenceName = "workshop_groups_id_seq", allocationSize = 50)
     private Long id;
 
     // multilingual titles
@@ -47,6 +48,21 @@ public class Group {
     @Column(nullable = false)
     private int capacityLeft;
 
+    // V21 — enrollments per status, moved by the same UPDATE as
+    // capacityLeft (GroupRepository.updateCapacityAndCounts). Read-only
+    // here: a save() of a Group loaded earlier must not write a stale
+    // count back over a newer one.
+    @Column(name = "pending_count", nullable = false, insertable = false, updatable = false)
+    private int pendingCount;
+    @Column(name = "confirmed_count", nullable = false, insertable = false, updatable = false)
+    private int confirmedCount;
+    @Column(name = "cancelled_count", nullable = false, insertable = false, updatable = false)
+    private int cancelledCount;
+    @Column(name = "expired_count", nullable = false, insertable = false, updatable = false)
+    private int expiredCount;
+    @Column(name = "waitlisted_count", nullable = false, insertable = false, updatable = false)
+    private int waitlistedCount;
+
     // period / slot of this group (LocalDateTime per decision)
     @Column(name = "start_date_time", nullable = false)
     private LocalDateTime startDateTime;
@@ -107,6 +123,13 @@ public class Group {
     @Column(name = "recurrence_end_date")
     private LocalDate recurrenceEndDate;
 
+    // Bumped by GroupService whenever any of the three fields above
+    // changes (V19) — OccurrenceService's compiled-rule cache is keyed on
+    // it, so it only has to read this int to know its copy is current.
+    @Column(name = "recurrence_version", nullable = false)
+    @Builder.Default
+    private int recurrenceVersion = 0;
+
     @OneToMany(fetch = LAZY)
     @JoinColumn(name = "participant_id")
     private Set<Participant> participants = new HashSet<>();
@@ -137,10 +160,18 @@ public class Group {
     @Column(nullable = false)
     private boolean active = true;
 
+    // V20 — enroll requests go through EnrollmentAdmissionQueue (FIFO,
+    // batched capacity reservation, waitlist) instead of straight to
+    // EnrollmentService. For openings expected to sell out in minutes.
+    @Column(name = "admission_queue", nullable = false)
+    private boolean admissionQueue;
+
     // ---- helper methods ----
+    // Enrollments holding a spot — from the counters, so the enrollments
+    // collection isn't loaded; CANCELLED/EXPIRED/WAITLISTED don't count.
     @Transient
     public int getEnrolledCount() {
-        return enrollments == null ? 0 : enrollments.size();
+        return pendingCount + confirmedCount;
     }
 
     @Transient
@@ -0,0 +1,58 @@
+package com.be.domain.entity;
+
+import com.be.config.crypto.EncryptedStringConverter;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user's Idempotency-Key and, once the request it arrived with has
+ * finished, the response to replay for it (V22). Rows are created by
+ * IdempotencyRecordRepository.claim, never persisted through JPA.
+ */
+@Entity
+@Table(name = "idempotency_keys")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "idempotency_keys_id_seq")
+    @SequenceGenerator(name = "idempotency_keys_id_seq", sequenceName = "idempotency_keys_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 of endpoint + request body.
+    @Column(nullable = false)
+    private byte[] fingerprint;
+
+    // NULL while the first request is still running.
+    private Integer statusCode;
+
+    @Column(length = 500)
+    private String location;
+
+    @Convert(converter = EncryptedStringConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Lease while running, replay TTL once completed — see V22.
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    public boolean isCompleted() {
+        return statusCode != null;
+    }
+}
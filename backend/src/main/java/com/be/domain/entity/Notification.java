@@ -16,7 +16,8 @@ import java.util.List;
 @Builder
 public class Notification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_notification_id_seq")
+    @SequenceGenerator(name = "notifications_notification_id_seq", sequenceName = "notifications_notification_id_seq", allocationSize = 50)
     @Column(name = "notification_id")
     private Long id;
 
@@ -0,0 +1,87 @@
+package com.be.domain.entity;
+
+import com.be.domain.entity.enums.BroadcastAudience;
+import com.be.domain.entity.enums.BroadcastStatus;
+import com.be.domain.entity.enums.Role;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One Notification sent to an audience in the background by
+ * NotificationBroadcastRunner, with its progress (V16).
+ */
+@Entity
+@Table(name = "notification_broadcasts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_broadcasts_id_seq")
+    @SequenceGenerator(name = "notification_broadcasts_id_seq", sequenceName = "notification_broadcasts_id_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "notification_id", nullable = false)
+    private Notification notification;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BroadcastAudience audience;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "audience_role")
+    private Role audienceRole;
+
+    // Workshop, course or group id, depending on audience.
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private BroadcastStatus status = BroadcastStatus.PENDING;
+
+    // Audience size when the broadcast was requested; processed can end
+    // up slightly off if users join or leave the audience meanwhile.
+    @Column(nullable = false)
+    private int totalRecipients;
+
+    @Column(nullable = false)
+    private int processed;
+
+    // Inbox rows actually created — less than processed when a recipient
+    // already had this notification.
+    @Column(nullable = false)
+    private int delivered;
+
+    // Keyset cursor over users.id, see V16.
+    @Column(nullable = false)
+    private long lastUserId;
+
+    @Column(length = 1000)
+    private String error;
+
+    private Long requestedBy;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.createdAt == null) this.createdAt = now;
+        if (this.updatedAt == null) this.updatedAt = now;
+    }
+}
@@ -1,6 +1,8 @@
 package com.be.domain.entity;
 
 import com.be.config.crypto.EncryptedStringConverter;
+import com.be.config.crypto.NameBlindIndexListener;
+import com.be.config.crypto.NameBlindIndexed;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,14 +11,16 @@ import static jakarta.persistence.FetchType.LAZY;
 
 @Entity
 @Table(name = "participants")
+@EntityListeners(NameBlindIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-public class Participant {
+public class Participant implements NameBlindIndexed {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participants_id_seq")
+    @SequenceGenerator(name = "participants_id_seq", sequenceName = "participants_id_seq", allocationSize = 50)
     private Long id;
 
     // DSGVO-sensitive PII — encrypted at rest, see EncryptedStringConverter.
@@ -33,6 +37,10 @@ public class Participant {
     @Column(nullable = false)
     private String lastName;
 
+    // Same blind index as User.nameBlindIndex — maintained by the listener.
+    @Column(name = "name_blind_index", columnDefinition = "TEXT")
+    private String nameBlindIndex;
+
     @Column(nullable = false, unique = true)
     private String email;
 
@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Performance {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "performances_id_seq")
+    @SequenceGenerator(name = "performances_id_seq", sequenceName = "performances_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -3,6 +3,7 @@ package com.be.domain.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "group_sessions",
         indexes = {
-                @Index(name = "idx_group_sessions_group", columnList = "group_id")
+                @Index(name = "idx_group_sessions_group_start", columnList = "group_id, start_date_time")
         })
 @Getter
 @Setter
@@ -23,7 +24,8 @@ import java.time.LocalDateTime;
 public class Session {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_sessions_id_seq")
+    @SequenceGenerator(name = "group_sessions_id_seq", sequenceName = "group_sessions_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -43,6 +45,24 @@ public class Session {
     @JoinColumn(name = "venue_id")
     private Venue venue;
 
+    // The recurrence-rule date this session was generated for; null for
+    // sessions added by hand (V18).
+    @Column(name = "occurrence_date")
+    private LocalDate occurrenceDate;
+
+    // A generated occurrence an admin changed by hand — kept as is when
+    // the rule is regenerated (V18).
+    @Column(name = "manually_edited", nullable = false)
+    @Builder.Default
+    private boolean manuallyEdited = false;
+
+    // A rule date that doesn't take place (V19). The row stays as the
+    // record of the exception — range queries skip it, regeneration
+    // keeps it (it is always manuallyEdited too).
+    @Column(name = "cancelled", nullable = false)
+    @Builder.Default
+    private boolean cancelled = false;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
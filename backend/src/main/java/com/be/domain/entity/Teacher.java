@@ -1,6 +1,8 @@
 package com.be.domain.entity;
 
 import com.be.config.crypto.EncryptedStringConverter;
+import com.be.config.crypto.NameBlindIndexListener;
+import com.be.config.crypto.NameBlindIndexed;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,14 +11,16 @@ import java.util.Set;
 
 @Entity
 @Table(name = "teachers")
+@EntityListeners(NameBlindIndexListener.class)
 @Builder
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
-public class Teacher {
+public class Teacher implements NameBlindIndexed {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "teachers_id_seq")
+    @SequenceGenerator(name = "teachers_id_seq", sequenceName = "teachers_id_seq", allocationSize = 50)
     private Long id;
 
     // DSGVO-sensitive PII — encrypted at rest, see EncryptedStringConverter.
@@ -34,6 +38,10 @@ public class Teacher {
     @Column(nullable = false)
     private String lastName;
 
+    // Same blind index as User.nameBlindIndex — maintained by the listener.
+    @Column(name = "name_blind_index", columnDefinition = "TEXT")
+    private String nameBlindIndex;
+
     @Column(nullable = false, unique = true)
     private String email;
 
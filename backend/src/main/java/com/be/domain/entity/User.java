@@ -1,6 +1,8 @@
 package com.be.domain.entity;
 
 import com.be.config.crypto.EncryptedStringConverter;
+import com.be.config.crypto.NameBlindIndexListener;
+import com.be.config.crypto.NameBlindIndexed;
 import com.be.domain.entity.enums.Role;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Size;
@@ -17,14 +19,16 @@ import java.util.List;
         @Index(name = "idx_user_role", columnList = "role"),
         @Index(name = "idx_user_lock_until", columnList = "lock_until")
 })
+@EntityListeners(NameBlindIndexListener.class)
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @AllArgsConstructor
 @Builder
-public class User {
+public class User implements NameBlindIndexed {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     private Long id;
 
     // Registration data
@@ -47,6 +51,12 @@ public class User {
     @Size(min = 2, max = 50)
     private String lastName;
 
+    // Blind index over firstName/lastName (see BlindIndex) — the only way
+    // to search these columns without decrypting every row. Maintained by
+    // NameBlindIndexListener on every write, never set by hand.
+    @Column(name = "name_blind_index", columnDefinition = "TEXT")
+    private String nameBlindIndex;
+
     @Convert(converter = EncryptedStringConverter.class)
     private String phone;
 
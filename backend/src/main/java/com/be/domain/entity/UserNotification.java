@@ -14,7 +14,8 @@ import java.time.LocalDateTime;
 @Builder
 public class UserNotification {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_notifications_user_notification_id_seq")
+    @SequenceGenerator(name = "user_notifications_user_notification_id_seq", sequenceName = "user_notifications_user_notification_id_seq", allocationSize = 50)
     @Column(name = "user_notification_id")
     private Long id;
 
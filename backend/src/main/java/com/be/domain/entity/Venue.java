@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Venue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "venues_id_seq")
+    @SequenceGenerator(name = "venues_id_seq", sequenceName = "venues_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
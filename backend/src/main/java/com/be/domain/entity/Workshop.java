@@ -26,7 +26,8 @@ import java.util.List;
 public class Workshop {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workshops_workshop_id_seq")
+    @SequenceGenerator(name = "workshops_workshop_id_seq", sequenceName = "workshops_workshop_id_seq", allocationSize = 50)
     @Column(name = "workshop_id")
     private Long id;
 
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
 public class WorkshopFile {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workshop_files_id_seq")
+    @SequenceGenerator(name = "workshop_files_id_seq", sequenceName = "workshop_files_id_seq", allocationSize = 50)
     private Long id;
 
     // owner workshop
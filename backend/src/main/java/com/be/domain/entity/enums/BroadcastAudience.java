@@ -0,0 +1,9 @@
+package com.be.domain.entity.enums;
+
+public enum BroadcastAudience {
+    ALL,        // every enabled user
+    ROLE,       // enabled users with audience_role
+    WORKSHOP,   // active enrollees of target_id
+    COURSE,
+    GROUP
+}
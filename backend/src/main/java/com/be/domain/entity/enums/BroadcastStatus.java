@@ -0,0 +1,8 @@
+package com.be.domain.entity.enums;
+
+public enum BroadcastStatus {
+    PENDING,    // waiting for NotificationBroadcastRunner
+    RUNNING,    // updated_at is the heartbeat, bumped per chunk
+    COMPLETED,
+    FAILED
+}
@@ -8,5 +8,9 @@ public enum EnrollmentStatus {
     // awaiting payment) enrollment's payment never arrived. Distinct from
     // CANCELLED (a deliberate user/admin action) so the two are never
     // conflated in reporting/dashboard display.
-    EXPIRED
+    EXPIRED,
+    // V20 — joined a full admission-queue group's waitlist. Holds no
+    // capacity; promoted to PENDING/CONFIRMED, oldest first, when a held
+    // spot is cancelled or expires (EnrollmentService.releaseSeats).
+    WAITLISTED
 }
\ No newline at end of file
@@ -0,0 +1,8 @@
+package com.be.domain.entity.enums;
+
+public enum MailOutboxStatus {
+    PENDING,    // waiting for next_attempt_at
+    SENDING,    // claimed by a dispatcher worker, next_attempt_at is the lease expiry
+    SENT,
+    DEAD        // gave up after max attempts or a permanent error
+}
@@ -0,0 +1,7 @@
+package com.be.domain.entity.enums;
+
+// Which MailService method a mail_outbox row is delivered through.
+public enum MailTemplate {
+    VERIFICATION,       // payload = verification link
+    ENROLLMENT_UPDATE   // payload = plain-text lines, see NotificationTexts
+}
@@ -0,0 +1,37 @@
+package com.be.domain.event;
+
+import com.be.domain.entity.enums.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * What AsyncNotificationDispatcher queues for one NotificationService
+ * call. Everything a channel needs is copied out of the entities while the
+ * enrollment transaction is still open — channels run after commit, on
+ * another thread, where lazy associations can't be loaded any more.
+ * {@code occurredAt} is when the call was made; dispatch lag is measured
+ * from it.
+ */
+public record EnrollmentNotificationEvent(
+        Kind kind,
+        Long userId,
+        String userEmail,
+        Long workshopId,
+        String workshopName,
+        Long courseId,
+        String courseTitle,
+        Long groupId,
+        EnrollmentStatus status,
+        String message,
+        LocalDateTime occurredAt) {
+
+    public enum Kind {
+        ENROLLED,
+        CANCELLED
+    }
+
+    /** Workshop name or course title, whichever the enrollment is for. */
+    public String target() {
+        return workshopName != null ? workshopName : courseTitle;
+    }
+}
@@ -0,0 +1,26 @@
+package com.be.domain.event;
+
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+
+/**
+ * Published by EnrollmentService whenever an enrollment is created
+ * ({@code previousStatus == null}) or moves to another status. Plain ids
+ * only, no entities — listeners run after the publishing transaction has
+ * committed, where lazy associations can no longer be loaded.
+ * <p>
+ * {@code userRole} is null when the publisher didn't already have the
+ * User loaded (expiry works on detached enrollments) — listeners may only
+ * rely on it for a transition into CONFIRMED, which always comes from a
+ * path that loaded the user.
+ */
+public record EnrollmentStatusChangedEvent(
+        Long enrollmentId,
+        Long userId,
+        Role userRole,
+        Long workshopId,
+        Long courseId,
+        Long groupId,
+        EnrollmentStatus previousStatus,
+        EnrollmentStatus newStatus) {
+}
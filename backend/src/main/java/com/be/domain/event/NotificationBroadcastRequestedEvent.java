@@ -0,0 +1,8 @@
+package com.be.domain.event;
+
+/**
+ * Published by NotificationBroadcastService when a broadcast is requested;
+ * NotificationBroadcastRunner starts it once the request has committed.
+ */
+public record NotificationBroadcastRequestedEvent(Long broadcastId) {
+}
@@ -0,0 +1,12 @@
+package com.be.domain.event;
+
+import com.be.domain.entity.enums.Role;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by UserService.createUser for every new account, delivered to
+ * listeners only once the creating transaction has committed.
+ */
+public record UserRegisteredEvent(Long userId, Role role, LocalDateTime createdAt) {
+}
@@ -0,0 +1,12 @@
+package com.be.domain.exception;
+
+/**
+ * Thrown by EnrollmentAdmissionQueue when a group's in-memory admission
+ * queue is at capacity. Not a verdict on the enrollment itself — the
+ * client should retry shortly, by which time the drainer has moved on.
+ */
+public class AdmissionQueueFullException extends RuntimeException {
+    public AdmissionQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.be.domain.exception;
+
+/**
+ * Thrown by IdempotencyGuard when an Idempotency-Key the user already
+ * used comes back with a different endpoint or request body. Replaying
+ * the first response would answer a request that was never made, so the
+ * client is told to use a fresh key instead.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
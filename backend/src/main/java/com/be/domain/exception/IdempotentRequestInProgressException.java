@@ -0,0 +1,12 @@
+package com.be.domain.exception;
+
+/**
+ * Thrown by IdempotencyGuard when the first request with this
+ * Idempotency-Key is still running after the duplicate has waited
+ * wait-ms for it. Retrying the same request later gets its response.
+ */
+public class IdempotentRequestInProgressException extends RuntimeException {
+    public IdempotentRequestInProgressException(String message) {
+        super(message);
+    }
+}
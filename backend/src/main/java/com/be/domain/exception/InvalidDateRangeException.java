@@ -0,0 +1,8 @@
+package com.be.domain.exception;
+
+/** Thrown for a from/to query range that is reversed or longer than the endpoint allows. */
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
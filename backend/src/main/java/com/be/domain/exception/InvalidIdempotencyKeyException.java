@@ -0,0 +1,8 @@
+package com.be.domain.exception;
+
+/** Idempotency-Key header blank or longer than IdempotencyGuard accepts. */
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.be.domain.exception;
+
+/** Thrown for an unknown sort field, a bad page size, or a cursor that doesn't decode or doesn't match the sort. */
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
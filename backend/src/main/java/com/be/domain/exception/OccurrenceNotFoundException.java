@@ -0,0 +1,8 @@
+package com.be.domain.exception;
+
+/** Thrown for a date a Group's recurrence rule has no occurrence on. */
+public class OccurrenceNotFoundException extends RuntimeException {
+    public OccurrenceNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.be.domain.exception;
+
+/** Thrown when a session or event would double-book a venue (VenueOccupancyIndex). */
+public class VenueConflictException extends RuntimeException {
+    public VenueConflictException(String message) {
+        super(message);
+    }
+}
@@ -3,13 +3,24 @@ package com.be.domain.repository;
 import com.be.domain.entity.Enrollment;
 import com.be.domain.entity.enums.EnrollmentStatus;
 import com.be.domain.entity.enums.Role;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
@@ -28,19 +39,86 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
 
     List<Enrollment> findByGroupId(Long groupId);
 
+    // Participant export (EnrollmentExportService) — forward-only cursors
+    // instead of the List variants above. Everything the export row needs
+    // is fetch-joined so a row never triggers a lazy load, the fetch size
+    // keeps pgJDBC from buffering the whole result client-side (it only
+    // honours it inside a transaction), and read-only skips the dirty-check
+    // snapshot per entity. Must be consumed inside a transaction and closed.
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.user LEFT JOIN FETCH e.workshop " +
+            "LEFT JOIN FETCH e.course LEFT JOIN FETCH e.group LEFT JOIN FETCH e.order " +
+            "WHERE e.workshop.id = :workshopId ORDER BY e.id")
+    Stream<Enrollment> streamByWorkshopId(@Param("workshopId") Long workshopId);
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT e FROM Enrollment e JOIN FETCH e.user LEFT JOIN FETCH e.workshop " +
+            "LEFT JOIN FETCH e.course LEFT JOIN FETCH e.group LEFT JOIN FETCH e.order " +
+            "WHERE e.group.id = :groupId ORDER BY e.id")
+    Stream<Enrollment> streamByGroupId(@Param("groupId") Long groupId);
+
     // LR-084 — 7-day TTL cleanup job's query: unpaid (still PENDING) paid
-    // enrollments whose Order never got confirmed within the window.
-    List<Enrollment> findByStatusAndCreatedAtBefore(EnrollmentStatus status, LocalDateTime cutoff);
-
-    // M6 (retention, LR-015) — one row per customer (Role.USER — same
-    // restriction as M4's findByRoleAndCreatedAtAfter, since TEACHER/ADMIN/
-    // BUSINESS_OWNER can also hold enrollments per EnrollmentController's
-    // @PreAuthorize, and this metric is specifically about paying/enrolled
-    // customers, not internal test enrollments) with at least one enrollment
-    // in the given status, paired with how many distinct workshops that
-    // covers. Row[0] = User.id, Row[1] = distinct workshop count.
-    @Query("SELECT e.user.id, COUNT(DISTINCT e.workshop.id) FROM Enrollment e " +
-            "WHERE e.status = :status AND e.user.role = :role GROUP BY e.user.id")
-    List<Object[]> countDistinctWorkshopsPerUserWithStatus(@Param("status") EnrollmentStatus status,
-                                                            @Param("role") Role role);
+    // enrollments whose Order never got confirmed within the window. Ids
+    // only, keyset-paginated by id — EnrollmentCleanupService walks the
+    // backlog one chunk at a time instead of loading all of it. The window
+    // runs from pendingSince (V23), so a waitlist entry promoted today gets
+    // its full 7 days however long it waited.
+    @Query("SELECT e.id FROM Enrollment e " +
+            "WHERE e.status = :status AND e.pendingSince < :cutoff AND e.id > :afterId ORDER BY e.id")
+    List<Long> findIdsByStatusAndPendingSinceBefore(@Param("status") EnrollmentStatus status,
+                                                    @Param("cutoff") LocalDateTime cutoff,
+                                                    @Param("afterId") Long afterId,
+                                                    Limit limit);
+
+    // Batch expiry, step 1 — re-checks the status and row-locks whatever is
+    // still in it, so a chunk id that was cancelled or paid since the
+    // keyset read is simply not part of the batch, and nothing can change
+    // the locked rows until the batch commits.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.id IN :ids AND e.status = :status")
+    List<Enrollment> findByIdInAndStatusForUpdate(@Param("ids") Collection<Long> ids,
+                                                  @Param("status") EnrollmentStatus status);
+
+    // Batch expiry, step 2 — one set-based UPDATE for the whole locked
+    // chunk instead of one entity save per row.
+    @Modifying
+    @Query("UPDATE Enrollment e SET e.status = :status WHERE e.id IN :ids")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") EnrollmentStatus status);
+
+    // V20 — waitlist promotion: a group's longest-waiting WAITLISTED
+    // enrollments, row-locked. SKIP LOCKED so two spots released at the
+    // same time go to two different people instead of the second release
+    // waiting on the first's lock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM Enrollment e WHERE e.group.id = :groupId AND e.status = :status " +
+            "ORDER BY e.createdAt, e.id")
+    List<Enrollment> findByGroupIdAndStatusForUpdate(@Param("groupId") Long groupId,
+                                                     @Param("status") EnrollmentStatus status,
+                                                     Limit limit);
+
+    // V20 — admission batches: which of a batch's users already hold an
+    // enrollment for the workshop/course, in one query instead of one
+    // exists-check per request.
+    @Query("SELECT e.user.id FROM Enrollment e WHERE e.workshop.id = :workshopId AND e.user.id IN :userIds")
+    List<Long> findUserIdsEnrolledInWorkshop(@Param("workshopId") Long workshopId,
+                                             @Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT e.user.id FROM Enrollment e WHERE e.course.id = :courseId AND e.user.id IN :userIds")
+    List<Long> findUserIdsEnrolledInCourse(@Param("courseId") Long courseId,
+                                           @Param("userIds") Collection<Long> userIds);
+
+    // M6 (retention, LR-015) — one row per enrollment in the given status
+    // held by a customer (Role.USER — TEACHER/ADMIN/BUSINESS_OWNER can also
+    // hold enrollments per EnrollmentController's @PreAuthorize, and this
+    // metric is specifically about paying/enrolled customers, not internal
+    // test enrollments). Row[0] = User.id, Row[1] = Workshop.id (null for a
+    // Course enrollment). Ungrouped on purpose: MetricsService keeps these
+    // per customer so later cancellations can be subtracted incrementally.
+    @Query("SELECT e.user.id, w.id FROM Enrollment e LEFT JOIN e.workshop w " +
+            "WHERE e.status = :status AND e.user.role = :role")
+    List<Object[]> findUserAndWorkshopIdsWithStatus(@Param("status") EnrollmentStatus status,
+                                                    @Param("role") Role role);
 }
\ No newline at end of file
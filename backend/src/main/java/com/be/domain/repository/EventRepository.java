@@ -2,8 +2,15 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.Event;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+
+    // VenueOccupancyIndex's rebuild: events that can still block a room.
+    List<Event> findByVenueIsNotNullAndStartDateTimeGreaterThanEqual(LocalDateTime since);
 }
\ No newline at end of file
@@ -2,8 +2,9 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.File;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface FileRepository extends JpaRepository<File, Long> {
+public interface FileRepository extends JpaRepository<File, Long>, JpaSpecificationExecutor<File> {
 }
\ No newline at end of file
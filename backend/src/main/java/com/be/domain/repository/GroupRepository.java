@@ -5,35 +5,98 @@ import com.be.domain.entity.AgeGroup;
 import com.be.domain.entity.Group;
 import com.be.domain.entity.Language;
 import com.be.domain.entity.Teacher;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.web.dto.response.GroupFillRateDTO;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, Long> {
-
-    // LR-084 — atomic, WHERE-guarded decrement/increment on the
-    // previously-unused capacityLeft column, closing the capacity
-    // check-then-save race in EnrollmentService.enroll() (a separate
-    // getEnrolledCount()>=getCapacity() check + save() is not atomic across
-    // two concurrent transactions). Return value is rows affected: 0 means
-    // "no capacity left" for the decrement (caller must reject the
+public interface GroupRepository extends JpaRepository<Group, Long>, JpaSpecificationExecutor<Group> {
+
+    // LR-084 — atomic, WHERE-guarded update of capacityLeft, closing the
+    // capacity check-then-save race in EnrollmentService.enroll() (a
+    // separate getEnrolledCount()>=getCapacity() check + save() is not
+    // atomic across two concurrent transactions). Return value is rows
+    // affected: 0 means "fewer than spots left" (caller must reject the
     // enrollment), same pattern as UserRepository's login-lockout queries.
+    // A release passes negative spots, which the guard always lets through.
+    //
+    // V21 — the per-status counters move in the same statement, so every
+    // path that takes or gives back a spot keeps them in step with it, and
+    // status changes that don't touch capacity (cancelling a waitlisted
+    // enrollment) go through here with spots = 0.
     @Modifying
-    @Query("UPDATE Group g SET g.capacityLeft = g.capacityLeft - 1 WHERE g.id = :id AND g.capacityLeft > 0")
-    int decrementCapacityLeft(@Param("id") Long id);
+    @Query("UPDATE Group g SET g.capacityLeft = g.capacityLeft - :spots, " +
+            "g.pendingCount = g.pendingCount + :pending, " +
+            "g.confirmedCount = g.confirmedCount + :confirmed, " +
+            "g.cancelledCount = g.cancelledCount + :cancelled, " +
+            "g.expiredCount = g.expiredCount + :expired, " +
+            "g.waitlistedCount = g.waitlistedCount + :waitlisted " +
+            "WHERE g.id = :id AND g.capacityLeft >= :spots")
+    int updateCapacityAndCounts(@Param("id") Long id, @Param("spots") int spots,
+                                @Param("pending") int pending, @Param("confirmed") int confirmed,
+                                @Param("cancelled") int cancelled, @Param("expired") int expired,
+                                @Param("waitlisted") int waitlisted);
 
-    // Symmetric release on cancel/expire — only ever called for an
-    // enrollment that previously succeeded in decrementCapacityLeft, so no
-    // upper-bound guard is needed (paired calls, not independently
-    // user-triggerable).
-    @Modifying
-    @Query("UPDATE Group g SET g.capacityLeft = g.capacityLeft + 1 WHERE g.id = :id")
-    void incrementCapacityLeft(@Param("id") Long id);
+    default int moveSpots(Long id, int spots, StatusCounts delta) {
+        return updateCapacityAndCounts(id, spots, delta.pending(), delta.confirmed(), delta.cancelled(),
+                delta.expired(), delta.waitlisted());
+    }
+
+    // A change to the per-status counters (V21), one field per status.
+    record StatusCounts(int pending, int confirmed, int cancelled, int expired, int waitlisted) {
+
+        public static final StatusCounts NONE = new StatusCounts(0, 0, 0, 0, 0);
+
+        public static StatusCounts of(EnrollmentStatus status, int n) {
+            return switch (status) {
+                case PENDING -> new StatusCounts(n, 0, 0, 0, 0);
+                case CONFIRMED -> new StatusCounts(0, n, 0, 0, 0);
+                case CANCELLED -> new StatusCounts(0, 0, n, 0, 0);
+                case EXPIRED -> new StatusCounts(0, 0, 0, n, 0);
+                case WAITLISTED -> new StatusCounts(0, 0, 0, 0, n);
+            };
+        }
+
+        // n enrollments going from one status to another; from is null for new ones.
+        public static StatusCounts moved(EnrollmentStatus from, EnrollmentStatus to, int n) {
+            return (from == null ? NONE : of(from, -n)).plus(of(to, n));
+        }
+
+        public StatusCounts plus(StatusCounts other) {
+            return new StatusCounts(pending + other.pending, confirmed + other.confirmed,
+                    cancelled + other.cancelled, expired + other.expired, waitlisted + other.waitlisted);
+        }
+    }
+
+    // V20 — EnrollmentAdmissionQueue's batch reservation: lock the row
+    // once, read how much is left, then take the whole batch's share with
+    // one guarded moveSpots(). The lock is held until the batch's
+    // enrollments commit, so the two can't drift apart.
+    @Query(value = "SELECT capacity_left FROM workshop_groups WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockCapacityLeft(@Param("id") Long id);
+
+    // V20 — what EnrollmentAdmissionQueue needs to route an enroll request:
+    // whether the group queues, and which workshop/course it belongs to.
+    @Query("SELECT g.id AS id, g.admissionQueue AS admissionQueue, w.id AS workshopId, c.id AS courseId " +
+            "FROM Group g LEFT JOIN g.workshop w LEFT JOIN g.course c WHERE g.id = :id")
+    Optional<AdmissionMode> findAdmissionMode(@Param("id") Long id);
+
+    // Course path — a Course has at most one Group (LR-081), same lookup
+    // as EnrollmentService.enrollCourse's findByCourseId.
+    @Query("SELECT g.id AS id, g.admissionQueue AS admissionQueue, w.id AS workshopId, c.id AS courseId " +
+            "FROM Group g LEFT JOIN g.workshop w JOIN g.course c WHERE c.id = :courseId")
+    List<AdmissionMode> findAdmissionModesByCourseId(@Param("courseId") Long courseId);
 
     List<Group> findByActivity(Activity activity);
 
@@ -41,6 +104,48 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
 
     List<Group> findByActiveTrue();
 
+    // M1 fill rate for every active group in one round trip — replaces
+    // MetricsService walking g.getEnrollments() per group (one lazy load per
+    // group, every Enrollment entity materialized just to be counted).
+    // "Occupies a spot" = PENDING or CONFIRMED, read off the V21 counters
+    // (was an aggregate over enrollments).
+    @Query("SELECT new com.be.web.dto.response.GroupFillRateDTO(" +
+            "g.id, w.workshopName, g.titleDe, g.startDateTime, g.capacity, g.pendingCount + g.confirmedCount) " +
+            "FROM Group g LEFT JOIN g.workshop w " +
+            "WHERE g.active = true " +
+            "ORDER BY g.startDateTime ASC NULLS LAST")
+    List<GroupFillRateDTO> findActiveFillRates();
+
+    // GroupCounterReconciler, step 1: lock the next chunk of groups in id
+    // order. Every status change updates its group's row, so once these
+    // are held no enrollment of theirs can change until the recount below
+    // commits — and whatever committed before is visible to it.
+    @Query(value = "SELECT id FROM workshop_groups WHERE id > :afterId ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+    // Step 2: recount those groups' enrollments and overwrite the counters
+    // that disagree. Returns how many groups had drifted.
+    @Modifying
+    @Query(value = """
+            UPDATE workshop_groups g
+            SET pending_count = c.pending, confirmed_count = c.confirmed, cancelled_count = c.cancelled,
+                expired_count = c.expired, waitlisted_count = c.waitlisted
+            FROM (SELECT g2.id,
+                         count(e.id) FILTER (WHERE e.status = 'PENDING')    AS pending,
+                         count(e.id) FILTER (WHERE e.status = 'CONFIRMED')  AS confirmed,
+                         count(e.id) FILTER (WHERE e.status = 'CANCELLED')  AS cancelled,
+                         count(e.id) FILTER (WHERE e.status = 'EXPIRED')    AS expired,
+                         count(e.id) FILTER (WHERE e.status = 'WAITLISTED') AS waitlisted
+                  FROM workshop_groups g2 LEFT JOIN enrollments e ON e.group_id = g2.id
+                  WHERE g2.id IN (:ids)
+                  GROUP BY g2.id) c
+            WHERE g.id = c.id
+              AND (g.pending_count, g.confirmed_count, g.cancelled_count, g.expired_count, g.waitlisted_count)
+                  IS DISTINCT FROM (c.pending, c.confirmed, c.cancelled, c.expired, c.waitlisted)
+            """, nativeQuery = true)
+    int recountEnrollments(@Param("ids") Collection<Long> ids);
+
     List<Group> findByActive(boolean active);
 
     List<Group> findByLanguage(Language language);
@@ -54,4 +159,44 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByWorkshopId(Long workshopId);
 
     List<Group> findByCourseId(Long courseId);
-}
\ No newline at end of file
+
+    // Recurrence rule versions (V19) — all OccurrenceService needs to check
+    // its compiled-rule cache; the recurrence_pattern TEXT is only read
+    // (and parsed) when a version has moved.
+    @Query("SELECT g.id AS id, g.recurrenceVersion AS recurrenceVersion FROM Group g WHERE g.id = :id")
+    Optional<RuleVersion> findRuleVersion(@Param("id") Long id);
+
+    // Active groups whose schedule can touch [from, to]: a rule window
+    // overlapping it, or stored sessions inside it (workshop groups,
+    // days added by hand).
+    @Query("SELECT g.id AS id, g.recurrenceVersion AS recurrenceVersion FROM Group g " +
+            "WHERE g.active = true " +
+            "AND (:workshopId IS NULL OR g.workshop.id = :workshopId) " +
+            "AND (:courseId IS NULL OR g.course.id = :courseId) " +
+            "AND ((g.recurrenceStartDate <= :to AND g.recurrenceEndDate >= :from) " +
+            "OR EXISTS (SELECT 1 FROM Session s WHERE s.group = g " +
+            "AND s.startDateTime >= :fromTime AND s.startDateTime < :toTime)) " +
+            "ORDER BY g.id")
+    List<RuleVersion> findRuleVersionsInRange(@Param("workshopId") Long workshopId,
+                                              @Param("courseId") Long courseId,
+                                              @Param("from") LocalDate from,
+                                              @Param("to") LocalDate to,
+                                              @Param("fromTime") LocalDateTime fromTime,
+                                              @Param("toTime") LocalDateTime toTime);
+
+    interface RuleVersion {
+        Long getId();
+
+        int getRecurrenceVersion();
+    }
+
+    interface AdmissionMode {
+        Long getId();
+
+        boolean isAdmissionQueue();
+
+        Long getWorkshopId();
+
+        Long getCourseId();
+    }
+}
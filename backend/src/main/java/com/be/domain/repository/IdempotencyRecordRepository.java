@@ -0,0 +1,45 @@
+package com.be.domain.repository;
+
+import com.be.domain.entity.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    // Takes the key for a new request: inserts it, or takes over a row
+    // whose lease or replay TTL is over. 0 when someone else holds it —
+    // still running, or completed and replayable. A concurrent claim of
+    // the same key blocks on the unique index until this one commits.
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (user_id, idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (:userId, :key, :fingerprint, :now, :leaseUntil)
+            ON CONFLICT (user_id, idempotency_key) DO UPDATE
+                SET fingerprint = EXCLUDED.fingerprint, status_code = NULL, location = NULL,
+                    response_body = NULL, created_at = EXCLUDED.created_at, expires_at = EXCLUDED.expires_at
+                WHERE idempotency_keys.expires_at < :now""", nativeQuery = true)
+    int claim(@Param("userId") Long userId,
+              @Param("key") String key,
+              @Param("fingerprint") byte[] fingerprint,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    Optional<IdempotencyRecord> findByUserIdAndIdempotencyKey(Long userId, String idempotencyKey);
+
+    // Gives an unfinished claim back, so the client's retry runs again.
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.userId = :userId AND r.idempotencyKey = :key " +
+            "AND r.statusCode IS NULL")
+    int release(@Param("userId") Long userId, @Param("key") String key);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
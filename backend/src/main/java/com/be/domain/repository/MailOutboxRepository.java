@@ -0,0 +1,63 @@
+package com.be.domain.repository;
+
+import com.be.domain.entity.MailOutboxMessage;
+import com.be.domain.entity.enums.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+
+    // Claim step of MailOutboxDispatcher's poll. Lock timeout -2 is
+    // Hibernate's SKIP LOCKED: rows another instance's poll is claiming
+    // right now are passed over instead of waited on, so several replicas
+    // can poll the same table without double-sending or queueing up
+    // behind each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT m FROM MailOutboxMessage m WHERE m.status IN :statuses AND m.nextAttemptAt <= :now " +
+            "ORDER BY m.nextAttemptAt, m.id")
+    List<MailOutboxMessage> findDueForUpdate(@Param("statuses") Collection<MailOutboxStatus> statuses,
+                                             @Param("now") LocalDateTime now,
+                                             Limit limit);
+
+    long countByStatusIn(Collection<MailOutboxStatus> statuses);
+
+    // Guarded on the claim (attempts is bumped by every claim), so a worker
+    // whose lease already expired and whose row was re-claimed can't
+    // overwrite the newer claim's outcome.
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.status = com.be.domain.entity.enums.MailOutboxStatus.SENT, " +
+            "m.sentAt = :now, m.payload = null, m.lastError = null " +
+            "WHERE m.id = :id AND m.attempts = :attempt " +
+            "AND m.status = com.be.domain.entity.enums.MailOutboxStatus.SENDING")
+    int markSent(@Param("id") Long id, @Param("attempt") int attempt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE MailOutboxMessage m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, " +
+            "m.lastError = :error " +
+            "WHERE m.id = :id AND m.attempts = :attempt " +
+            "AND m.status = com.be.domain.entity.enums.MailOutboxStatus.SENDING")
+    int markFailed(@Param("id") Long id,
+                   @Param("attempt") int attempt,
+                   @Param("status") MailOutboxStatus status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("error") String error);
+
+    @Modifying
+    @Query("DELETE FROM MailOutboxMessage m WHERE m.status IN :statuses AND m.createdAt < :cutoff")
+    int deleteByStatusInAndCreatedAtBefore(@Param("statuses") Collection<MailOutboxStatus> statuses,
+                                           @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,54 @@
+package com.be.domain.repository;
+
+import com.be.domain.entity.NotificationBroadcast;
+import com.be.domain.entity.enums.BroadcastStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, Long> {
+
+    // Exactly what claim would take right now — PENDING, or RUNNING with
+    // a heartbeat older than staleBefore.
+    @Query("SELECT b.id FROM NotificationBroadcast b " +
+            "WHERE b.status = com.be.domain.entity.enums.BroadcastStatus.PENDING " +
+            "OR (b.status = com.be.domain.entity.enums.BroadcastStatus.RUNNING AND b.updatedAt < :staleBefore) " +
+            "ORDER BY b.id")
+    List<Long> findClaimableIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    // Takes a PENDING job, or a RUNNING one whose heartbeat stopped (the
+    // instance running it died). Whoever gets 1 row back runs it.
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE NotificationBroadcast b SET b.status = com.be.domain.entity.enums.BroadcastStatus.RUNNING, " +
+            "b.startedAt = COALESCE(b.startedAt, :now), b.updatedAt = :now " +
+            "WHERE b.id = :id AND (b.status = com.be.domain.entity.enums.BroadcastStatus.PENDING " +
+            "OR (b.status = com.be.domain.entity.enums.BroadcastStatus.RUNNING AND b.updatedAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    // Committed together with the chunk's inbox rows — the cursor never
+    // runs ahead of (or behind) what's actually there.
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.lastUserId = :lastUserId, " +
+            "b.processed = b.processed + :processed, b.delivered = b.delivered + :delivered, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.status = com.be.domain.entity.enums.BroadcastStatus.RUNNING")
+    int recordChunk(@Param("id") Long id,
+                    @Param("lastUserId") long lastUserId,
+                    @Param("processed") int processed,
+                    @Param("delivered") int delivered,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.status = :status, b.error = :error, " +
+            "b.finishedAt = :now, b.updatedAt = :now " +
+            "WHERE b.id = :id AND b.status = com.be.domain.entity.enums.BroadcastStatus.RUNNING")
+    int finish(@Param("id") Long id,
+               @Param("status") BroadcastStatus status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+}
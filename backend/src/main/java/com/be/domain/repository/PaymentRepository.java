@@ -2,11 +2,12 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.Payment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, JpaSpecificationExecutor<Payment> {
     List<Payment> findByUserIdOrderByCreatedAtDesc(Long userId);
 }
\ No newline at end of file
@@ -2,11 +2,38 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.Session;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SessionRepository extends JpaRepository<Session, Long> {
     List<Session> findByGroupIdOrderByStartDateTimeAsc(Long groupId);
+
+    Optional<Session> findByGroupIdAndOccurrenceDate(Long groupId, LocalDate occurrenceDate);
+
+    // VenueOccupancyIndex's rebuild: everything from yesterday on.
+    List<Session> findByStartDateTimeGreaterThanEqual(LocalDateTime since);
+
+    // Every stored row that bears on a range (V19): those starting inside
+    // it, and exceptions for a rule date inside it — a moved or cancelled
+    // occurrence may not start in the range any more, but still stands in
+    // for its date. Each branch has its own index (group_id, start_date_time
+    // / uk_group_sessions_occurrence), so this is a BitmapOr of two range
+    // scans per group, not a walk over the group's whole history.
+    @Query("SELECT s FROM Session s LEFT JOIN FETCH s.venue " +
+            "WHERE s.group.id IN :groupIds " +
+            "AND ((s.startDateTime >= :fromTime AND s.startDateTime < :toTime) " +
+            "OR s.occurrenceDate BETWEEN :from AND :to)")
+    List<Session> findForRange(@Param("groupIds") Collection<Long> groupIds,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to,
+                               @Param("fromTime") LocalDateTime fromTime,
+                               @Param("toTime") LocalDateTime toTime);
 }
@@ -2,9 +2,90 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.UserNotification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+
 @Repository
-public interface UserNotificationRepository extends JpaRepository<UserNotification, Long> {
+public interface UserNotificationRepository extends JpaRepository<UserNotification, Long>,
+        JpaSpecificationExecutor<UserNotification> {
     java.util.List<UserNotification> findByUserId(Long userId);
-}
\ No newline at end of file
+
+    // "read = false" as a literal, not a bound parameter, so it matches
+    // idx_user_notifications_unread's predicate (V17) in every plan.
+    @Query("SELECT count(un) FROM UserNotification un WHERE un.user.id = :userId AND un.read = false")
+    long countUnread(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE UserNotification un SET un.read = true, un.readAt = :now " +
+            "WHERE un.user.id = :userId AND un.read = false")
+    int markAllRead(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Everything up to inbox row :upToId (inclusive) — what the user has
+    // seen on screen — without touching what arrived since. By the row's
+    // own id, the key the inbox is ordered and paged by: a re-delivered
+    // or late-broadcast notification sits on top with an old createdAt.
+    @Modifying
+    @Query("UPDATE UserNotification un SET un.read = true, un.readAt = :now " +
+            "WHERE un.user.id = :userId AND un.read = false AND un.id <= :upToId")
+    int markReadUpTo(@Param("userId") Long userId,
+                     @Param("upToId") Long upToId,
+                     @Param("now") LocalDateTime now);
+
+    // Broadcast audience (V16) as a predicate on users u. Every audience
+    // walks users by primary key and filters — for enrollees that's an
+    // index probe on uk_user_workshop / uk_user_course (both lead with
+    // user_id) — so the plan is the same whatever :audience is, and a
+    // cached generic plan is as good as a custom one.
+    String BROADCAST_AUDIENCE = """
+            u.enabled AND CASE CAST(:audience AS text)
+                WHEN 'ALL' THEN true
+                WHEN 'ROLE' THEN u.role = CAST(:role AS text)
+                WHEN 'WORKSHOP' THEN EXISTS (SELECT 1 FROM enrollments e WHERE e.user_id = u.id
+                    AND e.workshop_id = CAST(:targetId AS bigint) AND e.status IN ('PENDING', 'CONFIRMED'))
+                WHEN 'COURSE' THEN EXISTS (SELECT 1 FROM enrollments e WHERE e.user_id = u.id
+                    AND e.course_id = CAST(:targetId AS bigint) AND e.status IN ('PENDING', 'CONFIRMED'))
+                WHEN 'GROUP' THEN EXISTS (SELECT 1 FROM enrollments e WHERE e.user_id = u.id
+                    AND e.group_id = CAST(:targetId AS bigint) AND e.status IN ('PENDING', 'CONFIRMED'))
+                ELSE false
+            END""";
+
+    @Query(value = "SELECT count(*) FROM users u WHERE " + BROADCAST_AUDIENCE, nativeQuery = true)
+    long countBroadcastAudience(@Param("audience") String audience,
+                                @Param("role") String role,
+                                @Param("targetId") Long targetId);
+
+    // One statement per chunk: the next :limit recipients after the cursor
+    // get their inbox row (ids from the column DEFAULT, see V14), skipping
+    // anyone who already has it. Returns the new cursor and both counts.
+    @Query(value = "WITH chunk AS ("
+            + " SELECT u.id FROM users u WHERE u.id > :afterUserId AND " + BROADCAST_AUDIENCE
+            + " ORDER BY u.id LIMIT :limit"
+            + "), inserted AS ("
+            + " INSERT INTO user_notifications (user_id, notification_id, is_read)"
+            + " SELECT id, :notificationId, false FROM chunk"
+            + " ON CONFLICT (notification_id, user_id) DO NOTHING"
+            + " RETURNING user_notification_id"
+            + ") SELECT (SELECT max(id) FROM chunk) AS \"lastUserId\","
+            + " (SELECT count(*) FROM chunk) AS \"recipients\","
+            + " (SELECT count(*) FROM inserted) AS \"inserted\"",
+            nativeQuery = true)
+    BroadcastChunk insertBroadcastChunk(@Param("notificationId") Long notificationId,
+                                        @Param("audience") String audience,
+                                        @Param("role") String role,
+                                        @Param("targetId") Long targetId,
+                                        @Param("afterUserId") long afterUserId,
+                                        @Param("limit") int limit);
+
+    interface BroadcastChunk {
+        Long getLastUserId();    // null when the chunk was empty
+
+        long getRecipients();
+
+        long getInserted();
+    }
+}
@@ -3,6 +3,7 @@ package com.be.domain.repository;
 import com.be.domain.entity.User;
 import com.be.domain.entity.enums.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,7 +14,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
 
     // Basic CRUD operations
     Optional<User> findByEmail(String email);
@@ -22,8 +23,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRole(Role role);
 
-    // M4 (registration trend, LR-015) — customers only, not admin/teacher accounts.
-    List<User> findByRoleAndCreatedAtAfter(Role role, LocalDateTime after);
+    // M4 (registration trend, LR-015) — customers only, not admin/teacher
+    // accounts. Counted per day in SQL: the dashboard only needs the
+    // numbers, and loading User entities meant decrypting every new
+    // customer's PII just to count them. Row[0] = LocalDate, Row[1] = count.
+    @Query("SELECT CAST(u.createdAt AS LocalDate), COUNT(u) FROM User u " +
+            "WHERE u.role = :role AND u.createdAt > :after GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<Object[]> countCreatedPerDayByRoleAfter(@Param("role") Role role, @Param("after") LocalDateTime after);
 
     List<User> findByEnabledTrue();
 
@@ -31,6 +37,16 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByVerificationTokenHash(String verificationTokenHash);
 
+    // Blind-index candidate lookup for UserService.searchUsers — tokens is
+    // BlindIndex.searchTokensFor()'s space-separated digest list; a row
+    // qualifies only if its name_blind_index contains all of them. Same
+    // string_to_array expression as idx_users_name_blind_index (V13), so
+    // this is a GIN index lookup, not a scan. Candidates only — the caller
+    // still checks the decrypted names.
+    @Query(value = "SELECT * FROM users u WHERE string_to_array(u.name_blind_index, ' ') @> string_to_array(:tokens, ' ')",
+            nativeQuery = true)
+    List<User> findNameSearchCandidates(@Param("tokens") String tokens);
+
     // Security related
     @Modifying
     @Query("UPDATE User u SET u.failedLoginAttempts = u.failedLoginAttempts + 1 WHERE u.email = :email")
@@ -2,17 +2,44 @@ package com.be.domain.repository;
 
 import com.be.domain.entity.Workshop;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkshopRepository extends JpaRepository<Workshop, Long> {
 
-    List<Workshop> findByStartDateAfterOrderByStartDateAsc(LocalDate after);
+    // Public catalog read paths (PublicCatalogService) — everything
+    // WorkshopMapper's list/detail DTOs walk, fetched in the one statement:
+    // teacher, groups and each group's venue. The group's other references
+    // (activity/language/ageGroup/teacher) are only read as ids, which a
+    // lazy proxy answers without loading. Only one collection is fetched —
+    // files/enrollments are separate (two bags in one query can't be done,
+    // and would multiply rows anyway). Hibernate de-duplicates the workshop
+    // rows the group join repeats.
+    @Query("SELECT w FROM Workshop w LEFT JOIN FETCH w.teacher " +
+            "LEFT JOIN FETCH w.groups g LEFT JOIN FETCH g.venue")
+    List<Workshop> findAllWithGroups();
+
+    @Query("SELECT w FROM Workshop w LEFT JOIN FETCH w.teacher " +
+            "LEFT JOIN FETCH w.groups g LEFT JOIN FETCH g.venue " +
+            "WHERE w.startDate > :after ORDER BY w.startDate ASC")
+    List<Workshop> findStartingAfterWithGroups(@Param("after") LocalDate after);
+
+    @Query("SELECT w FROM Workshop w LEFT JOIN FETCH w.teacher " +
+            "LEFT JOIN FETCH w.groups g LEFT JOIN FETCH g.venue " +
+            "WHERE w.id = :id")
+    Optional<Workshop> findByIdWithGroups(@Param("id") Long id);
+
+    // WorkshopDetailDTO.totalEnrollments — Enrollment.workshop, not via groups.
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.workshop.id = :workshopId")
+    long countEnrollments(@Param("workshopId") Long workshopId);
 
     List<Workshop> findByTeacherId(Long teacherId);
 
     List<Workshop> findByWorkshopNameContainingIgnoreCase(String q);
-}
\ No newline at end of file
+}
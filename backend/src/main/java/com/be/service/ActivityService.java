@@ -15,10 +15,13 @@ public class ActivityService {
 
     private final ActivityRepository activityRepository;
     private final ActivityMapper activityMapper;
+    private final CatalogCache catalogCache;
 
-    public ActivityService(ActivityRepository activityRepository, ActivityMapper activityMapper) {
+    public ActivityService(ActivityRepository activityRepository, ActivityMapper activityMapper,
+                           CatalogCache catalogCache) {
         this.activityRepository = activityRepository;
         this.activityMapper = activityMapper;
+        this.catalogCache = catalogCache;
     }
 
     @Transactional(readOnly = true)
@@ -35,7 +38,9 @@ public class ActivityService {
     @Transactional
     public Activity createActivity(ActivityRequestDTO dto) {
         Activity activity = activityMapper.fromRequestDTO(dto);
-        return activityRepository.save(activity);
+        Activity saved = activityRepository.save(activity);
+        catalogCache.activityChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -52,6 +57,7 @@ public class ActivityService {
         existing.setDurationMinutes(dto.getDurationMinutes());
         existing.setActive(dto.isActive());
 
+        catalogCache.activityChanged(id);
         return activityRepository.save(existing);
     }
 
@@ -61,5 +67,6 @@ public class ActivityService {
             throw new RuntimeException("Activity not found with id: " + id);
         }
         activityRepository.deleteById(id);
+        catalogCache.activityChanged(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,251 @@
+package com.be.service;
+
+import com.be.domain.entity.Course;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentNotificationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The NotificationService EnrollmentService talks to. Used to be
+ * LogNotificationService, called synchronously inside the enrollment
+ * transaction — now each call only copies what channels need into an
+ * EnrollmentNotificationEvent and publishes it; nothing else happens on
+ * the request thread, and nothing at all unless the enrollment commits.
+ * <p>
+ * After commit the event goes into a bounded in-memory queue. When the
+ * queue is full the committing thread waits up to
+ * {@code enqueue-timeout-ms} for room (backpressure on whoever is
+ * producing the burst) and then drops the notification and counts it —
+ * a lost notification is better than an enrollment request stuck behind
+ * a slow mail relay. One drainer thread collects whatever arrives within
+ * {@code coalesce-window-ms} of the first event, groups it by recipient
+ * (so a bulk admin action is one inbox entry / one mail per user, not
+ * one per change) and fans each recipient's events out to the enabled
+ * channels on a small channel executor. The drainer waits for a batch's
+ * channels before taking the next, so a slow channel backs up into the
+ * queue, which is where it becomes visible.
+ * <p>
+ * Metrics: notifications.queue.depth, notifications.dispatch.lag (call to
+ * delivery), notifications.channel.deliver{channel} (timer),
+ * notifications.channel.failed{channel}, notifications.dropped,
+ * notifications.coalesced (events folded into another's delivery).
+ * <p>
+ * In-memory: notifications queued when the process stops are flushed on
+ * a clean shutdown but lost on a crash. Anything that must not be lost
+ * belongs in the mail outbox, which is what the mail channel writes to.
+ */
+@Service
+public class AsyncNotificationDispatcher implements NotificationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncNotificationDispatcher.class);
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final List<NotificationChannel> channels;
+    private final BlockingQueue<EnrollmentNotificationEvent> queue;
+    private final long coalesceWindowNanos;
+    private final int maxBatch;
+    private final long enqueueTimeoutMs;
+    private final ExecutorService channelExecutor;
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    private final MeterRegistry meterRegistry;
+    private final Timer dispatchLag;
+    private final Counter droppedCounter;
+    private final Counter coalescedCounter;
+
+    public AsyncNotificationDispatcher(
+            ApplicationEventPublisher eventPublisher,
+            List<NotificationChannel> availableChannels,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.channels:log,in-app}") List<String> enabledChannels,
+            @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.coalesce-window-ms:500}") long coalesceWindowMs,
+            @Value("${app.notifications.max-batch:500}") int maxBatch,
+            @Value("${app.notifications.channel-threads:2}") int channelThreads,
+            @Value("${app.notifications.enqueue-timeout-ms:50}") long enqueueTimeoutMs) {
+        this.eventPublisher = eventPublisher;
+        this.channels = availableChannels.stream()
+                .filter(c -> enabledChannels.contains(c.name()))
+                .toList();
+        if (channels.size() != enabledChannels.size()) {
+            throw new IllegalStateException("Unknown notification channel in " + enabledChannels + " — available: "
+                    + availableChannels.stream().map(NotificationChannel::name).toList());
+        }
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.coalesceWindowNanos = TimeUnit.MILLISECONDS.toNanos(coalesceWindowMs);
+        this.maxBatch = maxBatch;
+        this.enqueueTimeoutMs = enqueueTimeoutMs;
+        this.channelExecutor = Executors.newFixedThreadPool(channelThreads,
+                Thread.ofPlatform().name("notification-channel-", 1).daemon().factory());
+        this.drainer = Thread.ofPlatform().name("notification-dispatcher").daemon().unstarted(this::drainLoop);
+
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("notifications.queue.depth", queue, Collection::size).register(meterRegistry);
+        this.dispatchLag = meterRegistry.timer("notifications.dispatch.lag");
+        this.droppedCounter = meterRegistry.counter("notifications.dropped");
+        this.coalescedCounter = meterRegistry.counter("notifications.coalesced");
+    }
+
+    @PostConstruct
+    void start() {
+        drainer.start();
+    }
+
+    @Override
+    public void notifyEnrollment(Workshop workshop, Course course, Group group, User user, EnrollmentStatus status,
+                                 String message) {
+        publish(EnrollmentNotificationEvent.Kind.ENROLLED, workshop, course, group, user, status, message);
+    }
+
+    @Override
+    public void notifyEnrollmentCancelled(Workshop workshop, Course course, Group group, User user,
+                                          EnrollmentStatus status, String message) {
+        publish(EnrollmentNotificationEvent.Kind.CANCELLED, workshop, course, group, user, status, message);
+    }
+
+    private void publish(EnrollmentNotificationEvent.Kind kind, Workshop workshop, Course course, Group group,
+                         User user, EnrollmentStatus status, String message) {
+        eventPublisher.publishEvent(new EnrollmentNotificationEvent(
+                kind,
+                user.getId(),
+                user.getEmail(),
+                workshop != null ? workshop.getId() : null,
+                workshop != null ? workshop.getWorkshopName() : null,
+                course != null ? course.getId() : null,
+                course != null ? course.getTitleDe() : null,
+                group != null ? group.getId() : null,
+                status,
+                message,
+                LocalDateTime.now()));
+    }
+
+    // After commit only (a rolled-back enrollment notifies nobody);
+    // fallbackExecution covers callers without a transaction.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void enqueue(EnrollmentNotificationEvent event) {
+        try {
+            if (!queue.offer(event, enqueueTimeoutMs, TimeUnit.MILLISECONDS)) {
+                droppedCounter.increment();
+                log.warn("Notification queue full, dropping {} notification for user {}", event.kind(), event.userId());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            droppedCounter.increment();
+        }
+    }
+
+    private void drainLoop() {
+        List<EnrollmentNotificationEvent> batch = new ArrayList<>();
+        while (running) {
+            try {
+                EnrollmentNotificationEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                long deadline = System.nanoTime() + coalesceWindowNanos;
+                while (batch.size() < maxBatch) {
+                    long left = deadline - System.nanoTime();
+                    EnrollmentNotificationEvent next = left > 0 ? queue.poll(left, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                break; // shutdown — flushed below
+            }
+            dispatch(batch);
+            batch.clear();
+        }
+        queue.drainTo(batch);
+        if (!batch.isEmpty()) {
+            dispatch(batch);
+        }
+    }
+
+    void dispatch(List<EnrollmentNotificationEvent> batch) {
+        Map<Long, List<EnrollmentNotificationEvent>> byRecipient = new LinkedHashMap<>();
+        for (EnrollmentNotificationEvent event : batch) {
+            byRecipient.computeIfAbsent(event.userId(), id -> new ArrayList<>()).add(event);
+        }
+        coalescedCounter.increment(batch.size() - byRecipient.size());
+
+        List<Future<?>> deliveries = new ArrayList<>(byRecipient.size());
+        for (List<EnrollmentNotificationEvent> events : byRecipient.values()) {
+            deliveries.add(channelExecutor.submit(() -> deliver(events)));
+        }
+        // Waits even through an interrupt (shutdown's final flush) — the
+        // point is not to take the next batch before this one is out.
+        boolean interrupted = false;
+        for (Future<?> delivery : deliveries) {
+            while (true) {
+                try {
+                    delivery.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    break; // deliver() logs its own failures
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(List<EnrollmentNotificationEvent> events) {
+        for (NotificationChannel channel : channels) {
+            try {
+                meterRegistry.timer("notifications.channel.deliver", "channel", channel.name())
+                        .record(() -> channel.deliver(events));
+            } catch (RuntimeException ex) {
+                meterRegistry.counter("notifications.channel.failed", "channel", channel.name()).increment();
+                // Same as before this was async: a channel failure never
+                // affects the enrollment, or the other channels.
+                log.error("Notification channel {} failed for user {} ({} event(s)): {}",
+                        channel.name(), events.get(0).userId(), events.size(), ex.getMessage(), ex);
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (EnrollmentNotificationEvent event : events) {
+            dispatchLag.record(Duration.between(event.occurredAt(), now));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        drainer.interrupt();
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        channelExecutor.shutdown();
+        channelExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -8,7 +8,9 @@ import com.be.web.dto.request.UserRegistrationDTO;
 import com.be.web.dto.response.RegistrationResponseDTO;
 import com.be.web.dto.response.UserLoginResponseDTO;
 import com.be.web.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -19,11 +21,25 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
 public class AuthService {
 
+    // Resend work is a lookup plus a token write and an outbox insert —
+    // two threads keep up with any legitimate rate. The queue bound is
+    // what caps a flood; overflow is dropped (the response is identical
+    // either way, and the user can simply ask again).
+    private static final int RESEND_WORKERS = 2;
+    private static final int RESEND_QUEUE_CAPACITY = 500;
+
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
@@ -31,6 +47,9 @@ public class AuthService {
     private final EmailVerificationService emailVerificationService;
     private final long resendVerificationMinResponseMs;
     private final MeterRegistry meterRegistry;
+    private final ExecutorService resendWorkers;
+    private final ScheduledExecutorService responsePadding;
+    private final Counter resendDropped;
 
     // Explicit constructor (not @RequiredArgsConstructor) — needed for the
     // @Value below, same reasoning as EmailVerificationService's constructor.
@@ -49,6 +68,19 @@ public class AuthService {
         this.emailVerificationService = emailVerificationService;
         this.resendVerificationMinResponseMs = resendVerificationMinResponseMs;
         this.meterRegistry = meterRegistry;
+        this.resendDropped = meterRegistry.counter("auth.resend_verification.dropped");
+        this.resendWorkers = new ThreadPoolExecutor(RESEND_WORKERS, RESEND_WORKERS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(RESEND_QUEUE_CAPACITY),
+                Thread.ofPlatform().name("resend-verification-", 1).daemon().factory(),
+                (task, executor) -> {
+                    resendDropped.increment();
+                    log.warn("Resend-verification queue full ({}), dropping request", RESEND_QUEUE_CAPACITY);
+                });
+        // Only ever completes futures, never runs request work — one thread
+        // is plenty, and it's not Spring's @Scheduled pool, so a long
+        // nightly job can't hold responses back.
+        this.responsePadding = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("response-padding").daemon().factory());
     }
 
     /**
@@ -156,27 +188,45 @@ public class AuthService {
      * accounts by probing this endpoint. Response time is normalized too
      * (LR-014): without this, the branch that skips (unknown/already-
      * verified email, one cheap findByEmail) returns near-instantly while
-     * the branch that sends (token generation + DB write + synchronous
-     * SMTP) takes noticeably longer — a timing side-channel that leaks the
+     * the branch that sends (token generation + DB write + outbox
+     * insert) takes noticeably longer — a timing side-channel that leaks the
      * same "does this unverified account exist" fact the response body is
      * deliberately silent about.
+     * <p>
+     * The returned future completes {@code resend-min-response-ms} after
+     * the call, from a timer — no thread waits for it (this used to be a
+     * Thread.sleep on the request thread, so a burst of resends could park
+     * the whole Tomcat pool). The lookup and send run on a small worker
+     * pool and the response doesn't wait for them at all, so its timing
+     * now says nothing about either branch, not just "at least the floor".
      */
-    public void resendVerification(String email) {
-        long start = System.currentTimeMillis();
-        userService.findByEmail(email)
-                .filter(user -> !user.isEmailVerified())
-                .ifPresent(emailVerificationService::sendVerificationEmail);
-        padToMinResponseTime(start);
-    }
-
-    private void padToMinResponseTime(long startMillis) {
-        long remaining = resendVerificationMinResponseMs - (System.currentTimeMillis() - startMillis);
-        if (remaining > 0) {
+    public CompletableFuture<Void> resendVerification(String email) {
+        resendWorkers.execute(() -> {
             try {
-                Thread.sleep(remaining);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                userService.findByEmail(email)
+                        .filter(user -> !user.isEmailVerified())
+                        .ifPresent(emailVerificationService::sendVerificationEmail);
+            } catch (RuntimeException ex) {
+                // Nobody is waiting on this any more — log, don't lose it.
+                log.error("Resend verification failed: {}", ex.getMessage(), ex);
             }
+        });
+        CompletableFuture<Void> response = new CompletableFuture<>();
+        responsePadding.schedule(() -> response.complete(null),
+                resendVerificationMinResponseMs, TimeUnit.MILLISECONDS);
+        return response;
+    }
+
+    // Queued resends are dropped rather than run against a context that's
+    // closing underneath them — same outcome for the user as the queue
+    // being full.
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        responsePadding.shutdown();
+        int dropped = resendWorkers.shutdownNow().size();
+        if (dropped > 0) {
+            log.warn("Shutting down with {} queued resend-verification request(s) dropped", dropped);
         }
+        resendWorkers.awaitTermination(5, TimeUnit.SECONDS);
     }
-}
\ No newline at end of file
+}
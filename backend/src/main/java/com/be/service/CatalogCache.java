@@ -0,0 +1,223 @@
+package com.be.service;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache names and invalidation rules for the public catalog DTOs served by
+ * PublicCatalogService. Each admin write calls exactly the method for
+ * what it changed, and each method evicts only the entries whose DTOs
+ * embed that data:
+ * <ul>
+ *   <li>workshop list/detail embed the workshop's groups (titles, times,
+ *       capacity, enrolled count, venue) and teacher;</li>
+ *   <li>course detail embeds its schedule Group's recurrence;</li>
+ *   <li>performance DTOs embed their workshop's title.</li>
+ * </ul>
+ * Evictions run after the surrounding transaction commits — evicting
+ * earlier would let a concurrent read re-cache the pre-commit state —
+ * and enrollment moves are evicted once per transaction, not per event.
+ * Teacher/venue renames aren't wired in; they age out with the TTL.
+ * <p>
+ * The same invalidations bump a per-aggregate revision (workshops,
+ * courses) that the workshop/course GETs turn into strong ETags — a
+ * matching If-None-Match gets a 304 before any cache or DB access.
+ * Revisions are per process and start over on restart, so every ETag
+ * carries this instance's start time too: a tag from another replica or
+ * an earlier run never matches, it just costs one full response.
+ */
+@Component
+public class CatalogCache {
+
+    public static final String WORKSHOP_LIST = "catalog.workshops";
+    public static final String WORKSHOP_DETAIL = "catalog.workshop";
+    public static final String COURSE_LIST = "catalog.courses";
+    public static final String COURSE_DETAIL = "catalog.course";
+    public static final String ACTIVITY_LIST = "catalog.activities";
+    public static final String ACTIVITY_DETAIL = "catalog.activity";
+    public static final String PERFORMANCE_LIST = "catalog.performances";
+    public static final String PERFORMANCE_DETAIL = "catalog.performance";
+
+    public static final List<String> ALL = List.of(
+            WORKSHOP_LIST, WORKSHOP_DETAIL, COURSE_LIST, COURSE_DETAIL,
+            ACTIVITY_LIST, ACTIVITY_DETAIL, PERFORMANCE_LIST, PERFORMANCE_DETAIL);
+
+    private final CacheManager cacheManager;
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong workshopRevision = new AtomicLong();
+    private final AtomicLong courseRevision = new AtomicLong();
+
+    public CatalogCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    // Read the ETag BEFORE loading the body it goes with: a write landing
+    // in between then only makes the tag older than the body (next request
+    // gets a 200), never newer (which would pin stale content on a 304).
+    public String workshopETag() {
+        return etag("w", workshopRevision.get(), null);
+    }
+
+    // The upcoming list also changes by date alone (WorkshopService filters
+    // on LocalDate.now()), so its tag rolls over daily as well.
+    public String workshopETag(LocalDate day) {
+        return etag("w", workshopRevision.get(), day);
+    }
+
+    public String courseETag() {
+        return etag("c", courseRevision.get(), null);
+    }
+
+    public void workshopChanged(Long workshopId) {
+        afterCommit(() -> {
+            evictWorkshop(workshopId);
+            // Performance DTOs carry workshopTitle.
+            clear(PERFORMANCE_LIST);
+            clear(PERFORMANCE_DETAIL);
+        });
+    }
+
+    public void courseChanged(Long courseId) {
+        afterCommit(() -> {
+            evict(COURSE_DETAIL, courseId);
+            clear(COURSE_LIST);
+            courseRevision.incrementAndGet();
+        });
+    }
+
+    // Call with the group as it is after the write and, when the write
+    // moved it, again with its previous workshop/course ids.
+    public void groupChanged(Group group) {
+        groupChanged(group.getWorkshop() != null ? group.getWorkshop().getId() : null,
+                group.getCourse() != null ? group.getCourse().getId() : null);
+    }
+
+    public void groupChanged(Long workshopId, Long courseId) {
+        afterCommit(() -> {
+            if (workshopId != null) evictWorkshop(workshopId);
+            // Course list DTOs carry no group data — detail only.
+            if (courseId != null) {
+                evict(COURSE_DETAIL, courseId);
+                courseRevision.incrementAndGet();
+            }
+        });
+    }
+
+    public void activityChanged(Long activityId) {
+        afterCommit(() -> {
+            evict(ACTIVITY_DETAIL, activityId);
+            clear(ACTIVITY_LIST);
+        });
+    }
+
+    public void performanceChanged(Long performanceId) {
+        afterCommit(() -> {
+            evict(PERFORMANCE_DETAIL, performanceId);
+            clear(PERFORMANCE_LIST);
+        });
+    }
+
+    // A new enrollment changes the workshop's totalEnrollments (a row
+    // count). GroupDTO.enrolledCount is pendingCount + confirmedCount, so
+    // it also moves whenever an enrollment starts or stops holding a spot
+    // — cancelled, expired, promoted off the waitlist. PENDING -> CONFIRMED
+    // and moves between the other statuses change neither.
+    //
+    // Heard inside the publishing transaction, not after it: one admission
+    // batch or expiry chunk moves dozens of enrollments at once, and each
+    // of them clearing the list and bumping the ETag would empty the cache
+    // for exactly the burst it is there to absorb. The workshops are
+    // collected instead and evicted together once the transaction commits.
+    @EventListener
+    public void onEnrollmentStatusChanged(EnrollmentStatusChangedEvent event) {
+        if (event.workshopId() == null) return;
+        if (event.previousStatus() != null
+                && holdsSpot(event.previousStatus()) == holdsSpot(event.newStatus())) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictWorkshop(event.workshopId());
+            return;
+        }
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof WorkshopEvictions pending) {
+                pending.workshopIds.add(event.workshopId());
+                return;
+            }
+        }
+        WorkshopEvictions pending = new WorkshopEvictions();
+        pending.workshopIds.add(event.workshopId());
+        TransactionSynchronizationManager.registerSynchronization(pending);
+    }
+
+    private static boolean holdsSpot(EnrollmentStatus status) {
+        return status == EnrollmentStatus.PENDING || status == EnrollmentStatus.CONFIRMED;
+    }
+
+    private void evictWorkshop(Long workshopId) {
+        evictWorkshops(List.of(workshopId));
+    }
+
+    private void evictWorkshops(Collection<Long> workshopIds) {
+        for (Long workshopId : workshopIds) evict(WORKSHOP_DETAIL, workshopId);
+        // List entries are keyed by (upcoming, q), so any of them may hold
+        // these workshops.
+        clear(WORKSHOP_LIST);
+        workshopRevision.incrementAndGet();
+    }
+
+    /** The workshops one transaction's enrollment moves touched. */
+    private final class WorkshopEvictions implements TransactionSynchronization {
+
+        private final Set<Long> workshopIds = new LinkedHashSet<>();
+
+        @Override
+        public void afterCommit() {
+            evictWorkshops(workshopIds);
+        }
+    }
+
+    private String etag(String aggregate, long revision, LocalDate day) {
+        StringBuilder tag = new StringBuilder("\"").append(aggregate).append('-')
+                .append(instanceTag).append('-').append(revision);
+        if (day != null) tag.append('-').append(day.toEpochDay());
+        return tag.append('"').toString();
+    }
+
+    private void evict(String cacheName, Long id) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && id != null) cache.evict(id);
+    }
+
+    private void clear(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) cache.clear();
+    }
+
+    private static void afterCommit(Runnable eviction) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+}
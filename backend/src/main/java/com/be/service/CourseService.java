@@ -27,17 +27,20 @@ public class CourseService {
     private final AgeGroupRepository ageGroupRepository;
     private final GroupRepository groupRepository;
     private final CourseMapper courseMapper;
+    private final CatalogCache catalogCache;
 
     public CourseService(CourseRepository courseRepository,
                           UserRepository userRepository,
                           AgeGroupRepository ageGroupRepository,
                           GroupRepository groupRepository,
-                          CourseMapper courseMapper) {
+                          CourseMapper courseMapper,
+                          CatalogCache catalogCache) {
         this.courseRepository = Objects.requireNonNull(courseRepository, "courseRepository");
         this.userRepository = Objects.requireNonNull(userRepository, "userRepository");
         this.ageGroupRepository = Objects.requireNonNull(ageGroupRepository, "ageGroupRepository");
         this.groupRepository = Objects.requireNonNull(groupRepository, "groupRepository");
         this.courseMapper = Objects.requireNonNull(courseMapper, "courseMapper");
+        this.catalogCache = Objects.requireNonNull(catalogCache, "catalogCache");
     }
 
     // 2026-08-14 — the public course page needs the linked Group's
@@ -64,7 +67,9 @@ public class CourseService {
     public Course createCourse(CourseCreateDTO dto) {
         Course c = courseMapper.fromCreateDTO(dto);
         applyAgeGroupAndTeacher(c, dto);
-        return courseRepository.save(c);
+        Course saved = courseRepository.save(c);
+        catalogCache.courseChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -100,6 +105,7 @@ public class CourseService {
 
         applyAgeGroupAndTeacher(existing, dto);
 
+        catalogCache.courseChanged(id);
         return courseRepository.save(existing);
     }
 
@@ -109,6 +115,7 @@ public class CourseService {
             throw new RuntimeException("Course not found: " + id);
         }
         courseRepository.deleteById(id);
+        catalogCache.courseChanged(id);
     }
 
     // Both relations are authoritative on every update, not skip-if-null:
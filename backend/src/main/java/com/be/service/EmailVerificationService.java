@@ -1,12 +1,10 @@
 package com.be.service;
 
 import com.be.domain.entity.User;
+import com.be.domain.entity.enums.MailTemplate;
 import com.be.domain.exception.InvalidVerificationTokenException;
 import com.be.domain.repository.UserRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,33 +25,34 @@ import java.util.HexFormat;
  * verificationTokenHash) — the plaintext token exists only in the email
  * itself and transiently here while generating/verifying, same reasoning
  * as password hashing: a DB/backup leak must not hand out working
- * verification links.
+ * verification links. (The outbox row carrying the link is the one
+ * exception — encrypted at rest and cleared once sent, see V15.)
  */
 @Service
 public class EmailVerificationService {
 
-    private static final Logger log = LoggerFactory.getLogger(EmailVerificationService.class);
-
     private final UserRepository userRepository;
-    private final MailService mailService;
+    private final MailOutboxService mailOutboxService;
     private final String frontendUrl;
     private final long tokenTtlHours;
 
     public EmailVerificationService(
             UserRepository userRepository,
-            MailService mailService,
+            MailOutboxService mailOutboxService,
             @Value("${app.frontend-url}") String frontendUrl,
             @Value("${app.email-verification.token-ttl-hours}") long tokenTtlHours) {
         this.userRepository = userRepository;
-        this.mailService = mailService;
+        this.mailOutboxService = mailOutboxService;
         this.frontendUrl = frontendUrl;
         this.tokenTtlHours = tokenTtlHours;
     }
 
     /**
-     * Generates a fresh token, stores its hash on the user, and emails the
-     * plaintext token as a verification link. Overwrites any previous
-     * unclaimed token — only the latest one sent is ever valid.
+     * Generates a fresh token, stores its hash on the user, and queues the
+     * plaintext token as a verification link in the mail outbox — in this
+     * same transaction, so the mail exists exactly when the token does.
+     * Overwrites any previous unclaimed token — only the latest one sent
+     * is ever valid.
      */
     @Transactional
     public void sendVerificationEmail(User user) {
@@ -62,22 +61,11 @@ public class EmailVerificationService {
         user.setVerificationTokenExpiresAt(LocalDateTime.now().plusHours(tokenTtlHours));
         userRepository.save(user);
 
+        // Delivered by MailOutboxDispatcher after commit, with retries —
+        // SMTP no longer runs inside this transaction, and a mail outage no
+        // longer loses the link (it used to be caught and only logged here).
         String link = frontendUrl + "/verify-email?token=" + plaintextToken;
-        try {
-            mailService.sendVerificationEmail(user.getEmail(), link);
-        } catch (MailException ex) {
-            // Deliberately not rethrown: a mail outage (or SMTP not
-            // configured yet — SMTP_USERNAME/SMTP_PASSWORD default to
-            // empty, see application.properties) must not 500 the whole
-            // registration/resend request. The account and its token are
-            // already saved above, so a later "resend verification" retry
-            // (once mail delivery actually works) still succeeds with a
-            // fresh token. Logged at ERROR — loud on purpose, not silently
-            // swallowed like numi's mocked-SMTP incident that went
-            // unnoticed for a long time specifically because nothing
-            // logged the failure.
-            log.error("Failed to send verification email to {}: {}", user.getEmail(), ex.getMessage(), ex);
-        }
+        mailOutboxService.enqueue(MailTemplate.VERIFICATION, user.getEmail(), link);
     }
 
     /**
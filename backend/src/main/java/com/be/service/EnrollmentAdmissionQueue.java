@@ -0,0 +1,414 @@
+package com.be.service;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import com.be.domain.exception.AdmissionQueueFullException;
+import com.be.domain.exception.GroupFullException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.AdmissionMode;
+import com.be.service.EnrollmentService.AdmissionBatch;
+import com.be.service.EnrollmentService.AdmissionRequest;
+import com.be.service.EnrollmentService.AdmissionResult;
+import com.be.web.dto.request.EnrollmentRequestDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admission mode for high-demand groups (V20, Group.admissionQueue). The
+ * normal enroll path has every request decrement the group's
+ * capacity_left itself; when a popular group opens, that is hundreds of
+ * transactions queueing on one row lock, each holding a pool connection,
+ * followed by a storm of GroupFullExceptions once it's full.
+ * <p>
+ * For a group in admission mode, enroll requests go into a bounded
+ * in-memory FIFO per group instead. One drainer per group takes up to
+ * {@code max-batch} requests at a time and hands them to
+ * EnrollmentService.admitBatch, which locks the row once and takes the
+ * whole batch's capacity with one guarded decrement — one transaction and
+ * one connection per batch, whatever the burst. The request thread waits
+ * up to {@code wait-ms} for its outcome and otherwise answers 202 with a
+ * ticket and its queue position, pollable until {@code ticket-ttl}.
+ * <p>
+ * Once a batch leaves the group with nothing, further requests are turned
+ * away from memory without touching the database, for
+ * {@code sold-out-recheck-ms} or until a held spot is cancelled or expires
+ * (seen via EnrollmentStatusChangedEvent) — the recheck bounds how long
+ * an instance can miss a release made elsewhere. Requests that asked to
+ * join the waitlist still go through, and become WAITLISTED enrollments
+ * that EnrollmentService promotes when a spot is released.
+ * <p>
+ * Whether a group is in admission mode is cached for {@code mode-cache-ttl}.
+ * Queues are per instance; several instances' drainers for the same group
+ * serialize on its row lock, which is still one lock per batch. Tickets
+ * still queued when the process stops are processed on a clean shutdown
+ * but lost on a crash — their tickets stop resolving and the client
+ * retries.
+ */
+@Service
+public class EnrollmentAdmissionQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentAdmissionQueue.class);
+
+    private final EnrollmentService enrollmentService;
+    private final GroupRepository groupRepository;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final long waitMs;
+    private final long soldOutRecheckNanos;
+    private final Cache<Long, Optional<AdmissionMode>> modesByGroup;
+    private final Cache<Long, Optional<AdmissionMode>> modesByCourse;
+    private final Cache<String, Ticket> tickets;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ExecutorService drainers;
+
+    private final Counter soldOutCounter;
+    private final Counter queueFullCounter;
+    private final Timer batchTimer;
+
+    public EnrollmentAdmissionQueue(EnrollmentService enrollmentService,
+                                    GroupRepository groupRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.admission.queue-capacity:2000}") int queueCapacity,
+                                    @Value("${app.admission.max-batch:50}") int maxBatch,
+                                    @Value("${app.admission.wait-ms:2000}") long waitMs,
+                                    @Value("${app.admission.sold-out-recheck-ms:5000}") long soldOutRecheckMs,
+                                    @Value("${app.admission.mode-cache-ttl:PT30S}") Duration modeCacheTtl,
+                                    @Value("${app.admission.ticket-ttl:PT15M}") Duration ticketTtl,
+                                    @Value("${app.admission.drainer-threads:2}") int drainerThreads) {
+        this.enrollmentService = enrollmentService;
+        this.groupRepository = groupRepository;
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+        this.waitMs = waitMs;
+        this.soldOutRecheckNanos = TimeUnit.MILLISECONDS.toNanos(soldOutRecheckMs);
+        this.modesByGroup = Caffeine.newBuilder().expireAfterWrite(modeCacheTtl).maximumSize(10_000).build();
+        this.modesByCourse = Caffeine.newBuilder().expireAfterWrite(modeCacheTtl).maximumSize(10_000).build();
+        this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).maximumSize(100_000).build();
+        this.drainers = Executors.newFixedThreadPool(drainerThreads,
+                Thread.ofPlatform().name("enrollment-admission-", 1).daemon().factory());
+
+        Gauge.builder("enrollment.admission.queue.depth", lanes,
+                        l -> l.values().stream().mapToInt(Lane::size).sum())
+                .register(meterRegistry);
+        this.soldOutCounter = meterRegistry.counter("enrollment.admission.sold_out");
+        this.queueFullCounter = meterRegistry.counter("enrollment.admission.queue_full");
+        this.batchTimer = meterRegistry.timer("enrollment.admission.batch");
+    }
+
+    /**
+     * EnrollmentService.enroll, through the group's queue when the
+     * requested group is in admission mode.
+     */
+    public Admission enroll(Long workshopId, Long userId, EnrollmentRequestDTO request) {
+        Long groupId = request != null ? request.getGroupId() : null;
+        AdmissionMode mode = groupId == null ? null
+                : modesByGroup.get(groupId, id -> groupRepository.findAdmissionMode(id)).orElse(null);
+        if (mode == null || !mode.isAdmissionQueue()) {
+            return Admission.direct(enrollmentService.enroll(workshopId, userId, request));
+        }
+        if (!workshopId.equals(mode.getWorkshopId())) {
+            throw new RuntimeException("Group does not belong to the requested workshop");
+        }
+        return admit(mode.getId(), userId, request.isJoinWaitlist());
+    }
+
+    /**
+     * EnrollmentService.enrollCourse, through the queue when the course's
+     * group is in admission mode.
+     */
+    public Admission enrollCourse(Long courseId, Long userId, EnrollmentRequestDTO request) {
+        AdmissionMode mode = modesByCourse.get(courseId,
+                id -> groupRepository.findAdmissionModesByCourseId(id).stream().findFirst()).orElse(null);
+        if (mode == null || !mode.isAdmissionQueue()) {
+            return Admission.direct(enrollmentService.enrollCourse(courseId, userId, request));
+        }
+        return admit(mode.getId(), userId, request != null && request.isJoinWaitlist());
+    }
+
+    /**
+     * A ticket's current state, for its own user only — empty for anyone
+     * else's, and once it has expired.
+     */
+    public Optional<TicketStatus> findTicket(String ticketId, Long userId) {
+        Ticket ticket = tickets.getIfPresent(ticketId);
+        if (ticket == null || !ticket.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(status(ticket));
+    }
+
+    private Admission admit(Long groupId, Long userId, boolean joinWaitlist) {
+        Lane lane = lanes.computeIfAbsent(groupId, Lane::new);
+        if (!joinWaitlist && lane.soldOut()) {
+            soldOutCounter.increment();
+            throw new GroupFullException("Group is full");
+        }
+
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), lane, userId, joinWaitlist);
+        if (!lane.offer(ticket, queueCapacity)) {
+            queueFullCounter.increment();
+            throw new AdmissionQueueFullException("Too many enrollment requests for this group right now, "
+                    + "please try again in a moment");
+        }
+        tickets.put(ticket.id, ticket);
+        startDrainer(lane);
+
+        try {
+            return Admission.direct(ticket.result.get(waitMs, TimeUnit.MILLISECONDS));
+        } catch (TimeoutException e) {
+            return Admission.queued(status(ticket));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Admission.queued(status(ticket));
+        } catch (ExecutionException e) {
+            // The drainer's verdict (GroupFull, AlreadyEnrolled, ...) as if
+            // the request had enrolled directly.
+            if (e.getCause() instanceof RuntimeException rejection) throw rejection;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void startDrainer(Lane lane) {
+        if (lane.draining.compareAndSet(false, true)) {
+            drainers.execute(() -> drain(lane));
+        }
+    }
+
+    private void drain(Lane lane) {
+        while (true) {
+            List<Ticket> batch = lane.take(maxBatch);
+            if (batch.isEmpty()) {
+                lane.draining.set(false);
+                // A ticket offered after take() saw the lane still draining
+                // and didn't start a drainer — this one carries on for it.
+                if (lane.size() == 0 || !lane.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                process(lane, batch);
+            } catch (Throwable t) {
+                // process handles RuntimeExceptions itself, so this is an
+                // Error, or a failure in that handling. The batch's open
+                // tickets fail, and the lane goes to a fresh drainer task:
+                // a drainer that dies still marked draining would leave the
+                // group without one until restart.
+                log.error("Admission batch of {} for group {} failed", batch.size(), lane.groupId, t);
+                IllegalStateException failed = new IllegalStateException("Enrollment could not be processed", t);
+                for (Ticket ticket : batch) {
+                    ticket.result.completeExceptionally(failed);
+                }
+                lane.draining.set(false);
+                if (lane.size() > 0) {
+                    startDrainer(lane);
+                }
+                if (t instanceof Error error) {
+                    throw error;
+                }
+                return;
+            }
+        }
+    }
+
+    private void process(Lane lane, List<Ticket> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            AdmissionBatch admitted = enrollmentService.admitBatch(lane.groupId, batch.stream()
+                    .map(Ticket::request).toList());
+            // Lane first: whoever is told "full" must find the lane sold out.
+            lane.capacityLeft(admitted.capacityLeft(), soldOutRecheckNanos);
+            complete(batch, admitted);
+        } catch (RuntimeException ex) {
+            // Something outside the per-request checks failed the whole
+            // transaction (a unique violation another instance's drainer
+            // raced us to, say) — one by one, so only the culprit fails.
+            log.warn("Admission batch of {} for group {} failed, retrying one by one: {}",
+                    batch.size(), lane.groupId, ex.getMessage());
+            for (Ticket ticket : batch) {
+                try {
+                    AdmissionBatch single = enrollmentService.admitBatch(lane.groupId, List.of(ticket.request()));
+                    lane.capacityLeft(single.capacityLeft(), soldOutRecheckNanos);
+                    complete(List.of(ticket), single);
+                } catch (RuntimeException one) {
+                    ticket.result.completeExceptionally(one);
+                }
+            }
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    private static void complete(List<Ticket> tickets, AdmissionBatch admitted) {
+        for (int i = 0; i < tickets.size(); i++) {
+            AdmissionResult result = admitted.results().get(i);
+            if (result.enrollment() != null) {
+                tickets.get(i).result.complete(result.enrollment());
+            } else {
+                tickets.get(i).result.completeExceptionally(result.rejection());
+            }
+        }
+    }
+
+    // A held spot was given up (cancelled, expired) — the group may have
+    // room again, so stop answering "full" from memory. If a waitlisted
+    // enrollment took the spot, the next batch finds that out.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEnrollmentStatusChanged(EnrollmentStatusChangedEvent event) {
+        if (event.groupId() != null && holdsSpot(event.previousStatus()) && !holdsSpot(event.newStatus())) {
+            Lane lane = lanes.get(event.groupId());
+            if (lane != null) {
+                lane.soldOutUntil = 0;
+            }
+        }
+    }
+
+    private static boolean holdsSpot(EnrollmentStatus status) {
+        return status == EnrollmentStatus.PENDING || status == EnrollmentStatus.CONFIRMED;
+    }
+
+    private TicketStatus status(Ticket ticket) {
+        if (!ticket.result.isDone()) {
+            return new TicketStatus(ticket.id, ticket.lane.groupId, ticket.lane.position(ticket), null, null);
+        }
+        try {
+            return new TicketStatus(ticket.id, ticket.lane.groupId, 0, ticket.result.join(), null);
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return new TicketStatus(ticket.id, ticket.lane.groupId, 0, null,
+                    cause instanceof RuntimeException r ? r : e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // Running drainers finish their lane; nothing new is started.
+        drainers.shutdown();
+        drainers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * What enroll()/enrollCourse() produced: the enrollment, when it was
+     * decided within wait-ms (or the group doesn't queue), else the ticket.
+     */
+    public record Admission(Enrollment enrollment, TicketStatus ticket) {
+        static Admission direct(Enrollment enrollment) {
+            return new Admission(enrollment, null);
+        }
+
+        static Admission queued(TicketStatus ticket) {
+            return new Admission(null, ticket);
+        }
+    }
+
+    /**
+     * A queued request. {@code position} is how many requests are ahead
+     * of it plus one while it waits, 0 once taken; exactly one of
+     * enrollment/rejection is set once it's decided.
+     */
+    public record TicketStatus(String id, Long groupId, long position, Enrollment enrollment,
+                               RuntimeException rejection) {
+        public boolean decided() {
+            return enrollment != null || rejection != null;
+        }
+    }
+
+    static final class Ticket {
+        final String id;
+        final Lane lane;
+        final Long userId;
+        final boolean joinWaitlist;
+        final CompletableFuture<Enrollment> result = new CompletableFuture<>();
+        long seq; // set by Lane.offer
+
+        Ticket(String id, Lane lane, Long userId, boolean joinWaitlist) {
+            this.id = id;
+            this.lane = lane;
+            this.userId = userId;
+            this.joinWaitlist = joinWaitlist;
+        }
+
+        AdmissionRequest request() {
+            return new AdmissionRequest(userId, joinWaitlist);
+        }
+    }
+
+    /**
+     * One group's queue. Tickets are numbered as they're offered and the
+     * drainer counts what it has taken, so a position is one subtraction.
+     */
+    static final class Lane {
+        final Long groupId;
+        final AtomicBoolean draining = new AtomicBoolean();
+        private final ArrayDeque<Ticket> queue = new ArrayDeque<>();
+        private long offered; // guarded by this
+        private volatile long taken;
+        // System.nanoTime() until which the group is known to be full; 0
+        // when it isn't.
+        volatile long soldOutUntil;
+
+        Lane(Long groupId) {
+            this.groupId = groupId;
+        }
+
+        synchronized boolean offer(Ticket ticket, int capacity) {
+            if (queue.size() >= capacity) return false;
+            ticket.seq = ++offered;
+            queue.add(ticket);
+            return true;
+        }
+
+        synchronized List<Ticket> take(int max) {
+            List<Ticket> batch = new ArrayList<>(Math.min(max, queue.size()));
+            while (batch.size() < max && !queue.isEmpty()) {
+                batch.add(queue.poll());
+            }
+            taken += batch.size();
+            return batch;
+        }
+
+        synchronized int size() {
+            return queue.size();
+        }
+
+        long position(Ticket ticket) {
+            return Math.max(0, ticket.seq - taken);
+        }
+
+        boolean soldOut() {
+            long until = soldOutUntil;
+            return until != 0 && until - System.nanoTime() > 0;
+        }
+
+        void capacityLeft(int left, long recheckNanos) {
+            soldOutUntil = left > 0 ? 0 : System.nanoTime() + recheckNanos;
+        }
+    }
+}
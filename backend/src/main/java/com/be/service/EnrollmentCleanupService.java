@@ -1,10 +1,13 @@
 package com.be.service;
 
-import com.be.domain.entity.Enrollment;
 import com.be.domain.entity.enums.EnrollmentStatus;
 import com.be.domain.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -16,18 +19,36 @@ import java.util.List;
 // marked paid within 7 days auto-expires rather than sitting PENDING
 // forever with no resolution path. First @Scheduled job in this project —
 // see BackendApplication's @EnableScheduling.
+//
+// Chunked: walks the stale ids keyset-style (id > last seen) and hands
+// each chunk to EnrollmentService.expireBatch — a handful of statements
+// per chunk instead of a transaction, a save and a capacity UPDATE per
+// row, which after a month of unpaid registrations meant thousands of
+// round trips at 03:00.
+//
+// The 7 days run from pendingSince (V23), not createdAt: a waitlist entry
+// promoted by one of these expiries keeps its original createdAt and
+// would otherwise be expired by the very next chunk.
 @Service
 public class EnrollmentCleanupService {
 
     private static final Logger log = LoggerFactory.getLogger(EnrollmentCleanupService.class);
     private static final int TTL_DAYS = 7;
+    private static final int CHUNK_SIZE = 500;
 
     private final EnrollmentRepository enrollmentRepository;
     private final EnrollmentService enrollmentService;
+    private final Timer chunkTimer;
+    private final Counter expiredCounter;
+    private final Counter failedChunkCounter;
 
-    public EnrollmentCleanupService(EnrollmentRepository enrollmentRepository, EnrollmentService enrollmentService) {
+    public EnrollmentCleanupService(EnrollmentRepository enrollmentRepository, EnrollmentService enrollmentService,
+                                    MeterRegistry meterRegistry) {
         this.enrollmentRepository = enrollmentRepository;
         this.enrollmentService = enrollmentService;
+        this.chunkTimer = meterRegistry.timer("enrollment.expiry.chunk");
+        this.expiredCounter = meterRegistry.counter("enrollment.expiry.expired");
+        this.failedChunkCounter = meterRegistry.counter("enrollment.expiry.chunk.failed");
     }
 
     // 03:00 server time daily — low-traffic hour, matches this project's
@@ -35,23 +56,34 @@ public class EnrollmentCleanupService {
     @Scheduled(cron = "0 0 3 * * *")
     public void expireStalePendingEnrollments() {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(TTL_DAYS);
-        List<Enrollment> stale = enrollmentRepository.findByStatusAndCreatedAtBefore(EnrollmentStatus.PENDING, cutoff);
+        long lastId = 0;
+        int expired = 0;
+        int failedChunks = 0;
+
+        while (true) {
+            List<Long> chunk = enrollmentRepository.findIdsByStatusAndPendingSinceBefore(
+                    EnrollmentStatus.PENDING, cutoff, lastId, Limit.of(CHUNK_SIZE));
+            if (chunk.isEmpty()) break;
+            lastId = chunk.get(chunk.size() - 1);
 
-        for (Enrollment e : stale) {
             try {
-                // Delegates to EnrollmentService.expire() — releases held
-                // group capacity and sets EXPIRED, each in its own
-                // transaction (EnrollmentService is class-level
-                // @Transactional), so one bad row doesn't block the rest of
-                // the batch.
-                enrollmentService.expire(e);
+                // Each chunk is its own transaction (EnrollmentService is
+                // class-level @Transactional), so one bad chunk rolls back
+                // alone and the sweep moves on past it — it'll be picked up
+                // again by tomorrow's run.
+                int n = chunkTimer.recordCallable(() -> enrollmentService.expireBatch(chunk));
+                expiredCounter.increment(n);
+                expired += n;
             } catch (Exception ex) {
-                log.error("Failed to expire stale enrollment id={}", e.getId(), ex);
+                failedChunkCounter.increment();
+                failedChunks++;
+                log.error("Failed to expire stale enrollment chunk (ids {}..{})", chunk.get(0), lastId, ex);
             }
         }
 
-        if (!stale.isEmpty()) {
-            log.info("Expired {} stale PENDING enrollment(s) older than {} days", stale.size(), TTL_DAYS);
+        if (expired > 0 || failedChunks > 0) {
+            log.info("Expired {} stale PENDING enrollment(s) older than {} days ({} chunk(s) failed)",
+                    expired, TTL_DAYS, failedChunks);
         }
     }
 }
@@ -0,0 +1,149 @@
+package com.be.service;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.repository.EnrollmentRepository;
+import com.be.web.dto.response.EnrollmentAdminDTO;
+import com.be.web.dto.response.UserBasicDTO;
+import com.be.web.mapper.EnrollmentMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Participant export for the admin workshop list and the teacher group
+ * roster — the same rows as GET .../participants (EnrollmentAdminDTO),
+ * but written straight to the response as CSV or NDJSON while the rows
+ * come off a forward-only cursor, instead of materialising the whole
+ * List first. PII is decrypted by EncryptedStringConverter as each row
+ * is hydrated, and the persistence context is cleared every
+ * {@value #CLEAR_EVERY} rows, so memory stays flat however big the
+ * workshop or season is.
+ */
+@Service
+public class EnrollmentExportService {
+
+    // Matches the repository's fetch size — one JDBC round trip's worth of
+    // entities is the most the persistence context ever holds.
+    static final int CLEAR_EVERY = 500;
+
+    private static final String[] CSV_HEADER = {
+            "enrollmentId", "status", "createdAt",
+            "workshopId", "workshopTitle", "courseId", "courseTitle", "groupId", "groupTitle",
+            "userId", "email", "firstName", "lastName"
+    };
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    private final EnrollmentRepository enrollmentRepository;
+    private final EnrollmentMapper enrollmentMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public EnrollmentExportService(EnrollmentRepository enrollmentRepository, EnrollmentMapper enrollmentMapper,
+                                   ObjectMapper objectMapper, EntityManager entityManager) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.enrollmentMapper = enrollmentMapper;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Writes every enrollment of the workshop to {@code out}; returns the
+     * number of rows written. The caller owns (and flushes) {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public int exportWorkshop(Long workshopId, Format format, Writer out) throws IOException {
+        try (Stream<Enrollment> rows = enrollmentRepository.streamByWorkshopId(workshopId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    /** Same as {@link #exportWorkshop}, for one group's roster. */
+    @Transactional(readOnly = true)
+    public int exportGroup(Long groupId, Format format, Writer out) throws IOException {
+        try (Stream<Enrollment> rows = enrollmentRepository.streamByGroupId(groupId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    private int write(Stream<Enrollment> rows, Format format, Writer out) throws IOException {
+        if (format == Format.CSV) {
+            writeCsvRow(out, (Object[]) CSV_HEADER);
+        }
+        int written = 0;
+        Iterator<Enrollment> it = rows.iterator();
+        while (it.hasNext()) {
+            EnrollmentAdminDTO dto = enrollmentMapper.toAdminDTO(it.next());
+            if (format == Format.CSV) {
+                UserBasicDTO u = dto.getUser();
+                writeCsvRow(out,
+                        dto.getId(), dto.getStatus(), dto.getCreatedAt(),
+                        dto.getWorkshopId(), dto.getWorkshopTitle(), dto.getCourseId(), dto.getCourseTitle(),
+                        dto.getGroupId(), dto.getGroupTitle(),
+                        u != null ? u.getId() : null, u != null ? u.getEmail() : null,
+                        u != null ? u.getFirstName() : null, u != null ? u.getLastName() : null);
+            } else {
+                out.write(objectMapper.writeValueAsString(dto));
+                out.write('\n');
+            }
+            // Read-only transaction, nothing to flush — just let go of the
+            // rows already written (and their decrypted PII).
+            if (++written % CLEAR_EVERY == 0) {
+                entityManager.clear();
+            }
+        }
+        return written;
+    }
+
+    private static void writeCsvRow(Writer out, Object... cells) throws IOException {
+        for (int i = 0; i < cells.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(csvCell(cells[i]));
+        }
+        out.write("\r\n");
+    }
+
+    // RFC 4180 quoting, plus a leading apostrophe on anything a spreadsheet
+    // would evaluate as a formula — names and titles are user input, and
+    // these files are opened in Excel.
+    static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String s = value.toString();
+        if (!s.isEmpty() && "=+-@\t\r".indexOf(s.charAt(0)) >= 0 && !(value instanceof Number)) {
+            s = "'" + s;
+        }
+        if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            return '"' + s.replace("\"", "\"\"") + '"';
+        }
+        return s;
+    }
+}
@@ -2,21 +2,38 @@ package com.be.service;
 
 import com.be.domain.entity.*;
 import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
 import com.be.domain.exception.AlreadyEnrolledException;
 import com.be.domain.exception.GroupFullException;
 import com.be.domain.repository.CourseRepository;
 import com.be.domain.repository.EnrollmentRepository;
 import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.StatusCounts;
 import com.be.domain.repository.OrderRepository;
 import com.be.domain.repository.UserRepository;
 import com.be.domain.repository.WorkshopRepository;
+import com.be.web.dto.request.BatchEnrollmentRequestDTO;
 import com.be.web.dto.request.EnrollmentRequestDTO;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 // LR-084 — extended from Workshop-only to also support Course, and now
 // creates an Order for paid enrollments (was: Enrollment only, no link to
@@ -32,7 +49,8 @@ public class EnrollmentService {
     private final CourseRepository courseRepository;
     private final GroupRepository groupRepository;
     private final OrderRepository orderRepository;
-    private final NotificationService notificationService; // interface, use LogNotificationService in MVP
+    private final NotificationService notificationService; // AsyncNotificationDispatcher — queues, delivers after commit
+    private final ApplicationEventPublisher eventPublisher;
 
     public EnrollmentService(EnrollmentRepository enrollmentRepository,
                              UserRepository userRepository,
@@ -40,7 +58,8 @@ public class EnrollmentService {
                              CourseRepository courseRepository,
                              GroupRepository groupRepository,
                              OrderRepository orderRepository,
-                             NotificationService notificationService) {
+                             NotificationService notificationService,
+                             ApplicationEventPublisher eventPublisher) {
         this.enrollmentRepository = enrollmentRepository;
         this.userRepository = userRepository;
         this.workshopRepository = workshopRepository;
@@ -48,6 +67,7 @@ public class EnrollmentService {
         this.groupRepository = groupRepository;
         this.orderRepository = orderRepository;
         this.notificationService = notificationService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -67,7 +87,7 @@ public class EnrollmentService {
         if (request != null && request.getGroupId() != null) {
             group = resolveGroup(request.getGroupId(), g ->
                     g.getWorkshop() == null || !g.getWorkshop().getId().equals(workshopId),
-                    "Group does not belong to the requested workshop");
+                    "Group does not belong to the requested workshop", initialStatus(workshop.getPrice()));
         }
 
         Enrollment enrollment = Enrollment.builder()
@@ -78,6 +98,7 @@ public class EnrollmentService {
 
         Order order = finalizeStatusAndOrder(enrollment, workshop.getPrice(), user, workshop, null);
         Enrollment saved = enrollmentRepository.save(enrollment);
+        publishStatusChange(saved, null, saved.getStatus(), user.getRole());
 
         notify(workshop, null, group, user, saved.getStatus(), order);
         return saved;
@@ -102,7 +123,7 @@ public class EnrollmentService {
         List<Group> linkedGroups = groupRepository.findByCourseId(courseId);
         Group group = linkedGroups.isEmpty() ? null : linkedGroups.get(0);
         if (group != null) {
-            reserveCapacity(group.getId());
+            reserveCapacity(group.getId(), initialStatus(course.getPrice()));
         }
 
         Enrollment enrollment = Enrollment.builder()
@@ -113,23 +134,224 @@ public class EnrollmentService {
 
         Order order = finalizeStatusAndOrder(enrollment, course.getPrice(), user, null, course);
         Enrollment saved = enrollmentRepository.save(enrollment);
+        publishStatusChange(saved, null, saved.getStatus(), user.getRole());
 
         notify(null, course, group, user, saved.getStatus(), order);
         return saved;
     }
 
+    /**
+     * Enroll several users into a workshop at once, on one Order paid by
+     * {@code payerUserId} — a school booking a class, a parent booking
+     * their children's accounts. All or nothing: the group's seats for the
+     * whole batch are taken with one guarded decrement, and any unknown
+     * user, existing enrollment or missing capacity rejects the entire
+     * batch before anything is written.
+     */
+    public BatchEnrollment enrollBatch(Long workshopId, Long payerUserId, BatchEnrollmentRequestDTO request) {
+        Workshop workshop = workshopRepository.findById(workshopId)
+                .orElseThrow(() -> new RuntimeException("Workshop not found: " + workshopId));
+
+        Set<Long> userIds = request.getUserIds();
+        List<Long> enrolled = enrollmentRepository.findUserIdsEnrolledInWorkshop(workshopId, userIds);
+        if (!enrolled.isEmpty()) {
+            throw new AlreadyEnrolledException("Already enrolled for this workshop: users " + enrolled);
+        }
+
+        Group group = null;
+        if (request.getGroupId() != null) {
+            group = groupRepository.findById(request.getGroupId())
+                    .orElseThrow(() -> new RuntimeException("Group not found: " + request.getGroupId()));
+            if (group.getWorkshop() == null || !group.getWorkshop().getId().equals(workshopId)) {
+                throw new RuntimeException("Group does not belong to the requested workshop");
+            }
+        }
+
+        return enrollAll(findUsers(userIds), findUser(payerUserId), workshop, null, group, workshop.getPrice());
+    }
+
+    /**
+     * Course counterpart of {@link #enrollBatch} — the group is the course's
+     * linked one, same as enrollCourse().
+     */
+    public BatchEnrollment enrollCourseBatch(Long courseId, Long payerUserId, BatchEnrollmentRequestDTO request) {
+        Course course = courseRepository.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found: " + courseId));
+
+        Set<Long> userIds = request.getUserIds();
+        List<Long> enrolled = enrollmentRepository.findUserIdsEnrolledInCourse(courseId, userIds);
+        if (!enrolled.isEmpty()) {
+            throw new AlreadyEnrolledException("Already enrolled for this course: users " + enrolled);
+        }
+
+        List<Group> linkedGroups = groupRepository.findByCourseId(courseId);
+        Group group = linkedGroups.isEmpty() ? null : linkedGroups.get(0);
+
+        return enrollAll(findUsers(userIds), findUser(payerUserId), null, course, group, course.getPrice());
+    }
+
+    // Shared by enrollBatch()/enrollCourseBatch(): one decrement for all
+    // seats, one Order for the whole amount, one batched insert.
+    private BatchEnrollment enrollAll(List<User> users, User payer, Workshop workshop, Course course,
+                                      Group group, BigDecimal price) {
+        EnrollmentStatus status = initialStatus(price);
+        if (group != null && groupRepository.moveSpots(group.getId(), users.size(),
+                StatusCounts.of(status, users.size())) == 0) {
+            throw new GroupFullException("Group has fewer than " + users.size() + " spots left");
+        }
+
+        Order order = null;
+        if (status == EnrollmentStatus.PENDING) {
+            order = createOrder(payer, workshop, course, price.multiply(BigDecimal.valueOf(users.size())), users.size());
+        }
+
+        List<Enrollment> enrollments = new ArrayList<>(users.size());
+        for (User user : users) {
+            enrollments.add(Enrollment.builder()
+                    .user(user)
+                    .workshop(workshop)
+                    .course(course)
+                    .group(group)
+                    .order(order)
+                    .status(status)
+                    .build());
+        }
+        enrollmentRepository.saveAll(enrollments);
+
+        for (Enrollment e : enrollments) {
+            publishStatusChange(e, null, e.getStatus(), e.getUser().getRole());
+            notify(workshop, course, group, e.getUser(), e.getStatus(), order);
+        }
+        return new BatchEnrollment(enrollments, order);
+    }
+
+    /**
+     * A batch's enrollments, in the order the users were given, and the
+     * Order covering them — null when the workshop/course is free.
+     */
+    public record BatchEnrollment(List<Enrollment> enrollments, Order order) {
+    }
+
+    /**
+     * EnrollmentAdmissionQueue's drainer (V20): enroll a batch of queued
+     * requests for one group in a single transaction. The group's row is
+     * locked once and capacity for the whole batch taken with one guarded
+     * decrement; requests past the remaining capacity join the waitlist
+     * if they asked to, and are rejected with GroupFullException otherwise.
+     * Results are in request order; a request that fails its own checks
+     * (unknown user, already enrolled) is rejected without failing the rest.
+     */
+    public AdmissionBatch admitBatch(Long groupId, List<AdmissionRequest> requests) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new EntityNotFoundException("Group not found: " + groupId));
+        Workshop workshop = group.getWorkshop();
+        Course course = group.getCourse();
+        // Also initializes the proxy — the results outlive this transaction.
+        BigDecimal price = workshop != null ? workshop.getPrice() : course != null ? course.getPrice() : null;
+
+        Set<Long> userIds = requests.stream().map(AdmissionRequest::userId).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> enrolled = new HashSet<>(workshop != null
+                ? enrollmentRepository.findUserIdsEnrolledInWorkshop(workshop.getId(), userIds)
+                : course != null ? enrollmentRepository.findUserIdsEnrolledInCourse(course.getId(), userIds)
+                : List.of());
+
+        AdmissionResult[] results = new AdmissionResult[requests.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Long userId = requests.get(i).userId();
+            if (!users.containsKey(userId)) {
+                results[i] = AdmissionResult.rejected(new RuntimeException("User not found: " + userId));
+            } else if (!enrolled.add(userId)) {
+                results[i] = AdmissionResult.rejected(new AlreadyEnrolledException("User already enrolled for this "
+                        + (workshop != null ? "workshop" : "course")));
+            } else {
+                valid.add(i);
+            }
+        }
+
+        int left = groupRepository.lockCapacityLeft(groupId).orElse(0);
+        int granted = Math.min(left, valid.size());
+
+        List<Enrollment> created = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (int k = 0; k < valid.size(); k++) {
+            int i = valid.get(k);
+            User user = users.get(requests.get(i).userId());
+            Enrollment enrollment = Enrollment.builder()
+                    .user(user)
+                    .workshop(workshop)
+                    .course(course)
+                    .group(group)
+                    .build();
+            Order order = null;
+            if (k < granted) {
+                order = finalizeStatusAndOrder(enrollment, price, user, workshop, course);
+            } else if (requests.get(i).joinWaitlist()) {
+                enrollment.setStatus(EnrollmentStatus.WAITLISTED);
+            } else {
+                results[i] = AdmissionResult.rejected(new GroupFullException("Group is full"));
+                continue;
+            }
+            created.add(enrollment);
+            orders.add(order);
+            results[i] = AdmissionResult.admitted(enrollment);
+        }
+
+        // The row is locked since lockCapacityLeft, so taking the spots
+        // after deciding who gets them is still one guarded step.
+        StatusCounts counted = StatusCounts.NONE;
+        for (Enrollment e : created) {
+            counted = counted.plus(StatusCounts.of(e.getStatus(), 1));
+        }
+        if (!created.isEmpty()) {
+            groupRepository.moveSpots(groupId, granted, counted);
+        }
+
+        enrollmentRepository.saveAll(created);
+        for (int k = 0; k < created.size(); k++) {
+            Enrollment e = created.get(k);
+            publishStatusChange(e, null, e.getStatus(), e.getUser().getRole());
+            notify(workshop, course, group, e.getUser(), e.getStatus(), orders.get(k));
+        }
+        return new AdmissionBatch(Arrays.asList(results), left - granted);
+    }
+
+    public record AdmissionRequest(Long userId, boolean joinWaitlist) {
+    }
+
+    /**
+     * One request's outcome: the enrollment (PENDING/CONFIRMED, or
+     * WAITLISTED) or why it was turned away.
+     */
+    public record AdmissionResult(Enrollment enrollment, RuntimeException rejection) {
+        static AdmissionResult admitted(Enrollment enrollment) {
+            return new AdmissionResult(enrollment, null);
+        }
+
+        static AdmissionResult rejected(RuntimeException rejection) {
+            return new AdmissionResult(null, rejection);
+        }
+    }
+
+    public record AdmissionBatch(List<AdmissionResult> results, int capacityLeft) {
+    }
+
     // Shared by enroll()/enrollCourse() — free (price null/0) confirms
     // immediately with no Order (nothing to charge); paid starts PENDING
     // with an Order created in the same transaction (was: Enrollment only,
     // no way to ever record that this registration needs paying).
     private Order finalizeStatusAndOrder(Enrollment enrollment, BigDecimal price, User user,
                                           Workshop workshop, Course course) {
-        if (price == null || price.compareTo(BigDecimal.ZERO) == 0) {
-            enrollment.setStatus(EnrollmentStatus.CONFIRMED);
+        enrollment.setStatus(initialStatus(price));
+        if (enrollment.getStatus() == EnrollmentStatus.CONFIRMED) {
             return null;
         }
+        // V23 — the payment window starts now, also for a promoted waitlist
+        // entry whose createdAt is long past.
+        enrollment.setPendingSince(LocalDateTime.now());
 
-        enrollment.setStatus(EnrollmentStatus.PENDING);
         // CODING_PROTOCOL.md §4b — status is never taken from a client DTO
         // here either; this Order is built entirely server-side.
         // architect-reviewer, 2026-08-16 — timestamp alone collides under
@@ -137,42 +359,55 @@ public class EnrollmentService {
         // both hit orderNumber's unique constraint); appended UUID fragment
         // makes collision practically impossible without losing the
         // human-readable timestamp prefix.
-        Order order = Order.builder()
+        Order order = createOrder(user, workshop, course, price, 1);
+        enrollment.setOrder(order);
+        return order;
+    }
+
+    private Order createOrder(User user, Workshop workshop, Course course, BigDecimal amount, int quantity) {
+        return orderRepository.save(Order.builder()
                 .orderNumber(generateOrderNumber())
                 .user(user)
                 .workshop(workshop)
                 .course(course)
-                .amount(price)
+                .amount(amount)
                 .currency("EUR")
-                .quantity(1)
+                .quantity(quantity)
                 .status("PENDING")
-                .build();
-        order = orderRepository.save(order);
-        enrollment.setOrder(order);
-        return order;
+                .build());
+    }
+
+    // The status finalizeStatusAndOrder() will give an enrollment at this
+    // price — needed earlier, to count the spot under it when reserving.
+    private static EnrollmentStatus initialStatus(BigDecimal price) {
+        return price == null || price.compareTo(BigDecimal.ZERO) == 0
+                ? EnrollmentStatus.CONFIRMED
+                : EnrollmentStatus.PENDING;
     }
 
     private String generateOrderNumber() {
         return "ORD-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 
-    private Group resolveGroup(Long groupId, java.util.function.Predicate<Group> mismatch, String mismatchMessage) {
+    private Group resolveGroup(Long groupId, java.util.function.Predicate<Group> mismatch, String mismatchMessage,
+                               EnrollmentStatus status) {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found: " + groupId));
         if (mismatch.test(group)) {
             throw new RuntimeException(mismatchMessage);
         }
-        reserveCapacity(group.getId());
+        reserveCapacity(group.getId(), status);
         return group;
     }
 
-    // Atomic, WHERE-guarded decrement (GroupRepository.decrementCapacityLeft)
-    // — closes the check-then-save race the roundtable flagged: the old
+    // Atomic, WHERE-guarded decrement (GroupRepository.moveSpots) — closes
+    // the check-then-save race the roundtable flagged: the old
     // `group.getEnrolledCount() >= group.getCapacity()` check and the
     // eventual save() were two separate steps, so two concurrent requests
-    // for the last open spot could both pass.
-    private void reserveCapacity(Long groupId) {
-        int updated = groupRepository.decrementCapacityLeft(groupId);
+    // for the last open spot could both pass. The spot is counted under
+    // the status the enrollment is about to get (V21).
+    private void reserveCapacity(Long groupId, EnrollmentStatus status) {
+        int updated = groupRepository.moveSpots(groupId, 1, StatusCounts.of(status, 1));
         if (updated == 0) {
             // architect-reviewer, 2026-08-16 (frontend round) — was a plain
             // RuntimeException, which GlobalExceptionHandler's generic
@@ -189,6 +424,21 @@ public class EnrollmentService {
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
     }
 
+    // In the order given — the batch's enrollments follow it.
+    private List<User> findUsers(Set<Long> userIds) {
+        Map<Long, User> found = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<User> users = new ArrayList<>(userIds.size());
+        for (Long userId : userIds) {
+            User user = found.get(userId);
+            if (user == null) {
+                throw new RuntimeException("User not found: " + userId);
+            }
+            users.add(user);
+        }
+        return users;
+    }
+
     private void notify(Workshop workshop, Course course, Group group, User user, EnrollmentStatus status, Order order) {
         try {
             String target = workshop != null ? workshop.getWorkshopName() : (course != null ? course.getTitleDe() : "?");
@@ -200,7 +450,8 @@ public class EnrollmentService {
         } catch (Exception ex) {
             // swallow notification errors — same reasoning as before this
             // change: a notification failure must never roll back a real
-            // enrollment write.
+            // enrollment write. (Channels run after commit now, so this only
+            // guards building the event itself.)
         }
     }
 
@@ -232,14 +483,16 @@ public class EnrollmentService {
         // architect-reviewer, 2026-08-16 — without this, cancelling an
         // already-EXPIRED enrollment silently flips it to CANCELLED with no
         // error, muddying the CANCELLED-vs-EXPIRED reporting split this
-        // class otherwise keeps clean (see expire()'s own comment).
+        // class otherwise keeps clean (see expireBatch()'s own comment).
         if (e.getStatus() == EnrollmentStatus.CANCELLED || e.getStatus() == EnrollmentStatus.EXPIRED) {
             throw new RuntimeException("Enrollment is already " + e.getStatus());
         }
 
-        releaseIfHeldCapacity(e);
+        EnrollmentStatus previous = e.getStatus();
+        releaseIfHeldCapacity(e, EnrollmentStatus.CANCELLED);
         e.setStatus(EnrollmentStatus.CANCELLED);
         enrollmentRepository.save(e);
+        publishStatusChange(e, previous, e.getStatus(), e.getUser().getRole());
 
         // notify
         try {
@@ -249,19 +502,96 @@ public class EnrollmentService {
         }
     }
 
-    // LR-084 — 7-day TTL cleanup (EnrollmentCleanupService) calls this for
-    // every stale PENDING enrollment. Separate from cancelEnrollment (an
-    // EXPIRED enrollment was never actively cancelled by anyone — kept as
-    // its own status so the two are never conflated in reporting).
-    public void expire(Enrollment e) {
-        releaseIfHeldCapacity(e);
-        e.setStatus(EnrollmentStatus.EXPIRED);
-        enrollmentRepository.save(e);
+    /**
+     * LR-084 — 7-day TTL expiry for EnrollmentCleanupService's chunked
+     * sweep. Separate from cancelEnrollment: an EXPIRED enrollment was never
+     * actively cancelled by anyone — kept as its own status so the two are
+     * never conflated in reporting. One chunk, one transaction: lock
+     * whichever of {@code ids} are still PENDING, flip them to EXPIRED with
+     * a single UPDATE, then release their capacity — to each group's
+     * waitlist first (V20), the rest and the status counters (V21) with one
+     * UPDATE per group. Returns how many enrollments actually expired.
+     */
+    public int expireBatch(Collection<Long> ids) {
+        List<Enrollment> pending = enrollmentRepository.findByIdInAndStatusForUpdate(ids, EnrollmentStatus.PENDING);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        enrollmentRepository.updateStatusByIdIn(pending.stream().map(Enrollment::getId).toList(),
+                EnrollmentStatus.EXPIRED);
+
+        // Group ids in ascending order, so two batches (or a batch and an
+        // enroll) touching the same groups always lock them in the same order.
+        Map<Long, Integer> releasedPerGroup = new TreeMap<>();
+        for (Enrollment e : pending) {
+            if (e.getGroup() != null) {
+                releasedPerGroup.merge(e.getGroup().getId(), 1, Integer::sum);
+            }
+        }
+        releasedPerGroup.forEach((groupId, n) -> releaseSeats(groupId, n,
+                StatusCounts.moved(EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED, n)));
+
+        // The loaded entities still say PENDING (the UPDATE bypassed them) —
+        // deliberately not setStatus()'d, which would make dirty checking
+        // issue one UPDATE per row all over again at commit.
+        for (Enrollment e : pending) {
+            publishStatusChange(e, EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED, null);
+        }
+        return pending.size();
+    }
+
+    // Delivered to @TransactionalEventListener beans (MetricsService's
+    // dashboard snapshot) only after this transaction commits — a
+    // rolled-back enrollment never shows up in the counts.
+    private void publishStatusChange(Enrollment e, EnrollmentStatus previous, EnrollmentStatus next,
+                                     Role userRole) {
+        eventPublisher.publishEvent(new EnrollmentStatusChangedEvent(
+                e.getId(),
+                e.getUser() != null ? e.getUser().getId() : null,
+                userRole,
+                e.getWorkshop() != null ? e.getWorkshop().getId() : null,
+                e.getCourse() != null ? e.getCourse().getId() : null,
+                e.getGroup() != null ? e.getGroup().getId() : null,
+                previous,
+                next));
+    }
+
+    // Called before e moves to next: gives its spot back if it held one,
+    // and counts the move either way (a waitlisted enrollment held none).
+    private void releaseIfHeldCapacity(Enrollment e, EnrollmentStatus next) {
+        if (e.getGroup() != null) {
+            boolean held = e.getStatus() == EnrollmentStatus.PENDING || e.getStatus() == EnrollmentStatus.CONFIRMED;
+            releaseSeats(e.getGroup().getId(), held ? 1 : 0, StatusCounts.moved(e.getStatus(), next, 1));
+        }
+    }
+
+    // n released spots go to the waitlist first, the rest back to
+    // capacity_left — in the same UPDATE as the counters for the releasing
+    // enrollments' moves (delta) and for the promotions.
+    private void releaseSeats(Long groupId, int n, StatusCounts delta) {
+        List<Enrollment> promoted = n > 0 ? promoteWaitlisted(groupId, n) : List.of();
+        for (Enrollment p : promoted) {
+            delta = delta.plus(StatusCounts.moved(EnrollmentStatus.WAITLISTED, p.getStatus(), 1));
+        }
+        groupRepository.moveSpots(groupId, promoted.size() - n, delta);
     }
 
-    private void releaseIfHeldCapacity(Enrollment e) {
-        if (e.getGroup() != null && (e.getStatus() == EnrollmentStatus.PENDING || e.getStatus() == EnrollmentStatus.CONFIRMED)) {
-            groupRepository.incrementCapacityLeft(e.getGroup().getId());
+    // V20 — a released spot goes to the group's waitlist first, oldest
+    // first, and only goes back to capacity_left when nobody is waiting —
+    // otherwise the next fresh request would jump the queue. The promoted
+    // enrollment gets the same status/Order decision a fresh one would.
+    private List<Enrollment> promoteWaitlisted(Long groupId, int spots) {
+        List<Enrollment> waiting = enrollmentRepository.findByGroupIdAndStatusForUpdate(
+                groupId, EnrollmentStatus.WAITLISTED, Limit.of(spots));
+        for (Enrollment e : waiting) {
+            Workshop workshop = e.getWorkshop();
+            Course course = e.getCourse();
+            BigDecimal price = workshop != null ? workshop.getPrice() : course != null ? course.getPrice() : null;
+            Order order = finalizeStatusAndOrder(e, price, e.getUser(), workshop, course);
+            publishStatusChange(e, EnrollmentStatus.WAITLISTED, e.getStatus(), e.getUser().getRole());
+            notify(workshop, course, e.getGroup(), e.getUser(), e.getStatus(), order);
         }
+        return waiting;
     }
 }
@@ -10,10 +10,14 @@ import com.be.domain.repository.WorkshopRepository;
 import com.be.domain.repository.ContractRepository;
 import com.be.web.dto.request.EventRequestDTO;
 import com.be.web.mapper.EventMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -24,22 +28,33 @@ public class EventService {
     private final WorkshopRepository workshopRepository;
     private final ContractRepository contractRepository;
     private final EventMapper eventMapper;
+    private final VenueOccupancyIndex occupancyIndex;
 
     public EventService(EventRepository eventRepository,
                         VenueRepository venueRepository,
                         WorkshopRepository workshopRepository,
                         ContractRepository contractRepository,
-                        EventMapper eventMapper) {
+                        EventMapper eventMapper,
+                        VenueOccupancyIndex occupancyIndex) {
         this.eventRepository = eventRepository;
         this.venueRepository = venueRepository;
         this.workshopRepository = workshopRepository;
         this.contractRepository = contractRepository;
         this.eventMapper = eventMapper;
+        this.occupancyIndex = occupancyIndex;
     }
 
+    // Keyset page for GET /events, see KeysetRequest. id-only sort:
+    // events.start_date_time and created_at are both nullable.
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class);
+
     @Transactional(readOnly = true)
-    public List<Event> getAll() {
-        return eventRepository.findAll();
+    public Window<Event> getPage(Long workshopId, String status, KeysetRequest page) {
+        List<Specification<Event>> filters = new ArrayList<>();
+        if (workshopId != null) filters.add((root, query, cb) -> cb.equal(root.get("workshop").get("id"), workshopId));
+        if (status != null) filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        return eventRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     @Transactional(readOnly = true)
@@ -52,7 +67,10 @@ public class EventService {
     public Event create(EventRequestDTO dto) {
         Event event = eventMapper.fromRequestDTO(dto);
         linkRelations(event, dto);
-        return eventRepository.save(event);
+        requireVenueFree(event);
+        Event saved = eventRepository.save(event);
+        occupancyIndex.eventChanged(saved);
+        return saved;
     }
 
     @Transactional
@@ -69,8 +87,19 @@ public class EventService {
         if (dto.getStatus() != null) existing.setStatus(dto.getStatus());
 
         linkRelations(existing, dto);
+        requireVenueFree(existing);
+
+        Event saved = eventRepository.save(existing);
+        occupancyIndex.eventChanged(saved);
+        return saved;
+    }
 
-        return eventRepository.save(existing);
+    // A cancelled event doesn't hold its room (VenueOccupancyIndex).
+    private void requireVenueFree(Event event) {
+        if (event.getVenue() != null && !"CANCELLED".equalsIgnoreCase(event.getStatus())) {
+            occupancyIndex.requireFree(event.getVenue().getId(), event.getStartDateTime(), event.getEndDateTime(),
+                    VenueOccupancyIndex.Owner.event(event.getId()));
+        }
     }
 
     private void linkRelations(Event event, EventRequestDTO dto) {
@@ -97,5 +126,6 @@ public class EventService {
             throw new RuntimeException("Event not found with id: " + id);
         }
         eventRepository.deleteById(id);
+        occupancyIndex.eventRemoved(id);
     }
 }
\ No newline at end of file
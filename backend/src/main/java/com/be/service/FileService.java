@@ -6,10 +6,15 @@ import com.be.domain.repository.FileRepository;
 import com.be.domain.repository.WorkshopRepository;
 import com.be.web.dto.request.FileRequestDTO;
 import com.be.web.mapper.FileMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -25,9 +30,17 @@ public class FileService {
         this.fileMapper = fileMapper;
     }
 
+    // Keyset page for GET /files, see KeysetRequest — upload_date is NOT NULL,
+    // so it can be a sort key as well as id.
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class, "uploadDate", LocalDateTime.class);
+
     @Transactional(readOnly = true)
-    public List<File> getAll() {
-        return fileRepository.findAll();
+    public Window<File> getPage(Long workshopId, String fileType, KeysetRequest page) {
+        List<Specification<File>> filters = new ArrayList<>();
+        if (workshopId != null) filters.add((root, query, cb) -> cb.equal(root.get("workshop").get("id"), workshopId));
+        if (fileType != null) filters.add((root, query, cb) -> cb.equal(root.get("fileType"), fileType));
+        return fileRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     @Transactional(readOnly = true)
@@ -0,0 +1,64 @@
+package com.be.service;
+
+import com.be.service.GroupService.RecountChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// V21 — workshop_groups' per-status enrollment counters are only ever
+// moved by EnrollmentService, in the same UPDATE as capacity_left. Anything
+// that writes enrollments some other way (a manual fix in psql, a
+// migration, a code path that forgets) leaves them wrong with nothing to
+// notice it. This sweep recounts every group now and then and repairs the
+// ones that disagree — each repair is logged and counted, since one means
+// such a path exists.
+//
+// Chunked like EnrollmentCleanupService: keyset over group ids, each chunk
+// its own transaction (GroupService.recountEnrollments) holding that
+// chunk's group rows locked only while it recounts them.
+@Service
+public class GroupCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(GroupCounterReconciler.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final GroupService groupService;
+    private final Timer sweepTimer;
+    private final Counter repairedCounter;
+
+    public GroupCounterReconciler(GroupService groupService, MeterRegistry meterRegistry) {
+        this.groupService = groupService;
+        this.sweepTimer = meterRegistry.timer("group.counters.reconcile");
+        this.repairedCounter = meterRegistry.counter("group.counters.repaired");
+    }
+
+    @Scheduled(fixedDelayString = "${app.group-counters.reconcile-ms:3600000}",
+            initialDelayString = "${app.group-counters.reconcile-ms:3600000}")
+    public void scheduledReconcile() {
+        sweepTimer.record(this::reconcile);
+    }
+
+    // Returns how many groups' counters were repaired.
+    public int reconcile() {
+        long lastId = 0;
+        int groups = 0;
+        int repaired = 0;
+        while (true) {
+            RecountChunk chunk = groupService.recountEnrollments(lastId, CHUNK_SIZE);
+            if (chunk.groups() == 0) break;
+            lastId = chunk.lastId();
+            groups += chunk.groups();
+            repaired += chunk.repaired();
+        }
+
+        if (repaired > 0) {
+            repairedCounter.increment(repaired);
+            log.warn("Repaired drifted enrollment counters on {} of {} group(s)", repaired, groups);
+        }
+        return repaired;
+    }
+}
@@ -21,10 +21,16 @@ import com.be.web.dto.request.GroupCreateDTO;
 import com.be.web.dto.request.GroupUpdateDTO;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -38,10 +44,23 @@ public class GroupService {
     private final AgeGroupRepository ageGroupRepository;
     private final CourseRepository courseRepository;
     private final LanguageRepository languageRepository;
+    private final CatalogCache catalogCache;
+    private final VenueOccupancyIndex occupancyIndex;
+
+    // Keyset page for GET /groups (workshopId/courseId used to be separate
+    // unbounded branches of the same endpoint, now plain filters), see
+    // KeysetRequest. start_date_time is NOT NULL, so sortable too.
+    public static final Map<String, Class<?>> PAGE_SORTABLE =
+            Map.of("id", Long.class, "startDateTime", LocalDateTime.class);
 
     @Transactional(readOnly = true)
-    public List<Group> findAll() {
-        return groupRepository.findAll();
+    public Window<Group> findPage(Long workshopId, Long courseId, Boolean active, KeysetRequest page) {
+        List<Specification<Group>> filters = new ArrayList<>();
+        if (workshopId != null) filters.add((root, query, cb) -> cb.equal(root.get("workshop").get("id"), workshopId));
+        if (courseId != null) filters.add((root, query, cb) -> cb.equal(root.get("course").get("id"), courseId));
+        if (active != null) filters.add((root, query, cb) -> cb.equal(root.get("active"), active));
+        return groupRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     @Transactional(readOnly = true)
@@ -80,6 +99,7 @@ public class GroupService {
                 .startDateTime(dto.getStartDateTime())
                 .endDateTime(dto.getEndDateTime())
                 .active(dto.isActive())
+                .admissionQueue(dto.isAdmissionQueue())
                 .recurrenceDays(dto.getRecurrenceDays())
                 .recurrenceStartDate(dto.getRecurrenceStartDate())
                 .recurrenceEndDate(dto.getRecurrenceEndDate())
@@ -116,7 +136,10 @@ public class GroupService {
             group.setAgeGroup(ageGroup);
         }
 
-        return groupRepository.save(group);
+        Group saved = groupRepository.save(group);
+        catalogCache.groupChanged(saved);
+        occupancyIndex.groupChanged(saved);
+        return saved;
     }
 
     /**
@@ -134,6 +157,9 @@ public class GroupService {
     @Transactional
     public Group update(Long id, GroupUpdateDTO dto) {
         Group existingGroup = findById(id);
+        // The course link can change below — the old course's cached
+        // detail (its schedule) must go too.
+        Long previousCourseId = existingGroup.getCourse() != null ? existingGroup.getCourse().getId() : null;
 
         Course course = null;
         if (dto.getCourseId() != null) {
@@ -155,7 +181,14 @@ public class GroupService {
         existingGroup.setStartDateTime(dto.getStartDateTime());
         existingGroup.setEndDateTime(dto.getEndDateTime());
         existingGroup.setActive(dto.isActive());
+        existingGroup.setAdmissionQueue(dto.isAdmissionQueue());
         existingGroup.setCourse(course);
+        // A new rule version (V19) retires OccurrenceService's compiled copy.
+        if (!Objects.equals(existingGroup.getRecurrenceDays(), dto.getRecurrenceDays())
+                || !Objects.equals(existingGroup.getRecurrenceStartDate(), dto.getRecurrenceStartDate())
+                || !Objects.equals(existingGroup.getRecurrenceEndDate(), dto.getRecurrenceEndDate())) {
+            existingGroup.setRecurrenceVersion(existingGroup.getRecurrenceVersion() + 1);
+        }
         existingGroup.setRecurrenceDays(dto.getRecurrenceDays());
         existingGroup.setRecurrenceStartDate(dto.getRecurrenceStartDate());
         existingGroup.setRecurrenceEndDate(dto.getRecurrenceEndDate());
@@ -200,18 +233,22 @@ public class GroupService {
             existingGroup.setVenue(null);
         }
 
-        return groupRepository.save(existingGroup);
-    }
-
-    @Transactional(readOnly = true)
-    public List<Group> findByCourseId(Long courseId) {
-        return groupRepository.findByCourseId(courseId);
+        catalogCache.groupChanged(existingGroup);
+        catalogCache.groupChanged(null, previousCourseId);
+        Group saved = groupRepository.save(existingGroup);
+        // Venue, rule or active may have moved the group's bookings. Not
+        // checked for clashes here — a rule edit is followed by the
+        // session regeneration/edits that are.
+        occupancyIndex.groupChanged(saved);
+        return saved;
     }
 
     @Transactional
     public void deleteById(Long id) {
         Group group = findById(id);
         groupRepository.delete(group);
+        catalogCache.groupChanged(group);
+        occupancyIndex.groupRemoved(id);
     }
 
     @Transactional
@@ -219,6 +256,8 @@ public class GroupService {
         Group group = findById(id);
         group.setActive(false);
         groupRepository.save(group);
+        catalogCache.groupChanged(group);
+        occupancyIndex.groupChanged(group);
     }
 
     /**
@@ -245,10 +284,30 @@ public class GroupService {
         groupRepository.save(group);
     }
 
+    // Spots held by PENDING/CONFIRMED enrollments, from the group's own
+    // counters (V21) — was the participants roster's size().
     @Transactional(readOnly = true)
     public boolean hasAvailableSpots(Long groupId) {
-        Group group = findById(groupId);
-        return group.getParticipants().size() < group.getCapacity();
+        return !findById(groupId).isFull();
+    }
+
+    /**
+     * GroupCounterReconciler's unit of work (V21), one transaction: lock the
+     * next {@code limit} groups after {@code afterId}, recount their
+     * enrollments and overwrite the counters that drifted. An empty chunk
+     * means the sweep is done.
+     */
+    @Transactional
+    public RecountChunk recountEnrollments(long afterId, int limit) {
+        List<Long> ids = groupRepository.lockIdsAfter(afterId, limit);
+        if (ids.isEmpty()) {
+            return new RecountChunk(afterId, 0, 0);
+        }
+        int repaired = groupRepository.recountEnrollments(ids);
+        return new RecountChunk(ids.get(ids.size() - 1), ids.size(), repaired);
+    }
+
+    public record RecountChunk(long lastId, int groups, int repaired) {
     }
 
     @Transactional(readOnly = true)
@@ -262,9 +321,4 @@ public class GroupService {
         Teacher teacher = Teacher.builder().id(teacherId).build();
         return groupRepository.findByTeacher(teacher);
     }
-
-    @Transactional(readOnly = true)
-    public List<Group> findByWorkshopId(Long workshopId) {
-        return groupRepository.findByWorkshopId(workshopId);
-    }
 }
\ No newline at end of file
@@ -0,0 +1,294 @@
+package com.be.service;
+
+import com.be.domain.entity.IdempotencyRecord;
+import com.be.domain.exception.IdempotencyKeyReusedException;
+import com.be.domain.exception.IdempotentRequestInProgressException;
+import com.be.domain.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for POSTs clients retry (V22): enroll, orders,
+ * payments. The first request with a given key runs normally and its
+ * successful response is stored; a retry with the same key and the same
+ * request gets that response back ({@code Idempotent-Replayed: true})
+ * without running anything again.
+ * <p>
+ * Keys are per user. Completed responses are kept in Postgres for
+ * {@code ttl} and in a bounded in-memory cache in front of it, so the
+ * usual retry — same instance, seconds later — never reaches the
+ * database. A duplicate arriving while the first is still running waits
+ * for it instead of racing it: on the same instance on the first one's
+ * future, from another instance by re-reading the row, both for at most
+ * {@code wait-ms}, then 409. The row is claimed with a {@code lease};
+ * if the instance running the request dies, a retry after the lease
+ * runs it again.
+ * <p>
+ * Only 2xx responses are stored. An error (GroupFullException, a failed
+ * validation, anything thrown) gives the key back, so the retry is a
+ * real second attempt. The same key with a different endpoint or body is
+ * refused with 422 rather than answered with someone else's response.
+ */
+@Service
+public class IdempotencyGuard {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final String RESPONSE_CACHE = "idempotency.responses";
+    static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_MS = 50;
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+
+    private final IdempotencyKeyService idempotencyKeyService;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration lease;
+    private final long waitNanos;
+    private final Cache<String, StoredResponse> responses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter executedCounter;
+    private final Counter replayedCounter;
+    private final Counter reusedCounter;
+    private final Counter inProgressCounter;
+
+    public IdempotencyGuard(IdempotencyKeyService idempotencyKeyService,
+                            ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${app.idempotency.lease:PT1M}") Duration lease,
+                            @Value("${app.idempotency.wait-ms:10000}") long waitMs,
+                            @Value("${app.idempotency.cache.max-entries:10000}") long maxCachedResponses) {
+        this.idempotencyKeyService = idempotencyKeyService;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.lease = lease;
+        this.waitNanos = TimeUnit.MILLISECONDS.toNanos(waitMs);
+        this.responses = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxCachedResponses)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, RESPONSE_CACHE);
+        this.executedCounter = meterRegistry.counter("idempotency.requests", "outcome", "executed");
+        this.replayedCounter = meterRegistry.counter("idempotency.requests", "outcome", "replayed");
+        this.reusedCounter = meterRegistry.counter("idempotency.requests", "outcome", "key_reused");
+        this.inProgressCounter = meterRegistry.counter("idempotency.requests", "outcome", "in_progress");
+    }
+
+    /**
+     * Runs {@code action} once per (user, key). Without a key — or a user
+     * — it just runs. {@code endpoint} and {@code request} are what the
+     * key is bound to: pass the method and path, and the request body.
+     */
+    public ResponseEntity<?> execute(String key, Long userId, String endpoint, Object request,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || userId == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        byte[] fingerprint = fingerprint(endpoint, request);
+        String cacheKey = userId + ":" + key;
+        long deadline = System.nanoTime() + waitNanos;
+
+        while (true) {
+            StoredResponse stored = responses.getIfPresent(cacheKey);
+            if (stored != null) {
+                return replay(stored, fingerprint);
+            }
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, mine);
+            if (running != null) {
+                // Running on this instance already — wait for its outcome.
+                // null: it failed and gave the key back, so go again.
+                StoredResponse outcome = await(running, deadline);
+                if (outcome != null) {
+                    return replay(outcome, fingerprint);
+                }
+                continue;
+            }
+
+            StoredResponse outcome = null;
+            try {
+                if (!idempotencyKeyService.claim(userId, key, fingerprint, lease)) {
+                    // Held in the database: completed earlier, or running
+                    // on another instance.
+                    outcome = awaitRecord(userId, key, deadline);
+                    if (outcome == null) {
+                        continue;
+                    }
+                    responses.put(cacheKey, outcome);
+                    return replay(outcome, fingerprint);
+                }
+                executedCounter.increment();
+                ResponseEntity<?> response;
+                try {
+                    response = action.get();
+                } catch (RuntimeException e) {
+                    idempotencyKeyService.release(userId, key);
+                    throw e;
+                }
+                if (!response.getStatusCode().is2xxSuccessful()) {
+                    idempotencyKeyService.release(userId, key);
+                    return response;
+                }
+                outcome = store(userId, key, fingerprint, response);
+                responses.put(cacheKey, outcome);
+                return response;
+            } finally {
+                inFlight.remove(cacheKey, mine);
+                mine.complete(outcome);
+            }
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * *")
+    public void purgeExpired() {
+        int purged = idempotencyKeyService.purgeExpired();
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency key(s)", purged);
+        }
+    }
+
+    private StoredResponse store(Long userId, String key, byte[] fingerprint, ResponseEntity<?> response) {
+        URI location = response.getHeaders().getLocation();
+        StoredResponse stored = new StoredResponse(fingerprint, response.getStatusCode().value(),
+                location != null ? location.toString() : null, toJson(response.getBody()));
+        // The work is done and committed either way; failing to record it
+        // only means a retry after the lease runs into the business
+        // rules' own duplicate checks instead of a replay.
+        try {
+            if (!idempotencyKeyService.complete(userId, key, fingerprint, stored.statusCode(), stored.location(),
+                    stored.body(), ttl)) {
+                log.warn("Idempotency key claim for user {} was taken over before its response was stored", userId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not store the response for an idempotency key of user {}", userId, e);
+        }
+        return stored;
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw inProgress();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress();
+        } catch (ExecutionException e) {
+            // Never completed exceptionally — see execute's finally.
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // The stored response once the row's holder completes it; null once
+    // the row is gone or its lease is over, i.e. the key can be claimed.
+    private StoredResponse awaitRecord(Long userId, String key, long deadline) {
+        while (true) {
+            Optional<IdempotencyRecord> found = idempotencyKeyService.find(userId, key);
+            if (found.isEmpty()) {
+                return null;
+            }
+            IdempotencyRecord record = found.get();
+            if (record.isCompleted()) {
+                return new StoredResponse(record.getFingerprint(), record.getStatusCode(),
+                        record.getLocation(), record.getResponseBody());
+            }
+            if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                return null;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw inProgress();
+            }
+            try {
+                Thread.sleep(POLL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw inProgress();
+            }
+        }
+    }
+
+    private ResponseEntity<String> replay(StoredResponse stored, byte[] fingerprint) {
+        if (!MessageDigest.isEqual(stored.fingerprint(), fingerprint)) {
+            reusedCounter.increment();
+            throw new IdempotencyKeyReusedException(
+                    "This " + HEADER + " was already used for a different request");
+        }
+        replayedCounter.increment();
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(stored.statusCode())
+                .header(REPLAYED_HEADER, "true");
+        if (stored.location() != null) {
+            builder.header(HttpHeaders.LOCATION, stored.location());
+        }
+        if (stored.body() == null) {
+            return builder.build();
+        }
+        return builder.contentType(MediaType.APPLICATION_JSON).body(stored.body());
+    }
+
+    private IdempotentRequestInProgressException inProgress() {
+        inProgressCounter.increment();
+        return new IdempotentRequestInProgressException(
+                "A request with this " + HEADER + " is still being processed");
+    }
+
+    byte[] fingerprint(String endpoint, Object request) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sha256.update(endpoint.getBytes(StandardCharsets.UTF_8));
+            sha256.update((byte) '\n');
+            sha256.update(objectMapper.writeValueAsBytes(request));
+            return sha256.digest();
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request for " + endpoint, e);
+        }
+    }
+
+    private String toJson(Object body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize response for replay", e);
+        }
+    }
+
+    record StoredResponse(byte[] fingerprint, int statusCode, String location, String body) {
+    }
+}
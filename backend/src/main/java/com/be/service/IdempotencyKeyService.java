@@ -0,0 +1,72 @@
+package com.be.service;
+
+import com.be.domain.entity.IdempotencyRecord;
+import com.be.domain.repository.IdempotencyRecordRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The idempotency_keys table (V22): the short claim/complete/release
+ * transactions IdempotencyGuard runs around a request. The request's own
+ * work runs in its own transaction between them, never inside one of
+ * these.
+ */
+@Service
+public class IdempotencyKeyService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    public IdempotencyKeyService(IdempotencyRecordRepository idempotencyRecordRepository) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+    }
+
+    /**
+     * Takes the key for a new request, held for {@code lease}. False when
+     * it's taken — see {@link #find} for by what.
+     */
+    @Transactional
+    public boolean claim(Long userId, String key, byte[] fingerprint, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        return idempotencyRecordRepository.claim(userId, key, fingerprint, now, now.plus(lease)) == 1;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<IdempotencyRecord> find(Long userId, String key) {
+        return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key);
+    }
+
+    /**
+     * Stores the response of a claimed request, replayable for
+     * {@code ttl}. False when the claim is gone — the lease ran out and
+     * another request took the key over.
+     */
+    @Transactional
+    public boolean complete(Long userId, String key, byte[] fingerprint, int statusCode, String location,
+                            String responseBody, Duration ttl) {
+        return idempotencyRecordRepository.findByUserIdAndIdempotencyKey(userId, key)
+                .filter(r -> !r.isCompleted() && Arrays.equals(r.getFingerprint(), fingerprint))
+                .map(r -> {
+                    r.setStatusCode(statusCode);
+                    r.setLocation(location);
+                    r.setResponseBody(responseBody);
+                    r.setExpiresAt(LocalDateTime.now().plus(ttl));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    @Transactional
+    public void release(Long userId, String key) {
+        idempotencyRecordRepository.release(userId, key);
+    }
+
+    @Transactional
+    public int purgeExpired() {
+        return idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,47 @@
+package com.be.service;
+
+import com.be.domain.entity.Notification;
+import com.be.domain.entity.UserNotification;
+import com.be.domain.event.EnrollmentNotificationEvent;
+import com.be.domain.repository.NotificationRepository;
+import com.be.domain.repository.UserRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// The user's in-app inbox: one Notification + UserNotification per
+// coalesced burst, so five quick changes are one inbox entry, not five.
+@Service
+public class InAppNotificationChannel implements NotificationChannel {
+
+    static final String TYPE = "ENROLLMENT";
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+
+    public InAppNotificationChannel(NotificationRepository notificationRepository, UserRepository userRepository) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public String name() {
+        return "in-app";
+    }
+
+    @Override
+    @Transactional
+    public void deliver(List<EnrollmentNotificationEvent> events) {
+        Notification notification = Notification.builder()
+                .title(NotificationTexts.title(events))
+                .message(NotificationTexts.body(events))
+                .type(TYPE)
+                .build();
+        notification.getUserNotifications().add(UserNotification.builder()
+                .user(userRepository.getReferenceById(events.get(0).userId()))
+                .notification(notification)
+                .build());
+        notificationRepository.save(notification);
+    }
+}
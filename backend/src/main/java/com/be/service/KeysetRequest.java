@@ -0,0 +1,114 @@
+package com.be.service;
+
+import com.be.domain.exception.InvalidPageRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Validated request for one page of a keyset-paginated admin list
+ * (GET /users, /orders, /payments, /events, /files, /groups) — the sort,
+ * the page size, and where to resume. Services pass these straight to
+ * Spring Data's scroll API ({@code findBy(spec, q -> q.sortBy(..).limit(..)
+ * .scroll(..))}), which turns the position into a
+ * {@code WHERE (sortKey, id) > (:last, :lastId)} predicate instead of an
+ * OFFSET, so page 500 costs the same as page 1.
+ * <p>
+ * Sort is {@code field} or {@code field,desc}, and only over the fields
+ * an endpoint whitelists — all of them NOT NULL columns (keyset
+ * comparisons skip NULL rows). id is always appended as the tiebreaker.
+ * The cursor is an opaque base64url encoding of the last row's key
+ * values; it's only valid together with the sort it was issued for.
+ * Page size defaults to {@value #DEFAULT_SIZE} and is capped at
+ * {@value #MAX_SIZE} whatever the client asks for.
+ */
+public record KeysetRequest(Sort sort, int size, ScrollPosition position) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String ID = "id";
+
+    /**
+     * @param sortable sortable field -> its Java type (Long or
+     *                 LocalDateTime), used to parse cursor values back.
+     *                 Must include "id".
+     */
+    public static KeysetRequest of(String sortParam, String cursor, Integer size, Map<String, Class<?>> sortable) {
+        Sort sort = parseSort(sortParam, sortable.keySet());
+        int pageSize = size == null ? DEFAULT_SIZE : size;
+        if (pageSize < 1) {
+            throw new InvalidPageRequestException("size must be at least 1");
+        }
+        pageSize = Math.min(pageSize, MAX_SIZE);
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : decode(cursor, sort, sortable);
+        return new KeysetRequest(sort, pageSize, position);
+    }
+
+    /** Cursor for the page after {@code window}, or null on the last page. */
+    public static String nextCursor(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+        String raw = last.getKeys().entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(";"));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Sort parseSort(String sortParam, Set<String> allowed) {
+        if (sortParam == null || sortParam.isBlank()) {
+            return Sort.by(ID);
+        }
+        String[] parts = sortParam.split(",");
+        String field = parts[0].trim();
+        if (!allowed.contains(field) || parts.length > 2) {
+            throw new InvalidPageRequestException("sort must be one of " + allowed + ", optionally followed by ,asc or ,desc");
+        }
+        Sort.Direction direction = parts.length == 2
+                ? Sort.Direction.fromOptionalString(parts[1].trim())
+                        .orElseThrow(() -> new InvalidPageRequestException("sort direction must be asc or desc"))
+                : Sort.Direction.ASC;
+        Sort sort = Sort.by(direction, field);
+        // Explicit tiebreaker in the same direction, so "id,desc" pages
+        // really are newest-first all the way through.
+        return field.equals(ID) ? sort : sort.and(Sort.by(direction, ID));
+    }
+
+    private static ScrollPosition decode(String cursor, Sort sort, Map<String, Class<?>> sortable) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String pair : raw.split(";")) {
+                int eq = pair.indexOf('=');
+                String field = pair.substring(0, eq);
+                keys.put(field, parseValue(pair.substring(eq + 1), sortable.get(field)));
+            }
+        } catch (RuntimeException ex) {
+            throw new InvalidPageRequestException("cursor is malformed");
+        }
+        Set<String> expected = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toSet());
+        if (!keys.keySet().equals(expected)) {
+            throw new InvalidPageRequestException("cursor does not belong to this sort order");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Object parseValue(String value, Class<?> type) {
+        if (type == Long.class) return Long.valueOf(value);
+        if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+        throw new IllegalArgumentException("unsupported cursor field type " + type);
+    }
+}
@@ -0,0 +1,30 @@
+package com.be.service;
+
+import com.be.domain.event.EnrollmentNotificationEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+// Was LogNotificationService, the only NotificationService there was —
+// same log lines, now one NotificationChannel among several.
+@Service
+public class LogNotificationChannel implements NotificationChannel {
+
+    private static final Logger log = LoggerFactory.getLogger(LogNotificationChannel.class);
+
+    @Override
+    public String name() {
+        return "log";
+    }
+
+    @Override
+    public void deliver(List<EnrollmentNotificationEvent> events) {
+        for (EnrollmentNotificationEvent e : events) {
+            log.info("NOTIFY {}: status={} user={} workshop={} course={} group={} msg={}",
+                    e.kind() == EnrollmentNotificationEvent.Kind.CANCELLED ? "CANCELLATION" : "ENROLLMENT",
+                    e.status(), e.userEmail(), e.workshopName(), e.courseTitle(), e.groupId(), e.message());
+        }
+    }
+}
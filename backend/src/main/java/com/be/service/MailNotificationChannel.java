@@ -0,0 +1,34 @@
+package com.be.service;
+
+import com.be.domain.entity.enums.MailTemplate;
+import com.be.domain.event.EnrollmentNotificationEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Enrollment mail goes through the mail outbox like every other mail
+// (retries, rate limit — see MailOutboxDispatcher), one mail per burst.
+// Not in the default app.notifications.channels: nobody gets enrollment
+// mail until that's switched on deliberately.
+@Service
+public class MailNotificationChannel implements NotificationChannel {
+
+    private final MailOutboxService mailOutboxService;
+
+    public MailNotificationChannel(MailOutboxService mailOutboxService) {
+        this.mailOutboxService = mailOutboxService;
+    }
+
+    @Override
+    public String name() {
+        return "mail";
+    }
+
+    @Override
+    @Transactional
+    public void deliver(List<EnrollmentNotificationEvent> events) {
+        mailOutboxService.enqueue(MailTemplate.ENROLLMENT_UPDATE, events.get(0).userEmail(),
+                NotificationTexts.body(events));
+    }
+}
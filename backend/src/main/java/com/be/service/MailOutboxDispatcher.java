@@ -0,0 +1,222 @@
+package com.be.service;
+
+import com.be.domain.entity.MailOutboxMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers mail_outbox rows (V15). Every poll claims at most as many due
+ * rows as there are idle workers, so nothing sits claimed-but-unstarted,
+ * and hands each to a fixed pool of {@code app.mail-outbox.workers}
+ * threads. Sends are additionally spaced to {@code rate-per-second} across
+ * the pool — Brevo throttles (and eventually blocks) relays that burst.
+ * <p>
+ * A failed send goes back to PENDING with exponential backoff
+ * ({@code initial-backoff} doubling per attempt, capped at
+ * {@code max-backoff}) until {@code max-attempts}, then to DEAD. Errors
+ * that can't succeed on retry (unparseable address, message that can't
+ * be built) go to DEAD straight away. If the process dies mid-send the
+ * row's lease simply runs out and a later poll picks it up again, so
+ * delivery is at-least-once.
+ * <p>
+ * Rate limit and concurrency are per instance — with several replicas,
+ * size them so replicas × rate stays under the provider's limit.
+ */
+@Service
+public class MailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutboxDispatcher.class);
+
+    private final MailOutboxService mailOutboxService;
+    private final MailService mailService;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration retention;
+
+    private final ExecutorService workers;
+    private final Semaphore idleWorkers;
+    private final long sendIntervalNanos;
+    private final Object rateLock = new Object();
+    private long nextSendSlotNanos = System.nanoTime();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+    private final Timer deliveryLag;
+    private final Counter retriedCounter;
+    private final Counter deadCounter;
+
+    public MailOutboxDispatcher(
+            MailOutboxService mailOutboxService,
+            MailService mailService,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail-outbox.workers:4}") int workerCount,
+            @Value("${app.mail-outbox.rate-per-second:5}") double ratePerSecond,
+            @Value("${app.mail-outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.mail-outbox.lease:PT5M}") Duration lease,
+            @Value("${app.mail-outbox.initial-backoff:PT30S}") Duration initialBackoff,
+            @Value("${app.mail-outbox.max-backoff:PT1H}") Duration maxBackoff,
+            @Value("${app.mail-outbox.retention:P30D}") Duration retention) {
+        this.mailOutboxService = mailOutboxService;
+        this.mailService = mailService;
+        this.maxAttempts = maxAttempts;
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.retention = retention;
+
+        this.workers = Executors.newFixedThreadPool(workerCount,
+                Thread.ofPlatform().name("mail-outbox-", 1).daemon().factory());
+        this.idleWorkers = new Semaphore(workerCount);
+        this.sendIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+
+        Gauge.builder("mail.outbox.depth", queueDepth, AtomicLong::get)
+                .description("PENDING + SENDING rows as of the last poll")
+                .register(meterRegistry);
+        this.sentTimer = meterRegistry.timer("mail.outbox.send", "outcome", "sent");
+        this.failedTimer = meterRegistry.timer("mail.outbox.send", "outcome", "failed");
+        this.deliveryLag = meterRegistry.timer("mail.outbox.lag");
+        this.retriedCounter = meterRegistry.counter("mail.outbox.failed", "outcome", "retry");
+        this.deadCounter = meterRegistry.counter("mail.outbox.failed", "outcome", "dead");
+    }
+
+    // Initial delay = interval too, so the first poll doesn't race
+    // application startup (and tests can park it with a large interval).
+    @Scheduled(fixedDelayString = "${app.mail-outbox.poll-interval-ms:2000}",
+            initialDelayString = "${app.mail-outbox.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            int idle = idleWorkers.availablePermits();
+            if (idle > 0) {
+                List<MailOutboxMessage> claimed = mailOutboxService.claimDue(idle, lease);
+                for (MailOutboxMessage message : claimed) {
+                    // Only this thread acquires, so the permits counted above
+                    // are still there.
+                    idleWorkers.acquireUninterruptibly();
+                    workers.execute(() -> {
+                        try {
+                            deliver(message);
+                        } finally {
+                            idleWorkers.release();
+                        }
+                    });
+                }
+            }
+            queueDepth.set(mailOutboxService.countQueued());
+        } catch (RuntimeException ex) {
+            // DB blip — the next poll just tries again.
+            log.error("Mail outbox poll failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    void deliver(MailOutboxMessage message) {
+        try {
+            awaitSendSlot();
+        } catch (InterruptedException e) {
+            // Shutting down — the lease runs out and another poll retries it.
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            send(message);
+        } catch (RuntimeException ex) {
+            failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            handleFailure(message, ex);
+            return;
+        }
+        sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        deliveryLag.record(Duration.between(message.getCreatedAt(), LocalDateTime.now()));
+        if (!mailOutboxService.markSent(message)) {
+            log.warn("Mail outbox row {} was re-claimed while sending (lease {}) — it may go out twice",
+                    message.getId(), lease);
+        }
+    }
+
+    private void send(MailOutboxMessage message) {
+        switch (message.getTemplate()) {
+            case VERIFICATION -> mailService.sendVerificationEmail(message.getRecipient(), message.getPayload());
+            case ENROLLMENT_UPDATE -> mailService.sendEnrollmentUpdate(message.getRecipient(), message.getPayload());
+        }
+    }
+
+    private void handleFailure(MailOutboxMessage message, RuntimeException ex) {
+        boolean permanent = ex instanceof MailParseException || ex instanceof MailPreparationException;
+        String error = ex.getClass().getSimpleName() + ": " + ex.getMessage();
+        if (permanent || message.getAttempts() >= maxAttempts) {
+            mailOutboxService.markFailed(message, null, error);
+            deadCounter.increment();
+            // Loud on purpose — an undelivered verification mail means a
+            // user who can't log in.
+            log.error("Giving up on {} mail to {} after {} attempt(s): {}",
+                    message.getTemplate(), message.getRecipient(), message.getAttempts(), error, ex);
+        } else {
+            Duration delay = backoff(message.getAttempts(), initialBackoff, maxBackoff);
+            mailOutboxService.markFailed(message, LocalDateTime.now().plus(delay), error);
+            retriedCounter.increment();
+            log.warn("Sending {} mail to {} failed (attempt {}/{}), retrying in {}: {}",
+                    message.getTemplate(), message.getRecipient(), message.getAttempts(), maxAttempts, delay, error);
+        }
+    }
+
+    // initial × 2^(attempt-1), capped.
+    static Duration backoff(int attempt, Duration initial, Duration max) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 30);
+        Duration delay = initial.multipliedBy(1L << shift);
+        return delay.compareTo(max) > 0 ? max : delay;
+    }
+
+    // Hands out send slots sendIntervalNanos apart across all workers;
+    // a worker whose slot is in the future sleeps until it.
+    private void awaitSendSlot() throws InterruptedException {
+        long wait;
+        synchronized (rateLock) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSendSlotNanos);
+            nextSendSlotNanos = slot + sendIntervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    // 03:30 — after the enrollment expiry job.
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeFinished() {
+        int purged = mailOutboxService.purgeFinishedBefore(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} sent/dead mail outbox row(s) older than {}", purged, retention);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        workers.shutdown();
+        if (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
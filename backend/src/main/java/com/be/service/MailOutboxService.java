@@ -0,0 +1,93 @@
+package com.be.service;
+
+import com.be.domain.entity.MailOutboxMessage;
+import com.be.domain.entity.enums.MailOutboxStatus;
+import com.be.domain.entity.enums.MailTemplate;
+import com.be.domain.repository.MailOutboxRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The mail_outbox table (V15): enqueueing from inside business
+ * transactions, and the short claim/complete transactions
+ * MailOutboxDispatcher runs around each delivery. SMTP itself never
+ * happens inside any of these.
+ */
+@Service
+public class MailOutboxService {
+
+    static final Set<MailOutboxStatus> QUEUED = EnumSet.of(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING);
+    private static final Set<MailOutboxStatus> FINISHED = EnumSet.of(MailOutboxStatus.SENT, MailOutboxStatus.DEAD);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository) {
+        this.mailOutboxRepository = mailOutboxRepository;
+    }
+
+    /**
+     * Queues a mail as part of the caller's transaction — it's only ever
+     * delivered if that transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public MailOutboxMessage enqueue(MailTemplate template, String recipient, String payload) {
+        return mailOutboxRepository.save(MailOutboxMessage.builder()
+                .template(template)
+                .recipient(recipient)
+                .payload(payload)
+                .build());
+    }
+
+    /**
+     * Locks up to {@code limit} due rows (skipping any another instance
+     * holds), moves them to SENDING with a lease of {@code lease}, and
+     * counts the attempt. Returned entities are detached once this
+     * commits; their attempts value identifies this claim.
+     */
+    @Transactional
+    public List<MailOutboxMessage> claimDue(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<MailOutboxMessage> due = mailOutboxRepository.findDueForUpdate(QUEUED, now, Limit.of(limit));
+        for (MailOutboxMessage message : due) {
+            message.setStatus(MailOutboxStatus.SENDING);
+            message.setNextAttemptAt(now.plus(lease));
+            message.setAttempts(message.getAttempts() + 1);
+        }
+        return due;
+    }
+
+    @Transactional
+    public boolean markSent(MailOutboxMessage claimed) {
+        return mailOutboxRepository.markSent(claimed.getId(), claimed.getAttempts(), LocalDateTime.now()) == 1;
+    }
+
+    /** Back to PENDING at {@code retryAt}, or DEAD when that's null. */
+    @Transactional
+    public boolean markFailed(MailOutboxMessage claimed, LocalDateTime retryAt, String error) {
+        MailOutboxStatus status = retryAt != null ? MailOutboxStatus.PENDING : MailOutboxStatus.DEAD;
+        LocalDateTime next = retryAt != null ? retryAt : LocalDateTime.now();
+        String truncated = error != null && error.length() > MAX_ERROR_LENGTH
+                ? error.substring(0, MAX_ERROR_LENGTH) : error;
+        return mailOutboxRepository.markFailed(claimed.getId(), claimed.getAttempts(), status, next, truncated) == 1;
+    }
+
+    @Transactional(readOnly = true)
+    public long countQueued() {
+        return mailOutboxRepository.countByStatusIn(QUEUED);
+    }
+
+    /** Drops SENT and DEAD rows created before {@code cutoff}. */
+    @Transactional
+    public int purgeFinishedBefore(LocalDateTime cutoff) {
+        return mailOutboxRepository.deleteByStatusInAndCreatedAtBefore(FINISHED, cutoff);
+    }
+}
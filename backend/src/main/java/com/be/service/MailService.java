@@ -85,21 +85,47 @@ public class MailService {
                 </html>
                 """.formatted(verificationLink, verificationLink, verificationLink);
 
+        send(toEmail, subject, plainText, html);
+    }
+
+    /**
+     * Enrollment changes (MailNotificationChannel) — {@code lines} is one
+     * line per change, already worded for the user. Plain text only: it's a
+     * receipt, not a first impression.
+     */
+    public void sendEnrollmentUpdate(String toEmail, String lines) {
+        String subject = "Deine Anmeldungen — Theater Lab 29";
+        String plainText = """
+                Hallo,
+
+                es gibt Neuigkeiten zu deinen Anmeldungen:
+
+                %s
+
+                Alle Details findest du in deinem Konto auf tlab29.com.
+                """.formatted(lines);
+        send(toEmail, subject, plainText, null);
+    }
+
+    private void send(String toEmail, String subject, String plainText, String html) {
         try {
             MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+            MimeMessageHelper helper = new MimeMessageHelper(message, html != null, "UTF-8");
             helper.setFrom(fromAddress);
             helper.setTo(toEmail);
             helper.setSubject(subject);
-            helper.setText(plainText, html);
+            if (html != null) {
+                helper.setText(plainText, html);
+            } else {
+                helper.setText(plainText);
+            }
             mailSender.send(message);
         } catch (MessagingException e) {
-            // Same non-fatal-to-the-caller reasoning as before: wrap in an
-            // unchecked exception so EmailVerificationService's existing
-            // MailException catch (its own comment explains why that must
-            // never 500 the registration/resend request) still applies —
-            // MimeMessageHelper's checked MessagingException doesn't
-            // subclass MailException on its own.
+            // Wrapped as a MailException (MimeMessageHelper's checked
+            // MessagingException doesn't subclass it on its own) —
+            // MailOutboxDispatcher treats MailParseException as permanent
+            // and dead-letters instead of retrying a message that can't
+            // be built.
             throw new MailParseException(e);
         }
     }
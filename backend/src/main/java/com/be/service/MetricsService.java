@@ -1,9 +1,9 @@
 package com.be.service;
 
-import com.be.domain.entity.Group;
-import com.be.domain.entity.User;
 import com.be.domain.entity.enums.EnrollmentStatus;
 import com.be.domain.entity.enums.Role;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import com.be.domain.event.UserRegisteredEvent;
 import com.be.domain.repository.EnrollmentRepository;
 import com.be.domain.repository.GroupRepository;
 import com.be.domain.repository.UserRepository;
@@ -12,35 +12,40 @@ import com.be.web.dto.response.GroupFillRateDTO;
 import com.be.web.dto.response.RegistrationTrendPointDTO;
 import com.be.web.dto.response.RetentionDTO;
 import com.be.web.dto.response.WorkshopAlertDTO;
-import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 // LR-015 admin/owner dashboard metrics (Круглый стол #2/#3, 2026-08-05).
 // M2/M3 deliberately not implemented here — blocked on the registration/
 // payment confirmation mechanism, see LR-017.
+//
+// Served from an in-memory snapshot rather than recomputed per request:
+// every dashboard hit used to re-run all four computations. The snapshot is
+// fully rebuilt from the DB on a fixed delay (and lazily on the first read)
+// and patched in between by enrollment/registration events, each of which
+// republishes it — getMetrics() itself is a single volatile read. asOf on
+// the DTO is when it was last republished.
 @Service
-@RequiredArgsConstructor
 public class MetricsService {
 
     private static final int TREND_DAYS = 30;
 
     // "Occupies a spot" for fill-rate purposes = PENDING (awaiting payment/
     // confirmation) or CONFIRMED. CANCELLED does not — confirmed with the
-    // customer 2026-08-05 (diverges on purpose from Group.getEnrolledCount(),
-    // which still counts every status; that's a pre-existing, separately
-    // ticketed gap on the public workshop page, not fixed here).
+    // customer 2026-08-05. Same rule as Group.getEnrolledCount() since the
+    // V21 counters (was: every status, on the public workshop page).
     private static final Set<EnrollmentStatus> COUNTS_TOWARD_FILL =
             EnumSet.of(EnrollmentStatus.PENDING, EnrollmentStatus.CONFIRMED);
 
@@ -48,39 +53,130 @@ public class MetricsService {
     private final UserRepository userRepository;
     private final EnrollmentRepository enrollmentRepository;
 
-    @Transactional(readOnly = true)
+    // Working state behind the snapshot — only touched while holding lock.
+    // Incremental updates can race a rebuild that's mid-query (an event
+    // applied to the old state, then overwritten by a rebuild that may not
+    // have seen it yet); that drift is what the periodic rebuild is for.
+    private final Object lock = new Object();
+    private final Map<Long, GroupFillRateDTO> fillRatesByGroup = new LinkedHashMap<>();
+    private final Map<LocalDate, Long> registrationsByDay = new HashMap<>();
+    private final Map<Long, CustomerEnrollments> confirmedByCustomer = new HashMap<>();
+    private long repeatCustomers;
+
+    private volatile AdminMetricsDTO snapshot;
+
+    public MetricsService(GroupRepository groupRepository, UserRepository userRepository,
+                          EnrollmentRepository enrollmentRepository) {
+        this.groupRepository = groupRepository;
+        this.userRepository = userRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
     public AdminMetricsDTO getMetrics() {
-        List<GroupFillRateDTO> fillRates = computeFillRates();
-        return AdminMetricsDTO.builder()
+        AdminMetricsDTO current = snapshot;
+        if (current == null) {
+            rebuild();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    // Full recompute — corrects whatever the incremental path can't see
+    // (new/deactivated groups, payment-side status changes, the trend
+    // window sliding past midnight). First run is lazy, via getMetrics().
+    @Scheduled(fixedDelayString = "${app.metrics.snapshot-rebuild-ms:300000}",
+            initialDelayString = "${app.metrics.snapshot-rebuild-ms:300000}")
+    public void rebuild() {
+        List<GroupFillRateDTO> fillRates = groupRepository.findActiveFillRates();
+        List<Object[]> registrations = userRepository.countCreatedPerDayByRoleAfter(
+                Role.USER, trendStartDay().atStartOfDay());
+        List<Object[]> confirmed = enrollmentRepository.findUserAndWorkshopIdsWithStatus(
+                EnrollmentStatus.CONFIRMED, Role.USER);
+
+        synchronized (lock) {
+            fillRatesByGroup.clear();
+            fillRates.forEach(r -> fillRatesByGroup.put(r.getGroupId(), r));
+
+            registrationsByDay.clear();
+            for (Object[] row : registrations) {
+                registrationsByDay.put((LocalDate) row[0], ((Number) row[1]).longValue());
+            }
+
+            confirmedByCustomer.clear();
+            repeatCustomers = 0;
+            for (Object[] row : confirmed) {
+                addConfirmed((Long) row[0], (Long) row[1]);
+            }
+
+            publish();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onEnrollmentStatusChanged(EnrollmentStatusChangedEvent event) {
+        synchronized (lock) {
+            if (snapshot == null) return; // nothing to patch — the first read builds from scratch
+
+            int fillDelta = countsTowardFill(event.newStatus()) - countsTowardFill(event.previousStatus());
+            if (fillDelta != 0 && event.groupId() != null) {
+                // A group the last rebuild didn't see (created/activated
+                // since) is left for the next rebuild to pick up.
+                fillRatesByGroup.computeIfPresent(event.groupId(),
+                        (id, row) -> withEnrolledCount(row, row.getEnrolledCount() + fillDelta));
+            }
+
+            boolean wasConfirmed = event.previousStatus() == EnrollmentStatus.CONFIRMED;
+            boolean isConfirmed = event.newStatus() == EnrollmentStatus.CONFIRMED;
+            if (isConfirmed && !wasConfirmed && event.userRole() == Role.USER) {
+                addConfirmed(event.userId(), event.workshopId());
+            } else if (wasConfirmed && !isConfirmed) {
+                removeConfirmed(event.userId(), event.workshopId());
+            }
+
+            publish();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserRegistered(UserRegisteredEvent event) {
+        if (event.role() != Role.USER) return;
+        synchronized (lock) {
+            if (snapshot == null) return;
+            LocalDate day = event.createdAt() != null ? event.createdAt().toLocalDate() : LocalDate.now();
+            registrationsByDay.merge(day, 1L, Long::sum);
+            publish();
+        }
+    }
+
+    // Caller holds lock.
+    private void publish() {
+        LocalDate startDay = trendStartDay();
+        registrationsByDay.keySet().removeIf(day -> day.isBefore(startDay));
+
+        List<GroupFillRateDTO> fillRates = List.copyOf(fillRatesByGroup.values());
+        snapshot = AdminMetricsDTO.builder()
                 .fillRates(fillRates)
-                .registrationTrend(computeRegistrationTrend())
+                .registrationTrend(computeRegistrationTrend(startDay))
                 .attentionAlerts(computeAttentionAlerts(fillRates))
                 .retention(computeRetention())
+                .asOf(LocalDateTime.now())
                 .build();
     }
 
-    private List<GroupFillRateDTO> computeFillRates() {
-        return groupRepository.findByActiveTrue().stream()
-                .map(this::toFillRate)
-                .sorted(Comparator.comparing(GroupFillRateDTO::getStartDateTime,
-                        Comparator.nullsLast(Comparator.naturalOrder())))
-                .collect(Collectors.toList());
+    private static int countsTowardFill(EnrollmentStatus status) {
+        return status != null && COUNTS_TOWARD_FILL.contains(status) ? 1 : 0;
     }
 
-    private GroupFillRateDTO toFillRate(Group g) {
-        long counted = g.getEnrollments() == null ? 0 :
-                g.getEnrollments().stream()
-                        .filter(e -> COUNTS_TOWARD_FILL.contains(e.getStatus()))
-                        .count();
-        double ratio = g.getCapacity() == 0 ? 0.0 : (double) counted / g.getCapacity();
+    private static GroupFillRateDTO withEnrolledCount(GroupFillRateDTO row, int enrolledCount) {
+        int counted = Math.max(0, enrolledCount);
         return GroupFillRateDTO.builder()
-                .groupId(g.getId())
-                .workshopTitle(g.getWorkshop() != null ? g.getWorkshop().getWorkshopName() : null)
-                .groupTitle(g.getTitleDe())
-                .startDateTime(g.getStartDateTime())
-                .capacity(g.getCapacity())
-                .enrolledCount((int) counted)
-                .fillRatio(ratio)
+                .groupId(row.getGroupId())
+                .workshopTitle(row.getWorkshopTitle())
+                .groupTitle(row.getGroupTitle())
+                .startDateTime(row.getStartDateTime())
+                .capacity(row.getCapacity())
+                .enrolledCount(counted)
+                .fillRatio(row.getCapacity() == 0 ? 0.0 : (double) counted / row.getCapacity())
                 .build();
     }
 
@@ -119,33 +215,62 @@ public class MetricsService {
         return null;
     }
 
-    private List<RegistrationTrendPointDTO> computeRegistrationTrend() {
-        LocalDate startDay = LocalDate.now().minusDays(TREND_DAYS - 1L);
-        List<User> newUsers = userRepository.findByRoleAndCreatedAtAfter(Role.USER, startDay.atStartOfDay());
-        Map<LocalDate, Long> byDay = newUsers.stream()
-                .collect(Collectors.groupingBy(u -> u.getCreatedAt().toLocalDate(), Collectors.counting()));
+    private static LocalDate trendStartDay() {
+        return LocalDate.now().minusDays(TREND_DAYS - 1L);
+    }
 
+    private List<RegistrationTrendPointDTO> computeRegistrationTrend(LocalDate startDay) {
         List<RegistrationTrendPointDTO> trend = new ArrayList<>();
         LocalDate today = LocalDate.now();
         for (LocalDate day = startDay; !day.isAfter(today); day = day.plusDays(1)) {
             trend.add(RegistrationTrendPointDTO.builder()
                     .date(day)
-                    .newUsers(byDay.getOrDefault(day, 0L))
+                    .newUsers(registrationsByDay.getOrDefault(day, 0L))
                     .build());
         }
         return trend;
     }
 
+    // M6 — a customer counts once they hold any CONFIRMED enrollment, and
+    // as "repeat" once those span >= 2 distinct workshops (Course
+    // enrollments count toward the first, not the second — same as the
+    // COUNT(DISTINCT e.workshop.id) this replaced).
+    private void addConfirmed(Long userId, Long workshopId) {
+        CustomerEnrollments customer = confirmedByCustomer.computeIfAbsent(userId, id -> new CustomerEnrollments());
+        boolean wasRepeat = customer.isRepeat();
+        customer.confirmed++;
+        if (workshopId != null) customer.workshops.merge(workshopId, 1, Integer::sum);
+        if (!wasRepeat && customer.isRepeat()) repeatCustomers++;
+    }
+
+    private void removeConfirmed(Long userId, Long workshopId) {
+        CustomerEnrollments customer = confirmedByCustomer.get(userId);
+        if (customer == null) return; // not a tracked customer (non-USER role)
+        boolean wasRepeat = customer.isRepeat();
+        customer.confirmed--;
+        if (workshopId != null) {
+            customer.workshops.computeIfPresent(workshopId, (id, n) -> n > 1 ? n - 1 : null);
+        }
+        if (wasRepeat && !customer.isRepeat()) repeatCustomers--;
+        if (customer.confirmed <= 0) confirmedByCustomer.remove(userId);
+    }
+
     private RetentionDTO computeRetention() {
-        List<Object[]> rows = enrollmentRepository.countDistinctWorkshopsPerUserWithStatus(
-                EnrollmentStatus.CONFIRMED, Role.USER);
-        long total = rows.size();
-        long repeat = rows.stream().filter(r -> ((Number) r[1]).longValue() >= 2).count();
-        double rate = total == 0 ? 0.0 : (double) repeat / total;
+        long total = confirmedByCustomer.size();
+        double rate = total == 0 ? 0.0 : (double) repeatCustomers / total;
         return RetentionDTO.builder()
                 .totalCustomers(total)
-                .repeatCustomers(repeat)
+                .repeatCustomers(repeatCustomers)
                 .retentionRate(rate)
                 .build();
     }
+
+    private static final class CustomerEnrollments {
+        private int confirmed;
+        private final Map<Long, Integer> workshops = new HashMap<>();
+
+        private boolean isRepeat() {
+            return workshops.size() >= 2;
+        }
+    }
 }
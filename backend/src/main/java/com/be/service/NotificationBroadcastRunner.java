@@ -0,0 +1,162 @@
+package com.be.service;
+
+import com.be.domain.entity.NotificationBroadcast;
+import com.be.domain.event.NotificationBroadcastRequestedEvent;
+import com.be.domain.repository.UserNotificationRepository.BroadcastChunk;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs notification broadcasts (V16) on a single background thread, one
+ * after another — a broadcast is a handful of set-based statements, so
+ * there's nothing to gain from running two at once against the same
+ * tables. Each chunk of {@code app.notifications.broadcast.chunk-size}
+ * recipients is one INSERT ... SELECT plus the progress update, committed
+ * together; 10k recipients are ~10 chunks, not 10k inserts.
+ * <p>
+ * Broadcasts left PENDING or RUNNING by a stopped process are picked up
+ * again, from their cursor: at startup, and by a re-scan every
+ * {@code app.notifications.broadcast.rescan-ms} — a RUNNING one only once
+ * its heartbeat is older than the lease, so a restart within the lease
+ * resumes it on the first re-scan after the lease runs out. With several
+ * instances, the claim keeps a broadcast on one runner; if two ever
+ * overlap anyway, the unique index turns the second insert into a no-op.
+ */
+@Service
+public class NotificationBroadcastRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBroadcastRunner.class);
+
+    private final NotificationBroadcastService broadcastService;
+    private final int chunkSize;
+    private final Duration lease;
+    private final ExecutorService executor;
+    // Handed to the executor but not started yet — a re-scan while a long
+    // broadcast holds the thread doesn't queue the same ones again.
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+
+    private final Timer chunkTimer;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+
+    public NotificationBroadcastRunner(
+            NotificationBroadcastService broadcastService,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.broadcast.chunk-size:1000}") int chunkSize,
+            @Value("${app.notifications.broadcast.lease:PT5M}") Duration lease) {
+        this.broadcastService = broadcastService;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.executor = Executors.newSingleThreadExecutor(
+                Thread.ofPlatform().name("notification-broadcast").daemon().factory());
+
+        this.chunkTimer = meterRegistry.timer("notifications.broadcast.chunk");
+        this.deliveredCounter = meterRegistry.counter("notifications.broadcast.delivered");
+        this.failedCounter = meterRegistry.counter("notifications.broadcast.failed");
+    }
+
+    @TransactionalEventListener
+    public void onRequested(NotificationBroadcastRequestedEvent event) {
+        submit(event.broadcastId());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.notifications.broadcast.rescan-ms:60000}",
+            initialDelayString = "${app.notifications.broadcast.rescan-ms:60000}")
+    public void resumeUnfinished() {
+        List<Long> claimable;
+        try {
+            claimable = broadcastService.findClaimableIds(lease);
+        } catch (RuntimeException ex) {
+            log.error("Could not look for unfinished notification broadcasts: {}", ex.getMessage(), ex);
+            return;
+        }
+        claimable.forEach(this::submit);
+    }
+
+    private void submit(Long broadcastId) {
+        if (!queued.add(broadcastId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                queued.remove(broadcastId);
+                run(broadcastId);
+            });
+        } catch (RejectedExecutionException ex) {
+            queued.remove(broadcastId); // shutting down
+        }
+    }
+
+    void run(Long broadcastId) {
+        Optional<NotificationBroadcast> claimed;
+        try {
+            claimed = broadcastService.claim(broadcastId, lease);
+        } catch (RuntimeException ex) {
+            log.error("Could not claim notification broadcast {}: {}", broadcastId, ex.getMessage(), ex);
+            return;
+        }
+        if (claimed.isEmpty()) {
+            return; // finished, or running elsewhere
+        }
+        NotificationBroadcast broadcast = claimed.get();
+        long cursor = broadcast.getLastUserId();
+        long recipients = 0;
+        long start = System.nanoTime();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long chunkStart = System.nanoTime();
+                BroadcastChunk chunk = broadcastService.runChunk(broadcast, cursor, chunkSize);
+                chunkTimer.record(System.nanoTime() - chunkStart, TimeUnit.NANOSECONDS);
+                deliveredCounter.increment(chunk.getInserted());
+                recipients += chunk.getRecipients();
+                if (chunk.getRecipients() < chunkSize) {
+                    break;
+                }
+                cursor = chunk.getLastUserId();
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                // Shutting down — stays RUNNING, and a re-scan (here after
+                // a restart, or on another instance) resumes it from the
+                // cursor once the lease has run out.
+                return;
+            }
+            broadcastService.complete(broadcastId);
+            log.info("Notification broadcast {} ({}) completed: {} recipient(s) in {} ms", broadcastId,
+                    broadcast.getAudience(), recipients, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException ex) {
+            if (Thread.currentThread().isInterrupted()) {
+                return; // interrupted mid-chunk by shutdown, same as above
+            }
+            failedCounter.increment();
+            log.error("Notification broadcast {} failed after user {}: {}", broadcastId, cursor, ex.getMessage(), ex);
+            broadcastService.fail(broadcastId, ex.getClass().getSimpleName() + ": " + ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
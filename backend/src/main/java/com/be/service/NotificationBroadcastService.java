@@ -0,0 +1,127 @@
+package com.be.service;
+
+import com.be.domain.entity.Notification;
+import com.be.domain.entity.NotificationBroadcast;
+import com.be.domain.entity.enums.BroadcastStatus;
+import com.be.domain.event.NotificationBroadcastRequestedEvent;
+import com.be.domain.repository.NotificationBroadcastRepository;
+import com.be.domain.repository.UserNotificationRepository;
+import com.be.domain.repository.UserNotificationRepository.BroadcastChunk;
+import com.be.web.dto.request.NotificationBroadcastRequestDTO;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The notification_broadcasts table (V16): requesting a broadcast, and the
+ * short per-chunk transactions NotificationBroadcastRunner runs it in.
+ */
+@Service
+public class NotificationBroadcastService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final NotificationBroadcastRepository broadcastRepository;
+    private final UserNotificationRepository userNotificationRepository;
+    private final NotificationCRUDService notificationCRUDService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public NotificationBroadcastService(NotificationBroadcastRepository broadcastRepository,
+                                        UserNotificationRepository userNotificationRepository,
+                                        NotificationCRUDService notificationCRUDService,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.broadcastRepository = broadcastRepository;
+        this.userNotificationRepository = userNotificationRepository;
+        this.notificationCRUDService = notificationCRUDService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Records the broadcast (with the audience's current size, for
+     * progress) and hands it to the runner once this commits. Returns
+     * straight away — the inbox rows are written in the background.
+     */
+    @Transactional
+    public NotificationBroadcast request(Long notificationId, NotificationBroadcastRequestDTO dto, Long requestedBy) {
+        Notification notification = notificationCRUDService.getById(notificationId);
+        String role = dto.getRole() != null ? dto.getRole().name() : null;
+        long total = userNotificationRepository.countBroadcastAudience(dto.getAudience().name(), role, dto.getTargetId());
+
+        NotificationBroadcast broadcast = broadcastRepository.save(NotificationBroadcast.builder()
+                .notification(notification)
+                .audience(dto.getAudience())
+                .audienceRole(dto.getRole())
+                .targetId(dto.getTargetId())
+                .totalRecipients((int) total)
+                .requestedBy(requestedBy)
+                .build());
+        eventPublisher.publishEvent(new NotificationBroadcastRequestedEvent(broadcast.getId()));
+        return broadcast;
+    }
+
+    @Transactional(readOnly = true)
+    public NotificationBroadcast getById(Long id) {
+        return broadcastRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Notification broadcast not found with id: " + id));
+    }
+
+    /**
+     * Broadcasts a runner should (re)start: PENDING ones whose after-commit
+     * hand-off never happened (the process stopped first) and RUNNING ones
+     * without a heartbeat for {@code lease}, i.e. that lost their runner.
+     * {@link #claim} still decides which of them this runner gets.
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findClaimableIds(Duration lease) {
+        return broadcastRepository.findClaimableIds(LocalDateTime.now().minus(lease));
+    }
+
+    /**
+     * Moves the broadcast to RUNNING if it's PENDING, or RUNNING without a
+     * heartbeat for {@code lease}. Empty if someone else has it (or it's
+     * finished).
+     */
+    @Transactional
+    public Optional<NotificationBroadcast> claim(Long id, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (broadcastRepository.claim(id, now, now.minus(lease)) == 0) {
+            return Optional.empty();
+        }
+        return broadcastRepository.findById(id);
+    }
+
+    /**
+     * Delivers the next {@code chunkSize} recipients after
+     * {@code afterUserId} and moves the cursor, in one transaction.
+     */
+    @Transactional
+    public BroadcastChunk runChunk(NotificationBroadcast broadcast, long afterUserId, int chunkSize) {
+        String role = broadcast.getAudienceRole() != null ? broadcast.getAudienceRole().name() : null;
+        BroadcastChunk chunk = userNotificationRepository.insertBroadcastChunk(
+                broadcast.getNotification().getId(), broadcast.getAudience().name(), role,
+                broadcast.getTargetId(), afterUserId, chunkSize);
+        if (chunk.getRecipients() > 0) {
+            broadcastRepository.recordChunk(broadcast.getId(), chunk.getLastUserId(),
+                    (int) chunk.getRecipients(), (int) chunk.getInserted(), LocalDateTime.now());
+        }
+        return chunk;
+    }
+
+    @Transactional
+    public void complete(Long id) {
+        broadcastRepository.finish(id, BroadcastStatus.COMPLETED, null, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void fail(Long id, String error) {
+        if (error != null && error.length() > MAX_ERROR_LENGTH) {
+            error = error.substring(0, MAX_ERROR_LENGTH);
+        }
+        broadcastRepository.finish(id, BroadcastStatus.FAILED, error, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,23 @@
+package com.be.service;
+
+import com.be.domain.event.EnrollmentNotificationEvent;
+
+import java.util.List;
+
+/**
+ * One way of telling a user about enrollment changes, fanned out to by
+ * AsyncNotificationDispatcher. Which channels run is configured by name
+ * (app.notifications.channels).
+ */
+public interface NotificationChannel {
+
+    String name();
+
+    /**
+     * Delivers one recipient's coalesced burst — every event belongs to the
+     * same user, oldest first, never empty. Runs on the dispatcher's
+     * channel executor, after the enrollment transaction committed; an
+     * exception is counted and logged, and doesn't affect other channels.
+     */
+    void deliver(List<EnrollmentNotificationEvent> events);
+}
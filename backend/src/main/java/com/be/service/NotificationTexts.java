@@ -0,0 +1,37 @@
+package com.be.service;
+
+import com.be.domain.event.EnrollmentNotificationEvent;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+// User-facing wording shared by the in-app and mail channels — German,
+// same "du" register as MailService. The event's own message is the
+// admin-facing log line and never shown to the user.
+final class NotificationTexts {
+
+    private NotificationTexts() {
+    }
+
+    static String line(EnrollmentNotificationEvent e) {
+        String target = e.target() != null ? e.target() : "Angebot";
+        if (e.kind() == EnrollmentNotificationEvent.Kind.CANCELLED) {
+            return "Anmeldung storniert: " + target;
+        }
+        return switch (e.status()) {
+            case CONFIRMED -> "Anmeldung bestätigt: " + target;
+            case PENDING -> "Anmeldung eingegangen: " + target + " — Zahlung ausstehend";
+            case CANCELLED -> "Anmeldung storniert: " + target;
+            case EXPIRED -> "Anmeldung abgelaufen: " + target;
+            case WAITLISTED -> "Auf der Warteliste: " + target;
+        };
+    }
+
+    static String title(List<EnrollmentNotificationEvent> events) {
+        return events.size() == 1 ? line(events.get(0)) : events.size() + " Änderungen an deinen Anmeldungen";
+    }
+
+    static String body(List<EnrollmentNotificationEvent> events) {
+        return events.stream().map(NotificationTexts::line).collect(Collectors.joining("\n"));
+    }
+}
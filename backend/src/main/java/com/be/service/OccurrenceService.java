@@ -0,0 +1,171 @@
+package com.be.service;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Session;
+import com.be.domain.exception.InvalidDateRangeException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.RuleVersion;
+import com.be.domain.repository.SessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A Group's schedule over a date range without materializing it (V19):
+ * rule dates in the range are expanded on the fly from the Group's
+ * recurrence rule, and stored group_sessions rows are merged over them —
+ * a row for a rule date (generated, moved or cancelled) stands in for
+ * that date, rows added by hand come on top. Reading a month costs the
+ * occurrences in that month plus one indexed query for the stored rows,
+ * whatever the length of the rule.
+ * <p>
+ * Compiled rules are cached per Group and checked against the Group's
+ * recurrence_version on every read — one small projection query — so an
+ * edited rule is picked up by the very next request, on every instance.
+ */
+@Service
+public class OccurrenceService {
+
+    static final String RULE_CACHE = "occurrences.rules";
+
+    private final GroupRepository groupRepository;
+    private final SessionRepository sessionRepository;
+    private final int maxRangeDays;
+    private final Cache<Long, RecurrenceRule> rules;
+
+    public OccurrenceService(GroupRepository groupRepository,
+                             SessionRepository sessionRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.occurrences.max-range-days:366}") int maxRangeDays,
+                             @Value("${app.occurrences.rule-cache.max-entries:2000}") long maxCachedRules) {
+        this.groupRepository = groupRepository;
+        this.sessionRepository = sessionRepository;
+        this.maxRangeDays = maxRangeDays;
+        this.rules = Caffeine.newBuilder()
+                .maximumSize(maxCachedRules)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rules, RULE_CACHE);
+    }
+
+    /**
+     * One Group's occurrences in [from, to] (both inclusive), by start.
+     */
+    @Transactional(readOnly = true)
+    public List<Occurrence> findForGroup(Long groupId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        RuleVersion version = groupRepository.findRuleVersion(groupId)
+                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
+        return expand(List.of(version), from, to);
+    }
+
+    /**
+     * Occurrences of every active Group whose schedule touches [from, to],
+     * optionally only a workshop's or a course's, ordered by start.
+     */
+    @Transactional(readOnly = true)
+    public List<Occurrence> findAcrossGroups(Long workshopId, Long courseId, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        List<RuleVersion> versions = groupRepository.findRuleVersionsInRange(
+                workshopId, courseId, from, to, from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+        return versions.isEmpty() ? List.of() : expand(versions, from, to);
+    }
+
+    private List<Occurrence> expand(List<RuleVersion> versions, LocalDate from, LocalDate to) {
+        Map<Long, RecurrenceRule> rulesByGroup = currentRules(versions);
+
+        // Stored rows per group; the dates they stand in for, so the rule
+        // doesn't produce those a second time.
+        Map<Long, List<Session>> stored = new HashMap<>();
+        Map<Long, Set<LocalDate>> covered = new HashMap<>();
+        for (Session s : sessionRepository.findForRange(rulesByGroup.keySet(), from, to,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay())) {
+            Long groupId = s.getGroup().getId();
+            stored.computeIfAbsent(groupId, id -> new ArrayList<>()).add(s);
+            if (s.getOccurrenceDate() != null) {
+                covered.computeIfAbsent(groupId, id -> new HashSet<>()).add(s.getOccurrenceDate());
+            }
+        }
+
+        List<Occurrence> result = new ArrayList<>();
+        for (Map.Entry<Long, RecurrenceRule> entry : rulesByGroup.entrySet()) {
+            Long groupId = entry.getKey();
+            RecurrenceRule rule = entry.getValue();
+            Set<LocalDate> skip = covered.getOrDefault(groupId, Set.of());
+            rule.forEachDate(from, to, date -> {
+                if (!skip.contains(date)) {
+                    result.add(new Occurrence(groupId, date, rule.startOn(date), rule.endOn(date), null));
+                }
+            });
+            for (Session s : stored.getOrDefault(groupId, List.of())) {
+                LocalDate day = s.getStartDateTime().toLocalDate();
+                // Cancelled rows only suppress their date; a moved one only
+                // shows where it starts now.
+                if (!s.isCancelled() && !day.isBefore(from) && !day.isAfter(to)) {
+                    result.add(new Occurrence(groupId,
+                            s.getOccurrenceDate() != null ? s.getOccurrenceDate() : day,
+                            s.getStartDateTime(), s.getEndDateTime(), s));
+                }
+            }
+        }
+        result.sort(Comparator.comparing(Occurrence::startDateTime).thenComparing(Occurrence::groupId));
+        return result;
+    }
+
+    // Cached rules whose version still matches; the rest are compiled from
+    // one batch load and cached for next time.
+    private Map<Long, RecurrenceRule> currentRules(List<RuleVersion> versions) {
+        Map<Long, RecurrenceRule> current = new HashMap<>();
+        List<Long> stale = new ArrayList<>();
+        for (RuleVersion v : versions) {
+            RecurrenceRule cached = rules.getIfPresent(v.getId());
+            if (cached != null && cached.version() == v.getRecurrenceVersion()) {
+                current.put(v.getId(), cached);
+            } else {
+                stale.add(v.getId());
+            }
+        }
+        if (!stale.isEmpty()) {
+            for (Group group : groupRepository.findAllById(stale)) {
+                RecurrenceRule rule = RecurrenceRule.of(group.getRecurrenceVersion(), group.getRecurrenceDays(),
+                        group.getRecurrenceStartDate(), group.getRecurrenceEndDate());
+                rules.put(group.getId(), rule);
+                current.put(group.getId(), rule);
+            }
+        }
+        return current;
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException("'to' (" + to + ") is before 'from' (" + from + ")");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new InvalidDateRangeException("Range is longer than " + maxRangeDays + " days");
+        }
+    }
+
+    /**
+     * One date of a Group's schedule. {@code session} is the stored row
+     * behind it, or null for an occurrence that only exists in the rule.
+     */
+    public record Occurrence(Long groupId, LocalDate date, LocalDateTime startDateTime,
+                             LocalDateTime endDateTime, Session session) {
+    }
+}
@@ -4,10 +4,14 @@ import com.be.domain.entity.*;
 import com.be.domain.repository.*;
 import com.be.web.dto.request.OrderRequestDTO;
 import com.be.web.mapper.OrderMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -40,9 +44,17 @@ public class OrderService {
         this.orderMapper = orderMapper;
     }
 
+    // Keyset page for GET /orders, see KeysetRequest. id-only sort:
+    // orders.created_at is nullable (a keyset would skip those rows).
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class);
+
     @Transactional(readOnly = true)
-    public List<Order> getAll() {
-        return orderRepository.findAll();
+    public Window<Order> getPage(Long userId, String status, KeysetRequest page) {
+        List<Specification<Order>> filters = new ArrayList<>();
+        if (userId != null) filters.add((root, query, cb) -> cb.equal(root.get("user").get("id"), userId));
+        if (status != null) filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        return orderRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     @Transactional(readOnly = true)
@@ -8,10 +8,14 @@ import com.be.domain.repository.OrderRepository;
 import com.be.domain.repository.UserRepository;
 import com.be.web.dto.request.PaymentRequestDTO;
 import com.be.web.mapper.PaymentMapper;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -32,9 +36,17 @@ public class PaymentService {
         this.paymentMapper = paymentMapper;
     }
 
+    // Keyset page for GET /payments, see KeysetRequest. id-only sort:
+    // payments.created_at is nullable.
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class);
+
     @Transactional(readOnly = true)
-    public List<Payment> getAll() {
-        return paymentRepository.findAll();
+    public Window<Payment> getPage(Long orderId, String status, KeysetRequest page) {
+        List<Specification<Payment>> filters = new ArrayList<>();
+        if (orderId != null) filters.add((root, query, cb) -> cb.equal(root.get("order").get("id"), orderId));
+        if (status != null) filters.add((root, query, cb) -> cb.equal(root.get("status"), status));
+        return paymentRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     @Transactional(readOnly = true)
@@ -22,15 +22,18 @@ public class PerformanceService {
     private final WorkshopRepository workshopRepository;
     private final CourseRepository courseRepository;
     private final PerformanceMapper performanceMapper;
+    private final CatalogCache catalogCache;
 
     public PerformanceService(PerformanceRepository performanceRepository,
                               WorkshopRepository workshopRepository,
                               CourseRepository courseRepository,
-                              PerformanceMapper performanceMapper) {
+                              PerformanceMapper performanceMapper,
+                              CatalogCache catalogCache) {
         this.performanceRepository = performanceRepository;
         this.workshopRepository = workshopRepository;
         this.courseRepository = courseRepository;
         this.performanceMapper = performanceMapper;
+        this.catalogCache = catalogCache;
     }
 
     @Transactional(readOnly = true)
@@ -60,7 +63,9 @@ public class PerformanceService {
         if (dto.getStatus() != null) {
             performance.setStatus(PerformanceStatus.valueOf(dto.getStatus()));
         }
-        return performanceRepository.save(performance);
+        Performance saved = performanceRepository.save(performance);
+        catalogCache.performanceChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -95,6 +100,7 @@ public class PerformanceService {
             existing.setCourse(null);
         }
 
+        catalogCache.performanceChanged(id);
         return performanceRepository.save(existing);
     }
 
@@ -104,5 +110,6 @@ public class PerformanceService {
             throw new RuntimeException("Performance not found");
         }
         performanceRepository.deleteById(id);
+        catalogCache.performanceChanged(id);
     }
 }
\ No newline at end of file
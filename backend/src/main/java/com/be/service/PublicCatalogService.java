@@ -0,0 +1,120 @@
+package com.be.service;
+
+import com.be.domain.entity.Course;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Workshop;
+import com.be.web.dto.response.ActivityResponseDTO;
+import com.be.web.dto.response.CourseDetailDTO;
+import com.be.web.dto.response.CourseListDTO;
+import com.be.web.dto.response.PerformanceResponseDTO;
+import com.be.web.dto.response.WorkshopDetailDTO;
+import com.be.web.dto.response.WorkshopListDTO;
+import com.be.web.mapper.ActivityMapper;
+import com.be.web.mapper.CourseMapper;
+import com.be.web.mapper.PerformanceMapper;
+import com.be.web.mapper.WorkshopMapper;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Read-through cache in front of the anonymous catalog GETs (SecurityConfig's
+ * "PUBLIC READ" block) — the highest-traffic reads in the app, each of
+ * which used to run findAll() and then lazy-load groups/teachers/venues/
+ * files while mapping. Caches the mapped DTOs, not entities, so a hit
+ * touches neither the DB nor Hibernate. Mapping happens here, inside one
+ * read-only transaction, rather than in the controller.
+ * <p>
+ * Returned lists are unmodifiable and shared between callers. Eviction
+ * rules live in CatalogCache; TTL/size in CacheConfig.
+ */
+@Service
+@Transactional(readOnly = true)
+public class PublicCatalogService {
+
+    private final WorkshopService workshopService;
+    private final CourseService courseService;
+    private final ActivityService activityService;
+    private final PerformanceService performanceService;
+    private final WorkshopMapper workshopMapper;
+    private final CourseMapper courseMapper;
+    private final ActivityMapper activityMapper;
+    private final PerformanceMapper performanceMapper;
+
+    public PublicCatalogService(WorkshopService workshopService,
+                                CourseService courseService,
+                                ActivityService activityService,
+                                PerformanceService performanceService,
+                                WorkshopMapper workshopMapper,
+                                CourseMapper courseMapper,
+                                ActivityMapper activityMapper,
+                                PerformanceMapper performanceMapper) {
+        this.workshopService = workshopService;
+        this.courseService = courseService;
+        this.activityService = activityService;
+        this.performanceService = performanceService;
+        this.workshopMapper = workshopMapper;
+        this.courseMapper = courseMapper;
+        this.activityMapper = activityMapper;
+        this.performanceMapper = performanceMapper;
+    }
+
+    // q is expected already normalized by the caller (lower-case, null
+    // when blank) — it's part of the cache key. So is today's date for the
+    // upcoming list: it filters on LocalDate.now(), and an entry cached
+    // before midnight mustn't be served (under the new day's ETag) after.
+    @Cacheable(cacheNames = CatalogCache.WORKSHOP_LIST,
+            key = "{#upcoming, #q, #upcoming ? T(java.time.LocalDate).now() : null}")
+    public List<WorkshopListDTO> listWorkshops(boolean upcoming, String q) {
+        List<Workshop> list = workshopService.listWorkshops(upcoming);
+        if (q != null) {
+            list = list.stream()
+                    .filter(w -> w.getWorkshopName() != null && w.getWorkshopName().toLowerCase().contains(q))
+                    .toList();
+        }
+        // Groups' enrolled counts come off their V21 counters — no second query.
+        return list.stream().map(workshopMapper::toListDTO).toList();
+    }
+
+    // Three statements regardless of group count: workshop+teacher+groups+
+    // venues, files, total count.
+    @Cacheable(CatalogCache.WORKSHOP_DETAIL)
+    public WorkshopDetailDTO getWorkshop(Long id) {
+        Workshop w = workshopService.getByIdWithGroups(id);
+        return workshopMapper.toDetailDTO(w, workshopService.countEnrollments(id));
+    }
+
+    @Cacheable(CatalogCache.COURSE_LIST)
+    public List<CourseListDTO> listCourses() {
+        return courseService.listCourses().stream().map(courseMapper::toListDTO).toList();
+    }
+
+    @Cacheable(CatalogCache.COURSE_DETAIL)
+    public CourseDetailDTO getCourse(Long id) {
+        Course c = courseService.getById(id);
+        Group scheduleGroup = courseService.findScheduleGroup(id).orElse(null);
+        return courseMapper.toDetailDTO(c, scheduleGroup);
+    }
+
+    @Cacheable(CatalogCache.ACTIVITY_LIST)
+    public List<ActivityResponseDTO> listActivities() {
+        return activityService.getAllActivities().stream().map(activityMapper::toResponseDTO).toList();
+    }
+
+    @Cacheable(CatalogCache.ACTIVITY_DETAIL)
+    public ActivityResponseDTO getActivity(Long id) {
+        return activityMapper.toResponseDTO(activityService.getActivityById(id));
+    }
+
+    @Cacheable(CatalogCache.PERFORMANCE_LIST)
+    public List<PerformanceResponseDTO> listPerformances() {
+        return performanceService.getAll().stream().map(performanceMapper::toResponseDTO).toList();
+    }
+
+    @Cacheable(CatalogCache.PERFORMANCE_DETAIL)
+    public PerformanceResponseDTO getPerformance(Long id) {
+        return performanceMapper.toResponseDTO(performanceService.getById(id));
+    }
+}
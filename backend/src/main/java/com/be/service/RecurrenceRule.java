@@ -0,0 +1,98 @@
+package com.be.service;
+
+import com.be.domain.entity.RecurrenceDay;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A Group's recurrence rule (LR-081, LR-ADR-023) compiled for range
+ * queries: per-weekday start time/duration in arrays indexed by
+ * DayOfWeek, plus how many days it is from each weekday to the next one
+ * in the rule. Walking a range then jumps occurrence to occurrence —
+ * O(occurrences in range), whatever the rule's own window — and nothing
+ * but the LocalDates handed out is allocated. Immutable; OccurrenceService
+ * caches one per Group and rule version (V19).
+ */
+public final class RecurrenceRule {
+
+    private final int version;
+    private final LocalDate start;
+    private final LocalDate end;
+    // Index DayOfWeek.getValue() - 1; null/0 where the weekday isn't in the rule.
+    private final LocalTime[] startTimes = new LocalTime[7];
+    private final int[] durations = new int[7];
+    private final int[] daysToNext = new int[7];
+
+    private RecurrenceRule(int version, List<RecurrenceDay> pattern, LocalDate start, LocalDate end) {
+        this.version = version;
+        this.start = start;
+        this.end = end;
+        for (RecurrenceDay day : pattern) {
+            int i = day.dayOfWeek().getValue() - 1;
+            // First entry wins if a weekday repeats (same as before V19).
+            if (startTimes[i] == null) {
+                startTimes[i] = day.startTime();
+                durations[i] = day.durationMinutes();
+            }
+        }
+        for (int i = 0; i < 7; i++) {
+            int step = 1;
+            while (step <= 7 && startTimes[(i + step) % 7] == null) step++;
+            daysToNext[i] = step;
+        }
+    }
+
+    /**
+     * Empty pattern or missing window gives a rule with no occurrences, so
+     * groups without a schedule need no special case downstream.
+     */
+    public static RecurrenceRule of(int version, List<RecurrenceDay> pattern, LocalDate start, LocalDate end) {
+        return new RecurrenceRule(version, pattern != null ? pattern : List.of(), start, end);
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Calls {@code action} with every rule date in [from, to] ∩ the rule's
+     * own window, in order.
+     */
+    public void forEachDate(LocalDate from, LocalDate to, Consumer<LocalDate> action) {
+        if (start == null || end == null) return;
+        LocalDate first = from.isBefore(start) ? start : from;
+        LocalDate last = to.isAfter(end) ? end : to;
+        if (first.isAfter(last)) return;
+
+        int i = first.getDayOfWeek().getValue() - 1;
+        LocalDate date = first;
+        if (startTimes[i] == null) {
+            if (daysToNext[i] > 7) return; // no weekdays at all
+            date = date.plusDays(daysToNext[i]);
+            i = date.getDayOfWeek().getValue() - 1;
+        }
+        while (!date.isAfter(last)) {
+            action.accept(date);
+            date = date.plusDays(daysToNext[i]);
+            i = date.getDayOfWeek().getValue() - 1;
+        }
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return start != null && end != null && !date.isBefore(start) && !date.isAfter(end)
+                && startTimes[date.getDayOfWeek().getValue() - 1] != null;
+    }
+
+    // Only meaningful for a date occursOn() accepts.
+    public LocalDateTime startOn(LocalDate date) {
+        return LocalDateTime.of(date, startTimes[date.getDayOfWeek().getValue() - 1]);
+    }
+
+    public LocalDateTime endOn(LocalDate date) {
+        return startOn(date).plusMinutes(durations[date.getDayOfWeek().getValue() - 1]);
+    }
+}
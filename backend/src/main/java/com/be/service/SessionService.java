@@ -4,21 +4,27 @@ import com.be.domain.entity.Group;
 import com.be.domain.entity.RecurrenceDay;
 import com.be.domain.entity.Session;
 import com.be.domain.entity.Venue;
+import com.be.domain.exception.OccurrenceNotFoundException;
 import com.be.domain.repository.GroupRepository;
 import com.be.domain.repository.SessionRepository;
 import com.be.domain.repository.VenueRepository;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * Session is a child of Group (LR-ADR-022, LR-067) — every method here
@@ -29,9 +35,13 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class SessionService {
 
+    private static final Logger log = LoggerFactory.getLogger(SessionService.class);
+
     private final SessionRepository sessionRepository;
     private final GroupRepository groupRepository;
     private final VenueRepository venueRepository;
+    private final CatalogCache catalogCache;
+    private final VenueOccupancyIndex occupancyIndex;
 
     @Transactional(readOnly = true)
     public List<Session> findByGroupId(Long groupId) {
@@ -51,8 +61,12 @@ public class SessionService {
         if (venueId != null) {
             session.venue(resolveVenue(venueId));
         }
+        occupancyIndex.requireFree(venueOrGroups(venueId, group), startDateTime, endDateTime,
+                VenueOccupancyIndex.Owner.group(groupId));
 
-        return sessionRepository.save(session.build());
+        Session saved = sessionRepository.save(session.build());
+        occupancyIndex.groupChanged(group);
+        return saved;
     }
 
     @Transactional
@@ -60,11 +74,22 @@ public class SessionService {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + sessionId));
 
+        Group group = session.getGroup();
+        occupancyIndex.requireFree(venueOrGroups(venueId, group), startDateTime, endDateTime,
+                VenueOccupancyIndex.Owner.group(group.getId()));
+
         session.setStartDateTime(startDateTime);
         session.setEndDateTime(endDateTime);
         session.setVenue(venueId != null ? resolveVenue(venueId) : null);
+        // A generated occurrence changed by hand is now an exception to the
+        // rule — regeneration leaves it alone (V18).
+        if (session.getOccurrenceDate() != null) {
+            session.setManuallyEdited(true);
+        }
 
-        return sessionRepository.save(session);
+        Session saved = sessionRepository.save(session);
+        occupancyIndex.groupChanged(group);
+        return saved;
     }
 
     @Transactional
@@ -72,6 +97,38 @@ public class SessionService {
         Session session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + sessionId));
         sessionRepository.delete(session);
+        occupancyIndex.groupChanged(session.getGroup());
+    }
+
+    /**
+     * Cancels one date of a Group's recurrence rule (V19): the occurrence's
+     * row — existing, or created for the purpose if the date was only ever
+     * virtual (OccurrenceService) — is flagged cancelled and manuallyEdited,
+     * so range queries leave the date out and regeneration keeps the flag.
+     * Cancelling twice is a no-op.
+     */
+    @Transactional
+    public Session cancelOccurrence(Long groupId, LocalDate date) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
+        Session session = sessionRepository.findByGroupIdAndOccurrenceDate(groupId, date).orElseGet(() -> {
+            RecurrenceRule rule = RecurrenceRule.of(group.getRecurrenceVersion(), group.getRecurrenceDays(),
+                    group.getRecurrenceStartDate(), group.getRecurrenceEndDate());
+            if (!rule.occursOn(date)) {
+                throw new OccurrenceNotFoundException("Group " + groupId + " has no occurrence on " + date);
+            }
+            return Session.builder()
+                    .group(group)
+                    .startDateTime(rule.startOn(date))
+                    .endDateTime(rule.endOn(date))
+                    .occurrenceDate(date)
+                    .build();
+        });
+        session.setCancelled(true);
+        session.setManuallyEdited(true);
+        Session saved = sessionRepository.save(session);
+        occupancyIndex.groupChanged(group);
+        return saved;
     }
 
     /**
@@ -93,6 +150,13 @@ public class SessionService {
         Group group = groupRepository.findById(groupId)
                 .orElseThrow(() -> new EntityNotFoundException("Group not found with id: " + groupId));
 
+        // The group's current sessions are being replaced, so only other
+        // owners' bookings count as clashes.
+        for (SessionInput input : inputs) {
+            occupancyIndex.requireFree(venueOrGroups(input.venueId(), group), input.startDateTime(),
+                    input.endDateTime(), VenueOccupancyIndex.Owner.group(groupId));
+        }
+
         group.getSessions().clear();
         for (SessionInput input : inputs) {
             Session.SessionBuilder session = Session.builder()
@@ -114,21 +178,39 @@ public class SessionService {
         }
 
         groupRepository.save(group);
+        // Only the day-list replace touches the catalog: it re-syncs the
+        // Group's own start/end, which GroupDTO shows. Single-session
+        // add/update/delete leave Group untouched.
+        catalogCache.groupChanged(group);
+        occupancyIndex.groupChanged(group);
         return group.getSessions();
     }
 
     /**
-     * Generates Session rows for a Course-linked Group from its own
+     * Brings a Course-linked Group's Sessions in line with its own
      * persisted recurrence rule (LR-082, LR-ADR-023) — one Session per
-     * matching weekday in [recurrenceStartDate, recurrenceEndDate],
-     * using that weekday's own start time/duration (not one shared time
-     * for every day). Reuses replaceSessionsForGroup, so this is also a
-     * full clear+re-add (same trade-off already accepted for the manual
-     * multi-day case, LR-074) and Group.startDateTime/endDateTime end up
-     * synced to the actual first/last generated occurrence, which may be
-     * narrower than the admin-set window (e.g. window Jan 1–31, first
-     * Monday is Jan 5) — expected, not a bug.
-     *
+     * matching weekday in [recurrenceStartDate, recurrenceEndDate], using
+     * that weekday's own start time/duration (not one shared time for
+     * every day).
+     * <p>
+     * Incremental (V18), not a clear+re-add: existing generated sessions
+     * are matched to the rule by occurrence date, so only new dates are
+     * inserted, dates whose time changed are updated in place, and dates
+     * the rule no longer has are deleted — each kind as one JDBC batch.
+     * Everything else keeps its row and id. Sessions an admin added by
+     * hand, and generated ones an admin edited (manuallyEdited), are never
+     * touched — an edited occurrence even survives its date dropping out
+     * of the rule.
+     * <p>
+     * Group.startDateTime/endDateTime end up synced to the actual
+     * first/last session (same as replaceSessionsForGroup, LR-074), which
+     * may be narrower than the admin-set window (e.g. window Jan 1–31,
+     * first Monday is Jan 5) — expected, not a bug.
+     * <p>
+     * Every occurrence it would insert or move is checked against the
+     * group venue's other bookings first; one clash and nothing is
+     * written (VenueConflictException).
+     * <p>
      * Explicit call, not a side effect of every Group save (LR-ADR-023
      * п.3) — the admin form only calls this when recurrence fields
      * actually changed.
@@ -149,19 +231,109 @@ public class SessionService {
             throw new IllegalStateException("recurrenceEndDate is before recurrenceStartDate for group " + groupId);
         }
 
-        Map<DayOfWeek, RecurrenceDay> byWeekday = pattern.stream()
-                .collect(Collectors.toMap(RecurrenceDay::dayOfWeek, d -> d, (a, b) -> a));
+        Map<LocalDate, SessionInput> target = new LinkedHashMap<>();
+        for (SessionInput input : expandRecurrence(pattern, start, end)) {
+            target.put(input.startDateTime().toLocalDate(), input);
+        }
 
-        List<SessionInput> inputs = new ArrayList<>();
-        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
-            RecurrenceDay day = byWeekday.get(date.getDayOfWeek());
-            if (day == null) continue;
-            LocalDateTime sessionStart = LocalDateTime.of(date, day.startTime());
-            LocalDateTime sessionEnd = sessionStart.plusMinutes(day.durationMinutes());
-            inputs.add(new SessionInput(sessionStart, sessionEnd, null));
+        List<Session> sessions = group.getSessions();
+        // Every occurrence about to be inserted or moved must fit the room,
+        // checked before anything is touched. As in replaceSessionsForGroup
+        // only other owners' bookings count; the group's own are what's
+        // being regenerated.
+        Map<LocalDate, Session> byDate = new HashMap<>();
+        for (Session existing : sessions) {
+            if (existing.getOccurrenceDate() != null) byDate.put(existing.getOccurrenceDate(), existing);
         }
+        Long venueId = venueOrGroups(null, group);
+        for (Map.Entry<LocalDate, SessionInput> occurrence : target.entrySet()) {
+            Session existing = byDate.get(occurrence.getKey());
+            SessionInput wanted = occurrence.getValue();
+            if (existing == null || !existing.isManuallyEdited() && !sameOccurrence(existing, wanted)) {
+                occupancyIndex.requireFree(venueId, wanted.startDateTime(), wanted.endDateTime(),
+                        VenueOccupancyIndex.Owner.group(groupId));
+            }
+        }
+
+        // Works on the Group's own collection, like replaceSessionsForGroup:
+        // dropped dates go through orphanRemoval and new ones through the
+        // cascade, so both flush as JDBC batches (V14) and the persistence
+        // context never holds a Session the database no longer has.
+        int updated = 0;
+        int removed = 0;
+        for (Iterator<Session> it = sessions.iterator(); it.hasNext(); ) {
+            Session existing = it.next();
+            LocalDate date = existing.getOccurrenceDate();
+            SessionInput wanted = date != null ? target.remove(date) : null;
+            if (date == null || existing.isManuallyEdited()) {
+                continue;
+            }
+            if (wanted == null) {
+                it.remove();
+                removed++;
+            } else if (!sameOccurrence(existing, wanted)) {
+                existing.setStartDateTime(wanted.startDateTime());
+                existing.setEndDateTime(wanted.endDateTime());
+                existing.setVenue(null);
+                updated++;
+            }
+        }
+        List<Session> added = target.entrySet().stream()
+                .map(occurrence -> Session.builder()
+                        .group(group)
+                        .startDateTime(occurrence.getValue().startDateTime())
+                        .endDateTime(occurrence.getValue().endDateTime())
+                        .occurrenceDate(occurrence.getKey())
+                        .build())
+                .toList();
+        // Persisted up front so the instances handed back are the managed
+        // ones (with ids) — the Group save below would merge copies.
+        sessionRepository.saveAll(added);
+        sessions.addAll(added);
+        List<Session> result = new ArrayList<>(sessions);
+        result.sort(Comparator.comparing(Session::getStartDateTime));
+
+        // Cancelled dates (V19) stay in the result but don't stretch the Group.
+        List<Session> held = result.stream().filter(s -> !s.isCancelled()).toList();
+        if (!held.isEmpty()) {
+            group.setStartDateTime(held.get(0).getStartDateTime());
+            group.setEndDateTime(held.stream()
+                    .map(s -> s.getEndDateTime() != null ? s.getEndDateTime() : s.getStartDateTime())
+                    .max(LocalDateTime::compareTo).orElseThrow());
+        }
+        groupRepository.save(group);
+        catalogCache.groupChanged(group);
+        occupancyIndex.groupChanged(group);
+
+        log.info("Regenerated sessions for group {}: {} added, {} updated, {} removed, {} kept",
+                groupId, added.size(), updated, removed, result.size() - added.size() - updated);
+        return result;
+    }
+
+    // A generated session already matching the rule's date: same times, no
+    // venue override.
+    private static boolean sameOccurrence(Session existing, SessionInput wanted) {
+        return existing.getStartDateTime().equals(wanted.startDateTime())
+                && Objects.equals(existing.getEndDateTime(), wanted.endDateTime())
+                && existing.getVenue() == null;
+    }
+
+    /**
+     * One SessionInput (no venue override) per date in [start, end] whose
+     * weekday is in the pattern; the first entry wins if a weekday repeats.
+     */
+    public static List<SessionInput> expandRecurrence(List<RecurrenceDay> pattern, LocalDate start, LocalDate end) {
+        RecurrenceRule rule = RecurrenceRule.of(0, pattern, start, end);
+        List<SessionInput> inputs = new ArrayList<>();
+        rule.forEachDate(start, end, date -> inputs.add(new SessionInput(rule.startOn(date), rule.endOn(date), null)));
+        return inputs;
+    }
 
-        return replaceSessionsForGroup(groupId, inputs);
+    // Where a session takes place: its own venue, or the group's — same
+    // rule as VenueOccupancyIndex.groupBookings.
+    private static Long venueOrGroups(Long venueId, Group group) {
+        if (venueId != null) return venueId;
+        return group.getVenue() != null ? group.getVenue().getId() : null;
     }
 
     private Venue resolveVenue(Long venueId) {
@@ -8,11 +8,15 @@ import com.be.domain.repository.UserRepository;
 import com.be.domain.repository.NotificationRepository;
 import com.be.web.dto.request.UserNotificationRequestDTO;
 import com.be.web.mapper.UserNotificationMapper;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -33,11 +37,47 @@ public class UserNotificationService {
         this.userNotificationMapper = userNotificationMapper;
     }
 
+    // Keyset page for GET /users/me/notifications, see KeysetRequest.
+    // Always newest first (id desc); idx_user_notifications_user (V17).
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class);
+    public static final String PAGE_SORT = "id,desc";
+
     @Transactional(readOnly = true)
     public List<UserNotification> getByUserId(Long userId) {
         return userNotificationRepository.findByUserId(userId);
     }
 
+    @Transactional(readOnly = true)
+    public Window<UserNotification> getPage(Long userId, boolean unreadOnly, KeysetRequest page) {
+        Specification<UserNotification> spec = (root, query, cb) -> {
+            // Title/message go out with every row — one query, not one per row.
+            root.fetch("notification", JoinType.INNER);
+            return cb.equal(root.get("user").get("id"), userId);
+        };
+        if (unreadOnly) spec = spec.and((root, query, cb) -> cb.isFalse(root.get("read")));
+        return userNotificationRepository.findBy(spec,
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
+    }
+
+    /** Badge count — an index-only lookup, see V17. */
+    @Transactional(readOnly = true)
+    public long countUnread(Long userId) {
+        return userNotificationRepository.countUnread(userId);
+    }
+
+    /**
+     * Marks the user's unread notifications as read in one statement —
+     * all of them, or (with {@code upToId}) only that inbox row and the
+     * ones below it in {@link #PAGE_SORT} order. Returns how many changed.
+     */
+    @Transactional
+    public int markAllRead(Long userId, Long upToId) {
+        LocalDateTime now = LocalDateTime.now();
+        return upToId == null
+                ? userNotificationRepository.markAllRead(userId, now)
+                : userNotificationRepository.markReadUpTo(userId, upToId, now);
+    }
+
     @Transactional
     public UserNotification create(UserNotificationRequestDTO dto) {
         UserNotification un = userNotificationMapper.fromRequestDTO(dto);
@@ -1,17 +1,24 @@
 package com.be.service;
 
+import com.be.config.crypto.BlindIndex;
 import com.be.domain.entity.User;
 import com.be.domain.entity.enums.Role;
+import com.be.domain.event.UserRegisteredEvent;
 import com.be.domain.repository.UserRepository;
 import com.be.web.dto.request.UserUpdateDTO;
 import com.be.web.dto.response.UserProfileDTO;
 import com.be.web.mapper.UserMapper;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -21,11 +28,16 @@ public class UserService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final BlindIndex blindIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder,
+                       BlindIndex blindIndex, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.blindIndex = blindIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     // ========== CRUD OPERATIONS ==========
@@ -63,7 +75,11 @@ public class UserService {
             user.setRole(Role.USER);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Registration trend on the admin dashboard (MetricsService) —
+        // delivered after commit, see UserRegisteredEvent.
+        eventPublisher.publishEvent(new UserRegisteredEvent(saved.getId(), saved.getRole(), saved.getCreatedAt()));
+        return saved;
     }
 
     private void normalizeDefaults(User user) {
@@ -155,8 +171,18 @@ public class UserService {
 
     // ========== ADMIN OPERATIONS ==========
 
-    public List<User> getAllUsers() {
-        return userRepository.findAll();
+    // Keyset page over all users (GET /users), optionally filtered by role
+    // and enabled flag. id-only sort: users.created_at is nullable, and a
+    // keyset over a nullable column silently drops the NULL rows.
+    public static final Map<String, Class<?>> PAGE_SORTABLE = Map.of("id", Long.class);
+
+    @Transactional(readOnly = true)
+    public Window<User> getUsersPage(Role role, Boolean enabled, KeysetRequest page) {
+        List<Specification<User>> filters = new ArrayList<>();
+        if (role != null) filters.add((root, query, cb) -> cb.equal(root.get("role"), role));
+        if (enabled != null) filters.add((root, query, cb) -> cb.equal(root.get("enabled"), enabled));
+        return userRepository.findBy(Specification.allOf(filters),
+                q -> q.sortBy(page.sort()).limit(page.size()).scroll(page.position()));
     }
 
     public List<User> getUsersByRole(Role role) {
@@ -167,20 +193,29 @@ public class UserService {
      * firstName/lastName are encrypted at rest (EncryptedStringConverter,
      * AES-GCM random IV) — a SQL LIKE derived query against those columns
      * would silently match nothing, since the DB never sees the plaintext.
-     * Interim fix: decrypt-and-filter in memory. Fine at this admin's
-     * expected user-base scale; a blind-index column is the real fix if
-     * this ever needs to scale past a full-table scan, tracked separately.
+     * Was decrypt-and-filter over findAll() (one decrypt per name column
+     * per row, on every search); now the blind index (BlindIndex, V13)
+     * narrows it to candidate rows in SQL, and only those get decrypted
+     * and checked for a real substring match — the index alone can return
+     * false positives (trigrams present, but not contiguous).
+     * <p>
+     * Search terms of 3+ characters match anywhere in a name, like before.
+     * 1-2 character terms now match the start of a word only — the index
+     * deliberately has no single-letter tokens (see BlindIndex). A blank
+     * term returns nothing rather than every user; GET /users is the
+     * listing endpoint.
      */
     public List<User> searchUsers(String searchTerm) {
-        if (searchTerm == null) return List.of();
-        String needle = searchTerm.toLowerCase();
-        return userRepository.findAll().stream()
-                .filter(u -> containsIgnoreCase(u.getFirstName(), needle) || containsIgnoreCase(u.getLastName(), needle))
+        String tokens = blindIndex.searchTokensFor(searchTerm);
+        if (tokens == null) return List.of();
+        String needle = BlindIndex.normalize(searchTerm);
+        return userRepository.findNameSearchCandidates(tokens).stream()
+                .filter(u -> containsNormalized(u.getFirstName(), needle) || containsNormalized(u.getLastName(), needle))
                 .toList();
     }
 
-    private boolean containsIgnoreCase(String value, String lowerCaseNeedle) {
-        return value != null && value.toLowerCase().contains(lowerCaseNeedle);
+    private boolean containsNormalized(String value, String normalizedNeedle) {
+        return value != null && BlindIndex.normalize(value).contains(normalizedNeedle);
     }
 
     public User updateUserRole(Long userId, Role newRole) {
@@ -0,0 +1,352 @@
+package com.be.service;
+
+import com.be.domain.entity.Event;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Session;
+import com.be.domain.exception.VenueConflictException;
+import com.be.domain.repository.EventRepository;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.SessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Who has which room when, in memory: one timeline per venue holding
+ * every booking from today on — group sessions (at their own venue, or
+ * the group's), the group's recurrence-rule dates nothing is stored for
+ * yet (V19), single-slot groups without sessions, and events. Answers
+ * "is venue X free from A to B" with a binary search plus a walk over the
+ * bookings that actually overlap, so the conflict check on every session/
+ * event write and the free-room search cost microseconds, not a scan of
+ * group_sessions.
+ * <p>
+ * Timelines are immutable and swapped whole; readers never lock. Writers
+ * (SessionService, EventService, GroupService) hand over an owner's (a
+ * group's or an event's) complete new set of bookings, computed inside
+ * their transaction and applied once it commits — same after-commit rule
+ * as CatalogCache. A full rebuild runs at startup and then every
+ * {@code app.venues.occupancy.rebuild-ms}; it catches what this instance
+ * can't see (another instance's writes, dates rolling into the horizon).
+ * Owner updates that land while a rebuild is loading are replayed on top
+ * of it, so they aren't lost to the older snapshot.
+ * <p>
+ * The check is against committed state: two writes racing for the same
+ * slot inside one commit window can both pass. It's there to stop the
+ * everyday double-booking in the admin forms, not to be a lock.
+ */
+@Service
+public class VenueOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueOccupancyIndex.class);
+
+    public enum OwnerKind { GROUP, EVENT }
+
+    /** A group or an event; id is null for an event that isn't saved yet. */
+    public record Owner(OwnerKind kind, Long id) {
+        public static Owner group(Long id) {
+            return new Owner(OwnerKind.GROUP, id);
+        }
+
+        public static Owner event(Long id) {
+            return new Owner(OwnerKind.EVENT, id);
+        }
+    }
+
+    public record Booking(Owner owner, long venueId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private final GroupRepository groupRepository;
+    private final SessionRepository sessionRepository;
+    private final EventRepository eventRepository;
+    // For sessions/events/groups stored without an end.
+    private final Duration defaultDuration;
+    // How far ahead recurrence rules are expanded.
+    private final int horizonDays;
+
+    private final Object lock = new Object();
+    private volatile Map<Long, Timeline> timelines = Map.of();
+    // Guarded by lock.
+    private final Map<Owner, List<Booking>> byOwner = new HashMap<>();
+    // Non-null while a rebuild is loading; guarded by lock.
+    private List<Map.Entry<Owner, List<Booking>>> replay;
+
+    public VenueOccupancyIndex(GroupRepository groupRepository,
+                               SessionRepository sessionRepository,
+                               EventRepository eventRepository,
+                               @Value("${app.venues.occupancy.default-duration:PT2H}") Duration defaultDuration,
+                               @Value("${app.venues.occupancy.horizon-days:730}") int horizonDays) {
+        this.groupRepository = groupRepository;
+        this.sessionRepository = sessionRepository;
+        this.eventRepository = eventRepository;
+        this.defaultDuration = defaultDuration;
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * First booking at {@code venueId} overlapping [start, end) that isn't
+     * {@code ignore}'s own (a group rescheduling its own sessions doesn't
+     * clash with itself).
+     */
+    public Optional<Booking> findConflict(Long venueId, LocalDateTime start, LocalDateTime end, Owner ignore) {
+        Timeline timeline = timelines.get(venueId);
+        if (timeline == null) return Optional.empty();
+        return Optional.ofNullable(timeline.firstOverlap(seconds(start), seconds(endOrDefault(start, end)), ignore));
+    }
+
+    public boolean isFree(Long venueId, LocalDateTime start, LocalDateTime end) {
+        return findConflict(venueId, start, end, null).isEmpty();
+    }
+
+    public void requireFree(Long venueId, LocalDateTime start, LocalDateTime end, Owner ignore) {
+        if (venueId == null || start == null) return;
+        findConflict(venueId, start, end, ignore).ifPresent(b -> {
+            throw new VenueConflictException("Venue " + venueId + " is already booked from " + b.start()
+                    + " to " + b.end() + " (" + b.owner().kind().name().toLowerCase() + " " + b.owner().id() + ")");
+        });
+    }
+
+    /**
+     * The group's schedule changed (sessions, rule, venue, active). Reads
+     * its sessions in the caller's transaction — the query flushes pending
+     * session writes first — and swaps its bookings in after commit.
+     */
+    public void groupChanged(Group group) {
+        List<Session> sessions = sessionRepository.findByGroupIdOrderByStartDateTimeAsc(group.getId());
+        List<Booking> bookings = groupBookings(group, sessions, LocalDate.now().minusDays(1));
+        afterCommit(() -> update(Owner.group(group.getId()), bookings));
+    }
+
+    public void groupRemoved(Long groupId) {
+        afterCommit(() -> update(Owner.group(groupId), List.of()));
+    }
+
+    public void eventChanged(Event event) {
+        List<Booking> bookings = eventBookings(event);
+        afterCommit(() -> update(Owner.event(event.getId()), bookings));
+    }
+
+    public void eventRemoved(Long eventId) {
+        afterCommit(() -> update(Owner.event(eventId), List.of()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.venues.occupancy.rebuild-ms:3600000}",
+            initialDelayString = "${app.venues.occupancy.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (lock) {
+            replay = new ArrayList<>();
+        }
+        try {
+            long start = System.nanoTime();
+            LocalDate fromDay = LocalDate.now().minusDays(1);
+            Map<Owner, List<Booking>> loaded = load(fromDay);
+
+            synchronized (lock) {
+                byOwner.clear();
+                byOwner.putAll(loaded);
+                Map<Long, List<Booking>> perVenue = loaded.values().stream().flatMap(List::stream)
+                        .collect(Collectors.groupingBy(Booking::venueId));
+                Map<Long, Timeline> fresh = new HashMap<>();
+                perVenue.forEach((venueId, bookings) -> fresh.put(venueId, new Timeline(bookings)));
+                timelines = fresh;
+                for (Map.Entry<Owner, List<Booking>> pending : replay) {
+                    apply(pending.getKey(), pending.getValue());
+                }
+                replay = null;
+            }
+            log.info("Venue occupancy rebuilt: {} booking(s) across {} venue(s) in {} ms",
+                    loaded.values().stream().mapToInt(List::size).sum(), timelines.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException ex) {
+            synchronized (lock) {
+                replay = null;
+            }
+            log.error("Venue occupancy rebuild failed, keeping the previous index: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private Map<Owner, List<Booking>> load(LocalDate fromDay) {
+        LocalDateTime since = fromDay.atStartOfDay();
+        Map<Long, List<Session>> sessionsByGroup = sessionRepository.findByStartDateTimeGreaterThanEqual(since)
+                .stream().collect(Collectors.groupingBy(s -> s.getGroup().getId()));
+
+        Map<Owner, List<Booking>> loaded = new HashMap<>();
+        for (Group group : groupRepository.findByActiveTrue()) {
+            List<Booking> bookings = groupBookings(group,
+                    sessionsByGroup.getOrDefault(group.getId(), List.of()), fromDay);
+            if (!bookings.isEmpty()) loaded.put(Owner.group(group.getId()), bookings);
+        }
+        for (Event event : eventRepository.findByVenueIsNotNullAndStartDateTimeGreaterThanEqual(since)) {
+            List<Booking> bookings = eventBookings(event);
+            if (!bookings.isEmpty()) loaded.put(Owner.event(event.getId()), bookings);
+        }
+        return loaded;
+    }
+
+    List<Booking> groupBookings(Group group, List<Session> sessions, LocalDate fromDay) {
+        if (!group.isActive()) return List.of();
+        Owner owner = Owner.group(group.getId());
+        Long groupVenue = group.getVenue() != null ? group.getVenue().getId() : null;
+
+        List<Booking> bookings = new ArrayList<>();
+        Set<LocalDate> stored = new HashSet<>();
+        for (Session s : sessions) {
+            if (s.getOccurrenceDate() != null) stored.add(s.getOccurrenceDate());
+            // A session without its own venue takes place at the group's.
+            Long venue = s.getVenue() != null ? s.getVenue().getId() : groupVenue;
+            if (!s.isCancelled() && venue != null) {
+                bookings.add(new Booking(owner, venue, s.getStartDateTime(),
+                        endOrDefault(s.getStartDateTime(), s.getEndDateTime())));
+            }
+        }
+        if (groupVenue == null) return bookings;
+
+        boolean recurring = group.getRecurrenceDays() != null && !group.getRecurrenceDays().isEmpty();
+        if (recurring) {
+            RecurrenceRule rule = RecurrenceRule.of(group.getRecurrenceVersion(), group.getRecurrenceDays(),
+                    group.getRecurrenceStartDate(), group.getRecurrenceEndDate());
+            rule.forEachDate(fromDay, fromDay.plusDays(horizonDays), date -> {
+                if (!stored.contains(date)) {
+                    bookings.add(new Booking(owner, groupVenue, rule.startOn(date), rule.endOn(date)));
+                }
+            });
+        } else if (sessions.isEmpty() && group.getStartDateTime() != null) {
+            bookings.add(new Booking(owner, groupVenue, group.getStartDateTime(),
+                    endOrDefault(group.getStartDateTime(), group.getEndDateTime())));
+        }
+        return bookings;
+    }
+
+    List<Booking> eventBookings(Event event) {
+        if (event.getVenue() == null || event.getStartDateTime() == null
+                || "CANCELLED".equalsIgnoreCase(event.getStatus())) {
+            return List.of();
+        }
+        return List.of(new Booking(Owner.event(event.getId()), event.getVenue().getId(), event.getStartDateTime(),
+                endOrDefault(event.getStartDateTime(), event.getEndDateTime())));
+    }
+
+    private void update(Owner owner, List<Booking> bookings) {
+        synchronized (lock) {
+            apply(owner, bookings);
+            if (replay != null) replay.add(Map.entry(owner, bookings));
+        }
+    }
+
+    // Caller holds lock. Only the venues the owner was or now is booked at
+    // get a new timeline.
+    private void apply(Owner owner, List<Booking> bookings) {
+        List<Booking> previous = bookings.isEmpty() ? byOwner.remove(owner) : byOwner.put(owner, bookings);
+        Set<Long> venues = new HashSet<>();
+        if (previous != null) previous.forEach(b -> venues.add(b.venueId()));
+        bookings.forEach(b -> venues.add(b.venueId()));
+        if (venues.isEmpty()) return;
+
+        Map<Long, Timeline> next = new HashMap<>(timelines);
+        for (Long venueId : venues) {
+            Timeline current = next.get(venueId);
+            List<Booking> kept = new ArrayList<>();
+            if (current != null) {
+                for (Booking b : current.bookings) {
+                    if (!b.owner().equals(owner)) kept.add(b);
+                }
+            }
+            for (Booking b : bookings) {
+                if (b.venueId() == venueId) kept.add(b);
+            }
+            if (kept.isEmpty()) next.remove(venueId);
+            else next.put(venueId, new Timeline(kept));
+        }
+        timelines = next;
+    }
+
+    private LocalDateTime endOrDefault(LocalDateTime start, LocalDateTime end) {
+        return end != null && end.isAfter(start) ? end : start.plus(defaultDuration);
+    }
+
+    private static long seconds(LocalDateTime t) {
+        return t.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * One venue's bookings sorted by start, with the running maximum of
+     * their ends: everything that can overlap [s, e) starts before e
+     * (binary search), and walking back from there can stop as soon as
+     * the running maximum end is at or before s.
+     */
+    private static final class Timeline {
+
+        final Booking[] bookings;
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+
+        Timeline(List<Booking> list) {
+            bookings = list.toArray(new Booking[0]);
+            Arrays.sort(bookings, Comparator.comparing(Booking::start));
+            starts = new long[bookings.length];
+            ends = new long[bookings.length];
+            maxEnds = new long[bookings.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < bookings.length; i++) {
+                starts[i] = seconds(bookings[i].start());
+                ends[i] = seconds(bookings[i].end());
+                max = Math.max(max, ends[i]);
+                maxEnds[i] = max;
+            }
+        }
+
+        Booking firstOverlap(long start, long end, Owner ignore) {
+            // First index whose start is >= end.
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] < end) lo = mid + 1;
+                else hi = mid;
+            }
+            for (int i = lo - 1; i >= 0 && maxEnds[i] > start; i--) {
+                if (ends[i] > start && !bookings[i].owner().equals(ignore)) {
+                    return bookings[i];
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.be.service;
 
 import com.be.domain.entity.Venue;
+import com.be.domain.exception.InvalidDateRangeException;
 import com.be.domain.repository.VenueRepository;
 import com.be.web.dto.request.VenueRequestDTO;
 import com.be.web.mapper.VenueMapper;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -15,10 +17,13 @@ public class VenueService {
 
     private final VenueRepository venueRepository;
     private final VenueMapper venueMapper;
+    private final VenueOccupancyIndex occupancyIndex;
 
-    public VenueService(VenueRepository venueRepository, VenueMapper venueMapper) {
+    public VenueService(VenueRepository venueRepository, VenueMapper venueMapper,
+                        VenueOccupancyIndex occupancyIndex) {
         this.venueRepository = venueRepository;
         this.venueMapper = venueMapper;
+        this.occupancyIndex = occupancyIndex;
     }
 
     @Transactional(readOnly = true)
@@ -26,6 +31,22 @@ public class VenueService {
         return venueRepository.findAll();
     }
 
+    /**
+     * Venues with no booking overlapping [start, end) and room for at least
+     * minCapacity people (any size when null). Occupancy comes from the
+     * in-memory index, so this is one venues query whatever the schedule.
+     */
+    @Transactional(readOnly = true)
+    public List<Venue> findAvailable(LocalDateTime start, LocalDateTime end, Integer minCapacity) {
+        if (!end.isAfter(start)) {
+            throw new InvalidDateRangeException("'end' (" + end + ") is not after 'start' (" + start + ")");
+        }
+        return venueRepository.findAll().stream()
+                .filter(v -> minCapacity == null || (v.getCapacity() != null && v.getCapacity() >= minCapacity))
+                .filter(v -> occupancyIndex.isFree(v.getId(), start, end))
+                .toList();
+    }
+
     @Transactional(readOnly = true)
     public Venue getById(Long id) {
         return venueRepository.findById(id)
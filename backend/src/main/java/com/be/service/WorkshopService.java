@@ -24,24 +24,28 @@ public class WorkshopService {
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
     private final WorkshopMapper workshopMapper;
+    private final CatalogCache catalogCache;
 
     public WorkshopService(WorkshopRepository workshopRepository,
                            TeacherRepository teacherRepository,
                            CourseRepository courseRepository,
-                           WorkshopMapper workshopMapper) {
+                           WorkshopMapper workshopMapper,
+                           CatalogCache catalogCache) {
         this.workshopRepository = Objects.requireNonNull(workshopRepository, "workshopRepository");
         this.teacherRepository = Objects.requireNonNull(teacherRepository, "teacherRepository");
         this.courseRepository = Objects.requireNonNull(courseRepository, "courseRepository");
         this.workshopMapper = Objects.requireNonNull(workshopMapper, "workshopMapper");
+        this.catalogCache = Objects.requireNonNull(catalogCache, "catalogCache");
     }
 
-    // public listing (optionally filter upcoming)
+    // public listing (optionally filter upcoming) — teacher/groups/venues
+    // come fetched with the workshops, see WorkshopRepository
     @Transactional(readOnly = true)
     public List<Workshop> listWorkshops(boolean upcoming) {
         if (upcoming) {
-            return workshopRepository.findByStartDateAfterOrderByStartDateAsc(LocalDate.now().minusDays(1));
+            return workshopRepository.findStartingAfterWithGroups(LocalDate.now().minusDays(1));
         } else {
-            return workshopRepository.findAll();
+            return workshopRepository.findAllWithGroups();
         }
     }
 
@@ -51,6 +55,18 @@ public class WorkshopService {
                 .orElseThrow(() -> new RuntimeException("Workshop not found with id: " + id));
     }
 
+    // getById for the public detail view — same fetch plan as listWorkshops
+    @Transactional(readOnly = true)
+    public Workshop getByIdWithGroups(Long id) {
+        return workshopRepository.findByIdWithGroups(id)
+                .orElseThrow(() -> new RuntimeException("Workshop not found with id: " + id));
+    }
+
+    @Transactional(readOnly = true)
+    public int countEnrollments(Long workshopId) {
+        return (int) workshopRepository.countEnrollments(workshopId);
+    }
+
     @Transactional
     public Workshop createWorkshop(WorkshopCreateDTO dto) {
         Workshop w = workshopMapper.fromCreateDTO(dto);
@@ -68,7 +84,9 @@ public class WorkshopService {
             w.setCourse(course);
         }
 
-        return workshopRepository.save(w);
+        Workshop saved = workshopRepository.save(w);
+        catalogCache.workshopChanged(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -114,6 +132,7 @@ public class WorkshopService {
             existing.setCourse(null);
         }
 
+        catalogCache.workshopChanged(id);
         return workshopRepository.save(existing);
     }
 
@@ -123,6 +142,7 @@ public class WorkshopService {
             throw new RuntimeException("Workshop not found: " + id);
         }
         workshopRepository.deleteById(id);
+        catalogCache.workshopChanged(id);
     }
 
     @Transactional(readOnly = true)
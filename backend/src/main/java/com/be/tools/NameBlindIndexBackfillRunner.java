@@ -0,0 +1,99 @@
+package com.be.tools;
+
+import com.be.config.crypto.BlindIndex;
+import com.be.config.crypto.EncryptedStringConverter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills in name_blind_index (V13) for rows that don't have one yet —
+ * every pre-existing users/teachers/participants row right after the
+ * migration, and every row again after a key rotation (see BlindIndex).
+ * Flyway can't do this itself: the HMAC key is derived from
+ * FIELD_ENCRYPTION_KEY and the names are ciphertext in the DB.
+ * <p>
+ * Unlike PiiReencryptionRunner this runs on every normal start, not behind
+ * a profile — until it has run, searchUsers can't find those rows at all.
+ * After the first run it's one "WHERE name_blind_index IS NULL" query per
+ * table that returns nothing.
+ * <p>
+ * Raw JdbcTemplate, same reasoning as PiiReencryptionRunner: a row whose
+ * names fail to decrypt (legacy plaintext) is counted and skipped rather
+ * than crashing startup. Keyset-paginated by id, so a skipped row never
+ * gets re-read in the same run. Safe against live traffic: the UPDATE only
+ * applies while the row is still un-indexed, so it can't overwrite an
+ * index NameBlindIndexListener wrote for a concurrent edit. Never logs
+ * name values, only counts (CODING_PROTOCOL.md: no personal data in logs).
+ */
+@Component
+public class NameBlindIndexBackfillRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(NameBlindIndexBackfillRunner.class);
+    private static final List<String> TABLES = List.of("users", "teachers", "participants");
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EncryptedStringConverter converter;
+    private final BlindIndex blindIndex;
+
+    public NameBlindIndexBackfillRunner(JdbcTemplate jdbcTemplate, EncryptedStringConverter converter,
+                                        BlindIndex blindIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.converter = converter;
+        this.blindIndex = blindIndex;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            backfill(table);
+        }
+    }
+
+    private void backfill(String table) {
+        long lastId = 0;
+        int indexed = 0;
+        int skipped = 0;
+
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, first_name, last_name FROM " + table
+                            + " WHERE name_blind_index IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    lastId, CHUNK_SIZE);
+            if (rows.isEmpty()) break;
+
+            List<Object[]> updates = new ArrayList<>(rows.size());
+            for (Map<String, Object> row : rows) {
+                long id = ((Number) row.get("id")).longValue();
+                lastId = id;
+                try {
+                    String firstName = converter.convertToEntityAttribute((String) row.get("first_name"));
+                    String lastName = converter.convertToEntityAttribute((String) row.get("last_name"));
+                    updates.add(new Object[]{blindIndex.indexFor(firstName, lastName), id});
+                } catch (Exception ex) {
+                    skipped++;
+                }
+            }
+
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "UPDATE " + table + " SET name_blind_index = ? WHERE id = ? AND name_blind_index IS NULL",
+                        updates);
+                indexed += updates.size();
+            }
+        }
+
+        if (indexed > 0 || skipped > 0) {
+            log.info("{}: blind index backfilled for {} row(s), {} row(s) skipped (names not decryptable)",
+                    table, indexed, skipped);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.be.web.controller;
 
 import com.be.domain.entity.Activity;
 import com.be.service.ActivityService;
+import com.be.service.PublicCatalogService;
 import com.be.web.dto.request.ActivityRequestDTO;
 import com.be.web.dto.response.ActivityResponseDTO;
 import com.be.web.mapper.ActivityMapper;
@@ -11,7 +12,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/activities")
@@ -19,24 +19,24 @@ public class ActivityController {
 
     private final ActivityService activityService;
     private final ActivityMapper activityMapper;
+    private final PublicCatalogService catalogService;
 
-    public ActivityController(ActivityService activityService, ActivityMapper activityMapper) {
+    public ActivityController(ActivityService activityService, ActivityMapper activityMapper,
+                              PublicCatalogService catalogService) {
         this.activityService = activityService;
         this.activityMapper = activityMapper;
+        this.catalogService = catalogService;
     }
 
+    // Public list/detail — cached, see PublicCatalogService
     @GetMapping
     public ResponseEntity<List<ActivityResponseDTO>> getAll() {
-        List<Activity> activities = activityService.getAllActivities();
-        return ResponseEntity.ok(activities.stream()
-                .map(activityMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(catalogService.listActivities());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ActivityResponseDTO> getById(@PathVariable Long id) {
-        Activity activity = activityService.getActivityById(id);
-        return ResponseEntity.ok(activityMapper.toResponseDTO(activity));
+        return ResponseEntity.ok(catalogService.getActivity(id));
     }
 
     @PostMapping
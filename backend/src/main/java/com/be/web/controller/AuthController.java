@@ -16,6 +16,8 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpServletRequest;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/v1/auth")
 public class AuthController {
@@ -50,9 +52,12 @@ public class AuthController {
         return ResponseEntity.ok().build();
     }
 
+    // Async — the servlet thread is released while the response waits out
+    // AuthService's timing floor.
     @PostMapping(value = "/resend-verification", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<Void> resendVerification(@Valid @RequestBody ResendVerificationRequestDTO dto) {
-        authService.resendVerification(dto.getEmail());
-        return ResponseEntity.ok().build();
+    public CompletableFuture<ResponseEntity<Void>> resendVerification(
+            @Valid @RequestBody ResendVerificationRequestDTO dto) {
+        return authService.resendVerification(dto.getEmail())
+                .thenApply(done -> ResponseEntity.ok().<Void>build());
     }
 }
\ No newline at end of file
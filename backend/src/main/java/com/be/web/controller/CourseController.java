@@ -2,8 +2,9 @@ package com.be.web.controller;
 
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Course;
-import com.be.domain.entity.Group;
+import com.be.service.CatalogCache;
 import com.be.service.CourseService;
+import com.be.service.PublicCatalogService;
 import com.be.web.dto.request.CourseCreateDTO;
 import com.be.web.dto.response.CourseDetailDTO;
 import com.be.web.dto.response.CourseListDTO;
@@ -11,14 +12,15 @@ import com.be.web.mapper.CourseMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Course REST endpoints — mirrors WorkshopController's shape (public
@@ -34,24 +36,33 @@ public class CourseController {
 
     private final CourseService courseService;
     private final CourseMapper mapper;
+    private final PublicCatalogService catalogService;
+    private final CatalogCache catalogCache;
 
-    public CourseController(CourseService courseService, CourseMapper mapper) {
+    public CourseController(CourseService courseService, CourseMapper mapper, PublicCatalogService catalogService,
+                            CatalogCache catalogCache) {
         this.courseService = courseService;
         this.mapper = mapper;
+        this.catalogService = catalogService;
+        this.catalogCache = catalogCache;
     }
 
+    // Public list/detail — cached, see PublicCatalogService; conditional
+    // GET same as WorkshopController's
     @GetMapping
-    public ResponseEntity<List<CourseListDTO>> list() {
-        List<Course> list = courseService.listCourses();
-        List<CourseListDTO> dto = list.stream().map(mapper::toListDTO).collect(Collectors.toList());
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<List<CourseListDTO>> list(WebRequest request) {
+        if (request.checkNotModified(catalogCache.courseETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(catalogService.listCourses());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CourseDetailDTO> getDetail(@PathVariable Long id) {
-        Course c = courseService.getById(id);
-        Group scheduleGroup = courseService.findScheduleGroup(id).orElse(null);
-        return ResponseEntity.ok(mapper.toDetailDTO(c, scheduleGroup));
+    public ResponseEntity<CourseDetailDTO> getDetail(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(catalogCache.courseETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(catalogService.getCourse(id));
     }
 
     @PostMapping
@@ -2,14 +2,30 @@ package com.be.web.controller;
 
 import com.be.domain.entity.Enrollment;
 import com.be.domain.entity.Group;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.exception.AlreadyEnrolledException;
+import com.be.domain.exception.GroupFullException;
+import com.be.service.EnrollmentAdmissionQueue;
+import com.be.service.EnrollmentAdmissionQueue.Admission;
+import com.be.service.EnrollmentAdmissionQueue.TicketStatus;
+import com.be.service.EnrollmentExportService;
 import com.be.service.EnrollmentService;
+import com.be.service.EnrollmentService.BatchEnrollment;
 import com.be.service.GroupService;
+import com.be.service.IdempotencyGuard;
 import com.be.service.TeacherService;
+import com.be.web.dto.request.BatchEnrollmentRequestDTO;
 import com.be.web.dto.request.EnrollmentRequestDTO;
+import com.be.web.dto.response.AdmissionTicketDTO;
+import com.be.web.dto.response.BatchEnrollmentResponseDTO;
 import com.be.web.dto.response.EnrollmentAdminDTO;
 import com.be.web.dto.response.EnrollmentResponseDTO;
 import com.be.web.mapper.EnrollmentMapper;
+import com.be.web.mapper.OrderMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,7 +33,12 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -32,26 +53,42 @@ public class EnrollmentController {
     private final EnrollmentMapper mapper;
     private final GroupService groupService;
     private final TeacherService teacherService;
+    private final EnrollmentExportService exportService;
+    private final EnrollmentAdmissionQueue admissionQueue;
+    private final OrderMapper orderMapper;
+    private final IdempotencyGuard idempotencyGuard;
 
     public EnrollmentController(EnrollmentService enrollmentService, EnrollmentMapper mapper,
-                                 GroupService groupService, TeacherService teacherService) {
+                                 GroupService groupService, TeacherService teacherService,
+                                 EnrollmentExportService exportService,
+                                 EnrollmentAdmissionQueue admissionQueue,
+                                 OrderMapper orderMapper,
+                                 IdempotencyGuard idempotencyGuard) {
         this.enrollmentService = enrollmentService;
         this.mapper = mapper;
         this.groupService = groupService;
         this.teacherService = teacherService;
+        this.exportService = exportService;
+        this.admissionQueue = admissionQueue;
+        this.orderMapper = orderMapper;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
     /**
-     * Enroll the current user into a workshop.
+     * Enroll the current user into a workshop. For a group in admission
+     * mode (V20) the answer can be 202 with a ticket to poll instead —
+     * see {@link #admissionTicket}. A retry with the same Idempotency-Key
+     * gets the first answer back (V22, IdempotencyGuard).
      */
     @PostMapping("/workshops/{workshopId}/enroll")
     @PreAuthorize("""
                 hasRole('USER') or hasRole('TEACHER')
                 or hasRole('BUSINESS_OWNER') or hasRole('ADMIN')
             """)
-    public ResponseEntity<EnrollmentResponseDTO> enroll(
+    public ResponseEntity<?> enroll(
             @PathVariable Long workshopId,
             @Valid @RequestBody(required = false) EnrollmentRequestDTO request,
+            @RequestHeader(value = IdempotencyGuard.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt
     ) {
         Long userId = extractUserId(jwt);
@@ -59,25 +96,92 @@ public class EnrollmentController {
             return ResponseEntity.status(401).build();
         }
 
-        Enrollment e = enrollmentService.enroll(workshopId, userId, request);
-        EnrollmentResponseDTO dto = mapper.toResponseDTO(e);
-
-        return ResponseEntity
-                .created(URI.create("/api/v1/enrollments/" + e.getId()))
-                .body(dto);
+        return idempotencyGuard.execute(idempotencyKey, userId, "POST /workshops/" + workshopId + "/enroll", request,
+                () -> toResponse(admissionQueue.enroll(workshopId, userId, request)));
     }
 
     /**
-     * Enroll the current user into a course. LR-084.
+     * Enroll the current user into a course. LR-084. Same 202 case as
+     * workshops when the course's group is in admission mode, and the same
+     * Idempotency-Key replay.
      */
     @PostMapping("/courses/{courseId}/enroll")
     @PreAuthorize("""
                 hasRole('USER') or hasRole('TEACHER')
                 or hasRole('BUSINESS_OWNER') or hasRole('ADMIN')
             """)
-    public ResponseEntity<EnrollmentResponseDTO> enrollCourse(
+    public ResponseEntity<?> enrollCourse(
             @PathVariable Long courseId,
             @Valid @RequestBody(required = false) EnrollmentRequestDTO request,
+            @RequestHeader(value = IdempotencyGuard.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        Long userId = extractUserId(jwt);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        return idempotencyGuard.execute(idempotencyKey, userId, "POST /courses/" + courseId + "/enroll", request,
+                () -> toResponse(admissionQueue.enrollCourse(courseId, userId, request)));
+    }
+
+    /**
+     * Admin / business owner: enroll several users into a workshop at once,
+     * on one Order charged to the caller. All or nothing — see
+     * EnrollmentService.enrollBatch.
+     */
+    @PostMapping("/workshops/{workshopId}/enroll/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
+    public ResponseEntity<?> enrollBatch(
+            @PathVariable Long workshopId,
+            @Valid @RequestBody BatchEnrollmentRequestDTO request,
+            @RequestHeader(value = IdempotencyGuard.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        Long userId = extractUserId(jwt);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        return idempotencyGuard.execute(idempotencyKey, userId, "POST /workshops/" + workshopId + "/enroll/batch", request,
+                () -> ResponseEntity.status(201).body(toBatchDTO(enrollmentService.enrollBatch(workshopId, userId, request))));
+    }
+
+    /**
+     * Admin / business owner: course counterpart of {@link #enrollBatch}.
+     */
+    @PostMapping("/courses/{courseId}/enroll/batch")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
+    public ResponseEntity<?> enrollCourseBatch(
+            @PathVariable Long courseId,
+            @Valid @RequestBody BatchEnrollmentRequestDTO request,
+            @RequestHeader(value = IdempotencyGuard.HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        Long userId = extractUserId(jwt);
+        if (userId == null) {
+            return ResponseEntity.status(401).build();
+        }
+
+        return idempotencyGuard.execute(idempotencyKey, userId, "POST /courses/" + courseId + "/enroll/batch", request,
+                () -> ResponseEntity.status(201).body(toBatchDTO(enrollmentService.enrollCourseBatch(courseId, userId, request))));
+    }
+
+    private BatchEnrollmentResponseDTO toBatchDTO(BatchEnrollment batch) {
+        return BatchEnrollmentResponseDTO.builder()
+                .enrollments(batch.enrollments().stream().map(mapper::toResponseDTO).toList())
+                .order(orderMapper.toResponseDTO(batch.order()))
+                .build();
+    }
+
+    /**
+     * Poll an admission ticket (V20) — the caller's own only; 404 for
+     * anyone else's and once it has expired.
+     */
+    @GetMapping("/admissions/{ticket}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<AdmissionTicketDTO> admissionTicket(
+            @PathVariable String ticket,
             @AuthenticationPrincipal Jwt jwt
     ) {
         Long userId = extractUserId(jwt);
@@ -85,12 +189,42 @@ public class EnrollmentController {
             return ResponseEntity.status(401).build();
         }
 
-        Enrollment e = enrollmentService.enrollCourse(courseId, userId, request);
-        EnrollmentResponseDTO dto = mapper.toResponseDTO(e);
+        return admissionQueue.findTicket(ticket, userId)
+                .map(t -> ResponseEntity.ok(toTicketDTO(t)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 
+    private ResponseEntity<?> toResponse(Admission admission) {
+        if (admission.enrollment() != null) {
+            Enrollment e = admission.enrollment();
+            return ResponseEntity
+                    .created(URI.create("/api/v1/enrollments/" + e.getId()))
+                    .body(mapper.toResponseDTO(e));
+        }
+        TicketStatus ticket = admission.ticket();
         return ResponseEntity
-                .created(URI.create("/api/v1/enrollments/" + e.getId()))
-                .body(dto);
+                .accepted()
+                .location(URI.create("/api/v1/admissions/" + ticket.id()))
+                .body(toTicketDTO(ticket));
+    }
+
+    private AdmissionTicketDTO toTicketDTO(TicketStatus t) {
+        AdmissionTicketDTO.AdmissionTicketDTOBuilder dto = AdmissionTicketDTO.builder()
+                .ticket(t.id())
+                .groupId(t.groupId());
+        if (t.enrollment() != null) {
+            return dto.state(t.enrollment().getStatus() == EnrollmentStatus.WAITLISTED ? "WAITLISTED" : "ENROLLED")
+                    .enrollment(mapper.toResponseDTO(t.enrollment()))
+                    .build();
+        }
+        if (t.rejection() != null) {
+            // Same codes GlobalExceptionHandler gives the direct path.
+            String code = t.rejection() instanceof GroupFullException ? "GROUP_FULL"
+                    : t.rejection() instanceof AlreadyEnrolledException ? "ALREADY_ENROLLED"
+                    : "ENROLLMENT_FAILED";
+            return dto.state("REJECTED").code(code).message(t.rejection().getMessage()).build();
+        }
+        return dto.state("QUEUED").position(t.position()).build();
     }
 
     /**
@@ -169,6 +303,52 @@ public class EnrollmentController {
             @PathVariable Long groupId,
             @AuthenticationPrincipal Jwt jwt
     ) {
+        requireOwnGroupIfTeacher(groupId, jwt);
+
+        List<EnrollmentAdminDTO> dto = enrollmentService.getByGroup(groupId)
+                .stream()
+                .map(mapper::toAdminDTO)
+                .collect(Collectors.toList());
+
+        return ResponseEntity.ok(dto);
+    }
+
+    /**
+     * Admin / business owner: download the workshop's participants as CSV
+     * (default) or NDJSON. Streamed row by row — see EnrollmentExportService.
+     */
+    @GetMapping("/admin/workshops/{workshopId}/participants/export")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
+    public void exportParticipantsForWorkshop(
+            @PathVariable Long workshopId,
+            @RequestParam(defaultValue = "CSV") EnrollmentExportService.Format format,
+            HttpServletResponse response
+    ) throws IOException {
+        Writer out = startExport(response, format, "workshop-" + workshopId + "-participants");
+        exportService.exportWorkshop(workshopId, format, out);
+        out.flush();
+    }
+
+    /**
+     * Teacher / admin: download the group roster. Same ownership rule as
+     * participantsForGroup (LR-024).
+     */
+    @GetMapping("/teacher/groups/{groupId}/participants/export")
+    @PreAuthorize("hasRole('TEACHER') or hasRole('BUSINESS_OWNER') or hasRole('ADMIN')")
+    public void exportParticipantsForGroup(
+            @PathVariable Long groupId,
+            @RequestParam(defaultValue = "CSV") EnrollmentExportService.Format format,
+            @AuthenticationPrincipal Jwt jwt,
+            HttpServletResponse response
+    ) throws IOException {
+        requireOwnGroupIfTeacher(groupId, jwt);
+
+        Writer out = startExport(response, format, "group-" + groupId + "-participants");
+        exportService.exportGroup(groupId, format, out);
+        out.flush();
+    }
+
+    private void requireOwnGroupIfTeacher(Long groupId, Jwt jwt) {
         if (hasRole(jwt, "TEACHER")) {
             Long callerTeacherId = teacherService.resolveTeacherIdForUser(extractUserId(jwt))
                     .orElseThrow(() -> new AccessDeniedException("No teacher profile linked to this account"));
@@ -178,12 +358,24 @@ public class EnrollmentController {
                 throw new AccessDeniedException("Cannot view another teacher's group participants");
             }
         }
+    }
 
-        List<EnrollmentAdminDTO> dto = enrollmentService.getByGroup(groupId)
-                .stream()
-                .map(mapper::toAdminDTO)
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(dto);
+    // Headers go out before the first row; from then on the response is
+    // committed, so a failure mid-export can only truncate the download.
+    private Writer startExport(HttpServletResponse response, EnrollmentExportService.Format format,
+                               String baseName) throws IOException {
+        response.setContentType(format.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(baseName + "." + format.extension())
+                .build()
+                .toString());
+        Writer out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (format == EnrollmentExportService.Format.CSV) {
+            // BOM, or Excel opens the file as Windows-1252 and mangles
+            // umlauts and the Ukrainian group titles.
+            out.write('\uFEFF');
+        }
+        return out;
     }
 }
\ No newline at end of file
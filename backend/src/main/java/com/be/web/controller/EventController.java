@@ -2,17 +2,17 @@ package com.be.web.controller;
 
 import com.be.domain.entity.Event;
 import com.be.service.EventService;
+import com.be.service.KeysetRequest;
 import com.be.web.dto.request.EventRequestDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.EventResponseDTO;
 import com.be.web.mapper.EventMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/events")
 public class EventController {
@@ -25,12 +25,17 @@ public class EventController {
         this.eventMapper = eventMapper;
     }
 
+    // Admin list — keyset-paginated (KeysetRequest / CursorPageDTO)
     @GetMapping
-    public ResponseEntity<List<EventResponseDTO>> getAll() {
-        List<Event> events = eventService.getAll();
-        return ResponseEntity.ok(events.stream()
-                .map(eventMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<CursorPageDTO<EventResponseDTO>> getAll(
+            @RequestParam(required = false) Long workshopId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, EventService.PAGE_SORTABLE);
+        Window<Event> window = eventService.getPage(workshopId, status, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, eventMapper::toResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -59,4 +64,4 @@ public class EventController {
         eventService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -2,17 +2,17 @@ package com.be.web.controller;
 
 import com.be.domain.entity.File;
 import com.be.service.FileService;
+import com.be.service.KeysetRequest;
 import com.be.web.dto.request.FileRequestDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.FileResponseDTO;
 import com.be.web.mapper.FileMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/files")
 public class FileController {
@@ -25,13 +25,18 @@ public class FileController {
         this.fileMapper = fileMapper;
     }
 
+    // Admin list — keyset-paginated (KeysetRequest / CursorPageDTO)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<List<FileResponseDTO>> getAll() {
-        List<File> files = fileService.getAll();
-        return ResponseEntity.ok(files.stream()
-                .map(fileMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<CursorPageDTO<FileResponseDTO>> getAll(
+            @RequestParam(required = false) Long workshopId,
+            @RequestParam(required = false) String fileType,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, FileService.PAGE_SORTABLE);
+        Window<File> window = fileService.getPage(workshopId, fileType, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, fileMapper::toResponseDTO));
     }
 
     @GetMapping("/{id}")
@@ -54,4 +59,4 @@ public class FileController {
         fileService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -3,13 +3,16 @@ package com.be.web.controller;
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Group;
 import com.be.service.GroupService;
+import com.be.service.KeysetRequest;
 import com.be.service.TeacherService;
 import com.be.web.dto.request.GroupCreateDTO;
 import com.be.web.dto.request.GroupUpdateDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.GroupDTO;
 import com.be.web.mapper.GroupMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Window;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -29,22 +32,20 @@ public class GroupController {
     private final GroupMapper groupMapper;
     private final TeacherService teacherService;
 
+    // Keyset-paginated (KeysetRequest / CursorPageDTO). workshopId/courseId
+    // used to pick between three unbounded queries; now they're filters on
+    // the one paged query (and combinable, plus active).
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public List<GroupDTO> getAllGroups(@RequestParam(required = false) Long workshopId,
-                                        @RequestParam(required = false) Long courseId) {
-        List<Group> groups;
-        if (workshopId != null) {
-            groups = groupService.findByWorkshopId(workshopId);
-        } else if (courseId != null) {
-            groups = groupService.findByCourseId(courseId);
-        } else {
-            groups = groupService.findAll();
-        }
-
-        return groups.stream()
-                .map(groupMapper::toDto)
-                .collect(Collectors.toList());
+    public CursorPageDTO<GroupDTO> getAllGroups(@RequestParam(required = false) Long workshopId,
+                                                @RequestParam(required = false) Long courseId,
+                                                @RequestParam(required = false) Boolean active,
+                                                @RequestParam(required = false) String sort,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, GroupService.PAGE_SORTABLE);
+        Window<Group> window = groupService.findPage(workshopId, courseId, active, page);
+        return CursorPageDTO.of(window, page, groupMapper::toDto);
     }
 
     @GetMapping("/{id}")
@@ -1,15 +1,23 @@
 package com.be.web.controller;
 
+import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Notification;
+import com.be.domain.entity.NotificationBroadcast;
+import com.be.service.NotificationBroadcastService;
 import com.be.service.NotificationCRUDService;
+import com.be.web.dto.request.NotificationBroadcastRequestDTO;
 import com.be.web.dto.request.NotificationRequestDTO;
+import com.be.web.dto.response.NotificationBroadcastDTO;
 import com.be.web.dto.response.NotificationResponseDTO;
 import com.be.web.mapper.NotificationMapper;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,10 +26,14 @@ import java.util.stream.Collectors;
 public class NotificationController {
 
     private final NotificationCRUDService notificationService;
+    private final NotificationBroadcastService broadcastService;
     private final NotificationMapper notificationMapper;
 
-    public NotificationController(NotificationCRUDService notificationService, NotificationMapper notificationMapper) {
+    public NotificationController(NotificationCRUDService notificationService,
+                                  NotificationBroadcastService broadcastService,
+                                  NotificationMapper notificationMapper) {
         this.notificationService = notificationService;
+        this.broadcastService = broadcastService;
         this.notificationMapper = notificationMapper;
     }
 
@@ -54,4 +66,25 @@ public class NotificationController {
         notificationService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends the notification to everyone in the audience. 202 — the inbox
+     * rows are written in the background; poll the Location for progress.
+     */
+    @PostMapping("/{id}/broadcasts")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationBroadcastDTO> broadcast(@PathVariable Long id,
+                                                              @Valid @RequestBody NotificationBroadcastRequestDTO dto,
+                                                              @AuthenticationPrincipal Jwt jwt) {
+        NotificationBroadcast broadcast = broadcastService.request(id, dto, JwtAuthUtils.extractUserId(jwt));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/notifications/broadcasts/" + broadcast.getId()))
+                .body(notificationMapper.toBroadcastDTO(broadcast));
+    }
+
+    @GetMapping("/broadcasts/{broadcastId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<NotificationBroadcastDTO> getBroadcast(@PathVariable Long broadcastId) {
+        return ResponseEntity.ok(notificationMapper.toBroadcastDTO(broadcastService.getById(broadcastId)));
+    }
+}
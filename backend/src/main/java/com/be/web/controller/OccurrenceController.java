@@ -0,0 +1,64 @@
+package com.be.web.controller;
+
+import com.be.service.OccurrenceService;
+import com.be.service.SessionService;
+import com.be.web.dto.response.OccurrenceDTO;
+import com.be.web.dto.response.SessionDTO;
+import com.be.web.mapper.SessionMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Schedules as date ranges (V19) — occurrences expanded from a Group's
+ * recurrence rule with stored exceptions merged in, so reading a month
+ * doesn't need the whole course generated into Session rows first.
+ * from/to are ISO dates, both inclusive.
+ */
+@RestController
+@RequestMapping("/api/v1/groups")
+@RequiredArgsConstructor
+public class OccurrenceController {
+
+    private final OccurrenceService occurrenceService;
+    private final SessionService sessionService;
+    private final SessionMapper sessionMapper;
+
+    @GetMapping("/{groupId}/occurrences")
+    @ResponseStatus(HttpStatus.OK)
+    public List<OccurrenceDTO> getOccurrences(@PathVariable Long groupId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return occurrenceService.findForGroup(groupId, from, to).stream()
+                .map(sessionMapper::toOccurrenceDto)
+                .toList();
+    }
+
+    // Every active group's schedule in the range (a calendar view), same
+    // workshopId/courseId filters as GET /groups.
+    @GetMapping("/occurrences")
+    @ResponseStatus(HttpStatus.OK)
+    public List<OccurrenceDTO> getOccurrencesAcrossGroups(
+            @RequestParam(required = false) Long workshopId,
+            @RequestParam(required = false) Long courseId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return occurrenceService.findAcrossGroups(workshopId, courseId, from, to).stream()
+                .map(sessionMapper::toOccurrenceDto)
+                .toList();
+    }
+
+    // Cancels one rule date; the stored exception is returned.
+    @DeleteMapping("/{groupId}/occurrences/{date}")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
+    public SessionDTO cancelOccurrence(@PathVariable Long groupId,
+                                       @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return sessionMapper.toDto(sessionService.cancelOccurrence(groupId, date));
+    }
+}
@@ -2,39 +2,47 @@ package com.be.web.controller;
 
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Order;
+import com.be.service.IdempotencyGuard;
+import com.be.service.KeysetRequest;
 import com.be.service.OrderService;
 import com.be.web.dto.request.OrderRequestDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.OrderResponseDTO;
 import com.be.web.mapper.OrderMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 @RestController
 @RequestMapping("/api/v1/orders")
 public class OrderController {
 
     private final OrderService orderService;
     private final OrderMapper orderMapper;
+    private final IdempotencyGuard idempotencyGuard;
 
-    public OrderController(OrderService orderService, OrderMapper orderMapper) {
+    public OrderController(OrderService orderService, OrderMapper orderMapper, IdempotencyGuard idempotencyGuard) {
         this.orderService = orderService;
         this.orderMapper = orderMapper;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
+    // Admin list — keyset-paginated (KeysetRequest / CursorPageDTO)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<List<OrderResponseDTO>> getAll() {
-        List<Order> orders = orderService.getAll();
-        return ResponseEntity.ok(orders.stream()
-                .map(orderMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<CursorPageDTO<OrderResponseDTO>> getAll(
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, OrderService.PAGE_SORTABLE);
+        Window<Order> window = orderService.getPage(userId, status, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, orderMapper::toResponseDTO));
     }
 
     // LR-025 — read "roles" (plural), a claim JwtUtils never actually
@@ -61,13 +69,19 @@ public class OrderController {
         return ResponseEntity.ok(orderMapper.toResponseDTO(order));
     }
 
+    // A retry with the same Idempotency-Key gets the first order back
+    // instead of a second one (V22, IdempotencyGuard).
     @PostMapping
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<OrderResponseDTO> create(@Valid @RequestBody OrderRequestDTO dto,
-                                                   @AuthenticationPrincipal Jwt jwt) {
+    public ResponseEntity<?> create(@Valid @RequestBody OrderRequestDTO dto,
+                                    @RequestHeader(value = IdempotencyGuard.HEADER, required = false)
+                                    String idempotencyKey,
+                                    @AuthenticationPrincipal Jwt jwt) {
         Long userId = JwtAuthUtils.extractUserId(jwt);
-        Order created = orderService.create(dto, userId);
-        return ResponseEntity.status(201).body(orderMapper.toResponseDTO(created));
+        return idempotencyGuard.execute(idempotencyKey, userId, "POST /orders", dto, () -> {
+            Order created = orderService.create(dto, userId);
+            return ResponseEntity.status(201).body(orderMapper.toResponseDTO(created));
+        });
     }
 
     @PutMapping("/{id}")
@@ -83,4 +97,4 @@ public class OrderController {
         orderService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+}
@@ -2,11 +2,15 @@ package com.be.web.controller;
 
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Payment;
+import com.be.service.IdempotencyGuard;
+import com.be.service.KeysetRequest;
 import com.be.service.PaymentService;
 import com.be.web.dto.request.PaymentRequestDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.PaymentResponseDTO;
 import com.be.web.mapper.PaymentMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -22,19 +26,27 @@ public class PaymentController {
 
     private final PaymentService paymentService;
     private final PaymentMapper paymentMapper;
+    private final IdempotencyGuard idempotencyGuard;
 
-    public PaymentController(PaymentService paymentService, PaymentMapper paymentMapper) {
+    public PaymentController(PaymentService paymentService, PaymentMapper paymentMapper,
+                             IdempotencyGuard idempotencyGuard) {
         this.paymentService = paymentService;
         this.paymentMapper = paymentMapper;
+        this.idempotencyGuard = idempotencyGuard;
     }
 
+    // Admin list — keyset-paginated (KeysetRequest / CursorPageDTO)
     @GetMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<List<PaymentResponseDTO>> getAll() {
-        List<Payment> payments = paymentService.getAll();
-        return ResponseEntity.ok(payments.stream()
-                .map(paymentMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+    public ResponseEntity<CursorPageDTO<PaymentResponseDTO>> getAll(
+            @RequestParam(required = false) Long orderId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, PaymentService.PAGE_SORTABLE);
+        Window<Payment> window = paymentService.getPage(orderId, status, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, paymentMapper::toResponseDTO));
     }
 
     /**
@@ -63,11 +75,18 @@ public class PaymentController {
         return ResponseEntity.ok(paymentMapper.toResponseDTO(payment));
     }
 
+    // Idempotency-Key: keyed per caller, so a retried booking of the same
+    // payment isn't recorded twice (V22, IdempotencyGuard).
     @PostMapping
     @PreAuthorize("hasRole('ADMIN') or hasRole('BUSINESS_OWNER')")
-    public ResponseEntity<PaymentResponseDTO> create(@Valid @RequestBody PaymentRequestDTO dto) {
-        Payment created = paymentService.create(dto);
-        return ResponseEntity.status(201).body(paymentMapper.toResponseDTO(created));
+    public ResponseEntity<?> create(@Valid @RequestBody PaymentRequestDTO dto,
+                                    @RequestHeader(value = IdempotencyGuard.HEADER, required = false)
+                                    String idempotencyKey,
+                                    @AuthenticationPrincipal Jwt jwt) {
+        return idempotencyGuard.execute(idempotencyKey, JwtAuthUtils.extractUserId(jwt), "POST /payments", dto, () -> {
+            Payment created = paymentService.create(dto);
+            return ResponseEntity.status(201).body(paymentMapper.toResponseDTO(created));
+        });
     }
 
     @DeleteMapping("/{id}")
@@ -2,6 +2,7 @@ package com.be.web.controller;
 
 import com.be.domain.entity.Performance;
 import com.be.service.PerformanceService;
+import com.be.service.PublicCatalogService;
 import com.be.web.dto.request.PerformanceRequestDTO;
 import com.be.web.dto.response.PerformanceResponseDTO;
 import com.be.web.mapper.PerformanceMapper;
@@ -11,7 +12,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/v1/performances")
@@ -19,24 +19,24 @@ public class PerformanceController {
 
     private final PerformanceService performanceService;
     private final PerformanceMapper performanceMapper;
+    private final PublicCatalogService catalogService;
 
-    public PerformanceController(PerformanceService performanceService, PerformanceMapper performanceMapper) {
+    public PerformanceController(PerformanceService performanceService, PerformanceMapper performanceMapper,
+                                 PublicCatalogService catalogService) {
         this.performanceService = performanceService;
         this.performanceMapper = performanceMapper;
+        this.catalogService = catalogService;
     }
 
+    // Public list/detail — cached, see PublicCatalogService
     @GetMapping
     public ResponseEntity<List<PerformanceResponseDTO>> getAll() {
-        List<Performance> performances = performanceService.getAll();
-        return ResponseEntity.ok(performances.stream()
-                .map(performanceMapper::toResponseDTO)
-                .collect(Collectors.toList()));
+        return ResponseEntity.ok(catalogService.listPerformances());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<PerformanceResponseDTO> getById(@PathVariable Long id) {
-        Performance performance = performanceService.getById(id);
-        return ResponseEntity.ok(performanceMapper.toResponseDTO(performance));
+        return ResponseEntity.ok(catalogService.getPerformance(id));
     }
 
     @PostMapping
@@ -2,13 +2,16 @@ package com.be.web.controller;
 
 import com.be.domain.entity.User;
 import com.be.domain.entity.enums.Role;
+import com.be.service.KeysetRequest;
 import com.be.service.UserService;
 import com.be.web.dto.request.UserPasswordUpdateDTO;
 import com.be.web.dto.request.UserUpdateDTO;
+import com.be.web.dto.response.CursorPageDTO;
 import com.be.web.dto.response.UserBasicDTO;
 import com.be.web.dto.response.UserProfileDTO;
 import com.be.web.mapper.UserMapper;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -124,12 +127,19 @@ public class UserController {
 
     // ========== ADMIN ENDPOINTS ==========
 
+    // Keyset-paginated (KeysetRequest / CursorPageDTO); role/enabled filter
+    // server-side. Name search stays on /search (blind index, see UserService).
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserBasicDTO>> getAllUsers() {
-        List<User> users = userService.getAllUsers();
-        List<UserBasicDTO> userDTOs = userMapper.toBasicDTOList(users);
-        return ResponseEntity.ok(userDTOs);
+    public ResponseEntity<CursorPageDTO<UserBasicDTO>> getAllUsers(
+            @RequestParam(required = false) Role role,
+            @RequestParam(required = false) Boolean enabled,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        KeysetRequest page = KeysetRequest.of(sort, cursor, size, UserService.PAGE_SORTABLE);
+        Window<User> window = userService.getUsersPage(role, enabled, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, userMapper::toBasicDTO));
     }
 
     @GetMapping("/search")
@@ -2,9 +2,14 @@ package com.be.web.controller;
 
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.UserNotification;
+import com.be.service.KeysetRequest;
 import com.be.service.UserNotificationService;
+import com.be.web.dto.response.CursorPageDTO;
+import com.be.web.dto.response.MarkReadResultDTO;
+import com.be.web.dto.response.UnreadCountDTO;
 import com.be.web.dto.response.UserNotificationResponseDTO;
 import com.be.web.mapper.UserNotificationMapper;
+import org.springframework.data.domain.Window;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -15,7 +20,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 @RestController
-@RequestMapping("/api/v1/user-notifications")
+@RequestMapping("/api/v1")
 public class UserNotificationController {
 
     private final UserNotificationService userNotificationService;
@@ -26,7 +31,7 @@ public class UserNotificationController {
         this.userNotificationMapper = userNotificationMapper;
     }
 
-    @GetMapping
+    @GetMapping("/user-notifications")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<UserNotificationResponseDTO>> getMyNotifications(@AuthenticationPrincipal Jwt jwt) {
         Long userId = JwtAuthUtils.extractUserId(jwt);
@@ -36,7 +41,7 @@ public class UserNotificationController {
                 .collect(Collectors.toList()));
     }
 
-    @PutMapping("/{id}/read")
+    @PutMapping("/user-notifications/{id}/read")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<UserNotificationResponseDTO> markAsRead(@PathVariable Long id, @AuthenticationPrincipal Jwt jwt) {
         Long userId = JwtAuthUtils.extractUserId(jwt);
@@ -47,4 +52,56 @@ public class UserNotificationController {
         UserNotification updated = userNotificationService.markAsRead(id);
         return ResponseEntity.ok(userNotificationMapper.toResponseDTO(updated));
     }
-}
\ No newline at end of file
+
+    /**
+     * Current user's inbox, newest first — keyset-paginated
+     * (KeysetRequest / CursorPageDTO), optionally unread only.
+     */
+    @GetMapping("/users/me/notifications")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPageDTO<UserNotificationResponseDTO>> myNotificationsPage(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam(defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        Long userId = JwtAuthUtils.extractUserId(jwt);
+        KeysetRequest page = KeysetRequest.of(UserNotificationService.PAGE_SORT, cursor, size,
+                UserNotificationService.PAGE_SORTABLE);
+        Window<UserNotification> window = userNotificationService.getPage(userId, unreadOnly, page);
+        return ResponseEntity.ok(CursorPageDTO.of(window, page, userNotificationMapper::toResponseDTO));
+    }
+
+    /**
+     * Badge count, without loading the inbox.
+     */
+    @GetMapping("/users/me/notifications/unread-count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<UnreadCountDTO> unreadCount(@AuthenticationPrincipal Jwt jwt) {
+        Long userId = JwtAuthUtils.extractUserId(jwt);
+        return ResponseEntity.ok(new UnreadCountDTO(userNotificationService.countUnread(userId)));
+    }
+
+    /**
+     * Marks all of the current user's notifications as read in one go.
+     */
+    @PutMapping("/users/me/notifications/read-all")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MarkReadResultDTO> markAllRead(@AuthenticationPrincipal Jwt jwt) {
+        Long userId = JwtAuthUtils.extractUserId(jwt);
+        return ResponseEntity.ok(new MarkReadResultDTO(userNotificationService.markAllRead(userId, null)));
+    }
+
+    /**
+     * Marks the inbox up to row {@code upToId} as read — the id of the
+     * newest one on screen, so anything that arrived meanwhile stays
+     * unread.
+     */
+    @PutMapping("/users/me/notifications/read-before")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<MarkReadResultDTO> markReadBefore(
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestParam Long upToId) {
+        Long userId = JwtAuthUtils.extractUserId(jwt);
+        return ResponseEntity.ok(new MarkReadResultDTO(userNotificationService.markAllRead(userId, upToId)));
+    }
+}
@@ -6,10 +6,12 @@ import com.be.web.dto.request.VenueRequestDTO;
 import com.be.web.dto.response.VenueResponseDTO;
 import com.be.web.mapper.VenueMapper;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +35,19 @@ public class VenueController {
                 .collect(Collectors.toList()));
     }
 
+    // Rooms free for the whole of [start, end), e.g. when picking a venue
+    // for a new group or event.
+    @GetMapping("/available")
+    public ResponseEntity<List<VenueResponseDTO>> getAvailable(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) Integer minCapacity) {
+        List<Venue> venues = venueService.findAvailable(start, end, minCapacity);
+        return ResponseEntity.ok(venues.stream()
+                .map(venueMapper::toResponseDTO)
+                .collect(Collectors.toList()));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VenueResponseDTO> getById(@PathVariable Long id) {
         Venue venue = venueService.getById(id);
@@ -2,6 +2,8 @@ package com.be.web.controller;
 
 import com.be.config.JwtAuthUtils;
 import com.be.domain.entity.Workshop;
+import com.be.service.CatalogCache;
+import com.be.service.PublicCatalogService;
 import com.be.service.TeacherService;
 import com.be.service.WorkshopService;
 import com.be.web.dto.request.WorkshopCreateDTO;
@@ -11,13 +13,16 @@ import com.be.web.mapper.WorkshopMapper;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,33 +38,44 @@ public class WorkshopController {
     private final WorkshopService workshopService;
     private final WorkshopMapper mapper;
     private final TeacherService teacherService;
+    private final PublicCatalogService catalogService;
+    private final CatalogCache catalogCache;
 
-    public WorkshopController(WorkshopService workshopService, WorkshopMapper mapper, TeacherService teacherService) {
+    public WorkshopController(WorkshopService workshopService, WorkshopMapper mapper, TeacherService teacherService,
+                              PublicCatalogService catalogService, CatalogCache catalogCache) {
         this.workshopService = workshopService;
         this.mapper = mapper;
         this.teacherService = teacherService;
+        this.catalogService = catalogService;
+        this.catalogCache = catalogCache;
     }
 
-    // Public list (optional filter upcoming=true)
+    // Public list (optional filter upcoming=true) — cached, see PublicCatalogService.
+    // Conditional GET: a matching If-None-Match returns 304 (null body) before
+    // the cache or DB is touched. no-cache (= "revalidate every time") also
+    // keeps Spring Security from adding its default no-store, under which
+    // browsers would never send If-None-Match at all.
     @GetMapping
     public ResponseEntity<List<WorkshopListDTO>> list(@RequestParam(required = false, defaultValue = "false") boolean upcoming,
-                                                      @RequestParam(required = false) String q) {
-        List<Workshop> list = workshopService.listWorkshops(upcoming);
-        if (q != null && !q.isBlank()) {
-            list = list.stream()
-                    .filter(w -> w.getWorkshopName() != null && w.getWorkshopName().toLowerCase().contains(q.toLowerCase()))
-                    .toList();
+                                                      @RequestParam(required = false) String q,
+                                                      WebRequest request) {
+        String etag = upcoming ? catalogCache.workshopETag(LocalDate.now()) : catalogCache.workshopETag();
+        if (request.checkNotModified(etag)) {
+            return null;
         }
-        List<WorkshopListDTO> dto = list.stream().map(mapper::toListDTO).collect(Collectors.toList());
-        return ResponseEntity.ok(dto);
+        String query = q == null || q.isBlank() ? null : q.toLowerCase();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                .body(catalogService.listWorkshops(upcoming, query));
     }
 
-    // Detail
+    // Detail — cached, conditional GET as above
     @GetMapping("/{id}")
-    public ResponseEntity<WorkshopDetailDTO> getDetail(@PathVariable Long id) {
-        Workshop w = workshopService.getById(id);
-        WorkshopDetailDTO dto = mapper.toDetailDTO(w);
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<WorkshopDetailDTO> getDetail(@PathVariable Long id, WebRequest request) {
+        if (request.checkNotModified(catalogCache.workshopETag())) {
+            return null;
+        }
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache())
+                .body(catalogService.getWorkshop(id));
     }
 
     // Create — admin or business owner
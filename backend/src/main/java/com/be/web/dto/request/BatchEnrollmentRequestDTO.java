@@ -0,0 +1,28 @@
+package com.be.web.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.LinkedHashSet;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentRequestDTO {
+    // workshop only, same as EnrollmentRequestDTO.groupId — a course's
+    // group is resolved server-side
+    private Long groupId;
+
+    // Everyone to enroll. A set, so a user listed twice is only booked
+    // once; insertion-ordered, so the response lists them as sent. Capped
+    // at one JDBC batch (hibernate.jdbc.batch_size).
+    @NotEmpty
+    @Size(max = 50)
+    private LinkedHashSet<@NotNull Long> userIds;
+}
@@ -12,4 +12,8 @@ import lombok.NoArgsConstructor;
 public class EnrollmentRequestDTO {
     // optional: a user chooses a specific group to join
     private Long groupId;
+
+    // V20 — only for admission-queue groups: when the group is already
+    // full, join its waitlist instead of being turned away.
+    private boolean joinWaitlist;
 }
\ No newline at end of file
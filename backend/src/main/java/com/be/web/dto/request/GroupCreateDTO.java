@@ -37,6 +37,8 @@ public class GroupCreateDTO {
     private Long venueId;
     private Long ageGroupId;
     private boolean active;
+    // V20 — see Group.admissionQueue.
+    private boolean admissionQueue;
 
     // LR-081 (LR-ADR-023) — mutually exclusive with workshopId, enforced
     // in GroupService (see its own comment). recurrenceDays/dates only
@@ -37,6 +37,8 @@ public class GroupUpdateDTO {
     private Long ageGroupId;
     private Long languageId;
     private boolean active;
+    // V20 — see Group.admissionQueue.
+    private boolean admissionQueue;
 
     private Long courseId;
     private List<RecurrenceDay> recurrenceDays;
@@ -0,0 +1,35 @@
+package com.be.web.dto.request;
+
+import com.be.domain.entity.enums.BroadcastAudience;
+import com.be.domain.entity.enums.Role;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBroadcastRequestDTO {
+    @NotNull
+    private BroadcastAudience audience;
+
+    // ROLE only
+    private Role role;
+
+    // WORKSHOP / COURSE / GROUP: the workshop, course or group id
+    private Long targetId;
+
+    @AssertTrue(message = "role is required for audience ROLE, targetId for WORKSHOP/COURSE/GROUP, neither for ALL")
+    public boolean isTargetConsistent() {
+        if (audience == null) return true; // reported by @NotNull
+        return switch (audience) {
+            case ALL -> role == null && targetId == null;
+            case ROLE -> role != null && targetId == null;
+            case WORKSHOP, COURSE, GROUP -> role == null && targetId != null;
+        };
+    }
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 // LR-015 admin/owner dashboard metrics (Круглый стол #2/#3, 2026-08-05).
@@ -19,4 +20,7 @@ public class AdminMetricsDTO {
     private List<RegistrationTrendPointDTO> registrationTrend;
     private List<WorkshopAlertDTO> attentionAlerts;
     private RetentionDTO retention;
+    // When this snapshot was last rebuilt or patched (see MetricsService) —
+    // the dashboard is no longer computed per request.
+    private LocalDateTime asOf;
 }
@@ -0,0 +1,25 @@
+package com.be.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// V20 — an enroll request still waiting in a group's admission queue
+// (EnrollmentAdmissionQueue), or its outcome once decided. state is
+// QUEUED (position = requests ahead + 1, 0 while being processed),
+// ENROLLED / WAITLISTED (enrollment set) or REJECTED (code/message as
+// GlobalExceptionHandler would have answered the enroll request).
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdmissionTicketDTO {
+    private String ticket;
+    private Long groupId;
+    private String state;
+    private Long position;
+    private EnrollmentResponseDTO enrollment;
+    private String code;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.be.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEnrollmentResponseDTO {
+    private List<EnrollmentResponseDTO> enrollments;
+    // the one Order covering every enrollment above; null when free
+    private OrderResponseDTO order;
+}
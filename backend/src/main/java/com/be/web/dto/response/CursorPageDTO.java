@@ -0,0 +1,36 @@
+package com.be.web.dto.response;
+
+import com.be.service.KeysetRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Envelope for the keyset-paginated admin lists (see KeysetRequest).
+ * nextCursor is null on the last page; otherwise pass it back as
+ * ?cursor=... together with the same sort and filters for the next one.
+ * No total count on purpose — that would be a full-table COUNT(*) on
+ * every page, which is exactly the cost paging is here to avoid.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private int size;
+    private String nextCursor;
+
+    public static <E, T> CursorPageDTO<T> of(Window<E> window, KeysetRequest page, Function<? super E, ? extends T> mapper) {
+        return CursorPageDTO.<T>builder()
+                .items(window.getContent().stream().<T>map(mapper).toList())
+                .size(page.size())
+                .nextCursor(KeysetRequest.nextCursor(window))
+                .build();
+    }
+}
@@ -47,6 +47,8 @@ public class GroupDTO {
     private String venueName;
 
     private boolean active;
+    // V20 — see Group.admissionQueue.
+    private boolean admissionQueue;
 
     // LR-081 (LR-ADR-023)
     private Long courseId;
@@ -20,4 +20,14 @@ public class GroupFillRateDTO {
     private int capacity;
     private int enrolledCount;
     private double fillRatio;
+
+    // Target of GroupRepository.findActiveFillRates' JPQL constructor
+    // expression — wrapper types because that's what Hibernate hands a
+    // "new" expression. Ratio derived here so the query doesn't need a
+    // division.
+    public GroupFillRateDTO(Long groupId, String workshopTitle, String groupTitle,
+                            LocalDateTime startDateTime, Integer capacity, Integer enrolledCount) {
+        this(groupId, workshopTitle, groupTitle, startDateTime, capacity, enrolledCount,
+                capacity == 0 ? 0.0 : (double) enrolledCount / capacity);
+    }
 }
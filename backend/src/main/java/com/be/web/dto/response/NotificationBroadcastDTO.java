@@ -0,0 +1,31 @@
+package com.be.web.dto.response;
+
+import com.be.domain.entity.enums.BroadcastAudience;
+import com.be.domain.entity.enums.BroadcastStatus;
+import com.be.domain.entity.enums.Role;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationBroadcastDTO {
+    private Long id;
+    private Long notificationId;
+    private BroadcastAudience audience;
+    private Role role;
+    private Long targetId;
+    private BroadcastStatus status;
+    private int totalRecipients;
+    private int processed;
+    private int delivered;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,27 @@
+package com.be.web.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// One date of a Group's schedule (V19). sessionId/venue are only set when a
+// stored group_sessions row is behind it; virtual = expanded from the rule.
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OccurrenceDTO {
+    private Long groupId;
+    private LocalDate date;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private boolean virtual;
+    private Long sessionId;
+    private Long venueId;
+    private String venueName;
+    private boolean manuallyEdited;
+}
@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
@@ -17,4 +18,9 @@ public class SessionDTO {
     private LocalDateTime endDateTime;
     private Long venueId;
     private String venueName;
+    // Set for sessions generated from the Group's recurrence rule.
+    private LocalDate occurrenceDate;
+    private boolean manuallyEdited;
+    // Cancelled rule date (V19) — kept as the exception's record.
+    private boolean cancelled;
 }
@@ -17,6 +17,9 @@ public class UserNotificationResponseDTO {
     private String username;
     private Long notificationId;
     private String notificationTitle;
+    private String notificationMessage;
+    private String notificationType;
+    private LocalDateTime createdAt;
     private boolean read;
     private LocalDateTime readAt;
 }
\ No newline at end of file
@@ -1,14 +1,23 @@
 package com.be.web.handler;
 
+import com.be.domain.exception.AdmissionQueueFullException;
 import com.be.domain.exception.AlreadyEnrolledException;
 import com.be.domain.exception.EmailNotVerifiedException;
 import com.be.domain.exception.GroupFullException;
+import com.be.domain.exception.IdempotencyKeyReusedException;
+import com.be.domain.exception.IdempotentRequestInProgressException;
+import com.be.domain.exception.InvalidIdempotencyKeyException;
+import com.be.domain.exception.InvalidDateRangeException;
+import com.be.domain.exception.InvalidPageRequestException;
 import com.be.domain.exception.InvalidVerificationTokenException;
+import com.be.domain.exception.OccurrenceNotFoundException;
+import com.be.domain.exception.VenueConflictException;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -19,6 +28,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import java.util.HashMap;
@@ -247,6 +257,68 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    /**
+     * Keyset-paginated admin lists (KeysetRequest): unknown sort field,
+     * size below 1, or a cursor that's malformed / from another sort.
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPageRequest(InvalidPageRequestException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("code", "INVALID_PAGE_REQUEST");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Schedule range queries (OccurrenceService): 'to' before 'from', or a
+     * range wider than app.occurrences.max-range-days.
+     */
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidDateRange(InvalidDateRangeException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("code", "INVALID_DATE_RANGE");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * Cancelling a date the group's recurrence rule doesn't have
+     * (SessionService.cancelOccurrence) — the occurrence in the path
+     * doesn't exist, so 404 rather than the catch-all's 500.
+     */
+    @ExceptionHandler(OccurrenceNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleOccurrenceNotFound(OccurrenceNotFoundException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.NOT_FOUND.value());
+        body.put("error", "Not Found");
+        body.put("code", "OCCURRENCE_NOT_FOUND");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+    }
+
+    /**
+     * A path variable or query parameter that doesn't convert to its
+     * declared type (e.g. ?format=xlsx on the participant export, or a
+     * non-numeric id) — the client's mistake, not a 500.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTypeMismatch(MethodArgumentTypeMismatchException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("code", "INVALID_PARAMETER");
+        body.put("message", "Invalid value for parameter '" + ex.getName() + "'");
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
     /**
      * LR-084 — EnrollmentService's atomic capacity check found nothing left.
      * 409 Conflict: the request is well-formed, but the resource's current
@@ -288,4 +360,97 @@ public class GlobalExceptionHandler {
 
         return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
     }
-}
\ No newline at end of file
+
+    /**
+     * A session or event write would put two bookings in the same venue at
+     * the same time (VenueOccupancyIndex). 409 like GroupFullException: the
+     * request is fine, the room's current schedule rejects it. The message
+     * names the clashing booking.
+     */
+    @ExceptionHandler(VenueConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleVenueConflict(VenueConflictException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("code", "VENUE_CONFLICT");
+        body.put("message", ex.getMessage());
+
+        log.debug("Write rejected, venue double-booked: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    /**
+     * A group's admission queue (V20, EnrollmentAdmissionQueue) is at
+     * capacity. 503 with Retry-After rather than 409: nothing is wrong with
+     * the request, the client should simply send it again shortly.
+     */
+    @ExceptionHandler(AdmissionQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleAdmissionQueueFull(AdmissionQueueFullException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("code", "ADMISSION_QUEUE_FULL");
+        body.put("message", ex.getMessage());
+
+        log.debug("Enrollment rejected, admission queue full: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+
+    /**
+     * Idempotency-Key header that IdempotencyGuard can't use (blank or too
+     * long). 400 like the other malformed-request cases.
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("code", "INVALID_IDEMPOTENCY_KEY");
+        body.put("message", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    /**
+     * An Idempotency-Key sent again with a different endpoint or body
+     * (V22). 422: the request itself is fine, but it can't go with that
+     * key — a client bug, not something a retry fixes.
+     */
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.UNPROCESSABLE_ENTITY.value());
+        body.put("error", "Unprocessable Entity");
+        body.put("code", "IDEMPOTENCY_KEY_REUSED");
+        body.put("message", ex.getMessage());
+
+        log.debug("Request rejected, idempotency key reused: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(body);
+    }
+
+    /**
+     * The first request with this Idempotency-Key is still running (V22).
+     * 409 with Retry-After: the same request sent again shortly gets the
+     * first one's response.
+     */
+    @ExceptionHandler(IdempotentRequestInProgressException.class)
+    public ResponseEntity<Map<String, Object>> handleIdempotentRequestInProgress(
+            IdempotentRequestInProgressException ex) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("status", HttpStatus.CONFLICT.value());
+        body.put("error", "Conflict");
+        body.put("code", "IDEMPOTENT_REQUEST_IN_PROGRESS");
+        body.put("message", ex.getMessage());
+
+        log.debug("Duplicate request still in progress: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(body);
+    }
+}
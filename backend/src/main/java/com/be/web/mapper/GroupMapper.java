@@ -23,7 +23,7 @@ public class GroupMapper {
                 .endDateTime(group.getEndDateTime())
                 // capacity / enrolled
                 .capacity(group.getCapacity())
-                .enrolledCount(group.getEnrollments() == null ? 0 : group.getEnrollments().size())
+                .enrolledCount(group.getEnrolledCount())
                 // relations by id
                 .workshopId(group.getWorkshop() != null ? group.getWorkshop().getId() : null)
                 .workshopTitle(
@@ -44,6 +44,7 @@ public class GroupMapper {
                 .venueId(group.getVenue() != null ? group.getVenue().getId() : null)
                 .venueName(group.getVenue() != null ? formatVenueName(group.getVenue()) : null)
                 .active(group.isActive())
+                .admissionQueue(group.isAdmissionQueue())
                 // LR-081 (LR-ADR-023)
                 .courseId(group.getCourse() != null ? group.getCourse().getId() : null)
                 .recurrenceDays(group.getRecurrenceDays())
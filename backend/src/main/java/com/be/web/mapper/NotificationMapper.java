@@ -1,7 +1,9 @@
 package com.be.web.mapper;
 
 import com.be.domain.entity.Notification;
+import com.be.domain.entity.NotificationBroadcast;
 import com.be.web.dto.request.NotificationRequestDTO;
+import com.be.web.dto.response.NotificationBroadcastDTO;
 import com.be.web.dto.response.NotificationResponseDTO;
 import org.springframework.stereotype.Component;
 
@@ -27,4 +29,23 @@ public class NotificationMapper {
                 .type(dto.getType())
                 .build();
     }
-}
\ No newline at end of file
+
+    public NotificationBroadcastDTO toBroadcastDTO(NotificationBroadcast broadcast) {
+        if (broadcast == null) return null;
+        return NotificationBroadcastDTO.builder()
+                .id(broadcast.getId())
+                .notificationId(broadcast.getNotification().getId())
+                .audience(broadcast.getAudience())
+                .role(broadcast.getAudienceRole())
+                .targetId(broadcast.getTargetId())
+                .status(broadcast.getStatus())
+                .totalRecipients(broadcast.getTotalRecipients())
+                .processed(broadcast.getProcessed())
+                .delivered(broadcast.getDelivered())
+                .error(broadcast.getError())
+                .createdAt(broadcast.getCreatedAt())
+                .startedAt(broadcast.getStartedAt())
+                .finishedAt(broadcast.getFinishedAt())
+                .build();
+    }
+}
@@ -2,6 +2,8 @@ package com.be.web.mapper;
 
 import com.be.domain.entity.Session;
 import com.be.domain.entity.Venue;
+import com.be.service.OccurrenceService;
+import com.be.web.dto.response.OccurrenceDTO;
 import com.be.web.dto.response.SessionDTO;
 import org.springframework.stereotype.Component;
 
@@ -15,6 +17,24 @@ public class SessionMapper {
                 .endDateTime(s.getEndDateTime())
                 .venueId(s.getVenue() != null ? s.getVenue().getId() : null)
                 .venueName(s.getVenue() != null ? formatVenueName(s.getVenue()) : null)
+                .occurrenceDate(s.getOccurrenceDate())
+                .manuallyEdited(s.isManuallyEdited())
+                .cancelled(s.isCancelled())
+                .build();
+    }
+
+    public OccurrenceDTO toOccurrenceDto(OccurrenceService.Occurrence o) {
+        Session s = o.session();
+        return OccurrenceDTO.builder()
+                .groupId(o.groupId())
+                .date(o.date())
+                .startDateTime(o.startDateTime())
+                .endDateTime(o.endDateTime())
+                .virtual(s == null)
+                .sessionId(s != null ? s.getId() : null)
+                .venueId(s != null && s.getVenue() != null ? s.getVenue().getId() : null)
+                .venueName(s != null && s.getVenue() != null ? formatVenueName(s.getVenue()) : null)
+                .manuallyEdited(s != null && s.isManuallyEdited())
                 .build();
     }
 
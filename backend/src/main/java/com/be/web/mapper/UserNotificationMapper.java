@@ -16,6 +16,9 @@ public class UserNotificationMapper {
                 .username(userNotification.getUser() != null ? (userNotification.getUser().getFirstName() + " " + userNotification.getUser().getLastName()) : null)
                 .notificationId(userNotification.getNotification() != null ? userNotification.getNotification().getId() : null)
                 .notificationTitle(userNotification.getNotification() != null ? userNotification.getNotification().getTitle() : null)
+                .notificationMessage(userNotification.getNotification() != null ? userNotification.getNotification().getMessage() : null)
+                .notificationType(userNotification.getNotification() != null ? userNotification.getNotification().getType() : null)
+                .createdAt(userNotification.getNotification() != null ? userNotification.getNotification().getCreatedAt() : null)
                 .read(userNotification.isRead())
                 .readAt(userNotification.getReadAt())
                 .build();
@@ -49,14 +49,21 @@ public class WorkshopMapper {
      * Maps workshop to detail DTO; builds an immutable result
      */
     public WorkshopDetailDTO toDetailDTO(Workshop w) {
+        int enrollments = w.getEnrollments() == null ? 0 : w.getEnrollments().size();
+        return toDetailDTO(w, enrollments);
+    }
+
+    /**
+     * Count-aware variant: totalEnrollments is passed in rather than taken
+     * from w.getEnrollments().
+     */
+    public WorkshopDetailDTO toDetailDTO(Workshop w, int enrollments) {
         TeacherInfoDTO teacher = w.getTeacher() != null ? teacherMapper.toInfoDTO(w.getTeacher()) : null;
         List<GroupDTO> groups = toGroupDTOs(w);
         List<WorkshopFileDTO> files = w.getFiles() == null ? List.of() : w.getFiles().stream()
                 .map(this::toFileDTO)
                 .collect(Collectors.toList());
 
-        int enrollments = w.getEnrollments() == null ? 0 : w.getEnrollments().size();
-
         // Builds DTO with workshop's ID, title, description, teacher
         return WorkshopDetailDTO.builder()
                 .id(w.getId())
@@ -95,11 +102,8 @@ public class WorkshopMapper {
 
                 // capacity
                 .capacity(g.getCapacity())
-                .enrolledCount(
-                        g.getEnrollments() == null
-                                ? 0
-                                : g.getEnrollments().size()
-                )
+                // V21 counters — no enrollments loaded or aggregated
+                .enrolledCount(g.getEnrolledCount())
 
                 // relations by id
                 .workshopId(g.getWorkshop() != null ? g.getWorkshop().getId() : null)
@@ -112,6 +116,7 @@ public class WorkshopMapper {
                 .venueName(g.getVenue() != null ? formatVenueName(g.getVenue()) : null)
 
                 .active(g.isActive())
+                .admissionQueue(g.isAdmissionQueue())
                 .build();
     }
 
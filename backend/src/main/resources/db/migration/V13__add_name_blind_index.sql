@@ -0,0 +1,27 @@
+-- V13__add_name_blind_index.sql
+--
+-- first_name/last_name on users/teachers/participants are AES-GCM
+-- ciphertext (V2) — no SQL predicate can match them, so
+-- UserService.searchUsers had to load and decrypt the whole users table
+-- on every admin search. name_blind_index holds keyed-HMAC digests of the
+-- names' trigrams and word prefixes (BlindIndex), space-separated, and is
+-- kept current by NameBlindIndexListener on every entity write.
+--
+-- Searches test "row index contains every token of the search term" with
+-- string_to_array(...) @> string_to_array(...); the GIN expression indexes
+-- below use the exact same expression, so Postgres can answer that from
+-- the index instead of scanning the table.
+--
+-- Backfill is NOT done here: the HMAC key is derived from
+-- FIELD_ENCRYPTION_KEY, which Flyway never sees, and the plaintext names
+-- only exist after decryption in the app. NULL means "not indexed yet" —
+-- NameBlindIndexBackfillRunner fills those rows in on application start
+-- (an empty string is a real value: a row with no name at all).
+
+ALTER TABLE users        ADD COLUMN name_blind_index TEXT;
+ALTER TABLE teachers     ADD COLUMN name_blind_index TEXT;
+ALTER TABLE participants ADD COLUMN name_blind_index TEXT;
+
+CREATE INDEX idx_users_name_blind_index        ON users        USING GIN (string_to_array(name_blind_index, ' '));
+CREATE INDEX idx_teachers_name_blind_index     ON teachers     USING GIN (string_to_array(name_blind_index, ' '));
+CREATE INDEX idx_participants_name_blind_index ON participants USING GIN (string_to_array(name_blind_index, ' '));
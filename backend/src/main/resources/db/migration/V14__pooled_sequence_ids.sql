@@ -0,0 +1,57 @@
+-- V14__pooled_sequence_ids.sql
+--
+-- Every entity used GenerationType.IDENTITY, which makes Hibernate run
+-- each INSERT on its own to read back the generated key, so JDBC batching
+-- could never kick in (e.g. a semester of group_sessions meant one round
+-- trip per row). Entities now use SEQUENCE with allocationSize 50 and the
+-- pooled-lo optimizer (hibernate.id.optimizer.pooled.preferred). One
+-- nextval reserves [value, value + 49] for the app, and inserts go out in
+-- batches.
+--
+-- This keeps the BIGSERIAL sequences every table already has. No id is
+-- rewritten and the column DEFAULTs stay, so raw SQL inserts
+-- (INSERT ... SELECT, psql) still work. Under pooled-lo a bare nextval
+-- just claims the first id of a block nobody else will use.
+--
+-- Each sequence is bumped to INCREMENT BY 50 (it must equal allocationSize;
+-- Hibernate checks this at startup). It is also moved to at least
+-- MAX(id), in case a row was ever inserted with an explicit id. The next
+-- block therefore starts above every existing row. The ids skipped in
+-- between are harmless.
+
+DO $$
+DECLARE
+    t   RECORD;
+    seq TEXT;
+BEGIN
+    FOR t IN SELECT * FROM (VALUES
+        ('activities', 'id'),
+        ('age_groups', 'id'),
+        ('contracts', 'id'),
+        ('courses', 'id'),
+        ('enrollments', 'id'),
+        ('events', 'id'),
+        ('feedbacks', 'feedback_id'),
+        ('files', 'id'),
+        ('workshop_groups', 'id'),
+        ('languages', 'id'),
+        ('notifications', 'notification_id'),
+        ('orders', 'id'),
+        ('participants', 'id'),
+        ('payments', 'id'),
+        ('performances', 'id'),
+        ('group_sessions', 'id'),
+        ('teachers', 'id'),
+        ('users', 'id'),
+        ('user_notifications', 'user_notification_id'),
+        ('venues', 'id'),
+        ('workshops', 'workshop_id'),
+        ('workshop_files', 'id')
+    ) AS v(tbl, col)
+    LOOP
+        seq := pg_get_serial_sequence(t.tbl, t.col);
+        EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', seq);
+        EXECUTE format('SELECT setval(%L, GREATEST((SELECT COALESCE(MAX(%I), 0) FROM %I), (SELECT last_value FROM %s)))',
+                       seq, t.col, t.tbl, seq);
+    END LOOP;
+END $$;
@@ -0,0 +1,38 @@
+-- V15__add_mail_outbox.sql
+--
+-- Transactional outbox for outgoing mail. Registration and resend-
+-- verification used to talk SMTP inside the request's DB transaction: a
+-- slow Brevo relay held the connection (and the request) for the whole
+-- round trip, and a failed send was only ever logged — the user just
+-- never got the link. The message is now written here in the same
+-- transaction as the user row (so it exists if and only if the user does)
+-- and MailOutboxDispatcher delivers it afterwards with retries.
+--
+-- status: PENDING (due at next_attempt_at), SENDING (claimed by a worker;
+-- next_attempt_at is the lease expiry, after which another poll may
+-- reclaim it), SENT, DEAD (gave up — kept for inspection/replay).
+--
+-- payload is whatever the template needs — for VERIFICATION that's the
+-- link, which carries the plaintext token, so it's encrypted at rest
+-- (EncryptedStringConverter) and cleared once the mail has gone out.
+
+CREATE TABLE mail_outbox
+(
+    id              BIGSERIAL PRIMARY KEY,
+    template        VARCHAR(40)  NOT NULL,
+    recipient       VARCHAR(255) NOT NULL,
+    payload         TEXT,
+    status          VARCHAR(20)  NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP    NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    sent_at         TIMESTAMP
+);
+
+-- The poll: due PENDING rows and expired SENDING leases, oldest first.
+CREATE INDEX idx_mail_outbox_due ON mail_outbox (next_attempt_at)
+    WHERE status IN ('PENDING', 'SENDING');
+
+-- Same pooled-lo allocation as every other table (V14).
+ALTER SEQUENCE mail_outbox_id_seq INCREMENT BY 50;
@@ -0,0 +1,60 @@
+-- V16__add_notification_broadcasts.sql
+--
+-- Sending one admin Notification to everybody meant one
+-- UserNotificationService.create per user — two lookups and an insert
+-- each, ~30k round trips for 10k users, all inside one HTTP request. A
+-- broadcast is now a background job (NotificationBroadcastRunner) that
+-- materializes user_notifications with one INSERT ... SELECT per chunk of
+-- recipients. This table is the job: what to send to whom, where it got
+-- to, and how it ended.
+--
+-- audience: ALL, ROLE (audience_role), or the active (PENDING/CONFIRMED)
+-- enrollees of a WORKSHOP / COURSE / GROUP (target_id). Only enabled users.
+--
+-- status: PENDING (waiting for the runner), RUNNING (updated_at is the
+-- heartbeat — bumped with every chunk; a RUNNING job whose heartbeat is
+-- older than the lease is picked up again), COMPLETED, FAILED (error).
+--
+-- last_user_id is the keyset cursor: recipients are walked in users.id
+-- order and each chunk commits its rows together with the new cursor, so
+-- a resumed job continues exactly where the last committed chunk ended.
+
+CREATE TABLE notification_broadcasts
+(
+    id               BIGSERIAL PRIMARY KEY,
+    notification_id  BIGINT      NOT NULL REFERENCES notifications (notification_id) ON DELETE CASCADE,
+    audience         VARCHAR(20) NOT NULL,
+    audience_role    VARCHAR(255),
+    target_id        BIGINT,
+    status           VARCHAR(20) NOT NULL,
+    total_recipients INT         NOT NULL DEFAULT 0,
+    processed        INT         NOT NULL DEFAULT 0,
+    delivered        INT         NOT NULL DEFAULT 0,
+    last_user_id     BIGINT      NOT NULL DEFAULT 0,
+    error            VARCHAR(1000),
+    requested_by     BIGINT REFERENCES users (id),
+    created_at       TIMESTAMP   NOT NULL DEFAULT now(),
+    started_at       TIMESTAMP,
+    updated_at       TIMESTAMP   NOT NULL DEFAULT now(),
+    finished_at      TIMESTAMP
+);
+
+CREATE INDEX idx_notification_broadcasts_unfinished ON notification_broadcasts (updated_at)
+    WHERE status IN ('PENDING', 'RUNNING');
+
+-- A user gets a given notification once. Makes the chunk insert
+-- idempotent (ON CONFLICT DO NOTHING) — re-running a chunk after a crash,
+-- or broadcasting the same notification to an overlapping audience, adds
+-- nothing twice. Any duplicates already there are collapsed first,
+-- keeping the oldest row (and with it its read state).
+DELETE FROM user_notifications un
+USING user_notifications older
+WHERE older.notification_id = un.notification_id
+  AND older.user_id = un.user_id
+  AND older.user_notification_id < un.user_notification_id;
+
+CREATE UNIQUE INDEX uk_user_notifications_notification_user
+    ON user_notifications (notification_id, user_id);
+
+-- Same pooled-lo allocation as every other table (V14).
+ALTER SEQUENCE notification_broadcasts_id_seq INCREMENT BY 50;
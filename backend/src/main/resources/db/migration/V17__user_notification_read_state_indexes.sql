@@ -0,0 +1,23 @@
+-- V17__user_notification_read_state_indexes.sql
+--
+-- The notification badge used to fetch a user's whole inbox (findByUserId
+-- had no index to use either — only the V16 unique index, which leads
+-- with notification_id) and clear it with one PUT per row. Now there's
+-- an unread count, a keyset-paginated inbox and bulk mark-as-read, and
+-- these are their indexes.
+--
+-- is_read was nullable (DEFAULT FALSE only); the entity maps it to a
+-- primitive boolean and nothing ever wrote NULL on purpose. NOT NULL
+-- keeps "unread" a single value the partial index can match.
+
+UPDATE user_notifications SET is_read = FALSE WHERE is_read IS NULL;
+ALTER TABLE user_notifications ALTER COLUMN is_read SET NOT NULL;
+
+-- Inbox pages (newest first, keyset on id) and the bulk updates' scope.
+CREATE INDEX idx_user_notifications_user ON user_notifications (user_id, user_notification_id);
+
+-- Unread count: only unread rows are in here, so the badge query reads a
+-- handful of index entries however long the user's history is. Written
+-- as "= FALSE" to match the queries' predicate literally.
+CREATE INDEX idx_user_notifications_unread ON user_notifications (user_id)
+    WHERE is_read = FALSE;
@@ -0,0 +1,35 @@
+-- V18__add_session_occurrence_tracking.sql
+--
+-- Regenerating a recurring Group's sessions (SessionService.
+-- generateSessionsFromRecurrence) used to delete every group_sessions row
+-- and insert the whole year again — one changed weekday time meant
+-- hundreds of deletes and inserts, new ids for every session, and any
+-- hand-made change to a single date lost. It now diffs the rule's
+-- occurrences against what's there, which needs to know which row is
+-- which occurrence:
+--
+-- occurrence_date: the rule date a row was generated for (NULL for
+-- sessions added by hand, which regeneration never touches).
+-- manually_edited: an admin changed this occurrence by hand (moved it,
+-- other time, other venue) — an exception to the rule that regeneration
+-- keeps as it is.
+
+ALTER TABLE group_sessions
+    ADD COLUMN occurrence_date DATE,
+    ADD COLUMN manually_edited BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Existing sessions of recurring groups were all generated (full
+-- replace), so their date is their occurrence — one row per date, the
+-- oldest if there happen to be two. The next regeneration then only
+-- touches what actually differs from the rule.
+UPDATE group_sessions s
+SET occurrence_date = s.start_date_time::date
+FROM workshop_groups g
+WHERE g.id = s.group_id
+  AND g.recurrence_pattern IS NOT NULL
+  AND s.start_date_time::date BETWEEN g.recurrence_start_date AND g.recurrence_end_date
+  AND s.id = (SELECT min(s2.id) FROM group_sessions s2
+              WHERE s2.group_id = s.group_id AND s2.start_date_time::date = s.start_date_time::date);
+
+CREATE UNIQUE INDEX uk_group_sessions_occurrence ON group_sessions (group_id, occurrence_date)
+    WHERE occurrence_date IS NOT NULL;
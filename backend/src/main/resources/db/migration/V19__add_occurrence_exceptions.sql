@@ -0,0 +1,22 @@
+-- V19__add_occurrence_exceptions.sql
+--
+-- Recurring groups' schedules can now be read for a date range without
+-- materializing them (OccurrenceService): rule dates are expanded on the
+-- fly and stored group_sessions rows merged over them.
+--
+-- recurrence_version: bumped whenever the rule (pattern or window)
+-- changes; the compiled-rule cache is keyed on it.
+-- cancelled: a rule date that doesn't take place. Like a moved date, it's
+-- an exception row (occurrence_date set, manually_edited) that stands in
+-- for its date.
+
+ALTER TABLE workshop_groups
+    ADD COLUMN recurrence_version INTEGER NOT NULL DEFAULT 0;
+
+ALTER TABLE group_sessions
+    ADD COLUMN cancelled BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- Range reads look stored rows up by (group, start); the old group_id-only
+-- index is a prefix of this one.
+CREATE INDEX idx_group_sessions_group_start ON group_sessions (group_id, start_date_time);
+DROP INDEX idx_group_sessions_group;
@@ -0,0 +1,17 @@
+-- V20__add_enrollment_admission_queue.sql
+--
+-- Optional admission mode for high-demand groups (EnrollmentAdmissionQueue):
+-- enroll requests for a group with admission_queue set are queued in memory
+-- and a single drainer per group reserves capacity for a whole batch at
+-- once, instead of every request decrementing capacity_left on its own.
+--
+-- Requests that arrive after the group is full can join its waitlist: an
+-- enrollment with status WAITLISTED, holding no capacity. Cancelling or
+-- expiring a held spot promotes the longest-waiting one instead of giving
+-- the spot back — the partial index is that lookup.
+
+ALTER TABLE workshop_groups
+    ADD COLUMN admission_queue BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX idx_enrollments_group_waitlist ON enrollments (group_id, created_at, id)
+    WHERE status = 'WAITLISTED';
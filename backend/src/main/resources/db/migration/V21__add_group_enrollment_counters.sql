@@ -0,0 +1,33 @@
+-- V21__add_group_enrollment_counters.sql
+--
+-- Enrollments per status, kept on the group row. Group.getEnrolledCount(),
+-- the catalog's GroupDTO.enrolledCount and the dashboard fill rates read
+-- these instead of loading or aggregating enrollments. They move in the
+-- same UPDATE as capacity_left (GroupRepository.updateCapacityAndCounts);
+-- GroupCounterReconciler recounts them periodically and repairs drift.
+--
+-- Backfilled from the enrollments already there.
+
+ALTER TABLE workshop_groups
+    ADD COLUMN pending_count    INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN confirmed_count  INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN cancelled_count  INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN expired_count    INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN waitlisted_count INTEGER NOT NULL DEFAULT 0;
+
+UPDATE workshop_groups g
+SET pending_count    = c.pending,
+    confirmed_count  = c.confirmed,
+    cancelled_count  = c.cancelled,
+    expired_count    = c.expired,
+    waitlisted_count = c.waitlisted
+FROM (SELECT group_id,
+             count(*) FILTER (WHERE status = 'PENDING')    AS pending,
+             count(*) FILTER (WHERE status = 'CONFIRMED')  AS confirmed,
+             count(*) FILTER (WHERE status = 'CANCELLED')  AS cancelled,
+             count(*) FILTER (WHERE status = 'EXPIRED')    AS expired,
+             count(*) FILTER (WHERE status = 'WAITLISTED') AS waitlisted
+      FROM enrollments
+      WHERE group_id IS NOT NULL
+      GROUP BY group_id) c
+WHERE g.id = c.group_id;
@@ -0,0 +1,38 @@
+-- V22__add_idempotency_keys.sql
+--
+-- Idempotency-Key support for the POSTs mobile clients retry on flaky
+-- connections: enroll (workshop/course), orders and payments
+-- (IdempotencyGuard). A retried enroll used to repeat the lookups and
+-- the capacity attempt only to end in an ALREADY_ENROLLED 409, and a
+-- retried order was simply a second order.
+--
+-- One row per (user, key). fingerprint is the SHA-256 of the endpoint
+-- and request body — the same key sent with a different request is
+-- refused rather than replayed. status_code is NULL while the first
+-- request is still running; expires_at is then the claim's lease, after
+-- which a retry may take the key over (the instance running it died).
+-- Once it completes, expires_at is the replay TTL and the purge removes
+-- the row after it.
+--
+-- response_body can carry names (order DTOs), so it's encrypted at rest
+-- (EncryptedStringConverter), like mail_outbox.payload.
+
+CREATE TABLE idempotency_keys
+(
+    id              BIGSERIAL PRIMARY KEY,
+    user_id         BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     BYTEA        NOT NULL,
+    status_code     INT,
+    location        VARCHAR(500),
+    response_body   TEXT,
+    created_at      TIMESTAMP    NOT NULL DEFAULT now(),
+    expires_at      TIMESTAMP    NOT NULL,
+    CONSTRAINT uk_idempotency_user_key UNIQUE (user_id, idempotency_key)
+);
+
+-- The purge.
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
+
+-- Same pooled-lo allocation as every other table (V14).
+ALTER SEQUENCE idempotency_keys_id_seq INCREMENT BY 50;
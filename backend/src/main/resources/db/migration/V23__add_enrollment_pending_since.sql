@@ -0,0 +1,21 @@
+-- V23__add_enrollment_pending_since.sql
+--
+-- When an enrollment became PENDING, for the 7-day unpaid sweep
+-- (EnrollmentCleanupService). The sweep used to go by created_at, but a
+-- WAITLISTED enrollment (V20) that is promoted to PENDING keeps its
+-- original created_at — anyone who had waited more than 7 days was
+-- expired by the next sweep before they could pay, and the spot that
+-- freed promoted the next waiter into the same fate.
+--
+-- Set on insert for PENDING rows and again on every promotion. NULL for
+-- rows that have never been PENDING. Existing PENDING rows start from
+-- created_at, which is what the sweep went by until now.
+
+ALTER TABLE enrollments
+    ADD COLUMN pending_since TIMESTAMP;
+
+UPDATE enrollments SET pending_since = created_at WHERE status = 'PENDING';
+
+-- The sweep: stale PENDING rows only.
+CREATE INDEX idx_enrollments_pending_since ON enrollments (pending_since)
+    WHERE status = 'PENDING';
@@ -0,0 +1,106 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.exception.GroupFullException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentService;
+import com.be.service.EnrollmentService.BatchEnrollment;
+import com.be.web.dto.request.BatchEnrollmentRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Multi-user enrollment against a real database: a batch bigger than
+ * what's left of the group writes nothing and leaves capacity_left alone;
+ * one that fits takes all its seats, and its enrollments share one Order
+ * for the whole amount. Not @Transactional — each call commits or rolls
+ * back on its own, as it would behind the controller.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class BatchEnrollmentIntegrationTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void batch_isAllOrNothing_andSharesOneOrder() {
+        Workshop workshop = workshopRepository.save(Workshop.builder()
+                .workshopName("Class trip").price(new BigDecimal("35.00")).build());
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Klasse 4b").titleEn("Class 4b").titleUa("Клас 4б")
+                .capacity(3)
+                .startDateTime(LocalDateTime.of(2031, 10, 1, 9, 0))
+                .workshop(workshop)
+                .build());
+        User payer = user();
+
+        assertThatThrownBy(() -> enrollmentService.enrollBatch(workshop.getId(), payer.getId(),
+                request(group, user(), user(), user(), user())))
+                .isInstanceOf(GroupFullException.class);
+        assertThat(capacityLeft(group)).isEqualTo(3);
+        assertThat(enrollments(group)).isZero();
+
+        BatchEnrollment batch = enrollmentService.enrollBatch(workshop.getId(), payer.getId(),
+                request(group, user(), user(), user()));
+
+        assertThat(capacityLeft(group)).isZero();
+        assertThat(enrollments(group)).isEqualTo(3);
+        Map<String, Object> order = jdbcTemplate.queryForMap(
+                "SELECT user_id, quantity, amount FROM orders WHERE id = ?", batch.order().getId());
+        assertThat(order.get("user_id")).isEqualTo(payer.getId());
+        assertThat(order.get("quantity")).isEqualTo(3);
+        assertThat((BigDecimal) order.get("amount")).isEqualByComparingTo("105.00");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(DISTINCT order_id) FROM enrollments WHERE group_id = ? AND status = 'PENDING'",
+                Long.class, group.getId())).isEqualTo(1);
+    }
+
+    private int capacityLeft(Group group) {
+        return jdbcTemplate.queryForObject("SELECT capacity_left FROM workshop_groups WHERE id = ?",
+                Integer.class, group.getId());
+    }
+
+    private long enrollments(Group group) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM enrollments WHERE group_id = ?",
+                Long.class, group.getId());
+    }
+
+    private static BatchEnrollmentRequestDTO request(Group group, User... users) {
+        LinkedHashSet<Long> userIds = new LinkedHashSet<>();
+        for (User user : users) userIds.add(user.getId());
+        return BatchEnrollmentRequestDTO.builder().groupId(group.getId()).userIds(userIds).build();
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("batch-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+    }
+}
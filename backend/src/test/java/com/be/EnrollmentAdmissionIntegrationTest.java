@@ -0,0 +1,147 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.exception.GroupFullException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentAdmissionQueue;
+import com.be.service.EnrollmentAdmissionQueue.Admission;
+import com.be.service.EnrollmentService;
+import com.be.web.dto.request.EnrollmentRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * V20 against a real database: a burst of enroll requests for an
+ * admission-mode group fills it exactly, the ones that asked are
+ * waitlisted in arrival order, the rest are told it's full — and
+ * cancelling a spot hands it to the first on the waitlist instead of
+ * back to capacity_left. Not @Transactional — the drainer commits on its
+ * own thread.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class EnrollmentAdmissionIntegrationTest {
+
+    private static final int CAPACITY = 5;
+
+    @Autowired
+    private EnrollmentAdmissionQueue admissionQueue;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void burst_fillsTheGroupExactly_andACancelPromotesTheWaitlist() throws Exception {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Opening night").build());
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Premiere").titleEn("Premiere").titleUa("Прем'єра")
+                .capacity(CAPACITY)
+                .startDateTime(LocalDateTime.of(2031, 9, 1, 18, 0))
+                .workshop(workshop)
+                .admissionQueue(true)
+                .build());
+
+        // 20 at once; every other one would take the waitlist.
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 20; i++) users.add(user());
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        List<Future<Admission>> admissions = new ArrayList<>();
+        List<Long> requesters = new ArrayList<>();
+        try {
+            for (int i = 0; i < users.size(); i++) {
+                Long userId = users.get(i).getId();
+                requesters.add(userId);
+                EnrollmentRequestDTO request = EnrollmentRequestDTO.builder()
+                        .groupId(group.getId()).joinWaitlist(i % 2 == 1).build();
+                admissions.add(clients.submit((Callable<Admission>) () ->
+                        admissionQueue.enroll(workshop.getId(), userId, request)));
+            }
+            int full = 0;
+            for (int i = 0; i < admissions.size(); i++) {
+                Long userId = requesters.get(i);
+                try {
+                    Admission a = admissions.get(i).get(30, TimeUnit.SECONDS);
+                    if (a.ticket() != null) {
+                        await().atMost(30, TimeUnit.SECONDS).until(() -> admissionQueue
+                                .findTicket(a.ticket().id(), userId).orElseThrow().decided());
+                    }
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(GroupFullException.class);
+                    full++;
+                }
+            }
+            assertThat(full).isPositive();
+        } finally {
+            clients.shutdown();
+        }
+
+        assertThat(count(group, EnrollmentStatus.CONFIRMED)).isEqualTo(CAPACITY);
+        assertThat(capacityLeft(group)).isZero();
+        long waitlisted = count(group, EnrollmentStatus.WAITLISTED);
+        assertThat(waitlisted).isPositive();
+
+        Long firstWaiting = jdbcTemplate.queryForObject("""
+                SELECT id FROM enrollments WHERE group_id = ? AND status = 'WAITLISTED'
+                ORDER BY created_at, id LIMIT 1""", Long.class, group.getId());
+        Long someConfirmed = jdbcTemplate.queryForObject(
+                "SELECT min(id) FROM enrollments WHERE group_id = ? AND status = 'CONFIRMED'", Long.class, group.getId());
+
+        enrollmentService.cancelEnrollment(someConfirmed, null, true);
+
+        assertThat(status(firstWaiting)).isEqualTo("CONFIRMED");
+        assertThat(count(group, EnrollmentStatus.CONFIRMED)).isEqualTo(CAPACITY);
+        assertThat(count(group, EnrollmentStatus.WAITLISTED)).isEqualTo(waitlisted - 1);
+        assertThat(capacityLeft(group)).isZero();
+    }
+
+    private long count(Group group, EnrollmentStatus status) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM enrollments WHERE group_id = ? AND status = ?",
+                Long.class, group.getId(), status.name());
+    }
+
+    private int capacityLeft(Group group) {
+        return jdbcTemplate.queryForObject("SELECT capacity_left FROM workshop_groups WHERE id = ?",
+                Integer.class, group.getId());
+    }
+
+    private String status(Long enrollmentId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM enrollments WHERE id = ?", String.class, enrollmentId);
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("admission-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,152 @@
+package com.be;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.EnrollmentRepository;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.StatusCounts;
+import com.be.domain.repository.UserRepository;
+import com.be.service.EnrollmentCleanupService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Old vs new 03:00 expiry sweep over the same shape of backlog (1,200 stale
+ * PENDING enrollments spread over 4 groups): the per-row loop
+ * EnrollmentCleanupService used to run (an entity save plus a capacity
+ * UPDATE for every row, reproduced here) against the chunked expireBatch
+ * path. Statement counts are the assertion — wall time on a
+ * shared CI Docker host is too noisy to gate on, so it's only logged.
+ * Also checks the batch path releases exactly the capacity the old one did.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EnrollmentExpiryBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentExpiryBenchmarkTest.class);
+    private static final int GROUPS = 4;
+    private static final int PER_GROUP = 300;
+
+    @Autowired
+    private EnrollmentCleanupService cleanupService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    void batchExpiry_usesFarFewerStatementsThanPerRowLoop_andReleasesTheSameCapacity() {
+        User user = userRepository.save(User.builder()
+                .email("expiry-bench-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Old: the loop as it was before chunking.
+        List<Group> loopGroups = seedStaleBacklog(user);
+        List<Enrollment> stale = loopGroups.stream()
+                .flatMap(g -> enrollmentRepository.findByGroupId(g.getId()).stream())
+                .toList();
+        entityManager.clear(); // detached, as the old findByStatusAndCreatedAtBefore result was
+        stats.clear();
+        long loopStart = System.nanoTime();
+        for (Enrollment e : stale) {
+            e.setStatus(EnrollmentStatus.EXPIRED);
+            enrollmentRepository.save(e);
+            groupRepository.moveSpots(e.getGroup().getId(), -1,
+                    StatusCounts.moved(EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED, 1));
+        }
+        entityManager.flush();
+        long loopMs = (System.nanoTime() - loopStart) / 1_000_000;
+        long loopStatements = stats.getPrepareStatementCount();
+        entityManager.clear();
+
+        // New: the scheduled sweep itself.
+        List<Group> batchGroups = seedStaleBacklog(user);
+        stats.clear();
+        long batchStart = System.nanoTime();
+        cleanupService.expireStalePendingEnrollments();
+        entityManager.flush();
+        long batchMs = (System.nanoTime() - batchStart) / 1_000_000;
+        long batchStatements = stats.getPrepareStatementCount();
+
+        log.info("Expiry of {} rows: per-row loop {} ms / {} statements, batch {} ms / {} statements",
+                GROUPS * PER_GROUP, loopMs, loopStatements, batchMs, batchStatements);
+
+        assertThat(batchStatements).isLessThan(loopStatements / 10);
+        for (List<Group> groups : List.of(loopGroups, batchGroups)) {
+            for (Group g : groups) {
+                assertThat(capacityLeft(g.getId())).isEqualTo(g.getCapacity());
+                assertThat(jdbcTemplate.queryForObject(
+                        "SELECT COUNT(*) FROM enrollments WHERE group_id = ? AND status = 'EXPIRED'",
+                        Integer.class, g.getId())).isEqualTo(PER_GROUP);
+            }
+        }
+    }
+
+    // PER_GROUP stale PENDING enrollments in each of GROUPS fully-booked
+    // groups (capacity_left 0, as it would be with every spot held).
+    private List<Group> seedStaleBacklog(User user) {
+        List<Group> groups = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            Group group = groupRepository.save(Group.builder()
+                    .titleDe("Gruppe").titleEn("Group").titleUa("Група")
+                    .capacity(PER_GROUP)
+                    .capacityLeft(0)
+                    .startDateTime(LocalDateTime.now().plusDays(30))
+                    .build());
+            groups.add(group);
+            for (int i = 0; i < PER_GROUP; i++) {
+                enrollmentRepository.save(Enrollment.builder()
+                        .user(user)
+                        .group(group)
+                        .status(EnrollmentStatus.PENDING)
+                        .build());
+            }
+        }
+        entityManager.flush();
+        for (Group group : groups) {
+            jdbcTemplate.update("UPDATE enrollments SET created_at = ?, pending_since = ? WHERE group_id = ?",
+                    LocalDateTime.now().minusDays(30), LocalDateTime.now().minusDays(30), group.getId());
+            // Group's @PrePersist reads capacityLeft 0 as "unset" and fills
+            // in capacity, so the fully-booked state has to be set after.
+            jdbcTemplate.update("UPDATE workshop_groups SET capacity_left = 0 WHERE id = ?", group.getId());
+        }
+        entityManager.clear();
+        return groups;
+    }
+
+    private int capacityLeft(Long groupId) {
+        return jdbcTemplate.queryForObject("SELECT capacity_left FROM workshop_groups WHERE id = ?",
+                Integer.class, groupId);
+    }
+}
@@ -0,0 +1,104 @@
+package com.be;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentService;
+import com.be.service.GroupCounterReconciler;
+import com.be.web.dto.request.EnrollmentRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V21 against a real database: enrolling and cancelling keep a group's
+ * per-status counters equal to its enrollment rows, Group reads its
+ * enrolled count off them, and a counter knocked out of line behind the
+ * service's back is put right by the reconciler. Not @Transactional —
+ * each service call commits, as it would behind the controller.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class GroupEnrollmentCountersIntegrationTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private GroupCounterReconciler counterReconciler;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void countersFollowEnrollments_andDriftIsRepaired() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Counters").build());
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Zähler").titleEn("Counters").titleUa("Лічильники")
+                .capacity(3)
+                .startDateTime(LocalDateTime.of(2031, 11, 1, 10, 0))
+                .workshop(workshop)
+                .build());
+        EnrollmentRequestDTO request = EnrollmentRequestDTO.builder().groupId(group.getId()).build();
+
+        Enrollment first = enrollmentService.enroll(workshop.getId(), user().getId(), request);
+        enrollmentService.enroll(workshop.getId(), user().getId(), request);
+        enrollmentService.cancelEnrollment(first.getId(), null, true);
+
+        assertThat(counters(group)).containsEntry("confirmed_count", 1).containsEntry("cancelled_count", 1)
+                .containsEntry("pending_count", 0).containsEntry("capacity_left", 2);
+        assertThat(counters(group)).isEqualTo(recounted(group));
+        assertThat(groupRepository.findById(group.getId()).orElseThrow().getEnrolledCount()).isEqualTo(1);
+
+        jdbcTemplate.update("UPDATE workshop_groups SET confirmed_count = 7, expired_count = 2 WHERE id = ?",
+                group.getId());
+
+        assertThat(counterReconciler.reconcile()).isPositive();
+        assertThat(counters(group)).isEqualTo(recounted(group));
+        assertThat(counterReconciler.reconcile()).isZero();
+    }
+
+    private Map<String, Object> counters(Group group) {
+        return jdbcTemplate.queryForMap("""
+                SELECT pending_count, confirmed_count, cancelled_count, expired_count, waitlisted_count, capacity_left
+                FROM workshop_groups WHERE id = ?""", group.getId());
+    }
+
+    // What the counters should say, straight from the rows — capacity_left
+    // is carried over, so the two maps compare whole.
+    private Map<String, Object> recounted(Group group) {
+        return jdbcTemplate.queryForMap("""
+                SELECT count(e.id) FILTER (WHERE e.status = 'PENDING')::int    AS pending_count,
+                       count(e.id) FILTER (WHERE e.status = 'CONFIRMED')::int  AS confirmed_count,
+                       count(e.id) FILTER (WHERE e.status = 'CANCELLED')::int  AS cancelled_count,
+                       count(e.id) FILTER (WHERE e.status = 'EXPIRED')::int    AS expired_count,
+                       count(e.id) FILTER (WHERE e.status = 'WAITLISTED')::int AS waitlisted_count,
+                       g.capacity_left
+                FROM workshop_groups g LEFT JOIN enrollments e ON e.group_id = g.id
+                WHERE g.id = ? GROUP BY g.id""", group.getId());
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("counters-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+    }
+}
@@ -0,0 +1,81 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Workshop;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.GroupService;
+import com.be.service.KeysetRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks GET /groups' keyset pagination end to end against a real DB:
+ * every row of the filtered set comes back exactly once, in sort order,
+ * including across rows that tie on the sort key (the id tiebreaker is
+ * what keeps those from being skipped or repeated at a page boundary).
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class GroupKeysetPaginationTest {
+
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+
+    @Test
+    @Transactional
+    void pagesThroughFilteredSet_inOrder_withoutGapsOrRepeats() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Paging workshop").build());
+        Workshop other = workshopRepository.save(Workshop.builder().workshopName("Other workshop").build());
+        LocalDateTime base = LocalDateTime.of(2027, 1, 1, 10, 0);
+        List<Group> seeded = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            // Pairs share a start time — ties the tiebreaker has to resolve.
+            seeded.add(seedGroup(workshop, base.plusDays(i / 2)));
+        }
+        seedGroup(other, base);
+
+        List<Long> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetRequest page = KeysetRequest.of("startDateTime,desc", cursor, 10, GroupService.PAGE_SORTABLE);
+            Window<Group> window = groupService.findPage(workshop.getId(), null, null, page);
+            window.forEach(g -> seen.add(g.getId()));
+            pageSizes.add(window.size());
+            cursor = KeysetRequest.nextCursor(window);
+        } while (cursor != null);
+
+        List<Long> expected = seeded.stream()
+                .sorted(Comparator.comparing(Group::getStartDateTime).thenComparing(Group::getId).reversed())
+                .map(Group::getId)
+                .toList();
+        assertThat(seen).containsExactlyElementsOf(expected);
+        assertThat(pageSizes).containsExactly(10, 10, 5);
+    }
+
+    private Group seedGroup(Workshop workshop, LocalDateTime start) {
+        return groupRepository.save(Group.builder()
+                .titleDe("Gruppe").titleEn("Group").titleUa("Група")
+                .capacity(10)
+                .capacityLeft(10)
+                .startDateTime(start)
+                .workshop(workshop)
+                .build());
+    }
+}
@@ -0,0 +1,142 @@
+package com.be;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.exception.IdempotencyKeyReusedException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentService;
+import com.be.service.IdempotencyGuard;
+import com.be.service.IdempotencyKeyService;
+import com.be.web.dto.request.EnrollmentRequestDTO;
+import com.be.web.mapper.EnrollmentMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * V22 against a real database: the same enroll sent at once through two
+ * guards — two instances, each with its own memory — runs once, and the
+ * duplicate gets the first response; a third instance replays it from
+ * the row, which holds the body encrypted. Not @Transactional — claim,
+ * enrollment and completion each commit.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class IdempotencyKeyIntegrationTest {
+
+    @Autowired
+    private IdempotencyGuard idempotencyGuard;
+    @Autowired
+    private IdempotencyKeyService idempotencyKeyService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private EnrollmentMapper enrollmentMapper;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentRetries_enrollOnce_andEveryInstanceReplaysTheFirstResponse() throws Exception {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Retry").build());
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Wiederholung").titleEn("Retry").titleUa("Повтор")
+                .capacity(5)
+                .startDateTime(LocalDateTime.of(2031, 12, 1, 10, 0))
+                .workshop(workshop)
+                .build());
+        User user = userRepository.save(User.builder()
+                .email("idempotency-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+        EnrollmentRequestDTO request = EnrollmentRequestDTO.builder().groupId(group.getId()).build();
+        String endpoint = "POST /workshops/" + workshop.getId() + "/enroll";
+        String key = "retry-" + System.nanoTime();
+        AtomicInteger runs = new AtomicInteger();
+
+        List<IdempotencyGuard> instances = List.of(idempotencyGuard, instance(), idempotencyGuard, instance());
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService clients = Executors.newFixedThreadPool(instances.size());
+        List<ResponseEntity<?>> responses = new ArrayList<>();
+        try {
+            List<Future<ResponseEntity<?>>> sent = new ArrayList<>();
+            for (IdempotencyGuard instance : instances) {
+                sent.add(clients.submit(() -> {
+                    start.await(5, TimeUnit.SECONDS);
+                    return instance.execute(key, user.getId(), endpoint, request, () -> {
+                        runs.incrementAndGet();
+                        Enrollment e = enrollmentService.enroll(workshop.getId(), user.getId(), request);
+                        return ResponseEntity.created(URI.create("/api/v1/enrollments/" + e.getId()))
+                                .body(enrollmentMapper.toResponseDTO(e));
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseEntity<?>> f : sent) {
+                responses.add(f.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            clients.shutdown();
+        }
+
+        assertThat(runs).hasValue(1);
+        assertThat(responses).allSatisfy(r -> assertThat(r.getStatusCode().value()).isEqualTo(201));
+        assertThat(responses).extracting(r -> r.getHeaders().getLocation()).containsOnly(
+                responses.get(0).getHeaders().getLocation());
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM enrollments WHERE group_id = ?",
+                Long.class, group.getId())).isEqualTo(1);
+
+        ResponseEntity<?> replayed = instance().execute(key, user.getId(), endpoint, request,
+                () -> ResponseEntity.internalServerError().build());
+        assertThat(replayed.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(objectMapper.readTree((String) replayed.getBody()).get("groupId").asLong()).isEqualTo(group.getId());
+        String atRest = jdbcTemplate.queryForObject(
+                "SELECT response_body FROM idempotency_keys WHERE user_id = ? AND idempotency_key = ?",
+                String.class, user.getId(), key);
+        assertThat(atRest).doesNotContain("groupId");
+
+        EnrollmentRequestDTO other = EnrollmentRequestDTO.builder().groupId(group.getId()).joinWaitlist(true).build();
+        assertThatThrownBy(() -> instance().execute(key, user.getId(), endpoint, other,
+                () -> ResponseEntity.internalServerError().build()))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+    }
+
+    // Another app instance: same database, its own memory.
+    private IdempotencyGuard instance() {
+        return new IdempotencyGuard(idempotencyKeyService, objectMapper, new SimpleMeterRegistry(),
+                Duration.ofHours(24), Duration.ofMinutes(1), 10_000, 100);
+    }
+}
@@ -0,0 +1,180 @@
+package com.be;
+
+import com.be.domain.entity.MailOutboxMessage;
+import com.be.domain.entity.User;
+import com.be.domain.entity.enums.MailOutboxStatus;
+import com.be.domain.entity.enums.MailTemplate;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.MailOutboxRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.service.EmailVerificationService;
+import com.be.service.MailOutboxDispatcher;
+import com.be.service.MailOutboxService;
+import com.be.service.MailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Mail outbox (V15) against a real database: the verification mail is
+ * queued in the registration transaction (and vanishes with it on
+ * rollback), its link is ciphertext at rest, a poll delivers it or
+ * reschedules it, and concurrent claims never hand out the same row.
+ * Not @Transactional — the dispatcher's workers only see committed rows.
+ * The background poller is parked for tests (src/test/resources/config),
+ * so {@link MailOutboxDispatcher#poll()} is driven by hand.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class MailOutboxIntegrationTest {
+
+    @MockitoBean
+    private MailService mailService;
+
+    @Autowired
+    private EmailVerificationService emailVerificationService;
+    @Autowired
+    private MailOutboxService mailOutboxService;
+    @Autowired
+    private MailOutboxDispatcher mailOutboxDispatcher;
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void emptyOutbox() {
+        jdbcTemplate.update("DELETE FROM mail_outbox");
+    }
+
+    @Test
+    void verificationMail_isQueuedWithTheUser_andRolledBackWithIt() {
+        String committed = registerAndQueue(false);
+        String rolledBack = registerAndQueue(true);
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT recipient, status, payload FROM mail_outbox WHERE recipient IN (?, ?)", committed, rolledBack);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("recipient")).isEqualTo(committed);
+        assertThat(rows.get(0).get("status")).isEqualTo("PENDING");
+        // The link carries the plaintext token — never stored as such.
+        assertThat((String) rows.get(0).get("payload")).doesNotContain("verify-email", "token=");
+    }
+
+    @Test
+    void poll_deliversQueuedMail_andClearsTheLink() {
+        String email = registerAndQueue(false);
+
+        mailOutboxDispatcher.poll();
+
+        verify(mailService, timeout(5000)).sendVerificationEmail(eq(email), startsWith("https://"));
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT status, payload, sent_at, attempts FROM mail_outbox WHERE recipient = ?", email);
+            assertThat(row.get("status")).isEqualTo("SENT");
+            assertThat(row.get("payload")).isNull();
+            assertThat(row.get("sent_at")).isNotNull();
+            assertThat(row.get("attempts")).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void poll_failedSend_isRescheduledWithTheError() {
+        String email = registerAndQueue(false);
+        doThrow(new MailSendException("relay unavailable")).when(mailService).sendVerificationEmail(anyString(), anyString());
+
+        mailOutboxDispatcher.poll();
+
+        await().atMost(5, TimeUnit.SECONDS).untilAsserted(() -> {
+            Map<String, Object> row = jdbcTemplate.queryForMap(
+                    "SELECT status, attempts, next_attempt_at, last_error FROM mail_outbox WHERE recipient = ?", email);
+            assertThat(row.get("status")).isEqualTo("PENDING");
+            assertThat(row.get("attempts")).isEqualTo(1);
+            assertThat(((java.sql.Timestamp) row.get("next_attempt_at")).toLocalDateTime())
+                    .isAfter(LocalDateTime.now().plusSeconds(10));
+            assertThat((String) row.get("last_error")).contains("relay unavailable");
+        });
+    }
+
+    @Test
+    void concurrentClaims_skipLockedRows_insteadOfWaitingOrDoubleClaiming() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            transactionTemplate.executeWithoutResult(tx -> mailOutboxService.enqueue(
+                    MailTemplate.VERIFICATION, "claim-" + System.nanoTime() + "@example.com", "payload"));
+        }
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // Holds row locks on the two oldest rows without committing.
+        CompletableFuture<List<Long>> holder = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(tx -> {
+                    List<Long> ids = mailOutboxRepository.findDueForUpdate(
+                                    EnumSet.of(MailOutboxStatus.PENDING), LocalDateTime.now(), Limit.of(2))
+                            .stream().map(MailOutboxMessage::getId).toList();
+                    locked.countDown();
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return ids;
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        long start = System.nanoTime();
+        List<Long> claimed = mailOutboxService.claimDue(10, Duration.ofMinutes(5)).stream()
+                .map(MailOutboxMessage::getId).toList();
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+        List<Long> held = holder.get(10, TimeUnit.SECONDS);
+
+        assertThat(held).hasSize(2);
+        assertThat(claimed).hasSize(2).doesNotContainAnyElementsOf(held);
+        assertThat(waitedMs).isLessThan(2000);
+    }
+
+    private String registerAndQueue(boolean rollback) {
+        String email = "outbox-" + System.nanoTime() + "@example.com";
+        transactionTemplate.executeWithoutResult(tx -> {
+            User user = userRepository.save(User.builder()
+                    .email(email)
+                    .password("irrelevant")
+                    .role(Role.USER)
+                    .build());
+            emailVerificationService.sendVerificationEmail(user);
+            if (rollback) {
+                tx.setRollbackOnly();
+            }
+        });
+        return email;
+    }
+}
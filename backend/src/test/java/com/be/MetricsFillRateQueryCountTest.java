@@ -0,0 +1,125 @@
+package com.be;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.EnrollmentRepository;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.GroupCounterReconciler;
+import com.be.service.MetricsService;
+import com.be.web.dto.response.AdminMetricsDTO;
+import com.be.web.dto.response.GroupFillRateDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * M1 fill rates used to be computed by walking g.getEnrollments() for every
+ * active group — one extra SELECT per group. Proves the dashboard now costs
+ * the same number of statements whether there are 2 active groups or 12,
+ * and that the fill rate still counts only PENDING/CONFIRMED (a CANCELLED
+ * enrollment must not take a spot). Needs a real DB: the counters (V21)
+ * the query reads and their recount are exactly what Mockito can't check.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class MetricsFillRateQueryCountTest {
+
+    @Autowired
+    private MetricsService metricsService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private GroupCounterReconciler counterReconciler;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional
+    void getMetrics_statementCount_doesNotGrowWithNumberOfGroups() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Fill-rate workshop").build());
+        User user = userRepository.save(User.builder()
+                .email("fill-rate-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+
+        Group measured = seedGroup(workshop, user, 10,
+                EnrollmentStatus.PENDING, EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED);
+        seedGroup(workshop, user, 10, EnrollmentStatus.CONFIRMED);
+
+        long withFewGroups = statementsFor(measured, 2, 0.2);
+
+        for (int i = 0; i < 10; i++) {
+            seedGroup(workshop, user, 5, EnrollmentStatus.CONFIRMED, EnrollmentStatus.PENDING);
+        }
+
+        long withManyGroups = statementsFor(measured, 2, 0.2);
+
+        assertThat(withManyGroups).isEqualTo(withFewGroups);
+    }
+
+    private long statementsFor(Group measured, int expectedCount, double expectedRatio) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        // rebuild(), not just getMetrics(): the dashboard is served from a
+        // snapshot, and a full rebuild is where the queries actually run.
+        metricsService.rebuild();
+        long statements = stats.getPrepareStatementCount();
+        AdminMetricsDTO metrics = metricsService.getMetrics();
+
+        GroupFillRateDTO row = metrics.getFillRates().stream()
+                .filter(r -> r.getGroupId().equals(measured.getId()))
+                .findFirst().orElseThrow();
+        assertThat(row.getEnrolledCount()).isEqualTo(expectedCount);
+        assertThat(row.getFillRatio()).isEqualTo(expectedRatio);
+        assertThat(row.getWorkshopTitle()).isEqualTo("Fill-rate workshop");
+        return statements;
+    }
+
+    private Group seedGroup(Workshop workshop, User user, int capacity, EnrollmentStatus... statuses) {
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Gruppe").titleEn("Group").titleUa("Група")
+                .capacity(capacity)
+                .capacityLeft(capacity)
+                .startDateTime(LocalDateTime.now().plusDays(30))
+                .workshop(workshop)
+                .build());
+        for (EnrollmentStatus status : statuses) {
+            enrollmentRepository.save(Enrollment.builder()
+                    .user(user)
+                    .group(group)
+                    .status(status)
+                    .build());
+        }
+        // Saved behind EnrollmentService's back — recount, as the reconciler would.
+        counterReconciler.reconcile();
+        return group;
+    }
+}
@@ -0,0 +1,210 @@
+package com.be;
+
+import com.be.domain.entity.Notification;
+import com.be.domain.entity.NotificationBroadcast;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.BroadcastAudience;
+import com.be.domain.entity.enums.BroadcastStatus;
+import com.be.domain.repository.NotificationRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.NotificationBroadcastRunner;
+import com.be.service.NotificationBroadcastService;
+import com.be.web.dto.request.NotificationBroadcastRequestDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Admin broadcasts (V16) against a real database: a 10k-user broadcast
+ * finishes in a handful of chunk statements, audiences pick exactly the
+ * active enrollees, repeating a broadcast adds nothing, and a broadcast
+ * whose runner died is resumed from its cursor — by the periodic re-scan
+ * too, once its lease runs out. Not @Transactional — the
+ * runner only starts after the request commits. The users made here are
+ * removed again so other tests' counts aren't affected.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "app.notifications.broadcast.rescan-ms=200")
+class NotificationBroadcastIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationBroadcastIntegrationTest.class);
+    private static final String EMAIL_PREFIX = "broadcast-";
+
+    @Autowired
+    private NotificationBroadcastService broadcastService;
+    @Autowired
+    private NotificationBroadcastRunner broadcastRunner;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeBroadcastUsers() {
+        jdbcTemplate.update("DELETE FROM user_notifications WHERE user_id IN "
+                + "(SELECT id FROM users WHERE email LIKE ?)", EMAIL_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM enrollments WHERE user_id IN "
+                + "(SELECT id FROM users WHERE email LIKE ?)", EMAIL_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", EMAIL_PREFIX + "%");
+    }
+
+    @Test
+    void broadcastToAll_tenThousandUsers_inAFewChunkStatements() {
+        jdbcTemplate.update("""
+                INSERT INTO users (email, password, role, enabled, created_at)
+                SELECT ? || g || '@example.com', 'irrelevant', 'USER', true, now()
+                FROM generate_series(1, 10000) g""", EMAIL_PREFIX + System.nanoTime() + "-");
+        Long enabledUsers = jdbcTemplate.queryForObject("SELECT count(*) FROM users WHERE enabled", Long.class);
+        Notification notification = notification();
+        long chunksBefore = meterRegistry.timer("notifications.broadcast.chunk").count();
+
+        long start = System.nanoTime();
+        NotificationBroadcast requested = broadcastService.request(notification.getId(), all(), null);
+        NotificationBroadcast done = awaitFinished(requested.getId());
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long chunks = meterRegistry.timer("notifications.broadcast.chunk").count() - chunksBefore;
+        log.info("Broadcast to {} users: {} ms, {} chunk statement(s)", enabledUsers, elapsedMs, chunks);
+
+        assertThat(done.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        assertThat(done.getTotalRecipients()).isEqualTo(enabledUsers.intValue());
+        assertThat(done.getProcessed()).isEqualTo(enabledUsers.intValue());
+        assertThat(done.getDelivered()).isEqualTo(enabledUsers.intValue());
+        assertThat(inboxRows(notification)).isEqualTo(enabledUsers);
+        // chunk-size 1000: one statement per thousand, plus at most one empty tail.
+        assertThat(chunks).isLessThanOrEqualTo(enabledUsers / 1000 + 1);
+        assertThat(elapsedMs).isLessThan(30_000);
+    }
+
+    @Test
+    void workshopAudience_isTheActiveEnabledEnrollees_andRepeatingAddsNothing() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Broadcast workshop").build());
+        long confirmed = enrolledUser(workshop, "CONFIRMED", true);
+        long pending = enrolledUser(workshop, "PENDING", true);
+        enrolledUser(workshop, "CANCELLED", true);
+        enrolledUser(workshop, "CONFIRMED", false);
+        Notification notification = notification();
+
+        NotificationBroadcast first = awaitFinished(
+                broadcastService.request(notification.getId(), workshop(workshop), null).getId());
+        NotificationBroadcast repeat = awaitFinished(
+                broadcastService.request(notification.getId(), workshop(workshop), null).getId());
+
+        assertThat(first.getTotalRecipients()).isEqualTo(2);
+        assertThat(first.getDelivered()).isEqualTo(2);
+        assertThat(recipients(notification)).containsExactlyInAnyOrder(confirmed, pending);
+        assertThat(repeat.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        assertThat(repeat.getProcessed()).isEqualTo(2);
+        assertThat(repeat.getDelivered()).isZero();
+        assertThat(inboxRows(notification)).isEqualTo(2);
+    }
+
+    @Test
+    void runningBroadcastWithoutHeartbeat_isResumedFromItsCursor() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Resume workshop").build());
+        long first = enrolledUser(workshop, "CONFIRMED", true);
+        long second = enrolledUser(workshop, "CONFIRMED", true);
+        long third = enrolledUser(workshop, "CONFIRMED", true);
+        Notification notification = notification();
+        // What a runner that died after its first chunk leaves behind.
+        Long broadcastId = jdbcTemplate.queryForObject("""
+                INSERT INTO notification_broadcasts (notification_id, audience, target_id, status,
+                    total_recipients, processed, delivered, last_user_id, started_at, updated_at)
+                VALUES (?, 'WORKSHOP', ?, 'RUNNING', 3, 1, 1, ?, now() - interval '1 hour', now() - interval '1 hour')
+                RETURNING id""", Long.class, notification.getId(), workshop.getId(), first);
+
+        broadcastRunner.resumeUnfinished();
+        NotificationBroadcast done = awaitFinished(broadcastId);
+
+        assertThat(done.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        assertThat(done.getProcessed()).isEqualTo(3);
+        assertThat(recipients(notification)).containsExactlyInAnyOrder(second, third);
+    }
+
+    @Test
+    void runningBroadcastWithinItsLease_isLeftAlone_untilARescanAfterTheLease() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Rescan workshop").build());
+        long first = enrolledUser(workshop, "CONFIRMED", true);
+        long second = enrolledUser(workshop, "CONFIRMED", true);
+        Notification notification = notification();
+        // A runner that stopped a moment ago, e.g. a quick restart.
+        Long broadcastId = jdbcTemplate.queryForObject("""
+                INSERT INTO notification_broadcasts (notification_id, audience, target_id, status,
+                    total_recipients, processed, delivered, last_user_id, started_at, updated_at)
+                VALUES (?, 'WORKSHOP', ?, 'RUNNING', 2, 1, 1, ?, now(), now())
+                RETURNING id""", Long.class, notification.getId(), workshop.getId(), first);
+
+        broadcastRunner.resumeUnfinished();
+        await().during(1, TimeUnit.SECONDS).atMost(2, TimeUnit.SECONDS).until(() ->
+                broadcastService.getById(broadcastId).getProcessed() == 1);
+        assertThat(broadcastService.getById(broadcastId).getStatus()).isEqualTo(BroadcastStatus.RUNNING);
+
+        // The lease runs out; nobody calls the runner.
+        jdbcTemplate.update("UPDATE notification_broadcasts SET updated_at = now() - interval '1 hour' WHERE id = ?",
+                broadcastId);
+        NotificationBroadcast done = awaitFinished(broadcastId);
+
+        assertThat(done.getStatus()).isEqualTo(BroadcastStatus.COMPLETED);
+        assertThat(done.getProcessed()).isEqualTo(2);
+        assertThat(recipients(notification)).containsExactly(second);
+    }
+
+    private NotificationBroadcast awaitFinished(Long broadcastId) {
+        await().atMost(30, TimeUnit.SECONDS).until(() ->
+                broadcastService.getById(broadcastId).getStatus() == BroadcastStatus.COMPLETED
+                        || broadcastService.getById(broadcastId).getStatus() == BroadcastStatus.FAILED);
+        return broadcastService.getById(broadcastId);
+    }
+
+    private Notification notification() {
+        return notificationRepository.save(Notification.builder()
+                .title("Spielplan online")
+                .message("Der neue Spielplan ist da.")
+                .type("BROADCAST")
+                .build());
+    }
+
+    private long enrolledUser(Workshop workshop, String status, boolean enabled) {
+        Long userId = jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password, role, enabled, created_at)
+                VALUES (?, 'irrelevant', 'USER', ?, now()) RETURNING id""", Long.class,
+                EMAIL_PREFIX + System.nanoTime() + "@example.com", enabled);
+        jdbcTemplate.update("INSERT INTO enrollments (user_id, workshop_id, status, created_at) VALUES (?, ?, ?, now())",
+                userId, workshop.getId(), status);
+        return userId;
+    }
+
+    private long inboxRows(Notification notification) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_notifications WHERE notification_id = ?", Long.class, notification.getId());
+    }
+
+    private List<Long> recipients(Notification notification) {
+        return jdbcTemplate.queryForList(
+                "SELECT user_id FROM user_notifications WHERE notification_id = ?", Long.class, notification.getId());
+    }
+
+    private static NotificationBroadcastRequestDTO all() {
+        return NotificationBroadcastRequestDTO.builder().audience(BroadcastAudience.ALL).build();
+    }
+
+    private static NotificationBroadcastRequestDTO workshop(Workshop workshop) {
+        return NotificationBroadcastRequestDTO.builder()
+                .audience(BroadcastAudience.WORKSHOP).targetId(workshop.getId()).build();
+    }
+}
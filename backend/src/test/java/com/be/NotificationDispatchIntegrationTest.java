@@ -0,0 +1,87 @@
+package com.be;
+
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Enrollment notifications end to end: the in-app inbox entry is written
+ * by the dispatcher after the enrollment commits — and never for an
+ * enrollment that rolls back. Not @Transactional, for the same reason as
+ * MailOutboxIntegrationTest.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class NotificationDispatchIntegrationTest {
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void committedEnrollment_reachesTheInbox_rolledBackOneDoesNot() {
+        Workshop workshop = workshopRepository.save(Workshop.builder().workshopName("Notify workshop").build());
+        User rolledBack = user();
+        User committed = user();
+
+        enroll(workshop, rolledBack, true);
+        enroll(workshop, committed, false);
+
+        // One FIFO queue: once the later, committed enrollment is delivered,
+        // anything the rolled-back one had queued would have been too.
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !inbox(committed).isEmpty());
+        List<Map<String, Object>> rows = inbox(committed);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).get("notification_type")).isEqualTo("ENROLLMENT");
+        assertThat((String) rows.get(0).get("title")).contains("Notify workshop");
+        assertThat(rows.get(0).get("is_read")).isEqualTo(false);
+        assertThat(inbox(rolledBack)).isEmpty();
+    }
+
+    private void enroll(Workshop workshop, User user, boolean rollback) {
+        transactionTemplate.executeWithoutResult(tx -> {
+            enrollmentService.enroll(workshop.getId(), user.getId(), null);
+            if (rollback) {
+                tx.setRollbackOnly();
+            }
+        });
+    }
+
+    private List<Map<String, Object>> inbox(User user) {
+        return jdbcTemplate.queryForList("""
+                SELECT n.notification_type, n.title, un.is_read
+                FROM user_notifications un JOIN notifications n ON n.notification_id = un.notification_id
+                WHERE un.user_id = ?""", user.getId());
+    }
+
+    private User user() {
+        return userRepository.save(User.builder()
+                .email("notify-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+    }
+}
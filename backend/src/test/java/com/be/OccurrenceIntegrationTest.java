@@ -0,0 +1,117 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Session;
+import com.be.domain.exception.OccurrenceNotFoundException;
+import com.be.domain.repository.GroupRepository;
+import com.be.service.OccurrenceService;
+import com.be.service.OccurrenceService.Occurrence;
+import com.be.service.SessionService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * V19 against a real database: a year-long rule is read a month at a time
+ * without any Session rows, a cancelled date is stored as an exception row
+ * and drops out, and the cross-group query picks up both rule-only groups
+ * and groups that only have stored sessions.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+@Transactional
+class OccurrenceIntegrationTest {
+
+    // A year no other test schedules anything in, so the cross-group
+    // query only sees this test's groups.
+    private static final LocalDate APRIL = LocalDate.of(2031, 4, 1);
+
+    @Autowired
+    private OccurrenceService occurrenceService;
+    @Autowired
+    private SessionService sessionService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void monthOfAYearLongRule_withACancelledDate_needsNoGeneratedRows() {
+        Group course = groupRepository.save(Group.builder()
+                .titleDe("Jahreskurs").titleEn("Year course").titleUa("Річний курс")
+                .capacity(10)
+                .startDateTime(LocalDateTime.of(2031, 1, 6, 18, 0))
+                .recurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)))
+                .recurrenceStartDate(LocalDate.of(2031, 1, 1))
+                .recurrenceEndDate(LocalDate.of(2031, 12, 31))
+                .build());
+        entityManager.flush();
+
+        // 2031-04-14 is a Monday.
+        Session cancelled = sessionService.cancelOccurrence(course.getId(), LocalDate.of(2031, 4, 14));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Occurrence> april = occurrenceService.findForGroup(course.getId(), APRIL, APRIL.plusMonths(1).minusDays(1));
+
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(april).extracting(o -> o.startDateTime().toLocalDate()).containsExactly(
+                LocalDate.of(2031, 4, 7), LocalDate.of(2031, 4, 21), LocalDate.of(2031, 4, 28));
+        assertThat(april).allSatisfy(o -> assertThat(o.session()).isNull());
+        // The exception is the only row the group has.
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM group_sessions WHERE group_id = ?", Long.class, course.getId())).isEqualTo(1);
+
+        // A Tuesday isn't one of the rule's dates.
+        assertThatThrownBy(() -> sessionService.cancelOccurrence(course.getId(), LocalDate.of(2031, 4, 15)))
+                .isInstanceOf(OccurrenceNotFoundException.class);
+    }
+
+    @Test
+    void acrossGroups_mergesRuleOnlyAndStoredOnlyGroups_inStartOrder() {
+        Group course = groupRepository.save(Group.builder()
+                .titleDe("Kurs").titleEn("Course").titleUa("Курс")
+                .capacity(10)
+                .startDateTime(LocalDateTime.of(2031, 4, 2, 17, 0))
+                .recurrenceDays(List.of(new RecurrenceDay(DayOfWeek.WEDNESDAY, LocalTime.of(17, 0), 60)))
+                .recurrenceStartDate(LocalDate.of(2031, 4, 1))
+                .recurrenceEndDate(LocalDate.of(2031, 4, 10))
+                .build());
+        Group workshop = groupRepository.save(Group.builder()
+                .titleDe("Workshop").titleEn("Workshop").titleUa("Воркшоп")
+                .capacity(10)
+                .startDateTime(LocalDateTime.of(2031, 4, 5, 10, 0))
+                .build());
+        entityManager.flush();
+        Session day = sessionService.addSession(workshop.getId(),
+                LocalDateTime.of(2031, 4, 5, 10, 0), LocalDateTime.of(2031, 4, 5, 16, 0), null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Occurrence> all = occurrenceService.findAcrossGroups(null, null, APRIL, APRIL.plusDays(13));
+
+        assertThat(all).extracting(Occurrence::groupId, Occurrence::startDateTime).containsExactly(
+                tuple(course.getId(), LocalDateTime.of(2031, 4, 2, 17, 0)),
+                tuple(workshop.getId(), LocalDateTime.of(2031, 4, 5, 10, 0)),
+                tuple(course.getId(), LocalDateTime.of(2031, 4, 9, 17, 0)));
+        assertThat(all.get(1).session().getId()).isEqualTo(day.getId());
+        assertThat(occurrenceService.findAcrossGroups(null, -1L, APRIL, APRIL.plusDays(13))).isEmpty();
+    }
+}
@@ -0,0 +1,163 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Venue;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.VenueRepository;
+import com.be.service.SessionService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pooled-lo sequence ids + JDBC batching (V14): generating a school year
+ * of Sessions for a twice-weekly group used to be one INSERT round trip
+ * per Session (IDENTITY has to read each key back). Runs the same
+ * generation with a JDBC batch size of 1 — what IDENTITY forced — and
+ * with the configured one; statement counts are the assertion, wall
+ * time is only logged (same reasoning as EnrollmentExpiryBenchmarkTest).
+ * Also checks the sequences really are pooled and that an id handed out
+ * by a plain SQL nextval never collides with Hibernate's blocks.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SessionBatchInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionBatchInsertBenchmarkTest.class);
+
+    @Autowired
+    private SessionService sessionService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private VenueRepository venueRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @Transactional
+    void seasonOfSessions_isInsertedInBatches_notOneRoundTripPerRow() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Group perRow = seedRecurringGroup();
+        entityManager.unwrap(org.hibernate.Session.class).setJdbcBatchSize(1);
+        stats.clear();
+        long perRowStart = System.nanoTime();
+        int sessions = sessionService.generateSessionsFromRecurrence(perRow.getId()).size();
+        entityManager.flush();
+        long perRowMs = (System.nanoTime() - perRowStart) / 1_000_000;
+        long perRowStatements = stats.getPrepareStatementCount();
+        entityManager.clear();
+
+        Group batched = seedRecurringGroup();
+        entityManager.unwrap(org.hibernate.Session.class).setJdbcBatchSize(null);
+        stats.clear();
+        long batchedStart = System.nanoTime();
+        sessionService.generateSessionsFromRecurrence(batched.getId());
+        entityManager.flush();
+        long batchedMs = (System.nanoTime() - batchedStart) / 1_000_000;
+        long batchedStatements = stats.getPrepareStatementCount();
+
+        log.info("Generating {} sessions: per-row {} ms / {} statements, batched {} ms / {} statements",
+                sessions, perRowMs, perRowStatements, batchedMs, batchedStatements);
+
+        assertThat(sessions).isGreaterThan(80);
+        assertThat(perRowStatements).isGreaterThan(sessions);
+        // Group load, sessions load, group update, two nextvals, two batches.
+        assertThat(batchedStatements).isLessThanOrEqualTo(10);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM group_sessions WHERE group_id = ?", Integer.class, batched.getId()))
+                .isEqualTo(sessions);
+    }
+
+    // V18: changing one weekday's time used to delete and re-insert the
+    // whole season; now only that weekday's rows are updated, as a batch.
+    @Test
+    @Transactional
+    void regeneratingAfterATimeChange_updatesInPlace_inAFewBatchedStatements() {
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Group group = seedRecurringGroup();
+        int sessions = sessionService.generateSessionsFromRecurrence(group.getId()).size();
+        entityManager.flush();
+        entityManager.clear();
+
+        Group reloaded = groupRepository.findById(group.getId()).orElseThrow();
+        reloaded.setRecurrenceDays(List.of(
+                new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(16, 30), 90),
+                new RecurrenceDay(DayOfWeek.THURSDAY, LocalTime.of(17, 0), 90)));
+        entityManager.flush();
+        stats.clear();
+        int regenerated = sessionService.generateSessionsFromRecurrence(group.getId()).size();
+        entityManager.flush();
+        long statements = stats.getPrepareStatementCount();
+
+        log.info("Regenerating {} sessions after a time change: {} statements", regenerated, statements);
+
+        assertThat(regenerated).isEqualTo(sessions);
+        assertThat(stats.getEntityInsertCount()).isZero();
+        assertThat(stats.getEntityDeleteCount()).isZero();
+        assertThat(stats.getEntityUpdateCount()).isBetween(40L, (long) sessions);
+        // Group load, sessions load, session update batch(es), group update.
+        assertThat(statements).isLessThanOrEqualTo(6);
+    }
+
+    @Test
+    @Transactional
+    void sequencesArePooled_andPlainSqlInsertsDoNotCollideWithHibernateBlocks() {
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT DISTINCT increment_by FROM pg_sequences WHERE schemaname = 'public' AND sequencename LIKE '%_seq'",
+                Long.class)).containsExactly(50L);
+
+        Venue first = venueRepository.save(Venue.builder().name("Halle A").build());
+        Long sqlId = jdbcTemplate.queryForObject(
+                "INSERT INTO venues (name, created_at, updated_at) VALUES ('Halle SQL', now(), now()) RETURNING id", Long.class);
+        Venue second = venueRepository.save(Venue.builder().name("Halle B").build());
+        entityManager.flush();
+
+        // first/second come from one pooled-lo block; the raw insert's
+        // nextval landed past the end of it.
+        assertThat(second.getId()).isEqualTo(first.getId() + 1);
+        assertThat(sqlId).isGreaterThanOrEqualTo(first.getId() + 50);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM venues WHERE id IN (?, ?, ?)",
+                Integer.class, first.getId(), sqlId, second.getId())).isEqualTo(3);
+    }
+
+    // Mondays and Thursdays, September to June.
+    private Group seedRecurringGroup() {
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Theatergruppe").titleEn("Theatre group").titleUa("Театральна група")
+                .capacity(14)
+                .startDateTime(LocalDateTime.of(2026, 9, 1, 16, 0))
+                .recurrenceDays(List.of(
+                        new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(16, 0), 90),
+                        new RecurrenceDay(DayOfWeek.THURSDAY, LocalTime.of(17, 0), 90)))
+                .recurrenceStartDate(LocalDate.of(2026, 9, 1))
+                .recurrenceEndDate(LocalDate.of(2027, 6, 30))
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+        return group;
+    }
+}
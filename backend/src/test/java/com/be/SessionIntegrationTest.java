@@ -1,6 +1,7 @@
 package com.be;
 
 import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
 import com.be.domain.entity.Session;
 import com.be.domain.entity.Venue;
 import com.be.domain.repository.GroupRepository;
@@ -15,8 +16,13 @@ import org.springframework.context.annotation.Import;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -113,4 +119,58 @@ class SessionIntegrationTest {
 
         assertThat(secondResult).hasSize(1);
     }
+
+    // V18 — regeneration against real rows: untouched dates keep their ids,
+    // an admin-edited occurrence survives its weekday leaving the rule, and
+    // the unique (group_id, occurrence_date) index holds throughout.
+    @Test
+    @Transactional
+    void generateSessionsFromRecurrence_regenerate_keepsIdsAndManualExceptions() {
+        // 2026-06-01 is a Monday: Mondays and Wednesdays for two weeks.
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Wochenkurs").titleEn("Weekly course").titleUa("Щотижневий курс")
+                .capacity(12)
+                .startDateTime(LocalDateTime.of(2026, 6, 1, 18, 0))
+                .recurrenceDays(List.of(
+                        new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90),
+                        new RecurrenceDay(DayOfWeek.WEDNESDAY, LocalTime.of(17, 0), 60)))
+                .recurrenceStartDate(LocalDate.of(2026, 6, 1))
+                .recurrenceEndDate(LocalDate.of(2026, 6, 14))
+                .build());
+        List<Session> generated = sessionService.generateSessionsFromRecurrence(group.getId());
+        entityManager.flush();
+        Map<LocalDate, Long> first = byDate(generated);
+        entityManager.clear();
+
+        // Admin moves the first Wednesday, then the rule drops Wednesdays.
+        LocalDateTime moved = LocalDateTime.of(2026, 6, 3, 19, 0);
+        sessionService.updateSession(first.get(LocalDate.of(2026, 6, 3)), moved, moved.plusHours(1), null);
+        Group reloaded = groupRepository.findById(group.getId()).orElseThrow();
+        reloaded.setRecurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Session> regenerated = sessionService.generateSessionsFromRecurrence(group.getId());
+        entityManager.flush();
+        Map<LocalDate, Long> second = byDate(regenerated);
+        entityManager.clear();
+
+        assertThat(second.keySet()).containsExactlyInAnyOrder(
+                LocalDate.of(2026, 6, 1), LocalDate.of(2026, 6, 3), LocalDate.of(2026, 6, 8));
+        assertThat(second).containsAllEntriesOf(Map.of(
+                LocalDate.of(2026, 6, 1), first.get(LocalDate.of(2026, 6, 1)),
+                LocalDate.of(2026, 6, 3), first.get(LocalDate.of(2026, 6, 3)),
+                LocalDate.of(2026, 6, 8), first.get(LocalDate.of(2026, 6, 8))));
+        assertThat(sessionRepository.findById(first.get(LocalDate.of(2026, 6, 10)))).isEmpty();
+        Session exception = sessionRepository.findById(first.get(LocalDate.of(2026, 6, 3))).orElseThrow();
+        assertThat(exception.isManuallyEdited()).isTrue();
+        assertThat(exception.getStartDateTime()).isEqualTo(moved);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM group_sessions WHERE group_id = ?", Long.class, group.getId())).isEqualTo(3);
+    }
+
+    private static Map<LocalDate, Long> byDate(List<Session> sessions) {
+        return sessions.stream().collect(Collectors.toMap(
+                s -> s.getStartDateTime().toLocalDate(), Session::getId));
+    }
 }
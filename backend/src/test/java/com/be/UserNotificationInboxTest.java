@@ -0,0 +1,121 @@
+package com.be;
+
+import com.be.domain.entity.UserNotification;
+import com.be.service.KeysetRequest;
+import com.be.service.UserNotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inbox read state (V17) against a real database: unread count, newest-
+ * first keyset pages, and the single-statement bulk mark-as-read — all
+ * scoped to the one user.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class UserNotificationInboxTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 9, 1, 10, 0);
+
+    @Autowired
+    private UserNotificationService userNotificationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long userId;
+    private long otherUserId;
+    // Oldest first.
+    private final List<Long> inbox = new ArrayList<>();
+
+    @BeforeEach
+    void fiveNotifications() {
+        userId = user();
+        otherUserId = user();
+        inbox.clear();
+        for (int i = 0; i < 5; i++) {
+            Long notificationId = jdbcTemplate.queryForObject("""
+                    INSERT INTO notifications (title, message, notification_type, created_at)
+                    VALUES (?, 'body', 'BROADCAST', ?) RETURNING notification_id""",
+                    Long.class, "Notification " + i, BASE.plusHours(i));
+            inbox.add(jdbcTemplate.queryForObject("""
+                    INSERT INTO user_notifications (user_id, notification_id) VALUES (?, ?)
+                    RETURNING user_notification_id""", Long.class, userId, notificationId));
+            jdbcTemplate.update("INSERT INTO user_notifications (user_id, notification_id) VALUES (?, ?)",
+                    otherUserId, notificationId);
+        }
+    }
+
+    @Test
+    void pages_newestFirst_untilTheCursorRunsOut() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            KeysetRequest page = KeysetRequest.of(UserNotificationService.PAGE_SORT, cursor, 2,
+                    UserNotificationService.PAGE_SORTABLE);
+            Window<UserNotification> window = userNotificationService.getPage(userId, false, page);
+            window.forEach(un -> seen.add(un.getId()));
+            cursor = KeysetRequest.nextCursor(window);
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(inbox.reversed());
+    }
+
+    @Test
+    void unreadCount_andBulkMarkRead_areScopedToTheUser() {
+        assertThat(userNotificationService.countUnread(userId)).isEqualTo(5);
+
+        // Up to and including the third one on screen.
+        int older = userNotificationService.markAllRead(userId, inbox.get(2));
+
+        assertThat(older).isEqualTo(3);
+        assertThat(userNotificationService.countUnread(userId)).isEqualTo(2);
+        KeysetRequest firstPage = KeysetRequest.of(UserNotificationService.PAGE_SORT, null, 10,
+                UserNotificationService.PAGE_SORTABLE);
+        assertThat(userNotificationService.getPage(userId, true, firstPage).getContent())
+                .extracting(UserNotification::getId)
+                .containsExactly(inbox.get(4), inbox.get(3));
+
+        // A day-old notification delivered only now lands on top of the
+        // inbox — not on screen yet, so it stays unread.
+        Long lateNotification = jdbcTemplate.queryForObject("""
+                INSERT INTO notifications (title, message, notification_type, created_at)
+                VALUES ('Late', 'body', 'BROADCAST', ?) RETURNING notification_id""",
+                Long.class, BASE.minusDays(1));
+        Long late = jdbcTemplate.queryForObject("""
+                INSERT INTO user_notifications (user_id, notification_id) VALUES (?, ?)
+                RETURNING user_notification_id""", Long.class, userId, lateNotification);
+        assertThat(userNotificationService.markAllRead(userId, inbox.get(4))).isEqualTo(2);
+        assertThat(userNotificationService.getPage(userId, true, firstPage).getContent())
+                .extracting(UserNotification::getId)
+                .containsExactly(late);
+
+        assertThat(userNotificationService.markAllRead(userId, null)).isEqualTo(1);
+        assertThat(userNotificationService.markAllRead(userId, null)).isZero();
+        assertThat(userNotificationService.countUnread(userId)).isZero();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM user_notifications WHERE user_id = ? AND read_at IS NULL", Long.class, userId))
+                .isZero();
+        assertThat(userNotificationService.countUnread(otherUserId)).isEqualTo(5);
+    }
+
+    private long user() {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO users (email, password, role, enabled, created_at)
+                VALUES (?, 'irrelevant', 'USER', true, now()) RETURNING id""", Long.class,
+                "inbox-" + System.nanoTime() + "@example.com");
+    }
+}
@@ -0,0 +1,170 @@
+package com.be;
+
+import com.be.domain.entity.Event;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Venue;
+import com.be.domain.exception.VenueConflictException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.VenueRepository;
+import com.be.service.EventService;
+import com.be.service.SessionService;
+import com.be.service.VenueOccupancyIndex;
+import com.be.service.VenueService;
+import com.be.web.dto.request.EventRequestDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Venue occupancy against a real database: a booking is visible to the
+ * conflict check once its transaction commits, a second booking of the
+ * same room at an overlapping time is refused whether it's an event or a
+ * group session, and the free-room search leaves the booked room out.
+ * Not @Transactional — the index is only updated after commit — so the
+ * rows made here are removed again and the index rebuilt.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class VenueOccupancyIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueOccupancyIntegrationTest.class);
+    // A year no other test schedules anything in.
+    private static final LocalDateTime TEN = LocalDateTime.of(2032, 5, 10, 10, 0);
+
+    @Autowired
+    private EventService eventService;
+    @Autowired
+    private SessionService sessionService;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private VenueOccupancyIndex occupancyIndex;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private VenueRepository venueRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> venueIds = new ArrayList<>();
+    private final List<Long> groupIds = new ArrayList<>();
+
+    @AfterEach
+    void removeBookings() {
+        for (Long venueId : venueIds) {
+            jdbcTemplate.update("DELETE FROM events WHERE venue_id = ?", venueId);
+            jdbcTemplate.update("DELETE FROM group_sessions WHERE venue_id = ?", venueId);
+        }
+        for (Long groupId : groupIds) {
+            jdbcTemplate.update("DELETE FROM group_sessions WHERE group_id = ?", groupId);
+            jdbcTemplate.update("DELETE FROM workshop_groups WHERE id = ?", groupId);
+        }
+        venueIds.forEach(venueRepository::deleteById);
+        occupancyIndex.rebuild();
+    }
+
+    @Test
+    void overlappingBooking_ofTheSameRoom_isRefused_andTheFreeSearchSkipsIt() {
+        Venue hall = venue("Hall", 40);
+        Venue studio = venue("Studio", 12);
+        eventService.create(event(hall, TEN, TEN.plusHours(2)));
+
+        assertThatThrownBy(() -> eventService.create(event(hall, TEN.plusHours(1), TEN.plusHours(3))))
+                .isInstanceOf(VenueConflictException.class);
+        Group group = group();
+        assertThatThrownBy(() -> sessionService.addSession(group.getId(),
+                TEN.plusMinutes(30), TEN.plusMinutes(90), hall.getId()))
+                .isInstanceOf(VenueConflictException.class);
+        // Right after the event, or in the other room, is fine.
+        sessionService.addSession(group.getId(), TEN.plusHours(2), TEN.plusHours(3), hall.getId());
+        sessionService.addSession(group.getId(), TEN, TEN.plusHours(1), studio.getId());
+
+        assertThat(venueService.findAvailable(TEN.plusHours(1), TEN.plusHours(2), null))
+                .extracting(Venue::getId).contains(studio.getId()).doesNotContain(hall.getId());
+        assertThat(venueService.findAvailable(TEN.plusHours(4), TEN.plusHours(5), 20))
+                .extracting(Venue::getId).contains(hall.getId()).doesNotContain(studio.getId());
+        // Only the first event and the two sessions were stored.
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM events WHERE venue_id = ?", Long.class, hall.getId())).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM group_sessions WHERE group_id = ?", Long.class, group.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void regeneratingARecurrence_intoABookedRoom_isRefused_andWritesNothing() {
+        Venue hall = venue("Hall", 40);
+        // TEN is a Monday; the event sits on the second one.
+        eventService.create(event(hall, TEN.plusWeeks(1), TEN.plusWeeks(1).plusHours(2)));
+        Group group = group();
+        group.setVenue(hall);
+        group.setRecurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(11, 0), 60)));
+        group.setRecurrenceStartDate(TEN.toLocalDate());
+        group.setRecurrenceEndDate(TEN.toLocalDate().plusDays(20));
+        groupRepository.save(group);
+
+        assertThatThrownBy(() -> sessionService.generateSessionsFromRecurrence(group.getId()))
+                .isInstanceOf(VenueConflictException.class);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM group_sessions WHERE group_id = ?", Long.class, group.getId())).isZero();
+
+        // An hour later on Mondays clears the event.
+        group.setRecurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(12, 0), 60)));
+        groupRepository.save(group);
+        assertThat(sessionService.generateSessionsFromRecurrence(group.getId())).hasSize(3);
+    }
+
+    @Test
+    void rebuild_restoresBookings_andChecksStayInMemory() {
+        Venue hall = venue("Hall", 40);
+        Event event = eventService.create(event(hall, TEN, TEN.plusHours(2)));
+
+        occupancyIndex.rebuild();
+
+        assertThat(occupancyIndex.isFree(hall.getId(), TEN.plusHours(1), TEN.plusHours(3))).isFalse();
+        eventService.delete(event.getId());
+        assertThat(occupancyIndex.isFree(hall.getId(), TEN.plusHours(1), TEN.plusHours(3))).isTrue();
+
+        int checks = 100_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < checks; i++) {
+            occupancyIndex.isFree(hall.getId(), TEN.plusMinutes(i % 600), TEN.plusMinutes(i % 600 + 60));
+        }
+        log.info("{} venue checks in {} ms", checks, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Venue venue(String name, int capacity) {
+        Venue venue = venueRepository.save(Venue.builder().name(name + " " + System.nanoTime()).capacity(capacity).build());
+        venueIds.add(venue.getId());
+        return venue;
+    }
+
+    private Group group() {
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Raumtest").titleEn("Room test").titleUa("Тест залу")
+                .capacity(10)
+                .startDateTime(TEN)
+                .build());
+        groupIds.add(group.getId());
+        return group;
+    }
+
+    private static EventRequestDTO event(Venue venue, LocalDateTime start, LocalDateTime end) {
+        return EventRequestDTO.builder().title("Booking").venueId(venue.getId())
+                .startDateTime(start).endDateTime(end).status("SCHEDULED").build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.be;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.EnrollmentCleanupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * V23 — the 7-day unpaid sweep goes by when an enrollment became
+ * PENDING, not when it was created. A paid, full group with one stale
+ * PENDING holder and two people who have been on the waitlist for a
+ * month: the sweep expires the holder and promotes the first waiter,
+ * who then gets a fresh 7 days — the same sweep's next chunk, and the
+ * next night's run, leave them alone, and the second waiter keeps waiting.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest
+class WaitlistPromotionExpiryIntegrationTest {
+
+    @Autowired
+    private EnrollmentCleanupService cleanupService;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void promotedLongWaiter_getsAFullPaymentWindow_andTheWaitlistSurvivesTheSweep() {
+        Workshop workshop = workshopRepository.save(Workshop.builder()
+                .workshopName("Masterclass").price(new BigDecimal("120.00")).build());
+        Group group = groupRepository.save(Group.builder()
+                .titleDe("Meisterkurs").titleEn("Masterclass").titleUa("Майстер-клас")
+                .capacity(1)
+                .startDateTime(LocalDateTime.of(2031, 10, 1, 18, 0))
+                .workshop(workshop)
+                .build());
+        LocalDateTime monthAgo = LocalDateTime.now().minusDays(30);
+        Long holder = enrollment(workshop, group, "PENDING", monthAgo, monthAgo);
+        Long firstWaiting = enrollment(workshop, group, "WAITLISTED", monthAgo.plusHours(1), null);
+        Long secondWaiting = enrollment(workshop, group, "WAITLISTED", monthAgo.plusHours(2), null);
+        jdbcTemplate.update("""
+                UPDATE workshop_groups SET capacity_left = 0, pending_count = 1, waitlisted_count = 2
+                WHERE id = ?""", group.getId());
+
+        LocalDateTime beforeSweep = LocalDateTime.now().minusSeconds(1);
+        cleanupService.expireStalePendingEnrollments();
+
+        assertThat(status(holder)).isEqualTo("EXPIRED");
+        assertThat(status(firstWaiting)).isEqualTo("PENDING");
+        assertThat(jdbcTemplate.queryForObject("SELECT pending_since FROM enrollments WHERE id = ?",
+                LocalDateTime.class, firstWaiting)).isAfter(beforeSweep);
+        assertThat(status(secondWaiting)).isEqualTo("WAITLISTED");
+
+        cleanupService.expireStalePendingEnrollments();
+
+        assertThat(status(firstWaiting)).isEqualTo("PENDING");
+        assertThat(status(secondWaiting)).isEqualTo("WAITLISTED");
+        assertThat(jdbcTemplate.queryForObject("SELECT capacity_left FROM workshop_groups WHERE id = ?",
+                Integer.class, group.getId())).isZero();
+    }
+
+    private Long enrollment(Workshop workshop, Group group, String status,
+                            LocalDateTime createdAt, LocalDateTime pendingSince) {
+        User user = userRepository.save(User.builder()
+                .email("waitlist-expiry-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO enrollments (user_id, workshop_id, group_id, status, created_at, pending_since)
+                VALUES (?, ?, ?, ?, ?, ?) RETURNING id""",
+                Long.class, user.getId(), workshop.getId(), group.getId(), status, createdAt, pendingSince);
+    }
+
+    private String status(Long enrollmentId) {
+        return jdbcTemplate.queryForObject("SELECT status FROM enrollments WHERE id = ?", String.class, enrollmentId);
+    }
+}
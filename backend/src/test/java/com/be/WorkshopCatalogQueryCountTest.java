@@ -0,0 +1,179 @@
+package com.be;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Teacher;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Venue;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.EnrollmentRepository;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.TeacherRepository;
+import com.be.domain.repository.UserRepository;
+import com.be.domain.repository.VenueRepository;
+import com.be.domain.repository.WorkshopRepository;
+import com.be.service.CatalogCache;
+import com.be.service.GroupCounterReconciler;
+import com.be.service.PublicCatalogService;
+import com.be.web.dto.response.GroupDTO;
+import com.be.web.dto.response.WorkshopDetailDTO;
+import com.be.web.dto.response.WorkshopListDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The public workshop list used to cost 1 + (teacher, groups, and per group
+ * enrollments/venue) statements per workshop while WorkshopMapper walked
+ * lazy associations. Proves the list is now a single statement (the
+ * fetch-joined workshops; enrolled counts come off the groups' V21
+ * counters) and the detail a fixed three, however many workshops/groups
+ * are seeded, and that the counts match the seeded enrollments.
+ */
+@Import(TestcontainersConfiguration.class)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class WorkshopCatalogQueryCountTest {
+
+    @Autowired
+    private PublicCatalogService catalogService;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private WorkshopRepository workshopRepository;
+    @Autowired
+    private GroupRepository groupRepository;
+    @Autowired
+    private TeacherRepository teacherRepository;
+    @Autowired
+    private VenueRepository venueRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+    @Autowired
+    private GroupCounterReconciler counterReconciler;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional
+    void workshopList_statementCount_doesNotGrowWithCatalogSize() {
+        User user = seedUser();
+        Workshop measured = seedWorkshop(user, 2);
+
+        long withSmallCatalog = statementsFor(() -> catalogService.listWorkshops(false, null));
+
+        for (int i = 0; i < 8; i++) {
+            seedWorkshop(user, 3);
+        }
+
+        long withLargeCatalog = statementsFor(() -> catalogService.listWorkshops(false, null));
+
+        assertThat(withSmallCatalog).isEqualTo(1);
+        assertThat(withLargeCatalog).isEqualTo(withSmallCatalog);
+
+        WorkshopListDTO row = catalogService.listWorkshops(false, null).stream()
+                .filter(w -> w.getId().equals(measured.getId()))
+                .findFirst().orElseThrow();
+        assertThat(row.getTeacher()).isNotNull();
+        assertThat(row.getGroups()).hasSize(2)
+                .allSatisfy(g -> assertThat(g.getVenueName()).isEqualTo("TLab29 — Blauer Saal"));
+        assertThat(row.getGroups()).extracting(GroupDTO::getEnrolledCount).containsExactlyInAnyOrder(2, 0);
+    }
+
+    @Test
+    @Transactional
+    void workshopDetail_statementCount_doesNotGrowWithGroups() {
+        User user = seedUser();
+        Workshop few = seedWorkshop(user, 1);
+        Workshop many = seedWorkshop(user, 10);
+
+        long withOneGroup = statementsFor(() -> catalogService.getWorkshop(few.getId()));
+        long withTenGroups = statementsFor(() -> catalogService.getWorkshop(many.getId()));
+
+        assertThat(withOneGroup).isLessThanOrEqualTo(3);
+        assertThat(withTenGroups).isEqualTo(withOneGroup);
+
+        WorkshopDetailDTO detail = catalogService.getWorkshop(many.getId());
+        assertThat(detail.getGroups()).hasSize(10);
+        assertThat(detail.getTotalEnrollments()).isEqualTo(2);
+    }
+
+    private long statementsFor(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        CatalogCache.ALL.forEach(name -> cacheManager.getCache(name).clear());
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        call.get();
+        return stats.getPrepareStatementCount();
+    }
+
+    private User seedUser() {
+        return userRepository.save(User.builder()
+                .email("catalog-" + System.nanoTime() + "@example.com")
+                .password("irrelevant")
+                .role(Role.USER)
+                .build());
+    }
+
+    // Every group gets its own venue (so venue loading would show up per
+    // group if it weren't fetched); the first group gets two enrollments,
+    // from two users (uk_user_workshop allows one per user and workshop).
+    // Saved straight through the repository, so the group counters are
+    // brought in line by the reconciler, as they would be in production.
+    private Workshop seedWorkshop(User user, int groups) {
+        Teacher teacher = teacherRepository.save(Teacher.builder()
+                .firstName("Anna").lastName("Muster")
+                .email("teacher-" + System.nanoTime() + "@example.com")
+                .phone("+49 30 0000").title("Dr.")
+                .build());
+        Workshop workshop = workshopRepository.save(Workshop.builder()
+                .workshopName("Catalog workshop")
+                .startDate(LocalDate.now().plusDays(30))
+                .teacher(teacher)
+                .build());
+        for (int i = 0; i < groups; i++) {
+            Venue venue = venueRepository.save(Venue.builder().name("TLab29").room("Blauer Saal").build());
+            Group group = groupRepository.save(Group.builder()
+                    .titleDe("Gruppe").titleEn("Group").titleUa("Група")
+                    .capacity(10)
+                    .capacityLeft(10)
+                    .startDateTime(LocalDateTime.now().plusDays(30))
+                    .workshop(workshop)
+                    .venue(venue)
+                    .build());
+            workshop.getGroups().add(group);
+            if (i == 0) {
+                for (int e = 0; e < 2; e++) {
+                    enrollmentRepository.save(Enrollment.builder()
+                            .user(e == 0 ? user : seedUser())
+                            .workshop(workshop)
+                            .group(group)
+                            .status(EnrollmentStatus.PENDING)
+                            .build());
+                }
+            }
+        }
+        counterReconciler.reconcile();
+        return workshop;
+    }
+}
@@ -0,0 +1,110 @@
+package com.be.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.InvalidBearerTokenException;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A token verified once is answered from the cache afterwards — same
+ * principal and authorities, no second decode — while failed and
+ * exp-less tokens always go through the decoder. Tokens are minted the
+ * way JwtUtils does and checked with SecurityConfig's own decoder.
+ */
+class ValidatedJwtCacheTest {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef-test-secret";
+
+    private final AtomicInteger decodes = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ValidatedJwtCache cache() {
+        SecretKey key = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        JwtDecoder nimbus = NimbusJwtDecoder.withSecretKey(key).build();
+        JwtDecoder counting = token -> {
+            decodes.incrementAndGet();
+            return nimbus.decode(token);
+        };
+        return new ValidatedJwtCache(counting, SecurityConfig.jwtAuthenticationConverter(), meterRegistry, 100);
+    }
+
+    @Test
+    void repeatedToken_isDecodedOnce_andGetsTheSameAuthentication() {
+        ValidatedJwtCache cache = cache();
+        String token = token(SECRET, "TEACHER", new Date(System.currentTimeMillis() + 3_600_000));
+
+        Authentication first = cache.authenticate(new BearerTokenAuthenticationToken(token));
+        BearerTokenAuthenticationToken again = new BearerTokenAuthenticationToken(token);
+        again.setDetails("request-2");
+        Authentication second = cache.authenticate(again);
+
+        assertThat(decodes).hasValue(1);
+        assertThat(second).isInstanceOf(JwtAuthenticationToken.class).isNotSameAs(first);
+        assertThat(second.getName()).isEqualTo("anna@example.com");
+        assertThat(second.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_TEACHER");
+        assertThat(second.getDetails()).isEqualTo("request-2");
+        assertThat(JwtAuthUtils.extractUserId(((JwtAuthenticationToken) second).getToken())).isEqualTo(42L);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", ValidatedJwtCache.CACHE).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+
+        cache.authenticate(new BearerTokenAuthenticationToken(token("TEACHER")));
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void badSignature_isRejectedEveryTime() {
+        ValidatedJwtCache cache = cache();
+        String forged = token("another-secret-that-is-long-enough-for-hs256", "ADMIN",
+                new Date(System.currentTimeMillis() + 3_600_000));
+
+        for (int i = 0; i < 2; i++) {
+            assertThatThrownBy(() -> cache.authenticate(new BearerTokenAuthenticationToken(forged)))
+                    .isInstanceOf(InvalidBearerTokenException.class);
+        }
+        assertThat(decodes).hasValue(2);
+    }
+
+    @Test
+    void tokenWithoutExpiry_isNotCached() {
+        ValidatedJwtCache cache = cache();
+        String token = token(SECRET, "USER", null);
+
+        cache.authenticate(new BearerTokenAuthenticationToken(token));
+        cache.authenticate(new BearerTokenAuthenticationToken(token));
+
+        assertThat(decodes).hasValue(2);
+    }
+
+    // A second, different token for the same user.
+    private static String token(String role) {
+        return token(SECRET, role, new Date(System.currentTimeMillis() + 7_200_000));
+    }
+
+    private static String token(String secret, String role, Date expiration) {
+        return Jwts.builder()
+                .setSubject("anna@example.com")
+                .claim("id", 42L)
+                .claim("role", role)
+                .setIssuedAt(new Date())
+                .setExpiration(expiration)
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,83 @@
+package com.be.config.crypto;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlindIndexTest {
+
+    private BlindIndex blindIndex;
+
+    @BeforeEach
+    void setUp() {
+        blindIndex = withRandomKey();
+    }
+
+    private static BlindIndex withRandomKey() {
+        BlindIndex index = new BlindIndex();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        ReflectionTestUtils.setField(index, "base64Key", Base64.getEncoder().encodeToString(key));
+        index.init();
+        return index;
+    }
+
+    private boolean candidate(String searchTerm, String... names) {
+        Set<String> row = tokens(blindIndex.indexFor(names));
+        return row.containsAll(tokens(blindIndex.searchTokensFor(searchTerm)));
+    }
+
+    private static Set<String> tokens(String index) {
+        return Arrays.stream(index.split(" ")).filter(t -> !t.isEmpty()).collect(Collectors.toSet());
+    }
+
+    @Test
+    void substringOfThreeOrMoreChars_isCandidate_anywhereInEitherName() {
+        assertThat(candidate("lic", "Alice", "Schmidt")).isTrue();
+        assertThat(candidate("MIDT", "Alice", "Schmidt")).isTrue();
+        assertThat(candidate("xyz", "Alice", "Schmidt")).isFalse();
+    }
+
+    @Test
+    void shortTerm_matchesWordPrefixOnly() {
+        assertThat(candidate("al", "Alice", "Schmidt")).isTrue();
+        assertThat(candidate("s", "Alice", "Schmidt")).isTrue();
+        assertThat(candidate("ic", "Alice", "Schmidt")).isFalse();
+    }
+
+    @Test
+    void index_isDeterministic_andHoldsNoPlaintext() {
+        String first = blindIndex.indexFor("Olena", "Khudoshyna");
+        assertThat(blindIndex.indexFor("OLENA", "khudoshyna")).isEqualTo(first);
+        assertThat(first.toLowerCase()).doesNotContain("ole").doesNotContain("khu");
+    }
+
+    @Test
+    void differentKey_producesUnrelatedTokens() {
+        Set<String> a = tokens(blindIndex.indexFor("Alice"));
+        Set<String> b = tokens(withRandomKey().indexFor("Alice"));
+        assertThat(a).doesNotContainAnyElementsOf(b);
+    }
+
+    @Test
+    void noNames_indexIsEmptyString_notNull() {
+        assertThat(blindIndex.indexFor(null, "  ")).isEmpty();
+        assertThat(blindIndex.searchTokensFor("   ")).isNull();
+    }
+
+    @Test
+    void init_throwsIfKeyMissing() {
+        BlindIndex fresh = new BlindIndex();
+        ReflectionTestUtils.setField(fresh, "base64Key", "");
+        assertThrows(IllegalStateException.class, fresh::init);
+    }
+}
@@ -4,19 +4,30 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
 import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class EncryptedStringConverterTest {
 
     private EncryptedStringConverter converter;
+    private byte[] key;
 
     @BeforeEach
     void setUp() {
         converter = new EncryptedStringConverter();
-        byte[] key = new byte[32];
+        key = new byte[32];
         new SecureRandom().nextBytes(key);
         ReflectionTestUtils.setField(converter, "base64Key", Base64.getEncoder().encodeToString(key));
         converter.init();
@@ -63,4 +74,65 @@ class EncryptedStringConverterTest {
         ReflectionTestUtils.setField(fresh, "base64Key", Base64.getEncoder().encodeToString(shortKey));
         assertThrows(IllegalStateException.class, fresh::init);
     }
+
+    @Test
+    void decryptsValuesWrittenBeforeCipherReuse() throws Exception {
+        // Same layout the converter has always stored: base64(iv || ciphertext+tag).
+        byte[] iv = new byte[12];
+        new SecureRandom().nextBytes(iv);
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.ENCRYPT_MODE, new SecretKeySpec(key, "AES"), new GCMParameterSpec(128, iv));
+        byte[] cipherText = cipher.doFinal("Müller-Lüdenscheidt".getBytes(StandardCharsets.UTF_8));
+        byte[] combined = new byte[iv.length + cipherText.length];
+        System.arraycopy(iv, 0, combined, 0, iv.length);
+        System.arraycopy(cipherText, 0, combined, iv.length, cipherText.length);
+
+        assertEquals("Müller-Lüdenscheidt", converter.convertToEntityAttribute(Base64.getEncoder().encodeToString(combined)));
+    }
+
+    @Test
+    void tamperedValue_failsWithoutPoisoningTheNextDecrypt() {
+        String stored = converter.convertToDatabaseColumn("DE89370400440532013000");
+        byte[] bytes = Base64.getDecoder().decode(stored);
+        bytes[bytes.length - 1] ^= 1;
+
+        assertThrows(IllegalStateException.class,
+                () -> converter.convertToEntityAttribute(Base64.getEncoder().encodeToString(bytes)));
+        assertEquals("DE89370400440532013000", converter.convertToEntityAttribute(stored));
+    }
+
+    @Test
+    void decryptAll_keepsOrderAndNulls() {
+        String longValue = "x".repeat(1000); // larger than the initial scratch buffer
+        List<String> stored = Arrays.asList(
+                converter.convertToDatabaseColumn("Anna"), null,
+                converter.convertToDatabaseColumn(longValue), converter.convertToDatabaseColumn(""));
+
+        assertEquals(Arrays.asList("Anna", null, longValue, ""), converter.decryptAll(stored));
+    }
+
+    @Test
+    void roundTripsConcurrently() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        String value = "user-" + thread + "-" + i;
+                        if (!value.equals(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(value)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,213 @@
+package com.be.service;
+
+import com.be.domain.entity.Course;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentNotificationEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Enrollment notifications: queued, coalesced per recipient, fanned out to
+ * every enabled channel, with a full queue dropping instead of blocking
+ * the enrollment. The after-commit part is Spring's
+ * (@TransactionalEventListener) — here the publisher hands events straight
+ * to {@code enqueue}, which is what happens once the transaction commits.
+ */
+class AsyncNotificationDispatcherTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AsyncNotificationDispatcher dispatcher;
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private AsyncNotificationDispatcher dispatcher(int queueCapacity, NotificationChannel... channels) {
+        List<String> names = Arrays.stream(channels).map(NotificationChannel::name).toList();
+        AsyncNotificationDispatcher[] self = new AsyncNotificationDispatcher[1];
+        dispatcher = new AsyncNotificationDispatcher(
+                event -> self[0].enqueue((EnrollmentNotificationEvent) event),
+                List.of(channels), meterRegistry, names, queueCapacity, 100, 500, 2, 50);
+        self[0] = dispatcher;
+        dispatcher.start();
+        return dispatcher;
+    }
+
+    @Test
+    void burstForOneUser_isDeliveredOnce_otherUsersSeparately() {
+        RecordingChannel channel = new RecordingChannel("log");
+        AsyncNotificationDispatcher dispatcher = dispatcher(100, channel);
+
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(1), EnrollmentStatus.CONFIRMED, "m1");
+        dispatcher.notifyEnrollment(workshop("B"), null, null, user(2), EnrollmentStatus.PENDING, "m2");
+        dispatcher.notifyEnrollmentCancelled(workshop("A"), null, null, user(1), EnrollmentStatus.CANCELLED, "m3");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> channel.deliveries.size() == 2);
+        // The two recipients go out in parallel — either may land first.
+        assertThat(channel.deliveries).anySatisfy(d ->
+                assertThat(d).extracting(EnrollmentNotificationEvent::message).containsExactly("m1", "m3"));
+        assertThat(channel.deliveries).anySatisfy(d ->
+                assertThat(d).extracting(EnrollmentNotificationEvent::userId).containsExactly(2L));
+        assertThat(meterRegistry.counter("notifications.coalesced").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("notifications.dispatch.lag").count()).isEqualTo(3);
+    }
+
+    @Test
+    void event_carriesWhatChannelsNeed_copiedAtCallTime() {
+        RecordingChannel channel = new RecordingChannel("log");
+        AsyncNotificationDispatcher dispatcher = dispatcher(100, channel);
+        Course course = Course.builder().id(7L).titleDe("Kurs").build();
+
+        dispatcher.notifyEnrollment(null, course, null, user(1), EnrollmentStatus.PENDING, "msg");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> channel.deliveries.size() == 1);
+        EnrollmentNotificationEvent event = channel.deliveries.get(0).get(0);
+        assertThat(event.kind()).isEqualTo(EnrollmentNotificationEvent.Kind.ENROLLED);
+        assertThat(event.userEmail()).isEqualTo("u1@example.com");
+        assertThat(event.courseId()).isEqualTo(7L);
+        assertThat(event.target()).isEqualTo("Kurs");
+        assertThat(event.occurredAt()).isBeforeOrEqualTo(LocalDateTime.now());
+    }
+
+    @Test
+    void slowChannel_doesNotDelayTheCaller() {
+        RecordingChannel slow = new RecordingChannel("mail", events -> sleep(500));
+        AsyncNotificationDispatcher dispatcher = dispatcher(100, slow);
+
+        long start = System.nanoTime();
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(1), EnrollmentStatus.CONFIRMED, "m");
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isLessThan(100);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> slow.deliveries.size() == 1);
+    }
+
+    @Test
+    void fullQueue_dropsAfterTheEnqueueTimeout_andCountsIt() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingChannel stuck = new RecordingChannel("log", events -> {
+            entered.countDown();
+            awaitQuietly(release);
+        });
+        AsyncNotificationDispatcher dispatcher = dispatcher(1, stuck);
+
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(1), EnrollmentStatus.CONFIRMED, "in the channel");
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(2), EnrollmentStatus.CONFIRMED, "queued");
+        long start = System.nanoTime();
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(3), EnrollmentStatus.CONFIRMED, "dropped");
+        long waitedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        release.countDown();
+
+        assertThat(waitedMs).isBetween(40L, 1000L);
+        assertThat(meterRegistry.counter("notifications.dropped").count()).isEqualTo(1);
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stuck.deliveries.size() == 2);
+        assertThat(stuck.deliveries).flatExtracting(events -> events)
+                .extracting(EnrollmentNotificationEvent::message).containsExactly("in the channel", "queued");
+    }
+
+    @Test
+    void failingChannel_isCounted_andDoesNotStopTheOthers() {
+        RecordingChannel failing = new RecordingChannel("mail", events -> {
+            throw new IllegalStateException("relay down");
+        });
+        RecordingChannel inApp = new RecordingChannel("in-app");
+        AsyncNotificationDispatcher dispatcher = dispatcher(100, failing, inApp);
+
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(1), EnrollmentStatus.CONFIRMED, "m");
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> inApp.deliveries.size() == 1);
+        assertThat(meterRegistry.counter("notifications.channel.failed", "channel", "mail").count()).isEqualTo(1);
+    }
+
+    @Test
+    void shutdown_flushesWhatIsStillQueued() throws Exception {
+        RecordingChannel channel = new RecordingChannel("log");
+        AsyncNotificationDispatcher dispatcher = dispatcher(100, channel);
+
+        dispatcher.notifyEnrollment(workshop("A"), null, null, user(1), EnrollmentStatus.CONFIRMED, "m");
+        dispatcher.shutdown();
+        this.dispatcher = null;
+
+        assertThat(channel.deliveries).hasSize(1);
+    }
+
+    @Test
+    void unknownChannelName_failsStartup() {
+        assertThatThrownBy(() -> new AsyncNotificationDispatcher(event -> { },
+                List.of(new RecordingChannel("log")), meterRegistry, List.of("log", "sms"), 10, 100, 500, 1, 50))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sms");
+    }
+
+    private static User user(long id) {
+        return User.builder().id(id).email("u" + id + "@example.com").build();
+    }
+
+    private static Workshop workshop(String name) {
+        return Workshop.builder().id((long) name.hashCode()).workshopName(name).build();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class RecordingChannel implements NotificationChannel {
+        private final String name;
+        private final Consumer<List<EnrollmentNotificationEvent>> behaviour;
+        final List<List<EnrollmentNotificationEvent>> deliveries = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingChannel(String name) {
+            this(name, events -> { });
+        }
+
+        RecordingChannel(String name, Consumer<List<EnrollmentNotificationEvent>> behaviour) {
+            this.name = name;
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public void deliver(List<EnrollmentNotificationEvent> events) {
+            behaviour.accept(events);
+            deliveries.add(List.copyOf(events));
+        }
+    }
+}
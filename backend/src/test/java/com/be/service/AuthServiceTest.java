@@ -20,6 +20,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -161,8 +163,9 @@ class AuthServiceTest {
         // from "already verified" apart from "sent" — all look the same.
         when(userService.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
 
-        authService().resendVerification("nobody@example.com");
+        authService().resendVerification("nobody@example.com").join();
 
+        verify(userService, timeout(1000)).findByEmail("nobody@example.com");
         verify(emailVerificationService, never()).sendVerificationEmail(any());
     }
 
@@ -174,19 +177,56 @@ class AuthServiceTest {
         when(userService.findByEmail("nobody@example.com")).thenReturn(Optional.empty());
 
         long start = System.currentTimeMillis();
-        authService().resendVerification("nobody@example.com");
+        authService().resendVerification("nobody@example.com").join();
         long elapsed = System.currentTimeMillis() - start;
 
         assertThat(elapsed).isGreaterThanOrEqualTo(TEST_MIN_RESPONSE_MS);
     }
 
+    @Test
+    void resendVerification_slowSend_doesNotDelayTheResponse() {
+        // The response no longer waits for the work at all, so a slow
+        // send can't make the "exists" branch measurably slower either.
+        User unverified = User.builder().email("a@example.com").emailVerified(false).build();
+        when(userService.findByEmail("a@example.com")).thenReturn(Optional.of(unverified));
+        doAnswer(inv -> {
+            Thread.sleep(TEST_MIN_RESPONSE_MS * 6);
+            return null;
+        }).when(emailVerificationService).sendVerificationEmail(unverified);
+
+        long start = System.currentTimeMillis();
+        authService().resendVerification("a@example.com").join();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(elapsed).isBetween(TEST_MIN_RESPONSE_MS, TEST_MIN_RESPONSE_MS * 4);
+        verify(emailVerificationService, timeout(2000)).sendVerificationEmail(unverified);
+    }
+
+    @Test
+    void resendVerification_burst_allCompleteAtTheFloor_notOneAfterAnother() {
+        // The old Thread.sleep padding held a thread per request; here 200
+        // concurrent resends all finish around the same floor.
+        when(userService.findByEmail(any())).thenReturn(Optional.empty());
+        AuthService service = authService();
+
+        long start = System.currentTimeMillis();
+        CompletableFuture<?>[] responses = IntStream.range(0, 200)
+                .mapToObj(i -> service.resendVerification("probe" + i + "@example.com"))
+                .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(responses).join();
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertThat(elapsed).isBetween(TEST_MIN_RESPONSE_MS, TEST_MIN_RESPONSE_MS * 6);
+    }
+
     @Test
     void resendVerification_alreadyVerified_doesNotSendEmail() {
         User verified = User.builder().email("a@example.com").emailVerified(true).build();
         when(userService.findByEmail("a@example.com")).thenReturn(Optional.of(verified));
 
-        authService().resendVerification("a@example.com");
+        authService().resendVerification("a@example.com").join();
 
+        verify(userService, timeout(1000)).findByEmail("a@example.com");
         verify(emailVerificationService, never()).sendVerificationEmail(any());
     }
 
@@ -195,8 +235,8 @@ class AuthServiceTest {
         User unverified = User.builder().email("a@example.com").emailVerified(false).build();
         when(userService.findByEmail("a@example.com")).thenReturn(Optional.of(unverified));
 
-        authService().resendVerification("a@example.com");
+        authService().resendVerification("a@example.com").join();
 
-        verify(emailVerificationService).sendVerificationEmail(unverified);
+        verify(emailVerificationService, timeout(1000)).sendVerificationEmail(unverified);
     }
 }
@@ -0,0 +1,216 @@
+package com.be.service;
+
+import com.be.domain.entity.Course;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Invalidation rules for the public catalog cache — each write evicts only
+ * the entries whose DTOs embed what it changed, and never before commit.
+ */
+class CatalogCacheTest {
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CatalogCache.ALL.toArray(String[]::new));
+    private final CatalogCache catalogCache = new CatalogCache(cacheManager);
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void workshopChanged_evictsThatWorkshopAndAllListsAndPerformances_keepsOtherDetails() {
+        fillAll();
+
+        catalogCache.workshopChanged(1L);
+
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 2L)).isTrue();
+        assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isFalse();
+        assertThat(cached(CatalogCache.PERFORMANCE_LIST, "all")).isFalse();
+        assertThat(cached(CatalogCache.PERFORMANCE_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.COURSE_LIST, "all")).isTrue();
+        assertThat(cached(CatalogCache.COURSE_DETAIL, 1L)).isTrue();
+    }
+
+    @Test
+    void groupChanged_evictsItsWorkshopAndCourseDetail_butNotCourseList() {
+        fillAll();
+        Group group = Group.builder()
+                .id(10L)
+                .workshop(Workshop.builder().id(2L).build())
+                .course(Course.builder().id(1L).build())
+                .build();
+
+        catalogCache.groupChanged(group);
+
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 2L)).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isTrue();
+        assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isFalse();
+        assertThat(cached(CatalogCache.COURSE_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.COURSE_DETAIL, 2L)).isTrue();
+        assertThat(cached(CatalogCache.COURSE_LIST, "all")).isTrue();
+        assertThat(cached(CatalogCache.PERFORMANCE_DETAIL, 1L)).isTrue();
+    }
+
+    @Test
+    void activityChanged_leavesEverythingElseCached() {
+        fillAll();
+
+        catalogCache.activityChanged(1L);
+
+        assertThat(cached(CatalogCache.ACTIVITY_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.ACTIVITY_DETAIL, 2L)).isTrue();
+        assertThat(cached(CatalogCache.ACTIVITY_LIST, "all")).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isTrue();
+        assertThat(cached(CatalogCache.PERFORMANCE_LIST, "all")).isTrue();
+    }
+
+    @Test
+    void insideTransaction_evictionWaitsForCommit() {
+        fillAll();
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogCache.courseChanged(1L);
+
+        assertThat(cached(CatalogCache.COURSE_DETAIL, 1L)).isTrue();
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            sync.afterCommit();
+        }
+        assertThat(cached(CatalogCache.COURSE_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.COURSE_LIST, "all")).isFalse();
+    }
+
+    @Test
+    void newEnrollment_evictsWorkshop_paymentDoesNot() {
+        fillAll();
+        String etag = catalogCache.workshopETag();
+
+        catalogCache.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                5L, 7L, null, 1L, null, 10L, EnrollmentStatus.PENDING, EnrollmentStatus.CONFIRMED));
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isTrue();
+        assertThat(catalogCache.workshopETag()).isEqualTo(etag);
+
+        catalogCache.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                6L, 7L, null, 1L, null, 10L, null, EnrollmentStatus.PENDING));
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isFalse();
+        assertThat(catalogCache.workshopETag()).isNotEqualTo(etag);
+    }
+
+    @Test
+    void spotTakenOrGivenUp_evictsWorkshop_andChangesTheETag() {
+        EnrollmentStatus[][] transitions = {
+                {EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED},
+                {EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED},
+                {EnrollmentStatus.WAITLISTED, EnrollmentStatus.PENDING},
+                {EnrollmentStatus.WAITLISTED, EnrollmentStatus.CONFIRMED},
+        };
+        for (EnrollmentStatus[] t : transitions) {
+            fillAll();
+            String etag = catalogCache.workshopETag();
+
+            catalogCache.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                    5L, 7L, null, 1L, null, 10L, t[0], t[1]));
+
+            assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).as("%s -> %s", t[0], t[1]).isFalse();
+            assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isFalse();
+            assertThat(catalogCache.workshopETag()).isNotEqualTo(etag);
+        }
+
+        fillAll();
+        catalogCache.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                5L, 7L, null, 1L, null, 10L, EnrollmentStatus.WAITLISTED, EnrollmentStatus.CANCELLED));
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isTrue();
+    }
+
+    @Test
+    void enrollmentMovesInOneTransaction_evictOnceAfterCommit() {
+        fillAll();
+        String etag = catalogCache.workshopETag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        for (long enrollmentId = 1; enrollmentId <= 50; enrollmentId++) {
+            catalogCache.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                    enrollmentId, 7L, null, enrollmentId % 2 == 0 ? 1L : 2L, null, 10L,
+                    null, EnrollmentStatus.CONFIRMED));
+        }
+
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isTrue();
+        assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isTrue();
+        assertThat(catalogCache.workshopETag()).isEqualTo(etag);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 1L)).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_DETAIL, 2L)).isFalse();
+        assertThat(cached(CatalogCache.WORKSHOP_LIST, "upcoming")).isFalse();
+        // One revision for the whole batch.
+        assertThat(catalogCache.workshopETag()).isEqualTo(etag.replace("-0\"", "-1\""));
+    }
+
+    @Test
+    void etags_changeOnlyForTheAggregateThatChanged() {
+        String workshops = catalogCache.workshopETag();
+        String courses = catalogCache.courseETag();
+
+        catalogCache.activityChanged(1L);
+        assertThat(catalogCache.workshopETag()).isEqualTo(workshops);
+        assertThat(catalogCache.courseETag()).isEqualTo(courses);
+
+        catalogCache.groupChanged(1L, null);
+        assertThat(catalogCache.workshopETag()).isNotEqualTo(workshops);
+        assertThat(catalogCache.courseETag()).isEqualTo(courses);
+
+        catalogCache.courseChanged(1L);
+        assertThat(catalogCache.courseETag()).isNotEqualTo(courses);
+    }
+
+    @Test
+    void etag_isNotBumpedBeforeCommit() {
+        String before = catalogCache.workshopETag();
+        TransactionSynchronizationManager.initSynchronization();
+
+        catalogCache.workshopChanged(1L);
+
+        assertThat(catalogCache.workshopETag()).isEqualTo(before);
+    }
+
+    @Test
+    void upcomingEtag_rollsOverWithTheDate() {
+        LocalDate today = LocalDate.of(2026, 10, 18);
+
+        assertThat(catalogCache.workshopETag(today)).isEqualTo(catalogCache.workshopETag(today));
+        assertThat(catalogCache.workshopETag(today)).isNotEqualTo(catalogCache.workshopETag(today.plusDays(1)));
+        assertThat(catalogCache.workshopETag(today)).isNotEqualTo(catalogCache.workshopETag());
+    }
+
+    private void fillAll() {
+        for (String name : CatalogCache.ALL) {
+            var cache = cacheManager.getCache(name);
+            cache.put(1L, "one");
+            cache.put(2L, "two");
+            cache.put("all", "list");
+            cache.put("upcoming", "list");
+        }
+    }
+
+    private boolean cached(String cacheName, Object key) {
+        return cacheManager.getCache(cacheName).get(key) != null;
+    }
+}
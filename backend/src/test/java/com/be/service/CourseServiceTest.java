@@ -39,9 +39,11 @@ class CourseServiceTest {
     private AgeGroupRepository ageGroupRepository;
     @Mock
     private GroupRepository groupRepository;
+    @Mock
+    private CatalogCache catalogCache;
 
     private CourseService service() {
-        return new CourseService(courseRepository, userRepository, ageGroupRepository, groupRepository, new CourseMapper(new UserMapper()));
+        return new CourseService(courseRepository, userRepository, ageGroupRepository, groupRepository, new CourseMapper(new UserMapper()), catalogCache);
     }
 
     private CourseCreateDTO.CourseCreateDTOBuilder baseDto() {
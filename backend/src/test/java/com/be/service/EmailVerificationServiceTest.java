@@ -1,6 +1,7 @@
 package com.be.service;
 
 import com.be.domain.entity.User;
+import com.be.domain.entity.enums.MailTemplate;
 import com.be.domain.exception.InvalidVerificationTokenException;
 import com.be.domain.repository.UserRepository;
 import org.junit.jupiter.api.Test;
@@ -8,7 +9,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.MailSendException;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -24,14 +24,14 @@ class EmailVerificationServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
-    private MailService mailService;
+    private MailOutboxService mailOutboxService;
 
     private EmailVerificationService service() {
-        return new EmailVerificationService(userRepository, mailService, "https://tlab29.com", 24);
+        return new EmailVerificationService(userRepository, mailOutboxService, "https://tlab29.com", 24);
     }
 
     @Test
-    void sendVerificationEmail_setsHashAndExpiry_andEmailsALinkContainingThePlaintextToken() {
+    void sendVerificationEmail_setsHashAndExpiry_andQueuesALinkContainingThePlaintextToken() {
         User user = User.builder().id(1L).email("a@example.com").build();
 
         service().sendVerificationEmail(user);
@@ -41,7 +41,7 @@ class EmailVerificationServiceTest {
         verify(userRepository).save(user);
 
         ArgumentCaptor<String> linkCaptor = ArgumentCaptor.forClass(String.class);
-        verify(mailService).sendVerificationEmail(eq("a@example.com"), linkCaptor.capture());
+        verify(mailOutboxService).enqueue(eq(MailTemplate.VERIFICATION), eq("a@example.com"), linkCaptor.capture());
         assertThat(linkCaptor.getValue()).startsWith("https://tlab29.com/verify-email?token=");
         // The hash stored on the user must never equal the plaintext token
         // embedded in the link — that would defeat the whole point of hashing.
@@ -49,19 +49,6 @@ class EmailVerificationServiceTest {
         assertThat(user.getVerificationTokenHash()).isNotEqualTo(plaintextToken);
     }
 
-    @Test
-    void sendVerificationEmail_mailSendingFails_doesNotPropagate() {
-        // A mail outage (or SMTP not configured yet) must not blow up
-        // registration — the account and its token are already saved by
-        // the time mail sending is attempted.
-        User user = User.builder().id(1L).email("a@example.com").build();
-        doThrow(new MailSendException("smtp down")).when(mailService).sendVerificationEmail(anyString(), anyString());
-
-        service().sendVerificationEmail(user); // must not throw
-
-        verify(userRepository).save(user);
-    }
-
     @Test
     void verifyToken_roundTrip_marksEmailVerifiedAndClearsToken() {
         User user = User.builder().id(1L).email("a@example.com").emailVerified(false).build();
@@ -69,7 +56,7 @@ class EmailVerificationServiceTest {
 
         EmailVerificationService service = service();
         service.sendVerificationEmail(user);
-        verify(mailService).sendVerificationEmail(anyString(), linkCaptor.capture());
+        verify(mailOutboxService).enqueue(any(), anyString(), linkCaptor.capture());
         String token = linkCaptor.getValue().substring(linkCaptor.getValue().indexOf("token=") + 6);
 
         when(userRepository.findByVerificationTokenHash(user.getVerificationTokenHash()))
@@ -101,7 +88,7 @@ class EmailVerificationServiceTest {
 
         EmailVerificationService service = service();
         service.sendVerificationEmail(user);
-        verify(mailService).sendVerificationEmail(anyString(), linkCaptor.capture());
+        verify(mailOutboxService).enqueue(any(), anyString(), linkCaptor.capture());
         String token = linkCaptor.getValue().substring(linkCaptor.getValue().indexOf("token=") + 6);
 
         user.setVerificationTokenExpiresAt(LocalDateTime.now().minusMinutes(1)); // simulate expiry
@@ -0,0 +1,204 @@
+package com.be.service;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import com.be.domain.exception.AdmissionQueueFullException;
+import com.be.domain.exception.GroupFullException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.AdmissionMode;
+import com.be.service.EnrollmentAdmissionQueue.Admission;
+import com.be.service.EnrollmentService.AdmissionBatch;
+import com.be.service.EnrollmentService.AdmissionRequest;
+import com.be.service.EnrollmentService.AdmissionResult;
+import com.be.web.dto.request.EnrollmentRequestDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * V20 — requests for an admission-mode group are queued and enrolled in
+ * batches by one drainer, get a ticket with their position when the
+ * outcome takes longer than wait-ms, and are told "full" from memory once
+ * a batch has used the group up, until a spot is released.
+ */
+@ExtendWith(MockitoExtension.class)
+class EnrollmentAdmissionQueueTest {
+
+    private static final long WORKSHOP = 2L;
+    private static final long GROUP = 3L;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+    @Mock
+    private GroupRepository groupRepository;
+
+    private EnrollmentAdmissionQueue queue;
+
+    private EnrollmentAdmissionQueue queue(long waitMs, int capacity) {
+        queue = new EnrollmentAdmissionQueue(enrollmentService, groupRepository, new SimpleMeterRegistry(),
+                capacity, 50, waitMs, 60_000, Duration.ofMinutes(1), Duration.ofMinutes(1), 1);
+        return queue;
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        if (queue != null) queue.shutdown();
+    }
+
+    @Test
+    void groupNotInAdmissionMode_enrollsDirectly() {
+        when(groupRepository.findAdmissionMode(GROUP)).thenReturn(Optional.of(mode(false)));
+        Enrollment enrollment = Enrollment.builder().id(1L).build();
+        EnrollmentRequestDTO request = request(false);
+        when(enrollmentService.enroll(WORKSHOP, 1L, request)).thenReturn(enrollment);
+
+        Admission admission = queue(1000, 10).enroll(WORKSHOP, 1L, request);
+
+        assertThat(admission.enrollment()).isSameAs(enrollment);
+        verify(enrollmentService, never()).admitBatch(any(), anyList());
+    }
+
+    @Test
+    void requestsBehindABusyDrainer_getPositions_andGoInOneBatch() throws InterruptedException {
+        when(groupRepository.findAdmissionMode(GROUP)).thenReturn(Optional.of(mode(true)));
+        CountDownLatch inFirstBatch = new CountDownLatch(1);
+        CountDownLatch firstBatch = new CountDownLatch(1);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(enrollmentService.admitBatch(eq(GROUP), anyList())).thenAnswer(inv -> {
+            List<AdmissionRequest> requests = inv.getArgument(1);
+            synchronized (batchSizes) {
+                batchSizes.add(requests.size());
+            }
+            inFirstBatch.countDown();
+            firstBatch.await(5, TimeUnit.SECONDS);
+            return confirmed(requests, 10);
+        });
+        EnrollmentAdmissionQueue queue = queue(50, 3);
+
+        // 1 is taken straight away and held in admitBatch; 2-4 wait behind it.
+        Admission first = queue.enroll(WORKSHOP, 1L, request(false));
+        assertThat(inFirstBatch.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Admission> waiting = List.of(
+                queue.enroll(WORKSHOP, 2L, request(false)),
+                queue.enroll(WORKSHOP, 3L, request(false)),
+                queue.enroll(WORKSHOP, 4L, request(false)));
+
+        assertThat(queue.findTicket(first.ticket().id(), 1L).orElseThrow().position()).isZero();
+        assertThat(waiting).extracting(a -> a.ticket().position()).containsExactly(1L, 2L, 3L);
+        assertThatThrownBy(() -> queue.enroll(WORKSHOP, 5L, request(false)))
+                .isInstanceOf(AdmissionQueueFullException.class);
+        // Someone else's ticket isn't visible.
+        assertThat(queue.findTicket(waiting.get(0).ticket().id(), 99L)).isEmpty();
+
+        firstBatch.countDown();
+        String last = waiting.get(2).ticket().id();
+        await().atMost(5, TimeUnit.SECONDS).until(() -> queue.findTicket(last, 4L).orElseThrow().decided());
+        assertThat(queue.findTicket(last, 4L).orElseThrow().enrollment().getStatus())
+                .isEqualTo(EnrollmentStatus.CONFIRMED);
+        assertThat(batchSizes).containsExactly(1, 3);
+    }
+
+    @Test
+    void soldOut_isAnsweredFromMemory_untilASpotIsReleased() {
+        when(groupRepository.findAdmissionMode(GROUP)).thenReturn(Optional.of(mode(true)));
+        when(enrollmentService.admitBatch(eq(GROUP), anyList())).thenAnswer(inv -> {
+            List<AdmissionRequest> requests = inv.getArgument(1);
+            return new AdmissionBatch(requests.stream()
+                    .map(r -> r.joinWaitlist()
+                            ? new AdmissionResult(enrollment(r.userId(), EnrollmentStatus.WAITLISTED), null)
+                            : new AdmissionResult(null, new GroupFullException("Group is full")))
+                    .toList(), 0);
+        });
+        EnrollmentAdmissionQueue queue = queue(2000, 10);
+
+        assertThatThrownBy(() -> queue.enroll(WORKSHOP, 1L, request(false))).isInstanceOf(GroupFullException.class);
+        assertThatThrownBy(() -> queue.enroll(WORKSHOP, 2L, request(false))).isInstanceOf(GroupFullException.class);
+        verify(enrollmentService, times(1)).admitBatch(eq(GROUP), anyList());
+
+        // Joining the waitlist still goes through to the database.
+        assertThat(queue.enroll(WORKSHOP, 3L, request(true)).enrollment().getStatus())
+                .isEqualTo(EnrollmentStatus.WAITLISTED);
+        verify(enrollmentService, times(2)).admitBatch(eq(GROUP), anyList());
+
+        queue.onEnrollmentStatusChanged(new EnrollmentStatusChangedEvent(
+                7L, 7L, null, WORKSHOP, null, GROUP, EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED));
+        assertThatThrownBy(() -> queue.enroll(WORKSHOP, 4L, request(false))).isInstanceOf(GroupFullException.class);
+        verify(enrollmentService, times(3)).admitBatch(eq(GROUP), anyList());
+    }
+
+    @Test
+    void errorInABatch_failsItsTickets_andTheLaneKeepsDraining() {
+        when(groupRepository.findAdmissionMode(GROUP)).thenReturn(Optional.of(mode(true)));
+        when(enrollmentService.admitBatch(eq(GROUP), anyList()))
+                .thenThrow(new NoClassDefFoundError("com/be/Missing"))
+                .thenAnswer(inv -> confirmed(inv.getArgument(1), 10));
+        EnrollmentAdmissionQueue queue = queue(2000, 10);
+
+        assertThatThrownBy(() -> queue.enroll(WORKSHOP, 1L, request(false)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasCauseInstanceOf(NoClassDefFoundError.class);
+
+        Admission later = queue.enroll(WORKSHOP, 2L, request(false));
+        assertThat(later.enrollment().getStatus()).isEqualTo(EnrollmentStatus.CONFIRMED);
+    }
+
+    private static EnrollmentRequestDTO request(boolean joinWaitlist) {
+        return EnrollmentRequestDTO.builder().groupId(GROUP).joinWaitlist(joinWaitlist).build();
+    }
+
+    private static AdmissionBatch confirmed(List<AdmissionRequest> requests, int capacityLeft) {
+        return new AdmissionBatch(requests.stream()
+                .map(r -> new AdmissionResult(enrollment(r.userId(), EnrollmentStatus.CONFIRMED), null))
+                .toList(), capacityLeft);
+    }
+
+    private static Enrollment enrollment(Long id, EnrollmentStatus status) {
+        return Enrollment.builder().id(id).status(status).build();
+    }
+
+    private static AdmissionMode mode(boolean admissionQueue) {
+        return new AdmissionMode() {
+            @Override
+            public Long getId() {
+                return GROUP;
+            }
+
+            @Override
+            public boolean isAdmissionQueue() {
+                return admissionQueue;
+            }
+
+            @Override
+            public Long getWorkshopId() {
+                return WORKSHOP;
+            }
+
+            @Override
+            public Long getCourseId() {
+                return null;
+            }
+        };
+    }
+}
@@ -1,25 +1,29 @@
 package com.be.service;
 
-import com.be.domain.entity.Enrollment;
-import com.be.domain.entity.User;
 import com.be.domain.entity.enums.EnrollmentStatus;
 import com.be.domain.repository.EnrollmentRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
  * LR-084 — 7-day TTL sweep for unpaid PENDING enrollments (round-2
- * roundtable, owner-confirmed 2026-08-16).
+ * roundtable, owner-confirmed 2026-08-16). Now chunked: ids are read
+ * keyset-style and each chunk goes to EnrollmentService.expireBatch.
  */
 @ExtendWith(MockitoExtension.class)
 class EnrollmentCleanupServiceTest {
@@ -29,54 +33,63 @@ class EnrollmentCleanupServiceTest {
     @Mock
     private EnrollmentService enrollmentService;
 
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private EnrollmentCleanupService service() {
-        return new EnrollmentCleanupService(enrollmentRepository, enrollmentService);
+        return new EnrollmentCleanupService(enrollmentRepository, enrollmentService, meterRegistry);
     }
 
-    @Test
-    void expireStalePendingEnrollments_callsExpireForEachStaleRow() {
-        Enrollment stale1 = Enrollment.builder().id(1L).user(User.builder().id(1L).build())
-                .status(EnrollmentStatus.PENDING).build();
-        Enrollment stale2 = Enrollment.builder().id(2L).user(User.builder().id(2L).build())
-                .status(EnrollmentStatus.PENDING).build();
+    private void staleChunks(List<Long> first, List<Long> second) {
+        doReturn(first, second, List.of()).when(enrollmentRepository).findIdsByStatusAndPendingSinceBefore(
+                eq(EnrollmentStatus.PENDING), any(LocalDateTime.class), anyLong(), any(Limit.class));
+    }
 
-        when(enrollmentRepository.findByStatusAndCreatedAtBefore(eq(EnrollmentStatus.PENDING), any(LocalDateTime.class)))
-                .thenReturn(List.of(stale1, stale2));
+    @Test
+    void expireStalePendingEnrollments_expiresEachChunk_keysetFromLastId() {
+        staleChunks(List.of(1L, 2L), List.of(7L));
+        when(enrollmentService.expireBatch(any())).thenAnswer(inv -> ((List<?>) inv.getArgument(0)).size());
 
         service().expireStalePendingEnrollments();
 
-        verify(enrollmentService).expire(stale1);
-        verify(enrollmentService).expire(stale2);
+        verify(enrollmentService).expireBatch(List.of(1L, 2L));
+        verify(enrollmentService).expireBatch(List.of(7L));
+        // Next page starts after the last id of the previous one.
+        verify(enrollmentRepository).findIdsByStatusAndPendingSinceBefore(
+                eq(EnrollmentStatus.PENDING), any(LocalDateTime.class), eq(2L), any(Limit.class));
+        verify(enrollmentRepository).findIdsByStatusAndPendingSinceBefore(
+                eq(EnrollmentStatus.PENDING), any(LocalDateTime.class), eq(7L), any(Limit.class));
+        assertThat(meterRegistry.counter("enrollment.expiry.expired").count()).isEqualTo(3.0);
+        assertThat(meterRegistry.timer("enrollment.expiry.chunk").count()).isEqualTo(2);
     }
 
     @Test
-    void expireStalePendingEnrollments_oneFailure_doesNotBlockTheRest() {
-        Enrollment bad = Enrollment.builder().id(1L).user(User.builder().id(1L).build())
-                .status(EnrollmentStatus.PENDING).build();
-        Enrollment ok = Enrollment.builder().id(2L).user(User.builder().id(2L).build())
-                .status(EnrollmentStatus.PENDING).build();
-
-        when(enrollmentRepository.findByStatusAndCreatedAtBefore(eq(EnrollmentStatus.PENDING), any(LocalDateTime.class)))
-                .thenReturn(List.of(bad, ok));
-        doThrow(new RuntimeException("boom")).when(enrollmentService).expire(bad);
+    void expireStalePendingEnrollments_oneFailedChunk_doesNotBlockTheRest() {
+        staleChunks(List.of(1L, 2L), List.of(3L));
+        when(enrollmentService.expireBatch(List.of(1L, 2L))).thenThrow(new RuntimeException("boom"));
+        when(enrollmentService.expireBatch(List.of(3L))).thenReturn(1);
 
         service().expireStalePendingEnrollments();
 
-        verify(enrollmentService).expire(ok);
+        verify(enrollmentService).expireBatch(List.of(3L));
+        assertThat(meterRegistry.counter("enrollment.expiry.chunk.failed").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("enrollment.expiry.expired").count()).isEqualTo(1.0);
     }
 
     @Test
     void expireStalePendingEnrollments_usesSevenDayCutoff() {
-        when(enrollmentRepository.findByStatusAndCreatedAtBefore(eq(EnrollmentStatus.PENDING), any(LocalDateTime.class)))
+        when(enrollmentRepository.findIdsByStatusAndPendingSinceBefore(
+                eq(EnrollmentStatus.PENDING), any(LocalDateTime.class), anyLong(), any(Limit.class)))
                 .thenReturn(List.of());
 
         service().expireStalePendingEnrollments();
 
         ArgumentCaptor<LocalDateTime> cutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
-        verify(enrollmentRepository).findByStatusAndCreatedAtBefore(eq(EnrollmentStatus.PENDING), cutoffCaptor.capture());
+        verify(enrollmentRepository).findIdsByStatusAndPendingSinceBefore(
+                eq(EnrollmentStatus.PENDING), cutoffCaptor.capture(), eq(0L), any(Limit.class));
+        verifyNoInteractions(enrollmentService);
 
         LocalDateTime expectedCutoff = LocalDateTime.now().minusDays(7);
         long diffSeconds = Math.abs(java.time.Duration.between(expectedCutoff, cutoffCaptor.getValue()).getSeconds());
-        org.assertj.core.api.Assertions.assertThat(diffSeconds).isLessThan(5);
+        assertThat(diffSeconds).isLessThan(5);
     }
 }
@@ -0,0 +1,128 @@
+package com.be.service;
+
+import com.be.domain.entity.Enrollment;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.User;
+import com.be.domain.entity.Workshop;
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.repository.EnrollmentRepository;
+import com.be.web.mapper.EnrollmentMapper;
+import com.be.web.mapper.UserMapper;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Participant export: CSV/NDJSON row format, CSV quoting and formula
+ * neutralisation, and that the cursor is closed and the persistence
+ * context cleared as rows go by.
+ */
+@ExtendWith(MockitoExtension.class)
+class EnrollmentExportServiceTest {
+
+    @Mock
+    private EnrollmentRepository enrollmentRepository;
+    @Mock
+    private EntityManager entityManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private EnrollmentExportService service() {
+        return new EnrollmentExportService(enrollmentRepository, new EnrollmentMapper(new UserMapper()),
+                objectMapper, entityManager);
+    }
+
+    @Test
+    void csv_hasHeaderAndOneRowPerEnrollment_quotingWhereNeeded() throws Exception {
+        when(enrollmentRepository.streamByWorkshopId(3L)).thenReturn(Stream.of(
+                enrollment(1L, "Anna", "Muster, Jr."),
+                enrollment(2L, "=HYPERLINK(\"x\")", "Doe")));
+
+        StringWriter out = new StringWriter();
+        int rows = service().exportWorkshop(3L, EnrollmentExportService.Format.CSV, out);
+
+        String[] lines = out.toString().split("\r\n");
+        assertThat(rows).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("enrollmentId,status,createdAt,workshopId");
+        assertThat(lines[1]).isEqualTo(
+                "1,CONFIRMED,2026-10-18T18:30,3,Sommer-Workshop,,,9,Group,11,u1@example.com,Anna,\"Muster, Jr.\"");
+        assertThat(lines[2]).contains(",\"'=HYPERLINK(\"\"x\"\")\",Doe");
+    }
+
+    @Test
+    void ndjson_writesOneAdminDtoPerLine() throws Exception {
+        when(enrollmentRepository.streamByGroupId(9L)).thenReturn(Stream.of(
+                enrollment(1L, "Anna", "Muster"),
+                enrollment(2L, "Ben", "Beispiel")));
+
+        StringWriter out = new StringWriter();
+        service().exportGroup(9L, EnrollmentExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString().split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.get("id").asLong()).isEqualTo(1L);
+        assertThat(first.get("groupId").asLong()).isEqualTo(9L);
+        assertThat(first.get("user").get("lastName").asText()).isEqualTo("Muster");
+        assertThat(objectMapper.readTree(lines[1]).get("user").get("firstName").asText()).isEqualTo("Ben");
+    }
+
+    @Test
+    void largeExport_closesCursor_andClearsPersistenceContextPeriodically() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        int total = EnrollmentExportService.CLEAR_EVERY * 2 + 7;
+        when(enrollmentRepository.streamByWorkshopId(3L)).thenReturn(
+                IntStream.rangeClosed(1, total).mapToObj(i -> enrollment((long) i, "F", "L"))
+                        .onClose(() -> closed.set(true)));
+
+        int rows = service().exportWorkshop(3L, EnrollmentExportService.Format.NDJSON, new StringWriter());
+
+        assertThat(rows).isEqualTo(total);
+        assertThat(closed).isTrue();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void csvCell_leavesNegativeNumbersAlone() {
+        assertThat(EnrollmentExportService.csvCell(-5)).isEqualTo("-5");
+        assertThat(EnrollmentExportService.csvCell("-5")).isEqualTo("'-5");
+        assertThat(EnrollmentExportService.csvCell(null)).isEmpty();
+    }
+
+    private Enrollment enrollment(Long id, String firstName, String lastName) {
+        User user = User.builder()
+                .id(10 + id).email("u" + id + "@example.com")
+                .firstName(firstName).lastName(lastName)
+                .role(Role.USER)
+                .build();
+        Workshop workshop = Workshop.builder().id(3L).workshopName("Sommer-Workshop").build();
+        Group group = Group.builder().id(9L).titleEn("Group").build();
+        return Enrollment.builder()
+                .id(id)
+                .user(user)
+                .workshop(workshop)
+                .group(group)
+                .status(EnrollmentStatus.CONFIRMED)
+                .createdAt(LocalDateTime.of(2026, 10, 18, 18, 30))
+                .build();
+    }
+}
@@ -2,22 +2,29 @@ package com.be.service;
 
 import com.be.domain.entity.*;
 import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
 import com.be.domain.exception.AlreadyEnrolledException;
 import com.be.domain.exception.GroupFullException;
 import com.be.domain.repository.*;
+import com.be.domain.repository.GroupRepository.StatusCounts;
+import com.be.web.dto.request.BatchEnrollmentRequestDTO;
 import com.be.web.dto.request.EnrollmentRequestDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -44,10 +51,12 @@ class EnrollmentServiceTest {
     private OrderRepository orderRepository;
     @Mock
     private NotificationService notificationService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     private EnrollmentService service() {
         return new EnrollmentService(enrollmentRepository, userRepository, workshopRepository,
-                courseRepository, groupRepository, orderRepository, notificationService);
+                courseRepository, groupRepository, orderRepository, notificationService, eventPublisher);
     }
 
     private User user(long id) {
@@ -107,7 +116,7 @@ class EnrollmentServiceTest {
 
     // Was a separate getEnrolledCount()>=getCapacity() check + save(), not
     // atomic across two concurrent transactions — this test exercises the
-    // new atomic decrementCapacityLeft path instead.
+    // new atomic moveSpots path instead.
     @Test
     void enroll_groupFull_atomicDecrementReturnsZero_throws() {
         User user = user(1L);
@@ -118,7 +127,7 @@ class EnrollmentServiceTest {
         when(workshopRepository.findById(2L)).thenReturn(Optional.of(workshop));
         when(enrollmentRepository.existsByUserIdAndWorkshopId(1L, 2L)).thenReturn(false);
         when(groupRepository.findById(3L)).thenReturn(Optional.of(group));
-        when(groupRepository.decrementCapacityLeft(3L)).thenReturn(0);
+        when(groupRepository.moveSpots(3L, 1, StatusCounts.of(EnrollmentStatus.CONFIRMED, 1))).thenReturn(0);
 
         EnrollmentRequestDTO request = EnrollmentRequestDTO.builder().groupId(3L).build();
 
@@ -137,7 +146,7 @@ class EnrollmentServiceTest {
         when(courseRepository.findById(5L)).thenReturn(Optional.of(course));
         when(enrollmentRepository.existsByUserIdAndCourseId(1L, 5L)).thenReturn(false);
         when(groupRepository.findByCourseId(5L)).thenReturn(List.of(linkedGroup));
-        when(groupRepository.decrementCapacityLeft(6L)).thenReturn(1);
+        when(groupRepository.moveSpots(6L, 1, StatusCounts.of(EnrollmentStatus.CONFIRMED, 1))).thenReturn(1);
         when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(inv -> inv.getArgument(0));
 
         Enrollment result = service().enrollCourse(5L, 1L, null);
@@ -146,7 +155,7 @@ class EnrollmentServiceTest {
         assertThat(result.getCourse()).isEqualTo(course);
         assertThat(result.getGroup()).isEqualTo(linkedGroup);
         assertThat(result.getWorkshop()).isNull();
-        verify(groupRepository).decrementCapacityLeft(6L);
+        verify(groupRepository).moveSpots(6L, 1, StatusCounts.of(EnrollmentStatus.CONFIRMED, 1));
     }
 
     @Test
@@ -183,25 +192,163 @@ class EnrollmentServiceTest {
 
         service().cancelEnrollment(10L, 1L, false);
 
-        verify(groupRepository).incrementCapacityLeft(3L);
+        // Spot back and the counters moved, in one statement.
+        verify(groupRepository).moveSpots(3L, -1,
+                StatusCounts.moved(EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED, 1));
         assertThat(enrollment.getStatus()).isEqualTo(EnrollmentStatus.CANCELLED);
+        // previousStatus is what lets MetricsService's snapshot take the
+        // spot back out of the fill rate.
+        verify(eventPublisher).publishEvent(new EnrollmentStatusChangedEvent(
+                10L, 1L, null, null, null, 3L, EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED));
     }
 
     @Test
-    void expire_releasesCapacityAndSetsExpired() {
-        Group group = Group.builder().id(3L).build();
-        Enrollment enrollment = Enrollment.builder()
-                .id(11L)
-                .user(user(1L))
-                .group(group)
-                .status(EnrollmentStatus.PENDING)
-                .build();
+    void expireBatch_oneStatusUpdate_oneCapacityReleasePerGroup() {
+        Group g3 = Group.builder().id(3L).build();
+        Group g4 = Group.builder().id(4L).build();
+        List<Enrollment> stillPending = List.of(
+                Enrollment.builder().id(11L).user(user(1L)).group(g3).status(EnrollmentStatus.PENDING).build(),
+                Enrollment.builder().id(12L).user(user(2L)).group(g3).status(EnrollmentStatus.PENDING).build(),
+                Enrollment.builder().id(13L).user(user(3L)).group(g4).status(EnrollmentStatus.PENDING).build(),
+                Enrollment.builder().id(14L).user(user(4L)).status(EnrollmentStatus.PENDING).build());
+        // 15 was paid/cancelled since the keyset read — the locking query
+        // doesn't return it, so it's neither expired nor released.
+        when(enrollmentRepository.findByIdInAndStatusForUpdate(List.of(11L, 12L, 13L, 14L, 15L), EnrollmentStatus.PENDING))
+                .thenReturn(stillPending);
+
+        int expired = service().expireBatch(List.of(11L, 12L, 13L, 14L, 15L));
+
+        assertThat(expired).isEqualTo(4);
+        verify(enrollmentRepository).updateStatusByIdIn(List.of(11L, 12L, 13L, 14L), EnrollmentStatus.EXPIRED);
+        verify(groupRepository).moveSpots(3L, -2,
+                StatusCounts.moved(EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED, 2));
+        verify(groupRepository).moveSpots(4L, -1,
+                StatusCounts.moved(EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED, 1));
+        verify(groupRepository, times(2)).moveSpots(any(), anyInt(), any());
+        verify(enrollmentRepository, never()).save(any());
+        verify(eventPublisher, times(4)).publishEvent(any(EnrollmentStatusChangedEvent.class));
+    }
+
+    // V20 — one lock + one guarded decrement for the batch; past the
+    // remaining capacity a request is waitlisted if it asked, else turned
+    // away; a user already enrolled is rejected without failing the rest.
+    @Test
+    void admitBatch_takesWhatsLeftInOneDecrement_thenWaitlistsOrRejects() {
+        Workshop workshop = Workshop.builder().id(2L).price(null).build();
+        Group group = Group.builder().id(3L).workshop(workshop).build();
+        when(groupRepository.findById(3L)).thenReturn(Optional.of(group));
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(1L), user(2L), user(4L), user(5L), user(6L)));
+        when(enrollmentRepository.findUserIdsEnrolledInWorkshop(eq(2L), any())).thenReturn(List.of(6L));
+        when(groupRepository.lockCapacityLeft(3L)).thenReturn(Optional.of(2));
+
+        EnrollmentService.AdmissionBatch batch = service().admitBatch(3L, List.of(
+                new EnrollmentService.AdmissionRequest(1L, false),
+                new EnrollmentService.AdmissionRequest(6L, false),
+                new EnrollmentService.AdmissionRequest(2L, false),
+                new EnrollmentService.AdmissionRequest(4L, true),
+                new EnrollmentService.AdmissionRequest(5L, false)));
+
+        // Two confirmed, one waitlisted — spots and counters in one UPDATE.
+        verify(groupRepository).moveSpots(3L, 2, new StatusCounts(0, 2, 0, 0, 1));
+        assertThat(batch.capacityLeft()).isZero();
+        List<EnrollmentService.AdmissionResult> results = batch.results();
+        assertThat(results.get(0).enrollment().getStatus()).isEqualTo(EnrollmentStatus.CONFIRMED);
+        assertThat(results.get(1).rejection()).isInstanceOf(AlreadyEnrolledException.class);
+        assertThat(results.get(2).enrollment().getStatus()).isEqualTo(EnrollmentStatus.CONFIRMED);
+        assertThat(results.get(3).enrollment().getStatus()).isEqualTo(EnrollmentStatus.WAITLISTED);
+        assertThat(results.get(4).rejection()).isInstanceOf(GroupFullException.class);
+        verify(enrollmentRepository).saveAll(List.of(results.get(0).enrollment(), results.get(2).enrollment(),
+                results.get(3).enrollment()));
+        verify(eventPublisher, times(3)).publishEvent(any(EnrollmentStatusChangedEvent.class));
+    }
 
+    @Test
+    void cancelEnrollment_withAWaitlist_promotesTheOldestInsteadOfReleasing() {
+        Workshop workshop = Workshop.builder().id(2L).price(new BigDecimal("50.00")).build();
+        Group group = Group.builder().id(3L).workshop(workshop).build();
+        Enrollment cancelled = Enrollment.builder().id(10L).user(user(1L)).workshop(workshop).group(group)
+                .status(EnrollmentStatus.CONFIRMED).build();
+        Enrollment waiting = Enrollment.builder().id(20L).user(user(2L)).workshop(workshop).group(group)
+                .status(EnrollmentStatus.WAITLISTED).build();
+        when(enrollmentRepository.findById(10L)).thenReturn(Optional.of(cancelled));
         when(enrollmentRepository.save(any(Enrollment.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(enrollmentRepository.findByGroupIdAndStatusForUpdate(3L, EnrollmentStatus.WAITLISTED, Limit.of(1)))
+                .thenReturn(List.of(waiting));
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        service().cancelEnrollment(10L, 1L, false);
+
+        // The spot goes to the promoted one, so capacity doesn't move.
+        verify(groupRepository).moveSpots(3L, 0,
+                StatusCounts.moved(EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED, 1)
+                        .plus(StatusCounts.moved(EnrollmentStatus.WAITLISTED, EnrollmentStatus.PENDING, 1)));
+        // Paid workshop: promoted the same way a fresh enrollment starts.
+        assertThat(waiting.getStatus()).isEqualTo(EnrollmentStatus.PENDING);
+        assertThat(waiting.getOrder().getAmount()).isEqualByComparingTo("50.00");
+        verify(eventPublisher).publishEvent(new EnrollmentStatusChangedEvent(
+                20L, 2L, null, 2L, null, 3L, EnrollmentStatus.WAITLISTED, EnrollmentStatus.PENDING));
+    }
+
+    @Test
+    void enrollBatch_paidWorkshop_oneDecrementForAllSeats_oneAggregatedOrder() {
+        Workshop workshop = Workshop.builder().id(2L).price(new BigDecimal("40.00")).build();
+        Group group = Group.builder().id(3L).workshop(workshop).build();
+        User payer = user(9L);
+        when(workshopRepository.findById(2L)).thenReturn(Optional.of(workshop));
+        when(groupRepository.findById(3L)).thenReturn(Optional.of(group));
+        when(enrollmentRepository.findUserIdsEnrolledInWorkshop(eq(2L), any())).thenReturn(List.of());
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(5L), user(4L), user(6L)));
+        when(userRepository.findById(9L)).thenReturn(Optional.of(payer));
+        when(groupRepository.moveSpots(3L, 3, StatusCounts.of(EnrollmentStatus.PENDING, 3))).thenReturn(1);
+        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        EnrollmentService.BatchEnrollment batch = service().enrollBatch(2L, 9L, batchRequest(3L, 4L, 5L, 6L));
+
+        assertThat(batch.enrollments()).extracting(e -> e.getUser().getId()).containsExactly(4L, 5L, 6L);
+        assertThat(batch.enrollments()).allSatisfy(e -> {
+            assertThat(e.getStatus()).isEqualTo(EnrollmentStatus.PENDING);
+            assertThat(e.getOrder()).isSameAs(batch.order());
+        });
+        assertThat(batch.order().getUser()).isSameAs(payer);
+        assertThat(batch.order().getQuantity()).isEqualTo(3);
+        assertThat(batch.order().getAmount()).isEqualByComparingTo("120.00");
+        verify(orderRepository, times(1)).save(any(Order.class));
+        verify(enrollmentRepository).saveAll(batch.enrollments());
+        verify(groupRepository, times(1)).moveSpots(any(), anyInt(), any());
+    }
+
+    @Test
+    void enrollBatch_notEnoughSeatsForEveryone_rejectsTheWholeBatch() {
+        Workshop workshop = Workshop.builder().id(2L).price(null).build();
+        Group group = Group.builder().id(3L).workshop(workshop).build();
+        when(workshopRepository.findById(2L)).thenReturn(Optional.of(workshop));
+        when(groupRepository.findById(3L)).thenReturn(Optional.of(group));
+        when(enrollmentRepository.findUserIdsEnrolledInWorkshop(eq(2L), any())).thenReturn(List.of());
+        when(userRepository.findAllById(any())).thenReturn(List.of(user(4L), user(5L)));
+        when(userRepository.findById(9L)).thenReturn(Optional.of(user(9L)));
+        when(groupRepository.moveSpots(3L, 2, StatusCounts.of(EnrollmentStatus.CONFIRMED, 2))).thenReturn(0);
+
+        assertThatThrownBy(() -> service().enrollBatch(2L, 9L, batchRequest(3L, 4L, 5L)))
+                .isInstanceOf(GroupFullException.class);
+        verify(enrollmentRepository, never()).saveAll(any());
+        verify(orderRepository, never()).save(any());
+    }
 
-        service().expire(enrollment);
+    @Test
+    void enrollBatch_anyoneAlreadyEnrolled_rejectsBeforeReservingSeats() {
+        when(workshopRepository.findById(2L)).thenReturn(Optional.of(Workshop.builder().id(2L).build()));
+        when(enrollmentRepository.findUserIdsEnrolledInWorkshop(eq(2L), any())).thenReturn(List.of(5L));
 
-        verify(groupRepository).incrementCapacityLeft(3L);
-        assertThat(enrollment.getStatus()).isEqualTo(EnrollmentStatus.EXPIRED);
+        assertThatThrownBy(() -> service().enrollBatch(2L, 9L, batchRequest(3L, 4L, 5L)))
+                .isInstanceOf(AlreadyEnrolledException.class)
+                .hasMessageContaining("[5]");
+        verify(groupRepository, never()).moveSpots(any(), anyInt(), any());
+    }
+
+    private static BatchEnrollmentRequestDTO batchRequest(Long groupId, Long... userIds) {
+        return BatchEnrollmentRequestDTO.builder()
+                .groupId(groupId)
+                .userIds(new LinkedHashSet<>(List.of(userIds)))
+                .build();
     }
 }
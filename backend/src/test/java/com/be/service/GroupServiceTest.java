@@ -47,10 +47,15 @@ class GroupServiceTest {
     private CourseRepository courseRepository;
     @Mock
     private LanguageRepository languageRepository;
+    @Mock
+    private CatalogCache catalogCache;
+    @Mock
+    private VenueOccupancyIndex occupancyIndex;
 
     private GroupService service() {
         return new GroupService(groupRepository, workshopRepository, teacherRepository,
-                activityRepository, venueRepository, ageGroupRepository, courseRepository, languageRepository);
+                activityRepository, venueRepository, ageGroupRepository, courseRepository, languageRepository, catalogCache,
+                occupancyIndex);
     }
 
     @Test
@@ -0,0 +1,189 @@
+package com.be.service;
+
+import com.be.domain.entity.IdempotencyRecord;
+import com.be.domain.exception.GroupFullException;
+import com.be.domain.exception.IdempotencyKeyReusedException;
+import com.be.domain.exception.IdempotentRequestInProgressException;
+import com.be.domain.exception.InvalidIdempotencyKeyException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * V22 — a request with an Idempotency-Key runs once; retries get the
+ * stored response from memory or from the row another instance wrote,
+ * a duplicate in flight waits for the first, a failure gives the key
+ * back, and the same key with a different body is refused.
+ */
+@ExtendWith(MockitoExtension.class)
+class IdempotencyGuardTest {
+
+    private static final String ENDPOINT = "POST /orders";
+
+    @Mock
+    private IdempotencyKeyService idempotencyKeyService;
+
+    private IdempotencyGuard guard(long waitMs) {
+        return new IdempotencyGuard(idempotencyKeyService, new ObjectMapper(), new SimpleMeterRegistry(),
+                Duration.ofHours(24), Duration.ofMinutes(1), waitMs, 100);
+    }
+
+    @Test
+    void withoutAKey_justRuns() {
+        ResponseEntity<?> response = guard(1000).execute(null, 1L, ENDPOINT, Map.of("a", 1),
+                () -> ResponseEntity.ok("done"));
+
+        assertThat(response.getBody()).isEqualTo("done");
+        verifyNoInteractions(idempotencyKeyService);
+    }
+
+    @Test
+    void retry_isReplayedFromMemory_withoutRunningAgain() {
+        IdempotencyGuard guard = guard(1000);
+        when(idempotencyKeyService.claim(eq(1L), eq("k1"), any(), any())).thenReturn(true);
+        when(idempotencyKeyService.complete(eq(1L), eq("k1"), any(), eq(201), eq("/api/v1/orders/9"), any(), any()))
+                .thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> first = guard.execute("k1", 1L, ENDPOINT, Map.of("a", 1), () -> created(runs));
+        ResponseEntity<?> retry = guard.execute("k1", 1L, ENDPOINT, Map.of("a", 1), () -> created(runs));
+
+        assertThat(runs).hasValue(1);
+        assertThat(first.getStatusCode().value()).isEqualTo(201);
+        assertThat(retry.getStatusCode().value()).isEqualTo(201);
+        assertThat(retry.getHeaders().getLocation()).isEqualTo(URI.create("/api/v1/orders/9"));
+        assertThat(retry.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getBody()).isEqualTo("{\"id\":9}");
+        verify(idempotencyKeyService, times(1)).claim(any(), any(), any(), any());
+
+        assertThatThrownBy(() -> guard.execute("k1", 1L, ENDPOINT, Map.of("a", 2), () -> created(runs)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void keyHeldInTheDatabase_isReplayedFromTheStoredRow() {
+        IdempotencyGuard guard = guard(1000);
+        byte[] fingerprint = guard.fingerprint(ENDPOINT, Map.of("a", 1));
+        when(idempotencyKeyService.claim(eq(1L), eq("k1"), any(), any())).thenReturn(false);
+        when(idempotencyKeyService.find(1L, "k1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .fingerprint(fingerprint).statusCode(201).responseBody("{\"id\":9}")
+                .expiresAt(LocalDateTime.now().plusHours(1)).build()));
+        AtomicInteger runs = new AtomicInteger();
+
+        ResponseEntity<?> retry = guard.execute("k1", 1L, ENDPOINT, Map.of("a", 1), () -> created(runs));
+
+        assertThat(runs).hasValue(0);
+        assertThat(retry.getBody()).isEqualTo("{\"id\":9}");
+    }
+
+    @Test
+    void stillRunningElsewhere_waitsUpToWaitMs_thenConflict() {
+        IdempotencyGuard guard = guard(150);
+        when(idempotencyKeyService.claim(eq(1L), eq("k1"), any(), any())).thenReturn(false);
+        when(idempotencyKeyService.find(1L, "k1")).thenReturn(Optional.of(IdempotencyRecord.builder()
+                .fingerprint(new byte[32]).expiresAt(LocalDateTime.now().plusMinutes(1)).build()));
+
+        assertThatThrownBy(() -> guard.execute("k1", 1L, ENDPOINT, Map.of("a", 1), () -> ResponseEntity.ok("x")))
+                .isInstanceOf(IdempotentRequestInProgressException.class);
+    }
+
+    @Test
+    void failure_releasesTheKey_andTheRetryRunsAgain() {
+        IdempotencyGuard guard = guard(1000);
+        when(idempotencyKeyService.claim(eq(1L), eq("k1"), any(), any())).thenReturn(true);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.execute("k1", 1L, ENDPOINT, null, () -> {
+            runs.incrementAndGet();
+            throw new GroupFullException("Group is full");
+        })).isInstanceOf(GroupFullException.class);
+        ResponseEntity<?> forbidden = guard.execute("k1", 1L, ENDPOINT, null, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(403).build();
+        });
+
+        assertThat(forbidden.getStatusCode().value()).isEqualTo(403);
+        assertThat(runs).hasValue(2);
+        verify(idempotencyKeyService, times(2)).release(1L, "k1");
+        verify(idempotencyKeyService, never()).complete(any(), any(), any(), anyInt(), any(), any(), any());
+    }
+
+    @Test
+    void concurrentDuplicate_waitsForTheFirst_andGetsItsResponse() throws Exception {
+        IdempotencyGuard guard = guard(5000);
+        when(idempotencyKeyService.claim(eq(1L), eq("k1"), any(), any())).thenReturn(true);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(2);
+        try {
+            Future<ResponseEntity<?>> first = clients.submit(() -> guard.execute("k1", 1L, ENDPOINT, null, () -> {
+                running.countDown();
+                await(finish);
+                return created(runs);
+            }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<ResponseEntity<?>> duplicate = clients.submit(() ->
+                    guard.execute("k1", 1L, ENDPOINT, null, () -> created(runs)));
+
+            Thread.sleep(100);
+            assertThat(duplicate.isDone()).isFalse();
+            finish.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getStatusCode().value()).isEqualTo(201);
+            ResponseEntity<?> replayed = duplicate.get(5, TimeUnit.SECONDS);
+            assertThat(replayed.getHeaders().getFirst(IdempotencyGuard.REPLAYED_HEADER)).isEqualTo("true");
+            assertThat(runs).hasValue(1);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void overlongKey_isRejected() {
+        assertThatThrownBy(() -> guard(1000).execute("x".repeat(256), 1L, ENDPOINT, null,
+                () -> ResponseEntity.ok("x")))
+                .isInstanceOf(InvalidIdempotencyKeyException.class);
+    }
+
+    private static ResponseEntity<?> created(AtomicInteger runs) {
+        runs.incrementAndGet();
+        return ResponseEntity.created(URI.create("/api/v1/orders/9")).body(Map.of("id", 9));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
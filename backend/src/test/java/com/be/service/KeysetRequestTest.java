@@ -0,0 +1,92 @@
+package com.be.service;
+
+import com.be.domain.exception.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Parsing/validation of the admin-list page parameters and the cursor
+ * round trip. The keyset query itself is Spring Data's.
+ */
+class KeysetRequestTest {
+
+    private static final Map<String, Class<?>> SORTABLE =
+            Map.of("id", Long.class, "startDateTime", LocalDateTime.class);
+
+    @Test
+    void defaults_sortByIdAscending_defaultSize_fromTheStart() {
+        KeysetRequest page = KeysetRequest.of(null, null, null, SORTABLE);
+
+        assertThat(page.sort()).isEqualTo(Sort.by("id"));
+        assertThat(page.size()).isEqualTo(KeysetRequest.DEFAULT_SIZE);
+        assertThat(page.position()).isEqualTo(ScrollPosition.keyset());
+    }
+
+    @Test
+    void size_isCappedAtMax() {
+        assertThat(KeysetRequest.of(null, null, 100_000, SORTABLE).size()).isEqualTo(KeysetRequest.MAX_SIZE);
+    }
+
+    @Test
+    void size_belowOne_isRejected() {
+        assertThatThrownBy(() -> KeysetRequest.of(null, null, 0, SORTABLE))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void nonIdSort_getsIdTiebreakerInSameDirection() {
+        KeysetRequest page = KeysetRequest.of("startDateTime,desc", null, null, SORTABLE);
+
+        assertThat(page.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "startDateTime", "id"));
+    }
+
+    @Test
+    void unknownSortField_isRejected() {
+        assertThatThrownBy(() -> KeysetRequest.of("password", null, null, SORTABLE))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> KeysetRequest.of("id,sideways", null, null, SORTABLE))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+
+    @Test
+    void cursor_roundTripsTheLastRowsKeys() {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("startDateTime", LocalDateTime.of(2026, 10, 18, 18, 30));
+        keys.put("id", 42L);
+        Window<String> window = Window.from(List.of("a", "b"), i -> ScrollPosition.forward(keys), true);
+
+        String cursor = KeysetRequest.nextCursor(window);
+        KeysetRequest next = KeysetRequest.of("startDateTime,desc", cursor, null, SORTABLE);
+
+        assertThat(((KeysetScrollPosition) next.position()).getKeys()).isEqualTo(keys);
+    }
+
+    @Test
+    void lastPage_hasNoCursor() {
+        Window<String> window = Window.from(List.of("a"), i -> ScrollPosition.forward(Map.of("id", 1L)), false);
+
+        assertThat(KeysetRequest.nextCursor(window)).isNull();
+    }
+
+    @Test
+    void cursorFromAnotherSort_orGarbage_isRejected() {
+        Window<String> window = Window.from(List.of("a"), i -> ScrollPosition.forward(Map.of("id", 1L)), true);
+        String idCursor = KeysetRequest.nextCursor(window);
+
+        assertThatThrownBy(() -> KeysetRequest.of("startDateTime", idCursor, null, SORTABLE))
+                .isInstanceOf(InvalidPageRequestException.class);
+        assertThatThrownBy(() -> KeysetRequest.of(null, "not-a-cursor!", null, SORTABLE))
+                .isInstanceOf(InvalidPageRequestException.class);
+    }
+}
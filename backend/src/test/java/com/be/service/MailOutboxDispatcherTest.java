@@ -0,0 +1,188 @@
+package com.be.service;
+
+import com.be.domain.entity.MailOutboxMessage;
+import com.be.domain.entity.enums.MailOutboxStatus;
+import com.be.domain.entity.enums.MailTemplate;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailSendException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Mail outbox delivery: retry/backoff/dead-letter decisions, metrics, and
+ * that a poll never claims more than the idle workers can start.
+ */
+@ExtendWith(MockitoExtension.class)
+class MailOutboxDispatcherTest {
+
+    @Mock
+    private MailOutboxService mailOutboxService;
+    @Mock
+    private MailService mailService;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MailOutboxDispatcher dispatcher;
+
+    private MailOutboxDispatcher dispatcher(int workers, double ratePerSecond) {
+        dispatcher = new MailOutboxDispatcher(mailOutboxService, mailService, meterRegistry,
+                workers, ratePerSecond, 3, Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofMinutes(10), Duration.ofDays(30));
+        return dispatcher;
+    }
+
+    @AfterEach
+    void shutdown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void deliver_success_sendsAndMarksSent_recordsLatency() {
+        MailOutboxMessage message = claimed(1);
+        when(mailOutboxService.markSent(message)).thenReturn(true);
+
+        dispatcher(1, 1000).deliver(message);
+
+        verify(mailService).sendVerificationEmail("a@example.com", "https://tlab29.com/verify-email?token=t");
+        verify(mailOutboxService).markSent(message);
+        assertThat(meterRegistry.timer("mail.outbox.send", "outcome", "sent").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("mail.outbox.lag").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deliver_transientFailure_reschedulesWithBackoff() {
+        MailOutboxMessage message = claimed(2);
+        doThrow(new MailSendException("smtp down")).when(mailService).sendVerificationEmail(anyString(), anyString());
+
+        LocalDateTime before = LocalDateTime.now();
+        dispatcher(1, 1000).deliver(message);
+
+        ArgumentCaptor<LocalDateTime> retryAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(mailOutboxService).markFailed(eq(message), retryAt.capture(), contains("smtp down"));
+        // Second attempt failed -> 30s * 2.
+        assertThat(retryAt.getValue()).isBetween(before.plusSeconds(60), LocalDateTime.now().plusSeconds(60));
+        verify(mailOutboxService, never()).markSent(any());
+        assertThat(meterRegistry.counter("mail.outbox.failed", "outcome", "retry").count()).isEqualTo(1);
+        assertThat(meterRegistry.timer("mail.outbox.send", "outcome", "failed").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deliver_lastAttemptFails_deadLetters() {
+        MailOutboxMessage message = claimed(3);
+        doThrow(new MailSendException("smtp down")).when(mailService).sendVerificationEmail(anyString(), anyString());
+
+        dispatcher(1, 1000).deliver(message);
+
+        verify(mailOutboxService).markFailed(eq(message), isNull(), anyString());
+        assertThat(meterRegistry.counter("mail.outbox.failed", "outcome", "dead").count()).isEqualTo(1);
+    }
+
+    @Test
+    void deliver_permanentFailure_deadLettersOnFirstAttempt() {
+        MailOutboxMessage message = claimed(1);
+        doThrow(new MailParseException("bad address")).when(mailService).sendVerificationEmail(anyString(), anyString());
+
+        dispatcher(1, 1000).deliver(message);
+
+        verify(mailOutboxService).markFailed(eq(message), isNull(), contains("bad address"));
+    }
+
+    @Test
+    void backoff_doublesPerAttempt_andIsCapped() {
+        Duration initial = Duration.ofSeconds(30);
+        Duration max = Duration.ofHours(1);
+
+        assertThat(MailOutboxDispatcher.backoff(1, initial, max)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(MailOutboxDispatcher.backoff(2, initial, max)).isEqualTo(Duration.ofSeconds(60));
+        assertThat(MailOutboxDispatcher.backoff(4, initial, max)).isEqualTo(Duration.ofSeconds(240));
+        assertThat(MailOutboxDispatcher.backoff(8, initial, max)).isEqualTo(max);
+        assertThat(MailOutboxDispatcher.backoff(500, initial, max)).isEqualTo(max);
+    }
+
+    @Test
+    void poll_claimsNoMoreThanIdleWorkers_andRunsAtMostThatManyAtOnce() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        doAnswer(inv -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            release.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return null;
+        }).when(mailService).sendVerificationEmail(anyString(), anyString());
+        when(mailOutboxService.claimDue(anyInt(), any()))
+                .thenAnswer(inv -> messages(inv.getArgument(0)));
+        when(mailOutboxService.markSent(any())).thenReturn(true);
+        when(mailOutboxService.countQueued()).thenReturn(7L);
+
+        MailOutboxDispatcher dispatcher = dispatcher(2, 1000);
+        dispatcher.poll();
+        // Both workers busy: the second poll must not claim anything.
+        dispatcher.poll();
+        release.countDown();
+
+        verify(mailOutboxService).claimDue(eq(2), any());
+        verify(mailService, timeout(2000).times(2)).sendVerificationEmail(anyString(), anyString());
+        assertThat(maxRunning.get()).isLessThanOrEqualTo(2);
+        assertThat(meterRegistry.get("mail.outbox.depth").gauge().value()).isEqualTo(7.0);
+    }
+
+    @Test
+    void sends_areSpacedToTheConfiguredRate() throws Exception {
+        List<Long> sentAt = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(inv -> sentAt.add(System.nanoTime()))
+                .when(mailService).sendVerificationEmail(anyString(), anyString());
+        when(mailOutboxService.claimDue(anyInt(), any())).thenAnswer(inv -> messages(inv.getArgument(0)));
+        when(mailOutboxService.markSent(any())).thenReturn(true);
+
+        // 4 workers, 20/s -> the 4th slot is 3 x 50ms after the first. Measured
+        // from the poll, not the first send: that one may itself start late.
+        MailOutboxDispatcher dispatcher = dispatcher(4, 20);
+        long start = System.nanoTime();
+        dispatcher.poll();
+
+        verify(mailService, timeout(2000).times(4)).sendVerificationEmail(anyString(), anyString());
+        long last = sentAt.stream().mapToLong(Long::longValue).max().orElseThrow();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(last - start)).isGreaterThanOrEqualTo(150);
+    }
+
+    private static List<MailOutboxMessage> messages(int n) {
+        List<MailOutboxMessage> messages = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            messages.add(claimed(1));
+        }
+        return messages;
+    }
+
+    private static MailOutboxMessage claimed(int attempt) {
+        return MailOutboxMessage.builder()
+                .id(42L)
+                .template(MailTemplate.VERIFICATION)
+                .recipient("a@example.com")
+                .payload("https://tlab29.com/verify-email?token=t")
+                .status(MailOutboxStatus.SENDING)
+                .attempts(attempt)
+                .createdAt(LocalDateTime.now().minusSeconds(3))
+                .build();
+    }
+}
@@ -1,15 +1,32 @@
 package com.be.service;
 
+import com.be.domain.entity.enums.EnrollmentStatus;
+import com.be.domain.entity.enums.Role;
+import com.be.domain.event.EnrollmentStatusChangedEvent;
+import com.be.domain.event.UserRegisteredEvent;
 import com.be.domain.repository.EnrollmentRepository;
 import com.be.domain.repository.GroupRepository;
 import com.be.domain.repository.UserRepository;
+import com.be.web.dto.response.AdminMetricsDTO;
+import com.be.web.dto.response.GroupFillRateDTO;
+import com.be.web.dto.response.RegistrationTrendPointDTO;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * M5 threshold table (Круглый стол #3, LR-015, 2026-08-05): 7d/<30% info,
@@ -55,4 +72,70 @@ class MetricsServiceTest {
         String level = service().alertLevel(daysUntilStart, fillRatio);
         assertThat(level).isEqualTo(expected.isEmpty() ? null : expected);
     }
+
+    // Snapshot path: one full build on first read, then events patch it —
+    // no further repository calls however many times it's read.
+
+    private MetricsService builtService(List<Object[]> confirmedRows) {
+        GroupFillRateDTO group = new GroupFillRateDTO(
+                7L, "Workshop", "Gruppe", LocalDateTime.now().plusDays(60), 10, 2);
+        when(groupRepository.findActiveFillRates()).thenReturn(List.of(group));
+        when(userRepository.countCreatedPerDayByRoleAfter(eq(Role.USER), any())).thenReturn(List.of());
+        when(enrollmentRepository.findUserAndWorkshopIdsWithStatus(EnrollmentStatus.CONFIRMED, Role.USER))
+                .thenReturn(confirmedRows);
+        MetricsService service = service();
+        service.getMetrics();
+        return service;
+    }
+
+    private static EnrollmentStatusChangedEvent change(long userId, Role role, Long workshopId,
+                                                       EnrollmentStatus from, EnrollmentStatus to) {
+        return new EnrollmentStatusChangedEvent(100L, userId, role, workshopId, null, 7L, from, to);
+    }
+
+    @Test
+    void enrollmentEvents_patchFillRate_withoutHittingRepositoriesAgain() {
+        MetricsService service = builtService(List.of());
+
+        service.onEnrollmentStatusChanged(change(1L, Role.USER, 3L, null, EnrollmentStatus.PENDING));
+        assertThat(service.getMetrics().getFillRates().get(0).getEnrolledCount()).isEqualTo(3);
+
+        service.onEnrollmentStatusChanged(change(1L, Role.USER, 3L, EnrollmentStatus.PENDING, EnrollmentStatus.EXPIRED));
+        service.onEnrollmentStatusChanged(change(2L, Role.USER, 3L, EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED));
+        AdminMetricsDTO metrics = service.getMetrics();
+        assertThat(metrics.getFillRates().get(0).getEnrolledCount()).isEqualTo(1);
+        assertThat(metrics.getFillRates().get(0).getFillRatio()).isEqualTo(0.1);
+        assertThat(metrics.getAsOf()).isNotNull();
+
+        verify(groupRepository, times(1)).findActiveFillRates();
+    }
+
+    @Test
+    void confirmedEnrollments_moveRetention_inBothDirections() {
+        MetricsService service = builtService(List.<Object[]>of(new Object[]{1L, 3L}));
+        assertThat(service.getMetrics().getRetention().getRepeatCustomers()).isZero();
+
+        service.onEnrollmentStatusChanged(change(1L, Role.USER, 4L, null, EnrollmentStatus.CONFIRMED));
+        service.onEnrollmentStatusChanged(change(2L, Role.ADMIN, 5L, null, EnrollmentStatus.CONFIRMED)); // not a customer
+        assertThat(service.getMetrics().getRetention().getTotalCustomers()).isEqualTo(1);
+        assertThat(service.getMetrics().getRetention().getRepeatCustomers()).isEqualTo(1);
+
+        // Cancel carries no role (see EnrollmentStatusChangedEvent) — matched by user id.
+        service.onEnrollmentStatusChanged(change(1L, null, 4L, EnrollmentStatus.CONFIRMED, EnrollmentStatus.CANCELLED));
+        assertThat(service.getMetrics().getRetention().getRepeatCustomers()).isZero();
+        assertThat(service.getMetrics().getRetention().getTotalCustomers()).isEqualTo(1);
+    }
+
+    @Test
+    void customerRegistration_countsOnItsDay_staffDoesNot() {
+        MetricsService service = builtService(List.of());
+
+        service.onUserRegistered(new UserRegisteredEvent(1L, Role.USER, LocalDateTime.now()));
+        service.onUserRegistered(new UserRegisteredEvent(2L, Role.TEACHER, LocalDateTime.now()));
+
+        List<RegistrationTrendPointDTO> trend = service.getMetrics().getRegistrationTrend();
+        assertThat(trend).hasSize(30);
+        assertThat(trend.get(trend.size() - 1).getDate()).isEqualTo(LocalDate.now());
+        assertThat(trend.get(trend.size() - 1).getNewUsers()).isEqualTo(1);
+    }
 }
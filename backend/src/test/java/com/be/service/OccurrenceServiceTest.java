@@ -0,0 +1,157 @@
+package com.be.service;
+
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Session;
+import com.be.domain.exception.InvalidDateRangeException;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.GroupRepository.RuleVersion;
+import com.be.domain.repository.SessionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * V19 — occurrences are expanded from the rule for the requested range
+ * only, stored rows stand in for their rule date (moved, cancelled) or come
+ * on top (added by hand), and the compiled rule is reused until the
+ * Group's recurrence_version moves.
+ */
+@ExtendWith(MockitoExtension.class)
+class OccurrenceServiceTest {
+
+    // 2026-03-02 is a Monday.
+    private static final LocalDate RULE_START = LocalDate.of(2026, 3, 2);
+
+    @Mock
+    private GroupRepository groupRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+
+    private OccurrenceService service() {
+        return new OccurrenceService(groupRepository, sessionRepository, new SimpleMeterRegistry(), 366, 100);
+    }
+
+    @Test
+    void month_ofAYearLongRule_isOnlyThatMonthsDates_mergedWithExceptions() {
+        Group group = weeklyGroup(0);
+        Session moved = Session.builder().id(20L).group(group).occurrenceDate(LocalDate.of(2026, 4, 6))
+                .startDateTime(LocalDateTime.of(2026, 4, 7, 10, 0)).endDateTime(LocalDateTime.of(2026, 4, 7, 11, 0))
+                .manuallyEdited(true).build();
+        Session cancelled = Session.builder().id(21L).group(group).occurrenceDate(LocalDate.of(2026, 4, 13))
+                .startDateTime(LocalDateTime.of(2026, 4, 13, 18, 0)).cancelled(true).manuallyEdited(true).build();
+        Session handAdded = Session.builder().id(22L).group(group)
+                .startDateTime(LocalDateTime.of(2026, 4, 25, 14, 0)).build();
+        stubVersion(group);
+        when(groupRepository.findAllById(List.of(1L))).thenReturn(List.of(group));
+        when(sessionRepository.findForRange(any(), any(), any(), any(), any()))
+                .thenReturn(List.of(moved, cancelled, handAdded));
+
+        List<OccurrenceService.Occurrence> april =
+                service().findForGroup(1L, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+
+        // Mondays in April: 6 (moved to Tue 7), 13 (cancelled), 20, 27 —
+        // plus the hand-added Saturday.
+        assertThat(april).extracting(OccurrenceService.Occurrence::startDateTime).containsExactly(
+                LocalDateTime.of(2026, 4, 7, 10, 0),
+                LocalDateTime.of(2026, 4, 20, 18, 0),
+                LocalDateTime.of(2026, 4, 25, 14, 0),
+                LocalDateTime.of(2026, 4, 27, 18, 0));
+        assertThat(april.get(0).session()).isSameAs(moved);
+        assertThat(april.get(0).date()).isEqualTo(LocalDate.of(2026, 4, 6));
+        assertThat(april.get(1).session()).isNull();
+        assertThat(april.get(1).endDateTime()).isEqualTo(LocalDateTime.of(2026, 4, 20, 19, 30));
+        assertThat(april.get(2).session()).isSameAs(handAdded);
+    }
+
+    @Test
+    void compiledRule_isReused_untilTheVersionMoves() {
+        Group group = weeklyGroup(0);
+        stubVersion(group);
+        when(groupRepository.findAllById(List.of(1L))).thenReturn(List.of(group));
+        OccurrenceService service = service();
+
+        service.findForGroup(1L, LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31));
+        service.findForGroup(1L, LocalDate.of(2026, 4, 1), LocalDate.of(2026, 4, 30));
+        verify(groupRepository, times(1)).findAllById(List.of(1L));
+
+        // Rule edited: Mondays now at 9:00, version 1.
+        group.setRecurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(9, 0), 60)));
+        group.setRecurrenceVersion(1);
+        List<OccurrenceService.Occurrence> may =
+                service.findForGroup(1L, LocalDate.of(2026, 5, 1), LocalDate.of(2026, 5, 10));
+
+        verify(groupRepository, times(2)).findAllById(List.of(1L));
+        assertThat(may).extracting(OccurrenceService.Occurrence::startDateTime)
+                .containsExactly(LocalDateTime.of(2026, 5, 4, 9, 0));
+    }
+
+    @Test
+    void range_outsideTheRuleWindow_isEmpty_andReversedRangeIsRejected() {
+        Group group = weeklyGroup(0);
+        stubVersion(group);
+        when(groupRepository.findAllById(List.of(1L))).thenReturn(List.of(group));
+
+        assertThat(service().findForGroup(1L, LocalDate.of(2027, 4, 1), LocalDate.of(2027, 4, 30))).isEmpty();
+        assertThatThrownBy(() -> service().findForGroup(1L, LocalDate.of(2026, 4, 2), LocalDate.of(2026, 4, 1)))
+                .isInstanceOf(InvalidDateRangeException.class);
+        assertThatThrownBy(() -> service().findForGroup(1L, LocalDate.of(2026, 1, 1), LocalDate.of(2027, 1, 2)))
+                .isInstanceOf(InvalidDateRangeException.class);
+    }
+
+    @Test
+    void recurrenceRule_walksOnlyRuleWeekdays_acrossTheWindowEdges() {
+        RecurrenceRule rule = RecurrenceRule.of(0, List.of(
+                new RecurrenceDay(DayOfWeek.WEDNESDAY, LocalTime.of(17, 0), 60),
+                new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)), RULE_START, LocalDate.of(2026, 3, 16));
+        List<LocalDate> dates = new ArrayList<>();
+
+        rule.forEachDate(LocalDate.of(2026, 2, 1), LocalDate.of(2026, 12, 31), dates::add);
+
+        assertThat(dates).containsExactly(LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 4),
+                LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 16));
+        assertThat(rule.occursOn(LocalDate.of(2026, 3, 3))).isFalse();
+        assertThat(rule.endOn(LocalDate.of(2026, 3, 4))).isEqualTo(LocalDateTime.of(2026, 3, 4, 18, 0));
+    }
+
+    // Mondays 18:00/90min for a year.
+    private static Group weeklyGroup(int version) {
+        return Group.builder().id(1L)
+                .recurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)))
+                .recurrenceStartDate(RULE_START)
+                .recurrenceEndDate(RULE_START.plusYears(1))
+                .recurrenceVersion(version)
+                .build();
+    }
+
+    private void stubVersion(Group group) {
+        when(groupRepository.findRuleVersion(group.getId())).thenAnswer(inv -> Optional.of(new RuleVersion() {
+            @Override
+            public Long getId() {
+                return group.getId();
+            }
+
+            @Override
+            public int getRecurrenceVersion() {
+                return group.getRecurrenceVersion();
+            }
+        }));
+    }
+}
@@ -38,9 +38,12 @@ class PerformanceServiceTest {
     private CourseRepository courseRepository;
     @Mock
     private PerformanceMapper performanceMapper;
+    @Mock
+    private CatalogCache catalogCache;
 
     private PerformanceService service() {
-        return new PerformanceService(performanceRepository, workshopRepository, courseRepository, performanceMapper);
+        return new PerformanceService(performanceRepository, workshopRepository, courseRepository, performanceMapper,
+                catalogCache);
     }
 
     @Test
@@ -4,6 +4,7 @@ import com.be.domain.entity.Group;
 import com.be.domain.entity.RecurrenceDay;
 import com.be.domain.entity.Session;
 import com.be.domain.entity.Venue;
+import com.be.domain.exception.VenueConflictException;
 import com.be.domain.repository.GroupRepository;
 import com.be.domain.repository.SessionRepository;
 import com.be.domain.repository.VenueRepository;
@@ -22,6 +23,10 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -39,9 +44,13 @@ class SessionServiceTest {
     private GroupRepository groupRepository;
     @Mock
     private VenueRepository venueRepository;
+    @Mock
+    private CatalogCache catalogCache;
+    @Mock
+    private VenueOccupancyIndex occupancyIndex;
 
     private SessionService service() {
-        return new SessionService(sessionRepository, groupRepository, venueRepository);
+        return new SessionService(sessionRepository, groupRepository, venueRepository, catalogCache, occupancyIndex);
     }
 
     @Test
@@ -164,7 +173,7 @@ class SessionServiceTest {
                     assertThat(s.getEndDateTime().toLocalTime()).isEqualTo(LocalTime.of(18, 0));
                 });
         // Group's own start/end sync to the actual first/last occurrence
-        // (via replaceSessionsForGroup), narrower than the admin-set window.
+        // (same as replaceSessionsForGroup), narrower than the admin-set window.
         assertThat(group.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 2, 18, 0));
         assertThat(group.getEndDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 11, 18, 0));
     }
@@ -177,4 +186,121 @@ class SessionServiceTest {
         assertThatThrownBy(() -> service().generateSessionsFromRecurrence(1L))
                 .isInstanceOf(IllegalStateException.class);
     }
+
+    // V18 — regenerating diffs against what's there instead of clearing:
+    // same date + same time keeps its row, a changed weekday time is
+    // updated in place, dates the rule dropped are deleted, only new dates
+    // are inserted. Hand-added sessions and edited exceptions stay as they are.
+    @Test
+    void generateSessionsFromRecurrence_existingSessions_onlyTheDifferenceIsWritten() {
+        // Window Mon 2026-03-02 .. Fri 2026-03-13, Mondays now at 19:00
+        // (were 18:00), Wednesdays dropped, Fridays added.
+        Group group = Group.builder().id(1L)
+                .recurrenceDays(List.of(
+                        new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(19, 0), 90),
+                        new RecurrenceDay(DayOfWeek.FRIDAY, LocalTime.of(10, 0), 60)))
+                .recurrenceStartDate(LocalDate.of(2026, 3, 2))
+                .recurrenceEndDate(LocalDate.of(2026, 3, 13))
+                .build();
+        Session monday = generated(10L, group, LocalDateTime.of(2026, 3, 2, 18, 0), 90);
+        Session mondayEdited = generated(11L, group, LocalDateTime.of(2026, 3, 9, 20, 0), 30);
+        mondayEdited.setManuallyEdited(true);
+        Session wednesday = generated(12L, group, LocalDateTime.of(2026, 3, 4, 17, 0), 60);
+        Session wednesdayEdited = generated(13L, group, LocalDateTime.of(2026, 3, 11, 17, 0), 60);
+        wednesdayEdited.setManuallyEdited(true);
+        Session handAdded = Session.builder().id(14L).group(group)
+                .startDateTime(LocalDateTime.of(2026, 3, 7, 11, 0)).build();
+        Session friday = generated(15L, group, LocalDateTime.of(2026, 3, 6, 10, 0), 60);
+
+        group.getSessions().addAll(List.of(monday, wednesday, friday, handAdded, mondayEdited, wednesdayEdited));
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        List<Session> result = service().generateSessionsFromRecurrence(1L);
+
+        // Monday time moved in place; the edited Monday keeps its own time.
+        assertThat(monday.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 2, 19, 0));
+        assertThat(monday.getEndDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 2, 20, 30));
+        assertThat(mondayEdited.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 9, 20, 0));
+        // Only the unedited Wednesday goes (orphanRemoval), only the second
+        // Friday is new; every other row is the same instance as before.
+        assertThat(group.getSessions()).doesNotContain(wednesday);
+        assertThat(group.getSessions()).filteredOn(s -> s.getId() == null).singleElement().satisfies(s -> {
+            assertThat(s.getOccurrenceDate()).isEqualTo(LocalDate.of(2026, 3, 13));
+            assertThat(s.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 13, 10, 0));
+        });
+
+        assertThat(result).extracting(s -> s.getStartDateTime().toLocalDate()).containsExactly(
+                LocalDate.of(2026, 3, 2), LocalDate.of(2026, 3, 6), LocalDate.of(2026, 3, 7),
+                LocalDate.of(2026, 3, 9), LocalDate.of(2026, 3, 11), LocalDate.of(2026, 3, 13));
+        assertThat(result).contains(monday, friday, handAdded, mondayEdited, wednesdayEdited);
+        assertThat(group.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 2, 19, 0));
+        assertThat(group.getEndDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 13, 11, 0));
+    }
+
+    @Test
+    void generateSessionsFromRecurrence_unchangedRule_deletesNothing() {
+        Group group = Group.builder().id(1L)
+                .recurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)))
+                .recurrenceStartDate(LocalDate.of(2026, 3, 2))
+                .recurrenceEndDate(LocalDate.of(2026, 3, 8))
+                .build();
+        Session monday = generated(10L, group, LocalDateTime.of(2026, 3, 2, 18, 0), 90);
+        group.getSessions().add(monday);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+
+        List<Session> result = service().generateSessionsFromRecurrence(1L);
+
+        assertThat(result).containsExactly(monday);
+        assertThat(group.getSessions()).containsExactly(monday);
+        assertThat(monday.getStartDateTime()).isEqualTo(LocalDateTime.of(2026, 3, 2, 18, 0));
+    }
+
+    @Test
+    void generateSessionsFromRecurrence_venueClash_refusedBeforeAnythingChanges() {
+        Group group = Group.builder().id(1L)
+                .venue(Venue.builder().id(5L).name("Studio").build())
+                .recurrenceDays(List.of(
+                        new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90),
+                        new RecurrenceDay(DayOfWeek.WEDNESDAY, LocalTime.of(17, 0), 60)))
+                .recurrenceStartDate(LocalDate.of(2026, 3, 2))
+                .recurrenceEndDate(LocalDate.of(2026, 3, 8))
+                .build();
+        Session monday = generated(10L, group, LocalDateTime.of(2026, 3, 2, 18, 0), 90);
+        Session dropped = generated(11L, group, LocalDateTime.of(2026, 3, 6, 10, 0), 60);
+        group.getSessions().addAll(List.of(monday, dropped));
+        LocalDateTime wednesday = LocalDateTime.of(2026, 3, 4, 17, 0);
+        when(groupRepository.findById(1L)).thenReturn(Optional.of(group));
+        doThrow(new VenueConflictException("Venue 5 is already booked")).when(occupancyIndex)
+                .requireFree(5L, wednesday, wednesday.plusHours(1), VenueOccupancyIndex.Owner.group(1L));
+
+        assertThatThrownBy(() -> service().generateSessionsFromRecurrence(1L))
+                .isInstanceOf(VenueConflictException.class);
+
+        // The unchanged Monday isn't re-checked; nothing was added or dropped.
+        verify(occupancyIndex, never()).requireFree(any(), eq(monday.getStartDateTime()), any(), any());
+        assertThat(group.getSessions()).containsExactly(monday, dropped);
+        verify(sessionRepository, never()).saveAll(any());
+        verify(groupRepository, never()).save(any());
+    }
+
+    @Test
+    void updateSession_generatedOccurrence_becomesAManualException() {
+        Group group = Group.builder().id(1L).build();
+        Session monday = generated(10L, group, LocalDateTime.of(2026, 3, 2, 18, 0), 90);
+        when(sessionRepository.findById(10L)).thenReturn(Optional.of(monday));
+        when(sessionRepository.save(any(Session.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        Session updated = service().updateSession(10L,
+                LocalDateTime.of(2026, 3, 2, 20, 0), LocalDateTime.of(2026, 3, 2, 21, 0), null);
+
+        assertThat(updated.isManuallyEdited()).isTrue();
+        assertThat(updated.getOccurrenceDate()).isEqualTo(LocalDate.of(2026, 3, 2));
+    }
+
+    private static Session generated(Long id, Group group, LocalDateTime start, int minutes) {
+        return Session.builder().id(id).group(group)
+                .startDateTime(start).endDateTime(start.plusMinutes(minutes))
+                .occurrenceDate(start.toLocalDate())
+                .build();
+    }
 }
@@ -1,5 +1,6 @@
 package com.be.service;
 
+import com.be.config.crypto.BlindIndex;
 import com.be.domain.entity.User;
 import com.be.domain.repository.UserRepository;
 import com.be.web.mapper.UserMapper;
@@ -7,18 +8,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
  * searchUsers() used to be a SQL LIKE derived query
  * (findByFirstNameContainingIgnoreCaseOrLastNameContainingIgnoreCase) — broken
  * once firstName/lastName became encrypted (AES-GCM ciphertext never matches
- * a LIKE pattern). Now decrypts transparently via JPA and filters in memory.
+ * a LIKE pattern), then a decrypt-everything findAll() filter. Now the blind
+ * index narrows it to candidates in SQL; these tests cover the in-memory
+ * check that still runs over those candidates (the index can over-match).
  */
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
@@ -29,28 +36,55 @@ class UserServiceTest {
     private UserMapper userMapper;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private BlindIndex blindIndex;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private UserService service() {
+        return new UserService(userRepository, userMapper, passwordEncoder, blindIndex, eventPublisher);
+    }
 
     @Test
     void searchUsers_matchesFirstOrLastName_caseInsensitive() {
-        UserService service = new UserService(userRepository, userMapper, passwordEncoder);
-
         User alice = User.builder().firstName("Alice").lastName("Schmidt").build();
         User bob = User.builder().firstName("Bob").lastName("Alicante").build();
-        User carol = User.builder().firstName("Carol").lastName("Jones").build();
-        when(userRepository.findAll()).thenReturn(List.of(alice, bob, carol));
+        when(blindIndex.searchTokensFor("aLiC")).thenReturn("t1 t2");
+        when(userRepository.findNameSearchCandidates("t1 t2")).thenReturn(List.of(alice, bob));
 
-        List<User> result = service.searchUsers("aLiC");
+        List<User> result = service().searchUsers("aLiC");
 
         assertThat(result).containsExactlyInAnyOrder(alice, bob);
     }
 
     @Test
-    void searchUsers_handlesNullNameFieldsWithoutThrowing() {
-        UserService service = new UserService(userRepository, userMapper, passwordEncoder);
+    void searchUsers_dropsIndexFalsePositives() {
+        // "lic" + "ica" trigrams both present, but never as "lica" — the
+        // kind of candidate the index legitimately returns and the
+        // decrypted check has to throw away.
+        User falsePositive = User.builder().firstName("Licht").lastName("Ica").build();
+        User real = User.builder().firstName("Angelica").lastName("Berg").build();
+        when(blindIndex.searchTokensFor("lica")).thenReturn("t");
+        when(userRepository.findNameSearchCandidates("t")).thenReturn(List.of(falsePositive, real));
+
+        assertThat(service().searchUsers("lica")).containsExactly(real);
+    }
 
+    @Test
+    void searchUsers_handlesNullNameFieldsWithoutThrowing() {
         User noName = User.builder().build(); // firstName/lastName never set
-        when(userRepository.findAll()).thenReturn(List.of(noName));
+        when(blindIndex.searchTokensFor("anything")).thenReturn("t");
+        when(userRepository.findNameSearchCandidates("t")).thenReturn(List.of(noName));
+
+        assertThat(service().searchUsers("anything")).isEmpty();
+    }
+
+    @Test
+    void searchUsers_blankTerm_neverQueries() {
+        when(blindIndex.searchTokensFor("  ")).thenReturn(null);
 
-        assertThat(service.searchUsers("anything")).isEmpty();
+        assertThat(service().searchUsers("  ")).isEmpty();
+        verify(userRepository, never()).findNameSearchCandidates(anyString());
+        verify(userRepository, never()).findAll();
     }
 }
@@ -0,0 +1,155 @@
+package com.be.service;
+
+import com.be.domain.entity.Event;
+import com.be.domain.entity.Group;
+import com.be.domain.entity.RecurrenceDay;
+import com.be.domain.entity.Session;
+import com.be.domain.entity.Venue;
+import com.be.domain.exception.VenueConflictException;
+import com.be.domain.repository.EventRepository;
+import com.be.domain.repository.GroupRepository;
+import com.be.domain.repository.SessionRepository;
+import com.be.service.VenueOccupancyIndex.Booking;
+import com.be.service.VenueOccupancyIndex.Owner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+/**
+ * Venue occupancy — overlap lookups against the per-venue timelines, the
+ * bookings a group or event contributes (stored sessions, rule dates not
+ * generated yet, the group's own venue as fallback), and owners replacing
+ * their bookings. No transaction is active here, so updates apply at once.
+ */
+@ExtendWith(MockitoExtension.class)
+class VenueOccupancyIndexTest {
+
+    private static final LocalDate FROM = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private GroupRepository groupRepository;
+    @Mock
+    private SessionRepository sessionRepository;
+    @Mock
+    private EventRepository eventRepository;
+
+    private VenueOccupancyIndex index() {
+        return new VenueOccupancyIndex(groupRepository, sessionRepository, eventRepository,
+                Duration.ofHours(2), 365);
+    }
+
+    @Test
+    void overlap_isHalfOpen_andTheOwnersOwnBookingsAreIgnored() {
+        VenueOccupancyIndex index = index();
+        Group group = Group.builder().id(1L).venue(venue(7L))
+                .startDateTime(LocalDateTime.of(2026, 3, 10, 10, 0))
+                .endDateTime(LocalDateTime.of(2026, 3, 10, 12, 0))
+                .build();
+        when(sessionRepository.findByGroupIdOrderByStartDateTimeAsc(1L)).thenReturn(List.of());
+
+        index.groupChanged(group);
+
+        assertThat(index.isFree(7L, LocalDateTime.of(2026, 3, 10, 8, 0), LocalDateTime.of(2026, 3, 10, 10, 0))).isTrue();
+        assertThat(index.isFree(7L, LocalDateTime.of(2026, 3, 10, 12, 0), LocalDateTime.of(2026, 3, 10, 13, 0))).isTrue();
+        assertThat(index.isFree(7L, LocalDateTime.of(2026, 3, 10, 11, 59), LocalDateTime.of(2026, 3, 10, 13, 0))).isFalse();
+        assertThat(index.isFree(8L, LocalDateTime.of(2026, 3, 10, 11, 0), LocalDateTime.of(2026, 3, 10, 11, 30))).isTrue();
+        assertThat(index.findConflict(7L, LocalDateTime.of(2026, 3, 10, 11, 0), LocalDateTime.of(2026, 3, 10, 11, 30),
+                Owner.group(1L))).isEmpty();
+        assertThatThrownBy(() -> index.requireFree(7L, LocalDateTime.of(2026, 3, 10, 9, 0),
+                LocalDateTime.of(2026, 3, 10, 11, 0), Owner.group(2L)))
+                .isInstanceOf(VenueConflictException.class)
+                .hasMessageContaining("group 1");
+    }
+
+    @Test
+    void longBookingEarlier_isStillFound_pastShorterOnesStartingLater() {
+        VenueOccupancyIndex index = index();
+        // A day-long event, then a short one inside it; a slot late in the
+        // day only overlaps the long one.
+        index.eventChanged(event(1L, 7L, LocalDateTime.of(2026, 3, 10, 8, 0), LocalDateTime.of(2026, 3, 10, 20, 0)));
+        index.eventChanged(event(2L, 7L, LocalDateTime.of(2026, 3, 10, 9, 0), LocalDateTime.of(2026, 3, 10, 10, 0)));
+
+        assertThat(index.findConflict(7L, LocalDateTime.of(2026, 3, 10, 18, 0), LocalDateTime.of(2026, 3, 10, 19, 0), null))
+                .map(Booking::owner).contains(Owner.event(1L));
+    }
+
+    @Test
+    void groupBookings_storedSessionsPlusUngeneratedRuleDates_atTheGroupsVenueByDefault() {
+        // Mondays 18:00/90min through March; 2 and 9 are stored — one at
+        // another room, one cancelled.
+        Group group = Group.builder().id(1L).venue(venue(7L))
+                .recurrenceDays(List.of(new RecurrenceDay(DayOfWeek.MONDAY, LocalTime.of(18, 0), 90)))
+                .recurrenceStartDate(LocalDate.of(2026, 3, 2))
+                .recurrenceEndDate(LocalDate.of(2026, 3, 31))
+                .build();
+        Session elsewhere = Session.builder().group(group).venue(venue(8L)).occurrenceDate(LocalDate.of(2026, 3, 2))
+                .startDateTime(LocalDateTime.of(2026, 3, 2, 18, 0)).endDateTime(LocalDateTime.of(2026, 3, 2, 19, 30))
+                .build();
+        Session cancelled = Session.builder().group(group).occurrenceDate(LocalDate.of(2026, 3, 9))
+                .startDateTime(LocalDateTime.of(2026, 3, 9, 18, 0)).cancelled(true).build();
+        Session extra = Session.builder().group(group)
+                .startDateTime(LocalDateTime.of(2026, 3, 14, 10, 0)).build();
+
+        List<Booking> bookings = index().groupBookings(group, List.of(elsewhere, cancelled, extra), FROM);
+
+        assertThat(bookings).extracting(Booking::venueId, Booking::start).containsExactlyInAnyOrder(
+                tuple(8L, LocalDateTime.of(2026, 3, 2, 18, 0)),
+                tuple(7L, LocalDateTime.of(2026, 3, 14, 10, 0)),
+                tuple(7L, LocalDateTime.of(2026, 3, 16, 18, 0)),
+                tuple(7L, LocalDateTime.of(2026, 3, 23, 18, 0)),
+                tuple(7L, LocalDateTime.of(2026, 3, 30, 18, 0)));
+        // No end stored: the default duration.
+        assertThat(bookings).filteredOn(b -> b.start().getDayOfMonth() == 14)
+                .extracting(Booking::end).containsExactly(LocalDateTime.of(2026, 3, 14, 12, 0));
+    }
+
+    @Test
+    void inactiveGroupsAndCancelledEvents_bookNothing() {
+        VenueOccupancyIndex index = index();
+        Group inactive = Group.builder().id(1L).venue(venue(7L)).active(false)
+                .startDateTime(LocalDateTime.of(2026, 3, 10, 10, 0)).build();
+        Event cancelled = event(2L, 7L, LocalDateTime.of(2026, 3, 10, 10, 0), null);
+        cancelled.setStatus("CANCELLED");
+
+        assertThat(index.groupBookings(inactive, List.of(), FROM)).isEmpty();
+        assertThat(index.eventBookings(cancelled)).isEmpty();
+        assertThat(index.eventBookings(event(3L, null, LocalDateTime.of(2026, 3, 10, 10, 0), null))).isEmpty();
+    }
+
+    @Test
+    void ownerUpdate_replacesItsBookings_andRemovalFreesTheRoom() {
+        VenueOccupancyIndex index = index();
+        LocalDateTime ten = LocalDateTime.of(2026, 3, 10, 10, 0);
+        index.eventChanged(event(1L, 7L, ten, ten.plusHours(1)));
+
+        // Moved to another room.
+        index.eventChanged(event(1L, 8L, ten, ten.plusHours(1)));
+        assertThat(index.isFree(7L, ten, ten.plusHours(1))).isTrue();
+        assertThat(index.isFree(8L, ten, ten.plusHours(1))).isFalse();
+
+        index.eventRemoved(1L);
+        assertThat(index.isFree(8L, ten, ten.plusHours(1))).isTrue();
+    }
+
+    private static Venue venue(Long id) {
+        return Venue.builder().id(id).build();
+    }
+
+    private static Event event(Long id, Long venueId, LocalDateTime start, LocalDateTime end) {
+        return Event.builder().id(id).venue(venueId != null ? venue(venueId) : null)
+                .startDateTime(start).endDateTime(end).status("SCHEDULED").build();
+    }
+}
@@ -37,9 +37,11 @@ class WorkshopServiceTest {
     private CourseRepository courseRepository;
     @Mock
     private WorkshopMapper workshopMapper;
+    @Mock
+    private CatalogCache catalogCache;
 
     private WorkshopService service() {
-        return new WorkshopService(workshopRepository, teacherRepository, courseRepository, workshopMapper);
+        return new WorkshopService(workshopRepository, teacherRepository, courseRepository, workshopMapper, catalogCache);
     }
 
     @Test
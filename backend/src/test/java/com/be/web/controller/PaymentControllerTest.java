@@ -3,6 +3,7 @@ package com.be.web.controller;
 import com.be.config.CorsProperties;
 import com.be.config.SecurityConfig;
 import com.be.domain.entity.Payment;
+import com.be.service.IdempotencyGuard;
 import com.be.service.PaymentService;
 import com.be.web.dto.response.PaymentResponseDTO;
 import com.be.web.mapper.PaymentMapper;
@@ -51,6 +52,9 @@ class PaymentControllerTest {
     @MockitoBean
     private PaymentMapper paymentMapper;
 
+    @MockitoBean
+    private IdempotencyGuard idempotencyGuard;
+
     // LR-031 Phase 1 — see UserControllerTest's identical field for why
     // this is needed (GlobalExceptionHandler now requires a MeterRegistry)
     // and why RETURNS_MOCKS specifically.
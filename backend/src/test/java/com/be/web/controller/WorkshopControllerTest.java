@@ -0,0 +1,108 @@
+package com.be.web.controller;
+
+import com.be.config.CorsProperties;
+import com.be.config.SecurityConfig;
+import com.be.service.CatalogCache;
+import com.be.service.PublicCatalogService;
+import com.be.service.TeacherService;
+import com.be.service.WorkshopService;
+import com.be.web.dto.response.WorkshopDetailDTO;
+import com.be.web.mapper.WorkshopMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional GET on the public workshop catalog — a current If-None-Match
+ * is answered with 304 without ever reaching PublicCatalogService (so no
+ * cache lookup, no DB, no JSON), a stale one gets the full body and the
+ * new ETag.
+ */
+@WebMvcTest(WorkshopController.class)
+@Import(SecurityConfig.class)
+@EnableConfigurationProperties(CorsProperties.class)
+class WorkshopControllerTest {
+
+    private static final String ETAG = "\"w-test-3\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private WorkshopService workshopService;
+    @MockitoBean
+    private WorkshopMapper workshopMapper;
+    @MockitoBean
+    private TeacherService teacherService;
+    @MockitoBean
+    private PublicCatalogService catalogService;
+    @MockitoBean
+    private CatalogCache catalogCache;
+
+    // Same reason as UserControllerTest: GlobalExceptionHandler needs one.
+    @MockitoBean(answers = Answers.RETURNS_MOCKS)
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void list_withCurrentEtag_is304WithoutLoadingAnything() throws Exception {
+        when(catalogCache.workshopETag()).thenReturn(ETAG);
+
+        mockMvc.perform(get("/api/v1/workshops").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(catalogService);
+    }
+
+    @Test
+    void list_withStaleEtag_returnsBodyAndCurrentEtag() throws Exception {
+        when(catalogCache.workshopETag()).thenReturn(ETAG);
+        when(catalogService.listWorkshops(anyBoolean(), any())).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/v1/workshops").header("If-None-Match", "\"w-test-2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void detail_withCurrentEtag_is304() throws Exception {
+        when(catalogCache.workshopETag()).thenReturn(ETAG);
+
+        mockMvc.perform(get("/api/v1/workshops/5").header("If-None-Match", ETAG))
+                .andExpect(status().isNotModified());
+
+        verify(catalogService, never()).getWorkshop(5L);
+    }
+
+    @Test
+    void detail_withoutEtag_returnsBody() throws Exception {
+        when(catalogCache.workshopETag()).thenReturn(ETAG);
+        when(catalogService.getWorkshop(5L)).thenReturn(new WorkshopDetailDTO());
+
+        mockMvc.perform(get("/api/v1/workshops/5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", ETAG));
+    }
+}
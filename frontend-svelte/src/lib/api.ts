@@ -166,6 +166,31 @@ async function authRequest<T>(path: string, options: RequestInit = {}): Promise<
 	}
 }
 
+// Mirrors CursorPageDTO.java — the admin lists (GET /users, /groups,
+// /orders, /payments, /events, /files) are keyset-paginated; nextCursor
+// is null on the last page.
+export interface CursorPage<T> {
+	items: T[];
+	size: number;
+	nextCursor: string | null;
+}
+
+// Follows nextCursor to the end, 100 (the server's max) per request. The
+// admin pages using this still render the whole list — no paging UI yet.
+async function authRequestAllPages<T>(path: string): Promise<T[]> {
+	const items: T[] = [];
+	const sep = path.includes('?') ? '&' : '?';
+	let cursor: string | null = null;
+	do {
+		const page: CursorPage<T> = await authRequest<CursorPage<T>>(
+			`${path}${sep}size=100` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : '')
+		);
+		items.push(...page.items);
+		cursor = page.nextCursor;
+	} while (cursor);
+	return items;
+}
+
 export function getCurrentUser() {
 	return authRequest<{
 		id: number;
@@ -401,7 +426,7 @@ export interface UserBasicDTO {
 }
 
 export function getAllUsers() {
-	return authRequest<UserBasicDTO[]>('/users');
+	return authRequestAllPages<UserBasicDTO>('/users');
 }
 
 export function searchUsers(query: string) {
@@ -868,7 +893,7 @@ export interface GroupUpdateRequestDTO {
 // @PreAuthorize of its own.
 export function getGroups(workshopId?: number, courseId?: number) {
 	const query = workshopId ? `?workshopId=${workshopId}` : courseId ? `?courseId=${courseId}` : '';
-	return authRequest<GroupDTO[]>(`/groups${query}`);
+	return authRequestAllPages<GroupDTO>(`/groups${query}`);
 }
 
 // LR-082 (LR-ADR-023) — generates Sessions from a Group's own persisted
@@ -92,7 +92,7 @@ async function loadGroups(workshopId = '') {
     if (!list) return;
     try {
         const url = workshopId ? `${window.API_BASE_URL}/groups?workshopId=${workshopId}` : `${window.API_BASE_URL}/groups`;
-        const groups = await window.fetchJson(url);
+        const groups = await window.fetchAllPages(url);
 
         if (!groups || groups.length === 0) {
             list.innerHTML = '<div class="admin-empty">No groups found.</div>';
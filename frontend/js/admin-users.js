@@ -49,7 +49,7 @@ async function loadUsers() {
     if (list) list.innerHTML = '<p>Loading users...</p>';
 
     try {
-        allUsers = await window.fetchJson(`${window.API_BASE_URL}/users`);
+        allUsers = await window.fetchAllPages(`${window.API_BASE_URL}/users`);
         renderUsers(allUsers);
     } catch (err) {
         console.error('Failed to load users', err);
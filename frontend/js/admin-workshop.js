@@ -117,7 +117,7 @@ async function loadGroupsForWorkshop(workshopId) {
     if (!container) return;
     container.innerHTML = '<div class="admin-empty">Loading groups…</div>';
     try {
-        const groups = await window.fetchJson(`${window.API_BASE_URL}/groups?workshopId=${workshopId}`);
+        const groups = await window.fetchAllPages(`${window.API_BASE_URL}/groups?workshopId=${workshopId}`);
         if (!groups || groups.length === 0) {
             container.innerHTML = '<div class="admin-empty">No groups yet — add the first group.</div>';
             return;
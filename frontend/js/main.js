@@ -160,11 +160,31 @@ async function safeJson(res) {
     }
 }
 
+/**
+ * GET a keyset-paginated admin list (/users, /groups, /orders, ...) and
+ * follow nextCursor to the end. Each request is capped server-side
+ * (CursorPageDTO, max 100 per page); this just loops for the pages that
+ * still show the whole list at once.
+ */
+async function fetchAllPages(url) {
+    const items = [];
+    let cursor = null;
+    do {
+        const sep = url.includes('?') ? '&' : '?';
+        const pageUrl = `${url}${sep}size=100` + (cursor ? `&cursor=${encodeURIComponent(cursor)}` : '');
+        const page = await fetchJson(pageUrl);
+        items.push(...(page?.items || []));
+        cursor = page?.nextCursor || null;
+    } while (cursor);
+    return items;
+}
+
 // export to global
 window.isAuthenticated = isAuthenticated;
 window.getAuthHeaders = getAuthHeaders;
 window.logout = logout;
 window.fetchJson = fetchJson;
+window.fetchAllPages = fetchAllPages;
 window.escapeHtml = escapeHtml;
 window.formatLocalDate = formatLocalDate;
 window.formatPrice = formatPrice;